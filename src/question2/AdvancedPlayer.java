@@ -11,25 +11,28 @@
  ***************************************************************************** */
 package question2;
 
-import java.util.List;
-
 /**
  *
  * @author Ali Jarjis
  */
-public class AdvancedPlayer extends IntermediatePlayer {
+public class AdvancedPlayer extends IntermediatePlayer
+        implements CountingPlayer {
+
+    /**
+     * AdvancedPlayer's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = -9010311178249264097L;
 
     /**
-     * Keeps track of the advanced player's card count
+     * The running count the advanced player follows, kept by the dealer
      */
-    private int cardCount;
+    private RunningCount runningCount;
 
     /**
      * Constructs an advanced player
      */
     public AdvancedPlayer() {
         super();
-        cardCount = 0;
     }
 
     /**
@@ -39,49 +42,80 @@ public class AdvancedPlayer extends IntermediatePlayer {
      */
     @Override
     public int makeBet() {
+        this.bet = betFor(this.balance, this.getCardCount());
+
+        return this.bet;
+    }
+
+    /**
+     * Decides the bet an advanced player makes with a given balance and count
+     *
+     * @param balance   the player's balance
+     * @param cardCount the player's running count
+     * @return the bet, 0 if can't make bet
+     */
+    private static int betFor(int balance, int cardCount) {
         // Checks if player can make this bet
-        if (this.balance >= DEFAULT_BET) {
+        if (balance >= DEFAULT_BET) {
             // Increases bet if game is to the advantage of this player
-            if (this.cardCount > 0) {
-                this.bet = this.cardCount * DEFAULT_BET;
-            } else {
-                this.bet = DEFAULT_BET;
+            if (cardCount > 0) {
+                return cardCount * DEFAULT_BET;
             }
-        } else {
-            this.bet = 0;
+
+            return DEFAULT_BET;
         }
 
-        return this.bet;
+        return 0;
     }
 
     /**
-     * Shows the player all the cards that were played after a hand is finished
+     * Decides the bet of many advanced players at once
      *
-     * @param cards list of cards that were played
+     * @param balances balance of each seat
+     * @param counts   running count seen by each seat
+     * @param bets     set to the bet of each seat
+     * @param length   amount of seats to decide for
      */
     @Override
-    public void viewCards(List<Card> cards) {
-        final int LOW_CARD_VAL = 6;
-        final int HIGH_CARD_VAL = 10;
-        
-        // Performs a basic form of card counting on each card played
-        for (Card c : cards) {
-            int cardVal = c.getRank().getVALUE();
-            
-            if (cardVal < LOW_CARD_VAL) {              // Increase card count
-                this.cardCount++;
-            } else if (cardVal >= HIGH_CARD_VAL) {     // Decrease card count
-                this.cardCount--;
-            }
+    public void makeBets(int[] balances, int[] counts, int[] bets,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            bets[i] = betFor(balances[i], counts[i]);
         }
     }
 
     /**
-     * Tells the player that the deck has been reshuffled
+     * Retrieves the player's current card count, 0 if not yet at a table
+     *
+     * @return the running count
+     */
+    public int getCardCount() {
+        if (this.runningCount == null) {
+            return 0;
+        }
+
+        return this.runningCount.getCount();
+    }
+
+    /**
+     * Retrieves the counting system the advanced player uses
+     *
+     * @return the player's counting system
+     */
+    @Override
+    public CountingSystem getCountingSystem() {
+        return CountingSystem.ADVANCED;
+    }
+
+    /**
+     * Follows the running count the dealer keeps, which replaces counting the
+     * cards shown after each hand
+     *
+     * @param count running count kept by the dealer
      */
     @Override
-    public void newDeck() {
-        this.cardCount = 0;
+    public void followCount(RunningCount count) {
+        this.runningCount = count;
     }
 
 }
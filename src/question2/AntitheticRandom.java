@@ -0,0 +1,68 @@
+/** ***************************************************************************
+ *
+ * File        : AntitheticRandom.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A random number generator that mirrors every bounded draw of
+ *               another generator, giving the antithetic partner of its
+ *               stream.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.Random;
+
+/**
+ * Every nextInt(bound) returns bound - 1 minus the wrapped generator's draw,
+ * so a deck shuffled with it pairs with the deck shuffled by the original
+ * stream: each swap that took a card from near the top of the deck now takes
+ * it from near the bottom.
+ *
+ * @author Ali Jarjis
+ */
+public class AntitheticRandom extends Random {
+
+    /**
+     * AntitheticRandom's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 138;
+
+    /**
+     * Generator whose draws are mirrored
+     */
+    private final Random source;
+
+    /**
+     * Constructs the antithetic partner of a generator
+     *
+     * @param source generator whose draws are mirrored
+     */
+    public AntitheticRandom(Random source) {
+        this.source = source;
+    }
+
+    /**
+     * Mirrors a bounded draw of the wrapped generator
+     *
+     * @param bound upper bound, exclusive
+     * @return bound - 1 minus the wrapped generator's draw
+     */
+    @Override
+    public int nextInt(int bound) {
+        return bound - 1 - this.source.nextInt(bound);
+    }
+
+    /**
+     * Mirrors the bits of the wrapped generator's draw
+     *
+     * @param bits amount of random bits
+     * @return the complement of the wrapped generator's bits
+     */
+    @Override
+    protected int next(int bits) {
+        return ~this.source.nextInt() >>> (32 - bits);
+    }
+}
@@ -0,0 +1,250 @@
+/** ***************************************************************************
+ *
+ * File        : BankrollReport.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that stores what happened to the bankrolls of many
+ *               simulated playing sessions.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.Serializable;
+
+/**
+ * Every distribution is kept as a QuantileSketch rather than a list of
+ * sessions, so a report takes the same memory however many sessions it
+ * covers, and reports from separate threads merge into one.
+ *
+ * @author Ali Jarjis
+ */
+public class BankrollReport implements Serializable {
+
+    /**
+     * BankrollReport's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 143;
+
+    /**
+     * Balance each session starts with
+     */
+    private final int bankroll;
+
+    /**
+     * Hands between each band of balances
+     */
+    private final int bandInterval;
+
+    /**
+     * Amount of sessions played
+     */
+    private long sessions;
+
+    /**
+     * Amount of sessions which ran out of money
+     */
+    private long ruined;
+
+    /**
+     * Hands played before each ruined session ran out of money
+     */
+    private final QuantileSketch timeToRuin;
+
+    /**
+     * Largest fall from a high point in each session's balance
+     */
+    private final QuantileSketch maxDrawdown;
+
+    /**
+     * Balance each session ended with
+     */
+    private final QuantileSketch finalBalance;
+
+    /**
+     * Balances of every session after each interval of hands
+     */
+    private final QuantileSketch[] bands;
+
+    /**
+     * Constructs an empty report
+     *
+     * @param bankroll     balance each session starts with
+     * @param hands        most hands played in a session
+     * @param bandInterval hands between each band of balances
+     * @param accuracy     relative accuracy of every distribution
+     */
+    public BankrollReport(int bankroll, int hands, int bandInterval,
+            double accuracy) {
+        this.bankroll = bankroll;
+        this.bandInterval = bandInterval;
+        this.timeToRuin = new QuantileSketch(accuracy);
+        this.maxDrawdown = new QuantileSketch(accuracy);
+        this.finalBalance = new QuantileSketch(accuracy);
+        this.bands = new QuantileSketch[hands / bandInterval];
+
+        for (int i = 0; i < this.bands.length; i++) {
+            this.bands[i] = new QuantileSketch(accuracy);
+        }
+    }
+
+    /**
+     * Records the end of a session
+     *
+     * @param ruinedAt    hands played before running out of money, 0 if the
+     *                    session never ran out
+     * @param drawdown    largest fall from a high point in the balance
+     * @param balance     balance the session ended with, counted as zero if
+     *                    below
+     */
+    void sessionEnded(long ruinedAt, int drawdown, int balance) {
+        this.sessions++;
+
+        if (ruinedAt > 0) {
+            this.ruined++;
+            this.timeToRuin.add(ruinedAt);
+        }
+
+        this.maxDrawdown.add(drawdown);
+        this.finalBalance.add(Math.max(balance, 0));
+    }
+
+    /**
+     * Records a session's balance after a band's interval of hands
+     *
+     * @param band    index of the band
+     * @param balance the session's balance, counted as zero if below
+     */
+    void bandReached(int band, int balance) {
+        this.bands[band].add(Math.max(balance, 0));
+    }
+
+    /**
+     * Adds every session recorded in another report
+     *
+     * @param other report to add
+     */
+    public void merge(BankrollReport other) {
+        this.sessions += other.sessions;
+        this.ruined += other.ruined;
+        this.timeToRuin.merge(other.timeToRuin);
+        this.maxDrawdown.merge(other.maxDrawdown);
+        this.finalBalance.merge(other.finalBalance);
+
+        for (int i = 0; i < this.bands.length; i++) {
+            this.bands[i].merge(other.bands[i]);
+        }
+    }
+
+    /**
+     * Retrieves the amount of sessions played
+     *
+     * @return sessions
+     */
+    public long getSessions() {
+        return this.sessions;
+    }
+
+    /**
+     * Retrieves the amount of sessions which ran out of money
+     *
+     * @return ruined sessions
+     */
+    public long getRuined() {
+        return this.ruined;
+    }
+
+    /**
+     * Calculates the fraction of sessions which ran out of money
+     *
+     * @return risk of ruin, 0 if no sessions were played
+     */
+    public double getRiskOfRuin() {
+        if (this.sessions == 0) {
+            return 0;
+        }
+
+        return (double) this.ruined / this.sessions;
+    }
+
+    /**
+     * Retrieves the hands played before each ruined session ran out
+     *
+     * @return sketch of time to ruin
+     */
+    public QuantileSketch getTimeToRuin() {
+        return this.timeToRuin;
+    }
+
+    /**
+     * Retrieves the largest fall in each session's balance
+     *
+     * @return sketch of max drawdown
+     */
+    public QuantileSketch getMaxDrawdown() {
+        return this.maxDrawdown;
+    }
+
+    /**
+     * Retrieves the balance each session ended with
+     *
+     * @return sketch of final balance
+     */
+    public QuantileSketch getFinalBalance() {
+        return this.finalBalance;
+    }
+
+    /**
+     * Retrieves the balances of every session after an interval of hands
+     *
+     * @param band index of the band, band i being after (i + 1) intervals
+     * @return sketch of balances
+     */
+    public QuantileSketch getBand(int band) {
+        return this.bands[band];
+    }
+
+    /**
+     * Retrieves the amount of bands
+     *
+     * @return bands
+     */
+    public int getBands() {
+        return this.bands.length;
+    }
+
+    /**
+     * Returns the report in a printable format
+     *
+     * @return String of the risk of ruin, distributions and percentile bands
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+
+        report.append(String.format("%d sessions starting with £%d, risk of "
+                + "ruin %.4f%n", this.sessions, this.bankroll,
+                getRiskOfRuin()));
+        report.append("Hands to ruin: ").append(this.timeToRuin)
+                .append(System.lineSeparator());
+        report.append("Max drawdown: ").append(this.maxDrawdown)
+                .append(System.lineSeparator());
+        report.append("Final balance: ").append(this.finalBalance)
+                .append(System.lineSeparator());
+        report.append("Hands      5%     25%     50%     75%     95%")
+                .append(System.lineSeparator());
+
+        for (int i = 0; i < this.bands.length; i++) {
+            QuantileSketch band = this.bands[i];
+
+            report.append(String.format("%5d %7.0f %7.0f %7.0f %7.0f %7.0f%n",
+                    (i + 1) * this.bandInterval, band.quantile(0.05),
+                    band.quantile(0.25), band.quantile(0.5),
+                    band.quantile(0.75), band.quantile(0.95)));
+        }
+
+        return report.toString();
+    }
+}
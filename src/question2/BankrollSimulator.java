@@ -0,0 +1,214 @@
+/** ***************************************************************************
+ *
+ * File        : BankrollSimulator.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that simulates many playing sessions of one player
+ *               from a starting bankroll, reporting how their balance fares.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import question2.SimulationConfig.BrokePolicy;
+
+/**
+ * Each session is a lane of a LockstepEngine with one seat, played until the
+ * player leaves the table for having less than the default bet, which is
+ * ruin, or has played every hand of the session. The player's bet policy is
+ * that of their registered type. Sessions are played in batches across a
+ * runner's pool, each batch keeping its own report which are merged at the
+ * end.
+ *
+ * @author Ali Jarjis
+ */
+public class BankrollSimulator {
+
+    /**
+     * Most sessions played as lanes of one engine
+     */
+    private static final int BATCH_SIZE = 16384;
+
+    /**
+     * Relative accuracy of every distribution reported
+     */
+    private static final double ACCURACY = 0.01;
+
+    /**
+     * Registered type of the player
+     */
+    private final String playerType;
+
+    /**
+     * Balance each session starts with
+     */
+    private final int bankroll;
+
+    /**
+     * Most hands played in a session
+     */
+    private final int hands;
+
+    /**
+     * Hands between each band of balances
+     */
+    private final int bandInterval;
+
+    /**
+     * Seed every batch's seed is drawn from
+     */
+    private final long seed;
+
+    /**
+     * Constructs a simulator
+     *
+     * @param playerType   registered type of the player
+     * @param bankroll     balance each session starts with
+     * @param hands        most hands played in a session
+     * @param bandInterval hands between each band of balances
+     * @param seed         seed every batch's seed is drawn from
+     */
+    public BankrollSimulator(String playerType, int bankroll, int hands,
+            int bandInterval, long seed) {
+        this.playerType = playerType;
+        this.bankroll = bankroll;
+        this.hands = hands;
+        this.bandInterval = bandInterval;
+        this.seed = seed;
+    }
+
+    /**
+     * Plays a number of sessions in batches across a runner's pool
+     *
+     * @param sessions amount of sessions to play
+     * @param runner   runner whose threads play the batches
+     * @return merged report of every session
+     * @throws InterruptedException if interrupted while waiting for batches
+     * @throws ExecutionException   if a batch fails
+     */
+    public BankrollReport run(long sessions, MonteCarloRunner runner)
+            throws InterruptedException, ExecutionException {
+        SplitRandom seeds = new SplitRandom(this.seed);
+        List<Future<BankrollReport>> batches = new ArrayList<>();
+
+        for (long played = 0; played < sessions; played += BATCH_SIZE) {
+            final int size = (int) Math.min(BATCH_SIZE, sessions - played);
+            final long batchSeed = seeds.nextLong();
+
+            batches.add(runner.submit(() -> this.runBatch(size, batchSeed)));
+        }
+
+        BankrollReport report = this.emptyReport();
+
+        for (Future<BankrollReport> batch : batches) {
+            report.merge(batch.get());
+        }
+
+        return report;
+    }
+
+    /**
+     * Plays a batch of sessions as the lanes of one engine
+     *
+     * @param sessions  amount of sessions in the batch
+     * @param batchSeed seed the sessions' streams are split from
+     * @return report of the batch
+     */
+    private BankrollReport runBatch(int sessions, long batchSeed) {
+        BankrollReport report = this.emptyReport();
+        SimulationJob job = new SimulationJob(
+                Collections.singletonList(this.playerType),
+                (long) sessions * this.hands, sessions, batchSeed,
+                new SimulationConfig(BrokePolicy.STOP));
+        LockstepEngine engine = new LockstepEngine(job);
+
+        int[] peaks = new int[sessions];
+        int[] drawdowns = new int[sessions];
+
+        Arrays.fill(peaks, this.bankroll);
+        engine.setStartingBalance(0, this.bankroll);
+
+        // Follows every session's balance after each hand
+        engine.setLaneListener((e, lane, round) -> {
+            int balance = e.getBalance(0, lane);
+
+            peaks[lane] = Math.max(peaks[lane], balance);
+            drawdowns[lane] = Math.max(drawdowns[lane],
+                    peaks[lane] - balance);
+
+            boolean ruined = balance < BasicPlayer.DEFAULT_BET;
+
+            if (round % this.bandInterval == 0) {
+                report.bandReached((int) (round / this.bandInterval) - 1,
+                        balance);
+            }
+
+            if (ruined) {
+                // The balance stays where it is for the bands still to come
+                for (long r = (round / this.bandInterval + 1)
+                        * this.bandInterval; r <= this.hands;
+                        r += this.bandInterval) {
+                    report.bandReached((int) (r / this.bandInterval) - 1,
+                            balance);
+                }
+            }
+
+            if (ruined || round == this.hands) {
+                report.sessionEnded(ruined ? round : 0, drawdowns[lane],
+                        balance);
+            }
+        });
+
+        engine.run();
+
+        return report;
+    }
+
+    /**
+     * Creates an empty report for this simulator's sessions
+     *
+     * @return empty report
+     */
+    private BankrollReport emptyReport() {
+        return new BankrollReport(this.bankroll, this.hands,
+                this.bandInterval, ACCURACY);
+    }
+
+    /**
+     * Simulates sessions of a player, printing the report
+     *
+     * @param args player type, bankroll, hands per session and sessions, all
+     *             optional
+     */
+    public static void main(String[] args) {
+        final long NANOS_PER_MILLI = 1000000;
+
+        String type = args.length > 0 ? args[0] : "basic";
+        int bankroll = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int hands = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        long sessions = args.length > 3 ? Long.parseLong(args[3]) : 50000;
+
+        BankrollSimulator simulator = new BankrollSimulator(type, bankroll,
+                hands, Math.max(hands / 10, 1), 2018);
+
+        try (MonteCarloRunner runner = new MonteCarloRunner()) {
+            long start = System.nanoTime();
+            BankrollReport report = simulator.run(sessions, runner);
+            long time = (System.nanoTime() - start) / NANOS_PER_MILLI;
+
+            System.out.print(report);
+            System.out.println(time + "ms");
+        } catch (InterruptedException | ExecutionException ex) {
+            System.out.println("Unable to finish the simulation: "
+                    + ex.getMessage());
+        }
+    }
+}
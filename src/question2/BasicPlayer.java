@@ -83,14 +83,24 @@ public class BasicPlayer implements Player, Serializable {
      */
     @Override
     public int makeBet() {
+        this.bet = betFor(this.balance);
+
+        return this.bet;
+    }
+
+    /**
+     * Decides the bet a basic player makes with a given balance
+     *
+     * @param balance the player's balance
+     * @return the bet, 0 if can't make bet
+     */
+    static int betFor(int balance) {
         // Checks if player can make this bet
-        if (this.balance >= DEFAULT_BET) {
-            this.bet = DEFAULT_BET;
-        } else {
-            this.bet = 0;
+        if (balance >= DEFAULT_BET) {
+            return DEFAULT_BET;
         }
 
-        return this.bet;
+        return 0;
     }
 
     /**
@@ -121,19 +131,23 @@ public class BasicPlayer implements Player, Serializable {
      */
     @Override
     public boolean hit() {
-        final int CARD_THRESHOLD = 17;  // Limit to where player will stick
+        return hitsOn(HandState.of(this.playerHand));
+    }
 
-        ArrayList<Integer> handValues = this.playerHand.getTotalValues();
+    /**
+     * Decides whether a basic player takes a card on a hand
+     *
+     * @param state HandState of the hand
+     * @return true if player wants another card, else false
+     */
+    static boolean hitsOn(int state) {
+        final int CARD_THRESHOLD = 17;  // Limit to where player will stick
 
-        for (Integer val : handValues) {
-            // Jumps to next value if bust
-            if (val < BLACKJACK) {
-                // Hit if threshold not reached
-                return val < CARD_THRESHOLD;
-            }
-        }
+        // Best value which is not bust or 21
+        int val = HandState.highestBelow(state, BLACKJACK);
 
-        return false;      // Returns false if no card in hand is less than 21
+        // Hit if threshold not reached, never if no value is less than 21
+        return val >= 0 && val < CARD_THRESHOLD;
     }
 
     /**
@@ -146,6 +160,15 @@ public class BasicPlayer implements Player, Serializable {
         this.playerHand.add(c);
     }
 
+    /**
+     * Sets the player's balance back to a value it had earlier in a game
+     *
+     * @param balance cash balance
+     */
+    void setBalance(int balance) {
+        this.balance = balance;
+    }
+
     /**
      * Settles the bet a player made by increasing or decreasing their balance
      *
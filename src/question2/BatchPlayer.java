@@ -0,0 +1,47 @@
+/** ***************************************************************************
+ *
+ * File        : BatchPlayer.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : An interface for a player whose strategy can decide for many
+ *               hands at once, for simulations that play many seats together.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+interface BatchPlayer extends Player {
+
+    /**
+     * hits: this method should decide whether to take a card for each of the
+     * first length hands, exactly as hit() would for a player holding that
+     * hand. The player's own hand and bet are not changed.
+     *
+     * @param states    HandState of each hand
+     * @param upcards   value of the dealer's card for each hand, ACE being 11
+     * @param counts    running count seen by each hand's player
+     * @param cardsSeen cards seen by each hand's player since a shuffle
+     * @param decisions set to true for each hand that should take a card
+     * @param length    amount of hands to decide for
+     */
+    void hits(int[] states, int[] upcards, int[] counts, int[] cardsSeen,
+            boolean[] decisions, int length);
+
+    /**
+     * makeBets: this method should decide the bet of each of the first length
+     * seats, exactly as makeBet() would for a player with that balance and
+     * running count. The player's own balance and bet are not changed.
+     *
+     * @param balances balance of each seat
+     * @param counts   running count seen by each seat
+     * @param bets     set to the bet of each seat, 0 if it can't make one
+     * @param length   amount of seats to decide for
+     */
+    void makeBets(int[] balances, int[] counts, int[] bets, int length);
+}
@@ -11,9 +11,17 @@
  ***************************************************************************** */
 package question2;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.PrintStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
 
 /**
  *
@@ -41,6 +49,12 @@ public class BlackjackDealer implements Dealer, Serializable {
      */
     private Hand dealerHand;
 
+    /**
+     * Running counts kept for each counting system used by an assigned player,
+     * updated once for every card dealt
+     */
+    private EnumMap<CountingSystem, RunningCount> runningCounts;
+
     /**
      * Stores the definition of what constitutes as blackjack
      */
@@ -56,6 +70,73 @@ public class BlackjackDealer implements Dealer, Serializable {
      */
     private int maxBet;
 
+    /**
+     * The random number generator the deck is shuffled with, null if every
+     * shuffle should be unseeded
+     */
+    private Random random;
+
+    /**
+     * Rules the dealer deals by, the bets of which match minBet and maxBet
+     */
+    private TableRules rules;
+
+    /**
+     * Told about every bet the dealer settles, not saved with the game
+     */
+    private transient SettlementListener settlementListener;
+
+    /**
+     * Supplies each new deck already shuffled, null if the dealer shuffles
+     * its own, not saved with the game
+     */
+    private transient Supplier<Deck> shoes;
+
+    /**
+     * Every side bet, in the order their stakes are kept
+     */
+    private static final SideBet[] SIDE_BETS = SideBet.values();
+
+    /**
+     * Amount each player staked on each side bet this round, by player then
+     * side bet, not saved with the game
+     */
+    private transient int[] sideStakes;
+
+    /**
+     * Codes of each player's first two cards this round, kept only when a
+     * side bet is staked, not saved with the game
+     */
+    private transient int[] firstCards;
+
+    /**
+     * Whether any player staked a side bet this round
+     */
+    private transient boolean sideBetsStaked;
+
+    /**
+     * Jackpot every bet contributes to, null if none, not saved with the game
+     */
+    private transient ProgressiveJackpot jackpot;
+
+    /**
+     * Player last seen in each seat when taking side bets, not saved with
+     * the game
+     */
+    private transient Player[] sideBetSeats;
+
+    /**
+     * The player in each seat as a side bettor, null if they are not one,
+     * only checked when the seat's player changes as the check is slow
+     */
+    private transient SideBettor[] sideBettors;
+
+    /**
+     * Where the dealer's prompts to human players are printed, not saved with
+     * the game
+     */
+    private transient PrintStream out;
+
     /**
      * Constructs a blackjack dealer with a shuffled deck of cards
      */
@@ -66,6 +147,9 @@ public class BlackjackDealer implements Dealer, Serializable {
         this.dealerHand = new Hand();
 
         this.players = new ArrayList<>();
+        this.runningCounts = new EnumMap<>(CountingSystem.class);
+        this.rules = new TableRules();
+        this.out = System.out;
     }
 
     /**
@@ -76,6 +160,54 @@ public class BlackjackDealer implements Dealer, Serializable {
 
         this.minBet = minBet;
         this.maxBet = maxBet;
+        this.rules.setBets(minBet, maxBet);
+    }
+
+    /**
+     * Constructs a blackjack dealer with rules for the min and max bet, who
+     * shuffles with the given random number generator so that the order of
+     * every deck can be reproduced
+     *
+     * @param minBet minimum bet accepted
+     * @param maxBet maximum bet accepted
+     * @param random random number generator to shuffle with
+     */
+    public BlackjackDealer(int minBet, int maxBet, Random random) {
+        this(minBet, maxBet);
+
+        this.random = random;
+
+        // Replaces the unseeded first deck with a seeded one
+        this.dealerDeck.newDeck();
+        shuffleDeck();
+    }
+
+    /**
+     * Constructs a blackjack dealer who deals by a set of rules, shuffling
+     * with the given random number generator
+     *
+     * @param rules  rules to deal by
+     * @param random random number generator to shuffle with, null for
+     *               unseeded shuffles
+     */
+    public BlackjackDealer(TableRules rules, Random random) {
+        this(rules.getMinBet(), rules.getMaxBet());
+
+        this.rules = new TableRules(rules);
+        this.random = random;
+
+        // Replaces the first deck with one of the rules' size
+        this.dealerDeck = new Deck(rules.getDecks());
+        shuffleDeck();
+    }
+
+    /**
+     * Retrieves the rules the dealer deals by
+     *
+     * @return copy of the rules
+     */
+    public TableRules getRules() {
+        return new TableRules(this.rules);
     }
 
     /**
@@ -86,63 +218,236 @@ public class BlackjackDealer implements Dealer, Serializable {
     @Override
     public void assignPlayers(List<Player> p) {
         this.players = p;
+
+        // Gives counting players the running count for their system
+        for (Player player : p) {
+            if (player instanceof CountingPlayer) {
+                CountingPlayer counter = (CountingPlayer) player;
+
+                counter.followCount(getRunningCount(
+                        counter.getCountingSystem()));
+            }
+        }
+    }
+
+    /**
+     * Retrieves the running count kept for a counting system, starting to keep
+     * one if no player has used that system before
+     *
+     * @param system counting system of the count
+     * @return running count for the system
+     */
+    public RunningCount getRunningCount(CountingSystem system) {
+        RunningCount count = this.runningCounts.get(system);
+
+        if (count == null) {
+            count = new RunningCount(system);
+            this.runningCounts.put(system, count);
+        }
+
+        return count;
     }
 
     /**
-     * Takes the bets for all assigned players
+     * Deals the top card of the deck, updating every running count with it
+     *
+     * @return card dealt
+     */
+    private Card dealCard() {
+        Card c = this.dealerDeck.deal();
+
+        for (RunningCount count : this.runningCounts.values()) {
+            count.cardDealt(c);
+        }
+
+        return c;
+    }
+
+    /**
+     * Takes the bets for all assigned players, then their side bets. An
+     * interactive player is asked again for a bet outside the table's limits,
+     * but a bot would only make the same bet again.
+     *
+     * @throws IllegalStateException if a bot bets outside the table's limits
      */
     @Override
     public void takeBets() {
+        long wagered = 0;
+
+        this.sideBetsStaked = false;
+
         for (Player p : players) {
             boolean illegalBet;
+            int betMade;
 
             // Prevents player from placing bet outside min and max limits
             do {
-                int betMade = p.makeBet();
+                betMade = p.makeBet();
                 illegalBet = false;
 
                 // Asks user to place another bet if not acceptable
                 if (betMade < minBet || betMade > maxBet) {
+                    if (!(p instanceof InteractivePlayer)) {
+                        throw new IllegalStateException("A bot made an "
+                                + "illegal bet of " + betMade + ", bets are £"
+                                + minBet + " - £" + maxBet);
+                    }
+
                     illegalBet = true;
-                    System.out.println("Please enter a bet between: £" + minBet
+                    this.out.println("Please enter a bet between: £" + minBet
                             + " - £" + maxBet);
                 }
             } while (illegalBet);
+
+            wagered += betMade;
+        }
+
+        if (this.jackpot != null) {
+            this.jackpot.contribute(wagered);
         }
+
+        this.takeSideBets();
     }
 
     /**
-     * Re-stocks the dealers deck of cards if there are fewer than 1/4 of the
-     * total
+     * Takes the side bets of every assigned player who makes them, refusing
+     * any stake outside the table's bets
      */
-    public void restockDeck() {
-        final int DECK_LIMIT = 52 / 4;
+    private void takeSideBets() {
+        int size = players.size() * SIDE_BETS.length;
+
+        if (this.sideStakes == null || this.sideStakes.length < size) {
+            this.sideStakes = new int[size];
+            this.firstCards = new int[2 * players.size()];
+            this.sideBetSeats = new Player[players.size()];
+            this.sideBettors = new SideBettor[players.size()];
+        }
 
+        int i = 0;
+
+        for (Player p : players) {
+            if (this.sideBetSeats[i] != p) {
+                this.sideBetSeats[i] = p;
+                this.sideBettors[i] = p instanceof SideBettor
+                        ? (SideBettor) p : null;
+            }
+
+            SideBettor bettor = this.sideBettors[i];
+
+            for (int b = 0; b < SIDE_BETS.length; b++) {
+                int stake = 0;
+
+                if (bettor != null) {
+                    stake = bettor.makeSideBet(SIDE_BETS[b]);
+
+                    if (stake < minBet || stake > maxBet) {
+                        stake = 0;
+                    }
+                }
+
+                this.sideStakes[i * SIDE_BETS.length + b] = stake;
+                this.sideBetsStaked |= stake > 0;
+            }
+
+            i++;
+        }
+    }
+
+    /**
+     * Re-stocks the dealers deck of cards if fewer are left than the rules'
+     * penetration allows, 1/4 of the total by default
+     */
+    public void restockDeck() {
         // If deck size is too small creates new deck and shuffles
-        if (this.dealerDeck.size() < DECK_LIMIT) {
+        if (this.dealerDeck.size() < this.rules.getReshuffleLimit()) {
+            this.reshuffle();
+        }
+    }
+
+    /**
+     * Replaces the dealer's deck with a new shuffled one however many cards
+     * are left, resetting the running counts and telling every player
+     */
+    void reshuffle() {
+        if (this.shoes == null) {
             this.dealerDeck.newDeck();
-            this.dealerDeck.shuffle();
+            shuffleDeck();
+        } else {
+            this.dealerDeck = this.shoes.get();
+        }
 
-            // Alerts all players that deck has been restocked
-            for (Player p : players) {
-                p.newDeck();
-            }
+        for (RunningCount count : this.runningCounts.values()) {
+            count.reset();
+        }
+
+        // Alerts all players that deck has been restocked
+        for (Player p : players) {
+            p.newDeck();
         }
     }
 
     /**
-     * Deals two cards to each player, and one to the dealer
+     * Shuffles the deck with the dealer's random number generator if they have
+     * one
+     */
+    private void shuffleDeck() {
+        if (this.random == null) {
+            this.dealerDeck.shuffle();
+        } else {
+            this.dealerDeck.shuffle(this.random);
+        }
+    }
+
+    /**
+     * Deals two cards to each player, and one to the dealer, then settles any
+     * side bets
      */
     @Override
     public void dealFirstCards() {
         restockDeck();
 
+        int i = 0;
+
         for (Player p : players) {
-            p.takeCard(this.dealerDeck.deal());
-            p.takeCard(this.dealerDeck.deal());
+            Card first = dealCard();
+            Card second = dealCard();
+
+            p.takeCard(first);
+            p.takeCard(second);
+
+            if (this.sideBetsStaked) {
+                this.firstCards[2 * i] = first.getCode();
+                this.firstCards[2 * i + 1] = second.getCode();
+            }
+
+            i++;
+        }
+
+        this.dealerHand.add(dealCard());
+
+        if (this.sideBetsStaked) {
+            this.settleSideBets();
         }
+    }
 
-        this.dealerHand.add(this.dealerDeck.deal());
+    /**
+     * Settles every side bet staked this round from the first cards, each by
+     * looking up its payout
+     */
+    private void settleSideBets() {
+        int upcard = this.dealerHand.getCard(0).getCode();
+
+        for (int i = 0; i < players.size(); i++) {
+            for (int b = 0; b < SIDE_BETS.length; b++) {
+                int stake = this.sideStakes[i * SIDE_BETS.length + b];
+
+                if (stake > 0) {
+                    this.sideBettors[i].settleSideBet(SIDE_BETS[b],
+                            SIDE_BETS[b].settle(stake, this.firstCards[2 * i],
+                                    this.firstCards[2 * i + 1], upcard));
+                }
+            }
+        }
     }
 
     /**
@@ -163,7 +468,7 @@ public class BlackjackDealer implements Dealer, Serializable {
             have not exceeded or totalled 21                 */
         while (p.hit() && p.getHandTotal() < BLACKJACK) {
             p.viewDealerCard(dealersCard);
-            p.takeCard(this.dealerDeck.deal());
+            p.takeCard(dealCard());
         }
 
         return p.getHandTotal();
@@ -184,9 +489,11 @@ public class BlackjackDealer implements Dealer, Serializable {
         for (int i = 0; i < handValues.size(); i++) {
             Integer val = handValues.get(i);
 
-            // Dealer hits if threshold not reached
-            if (val < CARD_THRESHOLD) {
-                this.dealerHand.add(this.dealerDeck.deal());
+            // Dealer hits if threshold not reached, or on soft 17 if the
+            // rules say so, a soft total being followed by a lower one
+            if (val < CARD_THRESHOLD || (this.rules.isDealerHitsSoft17()
+                    && val == CARD_THRESHOLD && i < handValues.size() - 1)) {
+                this.dealerHand.add(dealCard());
                 i = -1;     // Reset loop to account for new hand values
                 // Sticks if val is not bust, else tries to jump to next val
             } else if (val < BLACKJACK) {
@@ -220,43 +527,115 @@ public class BlackjackDealer implements Dealer, Serializable {
     }
 
     /**
-     * At the end of the hand settles the bets for all players
+     * At the end of the hand settles the bets for all players, adding the
+     * jackpot to the winnings of any hand that wins it so the player and the
+     * settlement listener are told of it once
      */
     @Override
     public void settleBets() {
         int dealerScore = scoreHand(this.dealerHand);
+        Card dealersCard = this.dealerHand.getCard(0);
 
         // Settles each player's bet
         for (Player p : players) {
             int playerBet = p.getBet();
+            Outcome outcome = this.outcomeOf(p, dealerScore);
             int stake = 0;
 
-            // If player is bust or dealer has blackjack they lose bet 
-            if (p.isBust() || this.blackjack()) {
-                stake = -playerBet;
-                // If player has blackjack wins double
-            } else if (p.blackjack()) {
-                stake = playerBet * 2;
-                // Finally compares dealer's hand to players
-            } else {
-                int playerScore = p.getHandTotal();
-
-                // Player wins if higher score or dealer is bust
-                if (playerScore > dealerScore || this.isBust()) {
-                    stake = playerBet;
-                    // Player loses if lower score
-                } else if (playerScore < dealerScore) {
+            switch (outcome) {
+                case BUST:        // Player loses bet
+                case LOSS:
                     stake = -playerBet;
-                }
+                    break;
+                case BLACKJACK:   // Player wins the rules' payout
+                    stake = this.rules.blackjackStake(playerBet);
+                    break;
+                case WIN:         // Player wins bet
+                    stake = playerBet;
+                    break;
+                case PUSH:        // Player keeps bet
+                default:
+                    break;
+            }
+
+            // Checks the first cards for the jackpot before they are cleared
+            if (this.jackpot != null
+                    && ProgressiveJackpot.qualifies(p.getHand())) {
+                stake += this.jackpot.award();
             }
 
             p.newHand();          // Empties the player's hand once completed
             p.settleBet(stake);
+
+            if (this.settlementListener != null) {
+                this.settlementListener.settled(p, playerBet, outcome, stake,
+                        dealersCard);
+            }
         }
 
         Hand.remove(this.dealerHand);
     }
 
+    /**
+     * Decides how a player's hand is settled against the dealer's
+     *
+     * @param p           player to settle
+     * @param dealerScore the dealer's score
+     * @return outcome of the player's hand
+     */
+    private Outcome outcomeOf(Player p, int dealerScore) {
+        // If player is bust or dealer has blackjack they lose bet
+        if (p.isBust()) {
+            return Outcome.BUST;
+        } else if (this.blackjack()) {
+            return Outcome.LOSS;
+            // If player has blackjack wins double
+        } else if (p.blackjack()) {
+            return Outcome.BLACKJACK;
+        }
+
+        // Finally compares dealer's hand to players
+        int playerScore = p.getHandTotal();
+
+        // Player wins if higher score or dealer is bust
+        if (playerScore > dealerScore || this.isBust()) {
+            return Outcome.WIN;
+            // Player loses if lower score
+        } else if (playerScore < dealerScore) {
+            return Outcome.LOSS;
+        }
+
+        return Outcome.PUSH;
+    }
+
+    /**
+     * Sets who is told about every bet the dealer settles
+     *
+     * @param listener listener to tell, null to tell nobody
+     */
+    public void setSettlementListener(SettlementListener listener) {
+        this.settlementListener = listener;
+    }
+
+    /**
+     * Sets where the dealer's prompts to human players are printed
+     *
+     * @param out where prompts are printed
+     */
+    void setOutput(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Sets the jackpot every bet contributes to and a hand dealt the ACE and
+     * JACK of SPADES wins
+     *
+     * @param jackpot jackpot shared with other tables, null for none
+     */
+    void setJackpot(ProgressiveJackpot jackpot) {
+        this.jackpot = jackpot;
+    }
+
     /**
      * Checks if the dealer's hand is equal to 21 (Blackjack)
      *
@@ -284,4 +663,80 @@ public class BlackjackDealer implements Dealer, Serializable {
         return this.dealerHand;
     }
 
+    /**
+     * Retrieves the dealer's deck
+     *
+     * @return the dealer's deck
+     */
+    Deck getDeck() {
+        return this.dealerDeck;
+    }
+
+    /**
+     * Retrieves the random number generator the deck is shuffled with
+     *
+     * @return random number generator, null if the dealer is unseeded
+     */
+    Random getRandom() {
+        return this.random;
+    }
+
+    /**
+     * Replaces the random number generator the deck is shuffled with
+     *
+     * @param random random number generator, null for an unseeded dealer
+     */
+    void setRandom(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Has each new deck supplied already shuffled rather than shuffling it
+     * when needed. Each deck supplied must be a new deck of the rules' size
+     * shuffled with the dealer's random number generator, in turn, so the
+     * game is dealt exactly the same cards.
+     *
+     * @param shoes supplier of shuffled decks, null to shuffle as needed
+     */
+    void setShoeSupplier(Supplier<Deck> shoes) {
+        this.shoes = shoes;
+    }
+
+    /**
+     * Retrieves every running count the dealer keeps
+     *
+     * @return unmodifiable running counts
+     */
+    Collection<RunningCount> getRunningCounts() {
+        return Collections.unmodifiableCollection(
+                this.runningCounts.values());
+    }
+
+    /**
+     * De-serialises the dealer, starting the running counts and default rules
+     * for games saved before the dealer kept them, and printing prompts to the
+     * console
+     *
+     * @param stream dealer to de-serialise
+     * @throws ClassNotFoundException   if class of serialised object could
+     *                                  not be found
+     * @throws IOException              if an I/O error occurs
+     */
+    private void readObject(ObjectInputStream stream)
+            throws ClassNotFoundException, IOException {
+        stream.defaultReadObject();
+
+        this.out = System.out;
+
+        if (this.runningCounts == null) {
+            this.runningCounts = new EnumMap<>(CountingSystem.class);
+        }
+
+        // Games saved before rules could change were dealt by the defaults
+        if (this.rules == null) {
+            this.rules = new TableRules();
+            this.rules.setBets(this.minBet, this.maxBet);
+        }
+    }
+
 }
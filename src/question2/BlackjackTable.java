@@ -17,11 +17,18 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.PrintStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import question2.SimulationConfig.BrokePolicy;
 
 /**
  *
@@ -50,27 +57,57 @@ public class BlackjackTable implements Serializable {
     private List<Player> playerRegister;
 
     /**
-     * Maximum amount of players allowed at this table
+     * The registered type of each player in the register, which they are
+     * recreated from
      */
-    private final static int MAX_PLAYERS = 8;
+    private List<String> seatTypes;
 
     /**
-     * Maximum bet a player can make
+     * The player most recently seated in each seat of the register
      */
-    private final static int MAX_BET = 500;
+    private List<Player> seatOccupants;
 
     /**
-     * Minimum bet a player can make
+     * Rules the table is played by, including the maximum amount of players
+     * and the minimum and maximum bets
      */
-    private final static int MIN_BET = 1;
+    private TableRules rules;
 
     /**
      * Constructs a blackjack table with a dealer
      */
     public BlackjackTable() {
-        this.dealer = new BlackjackDealer(MIN_BET, MAX_BET);
+        this.rules = new TableRules();
+        this.dealer = new BlackjackDealer(this.rules.getMinBet(),
+                this.rules.getMaxBet());
         this.tablePlayers = new ArrayList<>();
         this.playerRegister = new ArrayList<>();
+        this.seatTypes = new ArrayList<>();
+        this.seatOccupants = new ArrayList<>();
+    }
+
+    /**
+     * Constructs a blackjack table with a dealer who shuffles with the given
+     * random number generator, so every deck can be reproduced
+     *
+     * @param random random number generator to shuffle with
+     */
+    public BlackjackTable(Random random) {
+        this(new TableRules(), random);
+    }
+
+    /**
+     * Constructs a blackjack table played by a set of rules, with a dealer
+     * who shuffles with the given random number generator
+     *
+     * @param rules  rules the table is played by
+     * @param random random number generator to shuffle with, null for
+     *               unseeded shuffles
+     */
+    public BlackjackTable(TableRules rules, Random random) {
+        this();
+        this.rules = new TableRules(rules);
+        this.dealer = new BlackjackDealer(rules, random);
     }
 
     /**
@@ -81,28 +118,524 @@ public class BlackjackTable implements Serializable {
     public BlackjackTable(List<Player> players) {
         this();
         this.tablePlayers = players;
-        this.playerRegister.addAll(players);
+        this.register(players);
     }
 
     /**
-     * Brings back all players found in the register to the table, all players
-     * are reconstructed to start with their default values
+     * Constructs a blackjack table with a list of players and a dealer who
+     * shuffles with the given random number generator
+     *
+     * @param players a list of players playing at this table
+     * @param random  random number generator to shuffle with
+     */
+    public BlackjackTable(List<Player> players, Random random) {
+        this(random);
+        this.tablePlayers = players;
+        this.register(players);
+    }
+
+    /**
+     * Adds players to the register, remembering the registered type of each
+     * player to recreate them
+     *
+     * @param players players to add
+     */
+    private void register(List<Player> players) {
+        for (Player p : players) {
+            this.welcome(p, this.playerRegister.size());
+            this.playerRegister.add(p);
+            this.seatOccupants.add(p);
+            this.seatTypes.add(PlayerRegistry.nameOf(p));
+        }
+    }
+
+    /**
+     * Gives a player who follows the table its rules and a seed of their
+     * own. The seed is derived from the dealer's random number generator
+     * without drawing from it, so seating a player never changes the cards
+     * dealt.
+     *
+     * @param p    player being seated
+     * @param seat seat the player takes
+     */
+    private void welcome(Player p, int seat) {
+        if (p instanceof TableFollower) {
+            ((TableFollower) p).followTable(this.rules, seedFor(seat));
+        }
+    }
+
+    /**
+     * Derives a seed for a seat from the state of the dealer's random number
+     * generator, or from the time if the generator's state can't be read
+     *
+     * @param seat seat to derive a seed for
+     * @return seed of the seat
+     */
+    private long seedFor(int seat) {
+        Random random = this.dealer.getRandom();
+
+        if (!(random instanceof SplitRandom)) {
+            return System.nanoTime() ^ seat;
+        }
+
+        return new SplitRandom(((SplitRandom) random).getState() ^ seat)
+                .nextLong();
+    }
+
+    /**
+     * Seats many new players of a registered type at the table
      *
-     * @throws InstantiationException if player cannot be instantiated
-     * @throws IllegalAccessException if unable to access player's constructor
-     * method
+     * @param type  name the players' factory is registered under
+     * @param count amount of players to seat
+     * @throws IllegalArgumentException if no factory has the name, or the
+     * table's maximum amount of players would be passed
      */
-    public void reinstatePlayers() throws InstantiationException,
-            IllegalAccessException {
+    public void seatPlayers(String type, int count) {
+        if (this.playerRegister.size() + count > this.rules.getMaxPlayers()) {
+            throw new IllegalArgumentException("Only "
+                    + this.rules.getMaxPlayers() + " players can sit at the "
+                    + "table");
+        }
+
+        List<Player> players = PlayerRegistry.create(type, count);
 
+        for (Player p : players) {
+            this.welcome(p, this.playerRegister.size());
+            this.tablePlayers.add(p);
+            this.playerRegister.add(p);
+            this.seatOccupants.add(p);
+            this.seatTypes.add(type);
+        }
+    }
+
+    /**
+     * Brings back all players found in the register to the table, all players
+     * are recreated by their registered factory to start with their default
+     * values
+     *
+     * @throws IllegalArgumentException if a player's type has no factory
+     */
+    public void reinstatePlayers() {
         // Loops through register, creating the players as new for the table
-        for (Player p : this.playerRegister) {
-            Class<? extends Player> playerClass = p.getClass();
-            Player playerObject = playerClass.newInstance();
+        for (int i = 0; i < this.seatTypes.size(); i++) {
+            String type = this.seatTypes.get(i);
+
+            if (type == null) {
+                throw new IllegalArgumentException("No player type is "
+                        + "registered for "
+                        + this.playerRegister.get(i).getClass().getName());
+            }
 
+            Player playerObject = PlayerRegistry.create(type);
+
+            this.welcome(playerObject, i);
             this.tablePlayers.add(playerObject);
+            this.seatOccupants.set(i, playerObject);
+        }
+
+    }
+
+    /**
+     * Simulates rounds of blackjack without any console output, collecting
+     * the results of each seat. When every player has run out of money they
+     * are reinstated or the simulation stops, as the config decides.
+     *
+     * @param rounds amount of rounds to play
+     * @param config how the simulation behaves
+     * @return results of the simulation
+     * @throws IllegalArgumentException if a player to reinstate has no
+     * registered type
+     * @throws IllegalStateException if a bot bets outside the table's limits
+     */
+    public SimulationResult simulate(int rounds, SimulationConfig config) {
+        return this.simulate(rounds, config, null);
+    }
+
+    /**
+     * Simulates rounds of blackjack as simulate(rounds, config) does, except
+     * that the statistics and any settlement listener of each round may be
+     * handed to a stage running on another thread, leaving this thread free
+     * to play the next round. The listener is called with the same arguments
+     * in the same order, but only after the player has carried on.
+     *
+     * @param rounds     amount of rounds to play
+     * @param config     how the simulation behaves
+     * @param statsStage runs each round's statistics in the order handed
+     *                   over, null to run them as each bet is settled
+     * @return results of the simulation, complete once every round handed to
+     * the stage has run
+     * @throws IllegalArgumentException if a player to reinstate has no
+     * registered type
+     * @throws IllegalStateException if a bot bets outside the table's limits,
+     * or the thread is interrupted waiting for the stage
+     */
+    SimulationResult simulate(int rounds, SimulationConfig config,
+            ExecutorService statsStage) {
+        SimulationResult result = new SimulationResult(this.seatTypes);
+        Map<Player, PlayerStats> seatStats = new IdentityHashMap<>();
+        List<Runnable> settled = new ArrayList<>();
+
+        SettlementListener also = config.getSettlementListener();
+
+        this.trackSeats(seatStats, result);
+
+        // Records every settled bet against the seat it was made from
+        this.dealer.setSettlementListener((p, bet, outcome, stake, card) -> {
+            // Looks up the seat now, as players may be reinstated before the
+            // stage records the bet
+            PlayerStats stats = seatStats.get(p);
+            Runnable record = () -> {
+                if (stats != null) {
+                    stats.record(bet, outcome, stake);
+                }
+
+                if (also != null) {
+                    also.settled(p, bet, outcome, stake, card);
+                }
+            };
+
+            if (statsStage == null) {
+                record.run();
+            } else {
+                settled.add(record);
+            }
+        });
+
+        try {
+            for (int i = 0; i < rounds; i++) {
+                // Removes players who have no money
+                this.tablePlayers.removeIf(p -> !p.settleBet(0));
+
+                // Follows the broke policy once every player has gone
+                if (this.tablePlayers.isEmpty()) {
+                    if (config.getBrokePolicy() == BrokePolicy.STOP) {
+                        result.stopped();
+                        break;
+                    }
+
+                    this.reinstatePlayers();
+                    this.trackSeats(seatStats, result);
+                    result.reinstated();
+                }
+
+                this.playRound(config.isFreshShoes());
+                result.roundPlayed();
+
+                if (statsStage != null) {
+                    Runnable[] round = settled.toArray(new Runnable[0]);
+
+                    settled.clear();
+                    statsStage.execute(() -> {
+                        for (Runnable record : round) {
+                            record.run();
+                        }
+                    });
+                }
+            }
+        } finally {
+            this.dealer.setSettlementListener(null);
+        }
+
+        if (statsStage != null) {
+            // Waits for the stage to finish every round handed to it
+            try {
+                statsStage.submit(() -> {
+                }).get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+
+                throw new IllegalStateException("Interrupted waiting for "
+                        + "the results of a round", ex);
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("Unable to record the "
+                        + "results of a round", ex.getCause());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Maps the player in each seat to the seat's stats
+     *
+     * @param seatStats map to fill
+     * @param result    results holding each seat's stats
+     */
+    private void trackSeats(Map<Player, PlayerStats> seatStats,
+            SimulationResult result) {
+        seatStats.clear();
+
+        for (int i = 0; i < this.seatOccupants.size(); i++) {
+            seatStats.put(this.seatOccupants.get(i), result.getSeat(i));
+        }
+    }
+
+    /**
+     * Seats a player who has walked up to the table, if a seat is free
+     *
+     * @param p player to seat
+     * @return true if the player was seated, false if the table is full
+     */
+    boolean sit(Player p) {
+        if (this.tablePlayers.size() >= this.rules.getMaxPlayers()) {
+            return false;
+        }
+
+        this.welcome(p, this.tablePlayers.size());
+
+        return this.tablePlayers.add(p);
+    }
+
+    /**
+     * Lets a player walk away from the table between rounds
+     *
+     * @param p player leaving
+     * @return true if the player was at the table
+     */
+    boolean leave(Player p) {
+        // Players are compared by identity as they do not define equals
+        return this.tablePlayers.removeIf(atTable -> atTable == p);
+    }
+
+    /**
+     * Has the table contribute to and pay out a jackpot shared with others
+     *
+     * @param jackpot jackpot to join, null to leave any jackpot
+     */
+    void setJackpot(ProgressiveJackpot jackpot) {
+        this.dealer.setJackpot(jackpot);
+    }
+
+    /**
+     * Retrieves the table's dealer
+     *
+     * @return dealer
+     */
+    BlackjackDealer getDealer() {
+        return this.dealer;
+    }
+
+    /**
+     * Plays a round of blackjack with the players at the table, without any
+     * console output
+     *
+     * @param freshShoe whether the round is dealt from a deck shuffled for it
+     */
+    private void playRound(boolean freshShoe) {
+        this.dealer.assignPlayers(this.tablePlayers);
+        this.dealer.takeBets();
+
+        if (freshShoe) {
+            this.dealer.reshuffle();
+        }
+
+        this.dealer.dealFirstCards();
+
+        for (Player p : this.tablePlayers) {
+            this.dealer.play(p);
+        }
+
+        this.dealer.playDealer();
+        this.showCardsPlayed();
+        this.dealer.settleBets();
+    }
+
+    /**
+     * Shows the cards played this round to players who are not already
+     * following a running count kept by the dealer
+     */
+    private void showCardsPlayed() {
+        List<Card> cardsPlayed = null;
+
+        for (Player p : this.tablePlayers) {
+            if (p instanceof CountingPlayer) {
+                continue;
+            }
+
+            if (cardsPlayed == null) {
+                cardsPlayed = this.cardsPlayed();
+            }
+
+            p.viewCards(cardsPlayed);
+        }
+    }
+
+    /**
+     * Retrieves the rules the table is played by
+     *
+     * @return copy of the rules
+     */
+    public TableRules getRules() {
+        return new TableRules(this.rules);
+    }
+
+    /**
+     * Retrieves the registered type of each seat in the register
+     *
+     * @return unmodifiable list of seat types
+     */
+    public List<String> getSeatTypes() {
+        return Collections.unmodifiableList(this.seatTypes);
+    }
+
+    /**
+     * Captures the state of the game between rounds, so it can be carried on
+     * later from the same point
+     *
+     * @param round       rounds played so far
+     * @param choicesRead choices read from the decision log so far
+     * @return checkpoint of the game
+     * @throws IllegalStateException if the dealer does not shuffle with a
+     * SplitRandom, as only its state can be captured
+     */
+    GameCheckpoint checkpoint(int round, long choicesRead) {
+        if (!(this.dealer.getRandom() instanceof SplitRandom)) {
+            throw new IllegalStateException("Only games seeded with a "
+                    + "SplitRandom can be checkpointed");
+        }
+
+        List<RunningCount> runningCounts = new ArrayList<>(
+                this.dealer.getRunningCounts());
+        CountingSystem[] systems = new CountingSystem[runningCounts.size()];
+        int[] counts = new int[systems.length];
+        int[] cardsSeen = new int[systems.length];
+
+        for (int i = 0; i < systems.length; i++) {
+            RunningCount count = runningCounts.get(i);
+
+            systems[i] = count.getSystem();
+            counts[i] = count.getCount();
+            cardsSeen[i] = count.getCardsSeen();
+        }
+
+        boolean[] seated = new boolean[this.seatOccupants.size()];
+        int[] balances = new int[seated.length];
+        long[][] followerStates = new long[seated.length][];
+
+        for (int i = 0; i < seated.length; i++) {
+            Player p = this.seatOccupants.get(i);
+
+            // Players are compared by identity as they do not define equals
+            for (Player atTable : this.tablePlayers) {
+                seated[i] |= atTable == p;
+            }
+            balances[i] = p.getBalance();
+
+            if (p instanceof TableFollower) {
+                followerStates[i] = ((TableFollower) p).saveState();
+            }
+        }
+
+        return new GameCheckpoint(round, choicesRead,
+                (SplitRandom) this.dealer.getRandom(),
+                this.dealer.getDeck().getCodes(), systems, counts, cardsSeen,
+                seated, balances, followerStates);
+    }
+
+    /**
+     * Puts the game back to the state of a checkpoint taken at a table with
+     * the same seats
+     *
+     * @param checkpoint checkpoint to restore
+     * @throws IllegalArgumentException if the checkpoint has a different
+     * amount of seats, a seat's player can not have its balance set, or a
+     * seat's player follows the table without a state in the checkpoint
+     */
+    void restore(GameCheckpoint checkpoint) {
+        boolean[] seated = checkpoint.getSeated();
+        int[] balances = checkpoint.getBalances();
+
+        if (seated.length != this.seatOccupants.size()) {
+            throw new IllegalArgumentException("Checkpoint is for a table "
+                    + "with " + seated.length + " seats");
+        }
+
+        this.dealer.setRandom(checkpoint.getRandom());
+        this.dealer.getDeck().setCodes(checkpoint.getDeck());
+
+        CountingSystem[] systems = checkpoint.getSystems();
+        int[] counts = checkpoint.getCounts();
+        int[] cardsSeen = checkpoint.getCardsSeen();
+
+        for (int i = 0; i < systems.length; i++) {
+            this.dealer.getRunningCount(systems[i]).restore(counts[i],
+                    cardsSeen[i]);
+        }
+
+        this.tablePlayers.clear();
+
+        for (int i = 0; i < seated.length; i++) {
+            Player p = this.seatOccupants.get(i);
+
+            if (!(p instanceof BasicPlayer)) {
+                throw new IllegalArgumentException("Unable to restore the "
+                        + "balance of " + p.getClass().getName());
+            }
+
+            ((BasicPlayer) p).setBalance(balances[i]);
+
+            long[] state = checkpoint.getFollowerState(i);
+
+            if (p instanceof TableFollower && state == null) {
+                throw new IllegalArgumentException("Checkpoint does not "
+                        + "hold the state of seat " + i + "'s player");
+            } else if (p instanceof TableFollower) {
+                ((TableFollower) p).restoreState(state);
+            }
+
+            if (seated[i]) {
+                this.tablePlayers.add(p);
+            }
+        }
+    }
+
+    /**
+     * Has every human player at the table read their choices from an input,
+     * and be shown the game and prompted by the dealer on an output
+     *
+     * @param input where the choices are read from
+     * @param out   where the game is printed
+     */
+    private void useInput(PlayerInput input, PrintStream out) {
+        this.dealer.setOutput(out);
+
+        for (Player p : this.tablePlayers) {
+            if (p instanceof HumanPlayer) {
+                ((HumanPlayer) p).setInput(input);
+                ((HumanPlayer) p).setOutput(out);
+            }
+        }
+    }
+
+    /**
+     * Checks if any player at the table waits on a person for their choices
+     *
+     * @return true if a player is an InteractivePlayer
+     */
+    boolean hasInteractivePlayers() {
+        for (Player p : this.tablePlayers) {
+            if (p instanceof InteractivePlayer) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Collects every card played this round by the players and the dealer
+     *
+     * @return list of cards played
+     */
+    private List<Card> cardsPlayed() {
+        List<Card> cardsPlayed = new ArrayList<>();
+
+        for (Player p : this.tablePlayers) {
+            cardsPlayed.addAll(p.getHand().getAllCards());
         }
+        cardsPlayed.addAll(this.dealer.getHand().getAllCards());
 
+        return cardsPlayed;
     }
 
     /**
@@ -146,7 +679,18 @@ public class BlackjackTable implements Serializable {
      * @param table     table that will be played at
      */
     public static void gameMenu(BlackjackTable table) {
-        Scanner userScanner = new Scanner(System.in);
+        gameMenu(table, ConsoleInput.getInstance());
+    }
+
+    /**
+     * Displays a menu for the user to decide how many rounds a game to play or
+     * if they wish to save/load a game or even quit entirely, reading their
+     * choices from an input
+     * 
+     * @param table     table that will be played at
+     * @param input     where the user's choices are read from
+     */
+    public static void gameMenu(BlackjackTable table, PlayerInput input) {
         boolean playAgain = true;
         int rounds = 1;
 
@@ -158,7 +702,7 @@ public class BlackjackTable implements Serializable {
             System.out.println("3) Save Game");
             System.out.println("4) Quit to Menu");
 
-            int userChoice = userScanner.nextInt();
+            int userChoice = input.nextInt();
 
             switch (userChoice) {
                 case 1:   // Continue playing
@@ -166,12 +710,12 @@ public class BlackjackTable implements Serializable {
                         System.out.println("How many rounds would you "
                                 + "like to play?");
 
-                        if (userScanner.hasNextInt()) {
-                            rounds = userScanner.nextInt();
+                        if (input.hasNextInt()) {
+                            rounds = input.nextInt();
                         }
                     } while (rounds < 0);
 
-                    playGame(rounds, table);
+                    playGame(rounds, table, input);
                     break;
                 case 2:   // Load Game
                     table = loadGame(table);
@@ -193,40 +737,53 @@ public class BlackjackTable implements Serializable {
      * Simulates a game of blackjack with basic players
      */
     public static void basicGame() {
-        final int AMOUNT_OF_PLAYERS = 4;
+        basicGame(ConsoleInput.getInstance());
+    }
 
-        // Creates and populates a list of basic players for the table
-        List<Player> basicPlayers = new ArrayList<>();
-        for (int i = 0; i < AMOUNT_OF_PLAYERS; i++) {
-            Player p = new BasicPlayer();
-            basicPlayers.add(p);
-        }
+    /**
+     * Simulates a game of blackjack with basic players, reading the user's
+     * choices from an input
+     *
+     * @param input where the user's choices are read from
+     */
+    public static void basicGame(PlayerInput input) {
+        final int AMOUNT_OF_PLAYERS = 4;
 
-        BlackjackTable table = new BlackjackTable(basicPlayers);
+        // Creates a table seating basic players
+        BlackjackTable table = new BlackjackTable();
+        table.seatPlayers("basic", AMOUNT_OF_PLAYERS);
 
-        gameMenu(table);
+        gameMenu(table, input);
     }
 
     /**
      * Plays a game of blackjack with the user
      */
     public static void humanGame() {
+        humanGame(ConsoleInput.getInstance());
+    }
+
+    /**
+     * Plays a game of blackjack with the user, reading their choices from an
+     * input
+     *
+     * @param input where the user's choices are read from
+     */
+    public static void humanGame(PlayerInput input) {
         // Players for human game
         List<Player> players = new ArrayList<>();
-        Player humanPlayer = new HumanPlayer();
+        Player humanPlayer = new HumanPlayer(input);
         Player basicPlayer = new BasicPlayer();
         players.add(humanPlayer);
         players.add(basicPlayer);
 
         BlackjackTable table = new BlackjackTable(players);
 
-        // User input code:
-        Scanner userScanner = new Scanner(System.in);
         boolean playAgain = true;
         int rounds = 1;
 
         do {
-            playGame(rounds, table);
+            playGame(rounds, table, input);
 
             // User decides whether to continue, load, save or quit game
             System.out.println("What would you like to do?");
@@ -235,7 +792,7 @@ public class BlackjackTable implements Serializable {
             System.out.println("3) Save Game");
             System.out.println("4) Quit to Menu");
 
-            int userChoice = userScanner.nextInt();
+            int userChoice = input.nextInt();
 
             switch (userChoice) {
                 case 1:   // Continue playing
@@ -260,24 +817,39 @@ public class BlackjackTable implements Serializable {
      * Simulates a game of blackjack with intermediate players
      */
     public static void intermediateGame() {
-        final int AMOUNT_OF_PLAYERS = 4;
+        intermediateGame(ConsoleInput.getInstance());
+    }
 
-        // Creates and populates a list of intermediate players for the table
-        List<Player> intermediatePlayers = new ArrayList<>();
-        for (int i = 0; i < AMOUNT_OF_PLAYERS; i++) {
-            Player p = new IntermediatePlayer();
-            intermediatePlayers.add(p);
-        }
+    /**
+     * Simulates a game of blackjack with intermediate players, reading the user's
+     * choices from an input
+     *
+     * @param input where the user's choices are read from
+     */
+    public static void intermediateGame(PlayerInput input) {
+        final int AMOUNT_OF_PLAYERS = 4;
 
-        BlackjackTable table = new BlackjackTable(intermediatePlayers);
+        // Creates a table seating intermediate players
+        BlackjackTable table = new BlackjackTable();
+        table.seatPlayers("intermediate", AMOUNT_OF_PLAYERS);
 
-        gameMenu(table);
+        gameMenu(table, input);
     }
 
     /**
      * Simulates a game of blackjack with advanced players
      */
     public static void advancedGame() {
+        advancedGame(ConsoleInput.getInstance());
+    }
+
+    /**
+     * Simulates a game of blackjack with advanced players, reading the user's
+     * choices from an input
+     *
+     * @param input where the user's choices are read from
+     */
+    public static void advancedGame(PlayerInput input) {
         // Players for advanced game
         List<Player> players = new ArrayList<>();
         Player basicPlayer = new BasicPlayer();
@@ -290,7 +862,7 @@ public class BlackjackTable implements Serializable {
 
         BlackjackTable table = new BlackjackTable(players);
 
-        gameMenu(table);
+        gameMenu(table, input);
     }
 
     /**
@@ -300,38 +872,87 @@ public class BlackjackTable implements Serializable {
      * @param table blackjack table to play on
      */
     public static void playGame(int rounds, BlackjackTable table) {
-        Scanner userScanner = new Scanner(System.in);
+        playGame(rounds, table, ConsoleInput.getInstance());
+    }
 
-        // Loops through a round of blackjack until all rounds are complete
-        for (int i = 0; i < rounds; i++) {
-            List<Card> cardsPlayed = new ArrayList<>();
+    /**
+     * Plays a given amount of rounds of blackjack, reading the choices of the
+     * user and any human players from an input
+     *
+     * @param rounds amount of rounds to play
+     * @param table blackjack table to play on
+     * @param input where the user's choices are read from
+     */
+    public static void playGame(int rounds, BlackjackTable table,
+            PlayerInput input) {
+        playRounds(0, rounds, table, input);
+    }
 
-            System.out.println("-----------------------------------------");
-            System.out.println("BlackJack Round " + (i + 1) + "\n");
+    /**
+     * Plays a given amount of rounds of blackjack, numbering them on from
+     * the rounds already played, and reading the choices of the user and any
+     * human players from an input
+     *
+     * @param played rounds already played at the table
+     * @param rounds amount of rounds to play
+     * @param table blackjack table to play on
+     * @param input where the user's choices are read from
+     * @return true if every round was played, false if the game ended early
+     */
+    static boolean playRounds(int played, int rounds, BlackjackTable table,
+            PlayerInput input) {
+        return playRounds(played, rounds, table, input, System.out);
+    }
+
+    /**
+     * Plays a given amount of rounds of blackjack, numbering them on from
+     * the rounds already played, reading the choices of the user and any
+     * human players from an input and printing the game to an output
+     *
+     * @param played rounds already played at the table
+     * @param rounds amount of rounds to play
+     * @param table blackjack table to play on
+     * @param input where the user's choices are read from
+     * @param out where the game is printed
+     * @return true if every round was played, false if the game ended early
+     */
+    static boolean playRounds(int played, int rounds, BlackjackTable table,
+            PlayerInput input, PrintStream out) {
+        table.useInput(input, out);
+
+        // Loops through a round of blackjack until all rounds are complete
+        for (int i = played; i < played + rounds; i++) {
+            out.println("-----------------------------------------");
+            out.println("BlackJack Round " + (i + 1) + "\n");
 
             // Displays current players with their current balance
-            System.out.println("Current Players:");
+            out.println("Current Players:");
             Iterator<Player> playerIt = table.tablePlayers.iterator();
             while (playerIt.hasNext()) {
                 Player p = playerIt.next();
 
                 // Removes players who have no money
                 if (p.settleBet(0)) {
-                    System.out.println(p.getClass().getSimpleName()
+                    out.println(p.getClass().getSimpleName()
                             + ": £" + p.getBalance());
                 } else {
                     playerIt.remove();
                 }
             }
-            System.out.println("");
+            out.println("");
 
             // Gives user the choice of carrying on if all players are gone
             if (table.tablePlayers.isEmpty()) {
-                System.out.println("There are no players left in the game!");
-                System.out.println("Would you like to continue the game "
+                out.println("There are no players left in the game!");
+                out.println("Would you like to continue the game "
                         + "with newly created players? (Y/N)");
 
-                String emptyPlayersChoice = userScanner.next();
+                // A script that has run out of choices ends the game
+                if (!input.hasNext()) {
+                    return false;
+                }
+
+                String emptyPlayersChoice = input.next();
                 emptyPlayersChoice = emptyPlayersChoice.toUpperCase();
 
                 // Creates new players or exits game depending on user choice
@@ -340,14 +961,14 @@ public class BlackjackTable implements Serializable {
                        and ends current game */
                     try {
                         table.reinstatePlayers();
-                    } catch (IllegalAccessException
-                            | InstantiationException ex) {
-                        System.out.println("Unable to create new players. "
+                        table.useInput(input, out);
+                    } catch (IllegalArgumentException ex) {
+                        out.println("Unable to create new players. "
                                 + "Game has ended!");
-                        return;
+                        return false;
                     }
                 } else {
-                    return;
+                    return false;
                 }
             }
 
@@ -362,27 +983,25 @@ public class BlackjackTable implements Serializable {
 
             // Each player plays their hand, displaying outcome
             for (Player p : table.tablePlayers) {
-                System.out.println(p.getClass().getSimpleName() + " Score: "
+                out.println(p.getClass().getSimpleName() + " Score: "
                         + table.dealer.play(p));
-                System.out.println(p.getHand().toString());
-                cardsPlayed.addAll(p.getHand().getAllCards());
+                out.println(p.getHand().toString());
             }
 
             // Dealer plays hand, displaying outcome
-            System.out.println("Dealer's Score: " + table.dealer.playDealer());
-            System.out.println(table.dealer.getHand().toString());
-            cardsPlayed.addAll(table.dealer.getHand().getAllCards());
+            out.println("Dealer's Score: " + table.dealer.playDealer());
+            out.println(table.dealer.getHand().toString());
 
             // Shows all players the cards played this round
-            for (Player p : table.tablePlayers) {
-                p.viewCards(cardsPlayed);
-            }
+            table.showCardsPlayed();
 
             // All bets are settled, preparing the table for the next round
             table.dealer.settleBets();
 
-            System.out.println("-----------------------------------------");
+            out.println("-----------------------------------------");
         }
+
+        return true;
     }
 
     /**
@@ -392,7 +1011,16 @@ public class BlackjackTable implements Serializable {
      * @param args the command line arguments
      */
     public static void main(String[] args) {
-        Scanner userScanner = new Scanner(System.in);
+        mainMenu(ConsoleInput.getInstance());
+    }
+
+    /**
+     * Displays the menu for the user to select a game type, reading their
+     * choices from an input, until they quit
+     *
+     * @param input where the user's choices are read from
+     */
+    public static void mainMenu(PlayerInput input) {
         boolean playAgain = true;
 
         do {
@@ -405,20 +1033,20 @@ public class BlackjackTable implements Serializable {
             System.out.println("4) Advanced Game");
             System.out.println("5) Quit Game");
 
-            int userChoice = userScanner.nextInt();
+            int userChoice = input.nextInt();
 
             switch (userChoice) {
                 case 1:   // Play Basic Game
-                    basicGame();
+                    basicGame(input);
                     break;
                 case 2:   // Play Human Game
-                    humanGame();
+                    humanGame(input);
                     break;
                 case 3:   // Play Intermediate Game
-                    intermediateGame();
+                    intermediateGame(input);
                     break;
                 case 4:   // Play Advanced Game
-                    advancedGame();
+                    advancedGame(input);
                     break;
                 case 5:   // Quit Game
                 default:
@@ -465,4 +1093,36 @@ public class BlackjackTable implements Serializable {
 
     }
 
+    /**
+     * De-serialises the table, working out the seats and rules of games saved
+     * before they were kept
+     *
+     * @param stream table to de-serialise
+     * @throws ClassNotFoundException   if class of serialised object could
+     *                                  not be found
+     * @throws IOException              if an I/O error occurs
+     */
+    private void readObject(ObjectInputStream stream)
+            throws ClassNotFoundException, IOException {
+        stream.defaultReadObject();
+
+        // Names players by the default type of their class
+        if (this.seatTypes == null) {
+            this.seatTypes = new ArrayList<>();
+
+            for (Player p : this.playerRegister) {
+                this.seatTypes.add(PlayerRegistry.nameOf(p));
+            }
+        }
+
+        if (this.seatOccupants == null) {
+            this.seatOccupants = new ArrayList<>(this.playerRegister);
+        }
+
+        // Tables saved before rules could change were played by the defaults
+        if (this.rules == null) {
+            this.rules = new TableRules();
+        }
+    }
+
 }
@@ -0,0 +1,69 @@
+/** ***************************************************************************
+ *
+ * File        : BotPlayer.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that models a basic player who is a bot, able to
+ *               decide for many hands at once.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+/**
+ * Every bot extends this class, so only players who can decide without
+ * anybody at the table are BatchPlayers. A HumanPlayer extends BasicPlayer
+ * directly and is never handed to a batch engine.
+ *
+ * @author Ali Jarjis
+ */
+public class BotPlayer extends BasicPlayer implements BatchPlayer {
+
+    /**
+     * BotPlayer's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 152;
+
+    /**
+     * Constructs a basic bot
+     */
+    public BotPlayer() {
+        super();
+    }
+
+    /**
+     * Decides the bet of many basic players at once
+     *
+     * @param balances balance of each seat
+     * @param counts   running count seen by each seat, not used
+     * @param bets     set to the bet of each seat
+     * @param length   amount of seats to decide for
+     */
+    @Override
+    public void makeBets(int[] balances, int[] counts, int[] bets,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            bets[i] = betFor(balances[i]);
+        }
+    }
+
+    /**
+     * Decides whether to take a card for many basic player hands at once
+     *
+     * @param states    HandState of each hand
+     * @param upcards   value of the dealer's card for each hand, not used
+     * @param counts    running count seen by each hand's player, not used
+     * @param cardsSeen cards seen since a shuffle, not used
+     * @param decisions set to true for each hand that should take a card
+     * @param length    amount of hands to decide for
+     */
+    @Override
+    public void hits(int[] states, int[] upcards, int[] counts,
+            int[] cardsSeen, boolean[] decisions, int length) {
+        for (int i = 0; i < length; i++) {
+            decisions[i] = hitsOn(states[i]);
+        }
+    }
+}
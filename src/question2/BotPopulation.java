@@ -0,0 +1,681 @@
+/** ***************************************************************************
+ *
+ * File        : BotPopulation.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that stores the balance, bet, hands played and status
+ *               of a large population of bots of one strategy in arrays of
+ *               primitives, creating a player for a bot only while it sits at
+ *               a table.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import question2.SimulationConfig.BrokePolicy;
+
+/**
+ * A bot is only an index into the population's arrays, costing 13 bytes
+ * rather than a player with a hand of its own, and every bot shares the one
+ * strategy, which decides for many bots at once as a BatchPlayer. Sessions
+ * are played by batches of bots as the lanes of a LockstepEngine, and a bot
+ * can sit at a real table through a player view of its index, whose bets and
+ * winnings go straight to the arrays.
+ *
+ * @author Ali Jarjis
+ */
+public class BotPopulation implements Serializable {
+
+    /**
+     * BotPopulation's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 148;
+
+    /**
+     * Most bots played as lanes of one engine
+     */
+    private static final int BATCH_SIZE = 16384;
+
+    /**
+     * What a bot is doing
+     */
+    public enum Status {
+        AVAILABLE, SEATED, RUINED
+    }
+
+    /**
+     * Registered type of every bot's strategy
+     */
+    private final String type;
+
+    /**
+     * Strategy every bot decides with
+     */
+    private final BatchPlayer strategy;
+
+    /**
+     * Balance of each bot
+     */
+    private final int[] balances;
+
+    /**
+     * Most recent bet of each bot
+     */
+    private final int[] bets;
+
+    /**
+     * Hands each bot has played
+     */
+    private final int[] hands;
+
+    /**
+     * Ordinal of the Status of each bot
+     */
+    private final byte[] statuses;
+
+    /**
+     * Constructs a population of bots who are all available
+     *
+     * @param type     registered type of every bot's strategy
+     * @param size     amount of bots
+     * @param bankroll balance every bot starts with
+     * @throws IllegalArgumentException if the type can not decide in batches,
+     *                                  or the size is negative
+     */
+    public BotPopulation(String type, int size, int bankroll) {
+        Player p = PlayerRegistry.create(type);
+
+        if (!(p instanceof BatchPlayer)) {
+            throw new IllegalArgumentException(type + " players can not "
+                    + "decide in batches");
+        }
+
+        if (size < 0) {
+            throw new IllegalArgumentException("A population can not have a "
+                    + "negative size");
+        }
+
+        this.type = type;
+        this.strategy = (BatchPlayer) p;
+        this.balances = new int[size];
+        this.bets = new int[size];
+        this.hands = new int[size];
+        this.statuses = new byte[size];
+
+        for (int bot = 0; bot < size; bot++) {
+            this.balances[bot] = bankroll;
+            this.statuses[bot] = (byte) this.statusFor(bankroll).ordinal();
+        }
+    }
+
+    /**
+     * Works out whether a bot that is not seated can still play
+     *
+     * @param balance the bot's balance
+     * @return AVAILABLE if the bot can make the default bet, else RUINED
+     */
+    private Status statusFor(int balance) {
+        return balance >= BasicPlayer.DEFAULT_BET ? Status.AVAILABLE
+                : Status.RUINED;
+    }
+
+    /**
+     * Plays a session of up to some hands for every available bot, in batches
+     * across a runner's pool. A bot's session ends early once it can no
+     * longer make the default bet.
+     *
+     * @param hands  most hands each bot plays
+     * @param rules  rules every table is played by
+     * @param seed   seed every batch's seed is drawn from
+     * @param runner runner whose threads play the batches
+     * @return amount of bots that played
+     * @throws InterruptedException if interrupted while waiting for batches
+     * @throws ExecutionException   if a batch fails
+     */
+    public int playSessions(int hands, TableRules rules, long seed,
+            MonteCarloRunner runner)
+            throws InterruptedException, ExecutionException {
+        SplitRandom seeds = new SplitRandom(seed);
+        List<Future<Integer>> batches = new ArrayList<>();
+        int[] batch = new int[BATCH_SIZE];
+        int size = 0;
+
+        for (int bot = 0; bot < this.size(); bot++) {
+            if (this.statuses[bot] == Status.AVAILABLE.ordinal()) {
+                batch[size++] = bot;
+            }
+
+            // Sends a batch once full, or once the last bot is reached
+            if (size > 0 && (size == BATCH_SIZE || bot == this.size() - 1)) {
+                final int[] bots = Arrays.copyOf(batch, size);
+                final long batchSeed = seeds.nextLong();
+
+                batches.add(runner.submit(() -> this.playBatch(bots, hands,
+                        rules, batchSeed)));
+                size = 0;
+            }
+        }
+
+        int played = 0;
+
+        for (Future<Integer> f : batches) {
+            played += f.get();
+        }
+
+        return played;
+    }
+
+    /**
+     * Plays a session for a batch of bots as the lanes of one engine. Only
+     * the batch's own bots are written to, so batches can be played at once.
+     *
+     * @param bots      index of each bot in the batch
+     * @param hands     most hands each bot plays
+     * @param rules     rules every table is played by
+     * @param batchSeed seed the lanes' streams are split from
+     * @return amount of bots in the batch
+     */
+    private int playBatch(int[] bots, int hands, TableRules rules,
+            long batchSeed) {
+        SimulationJob job = new SimulationJob(
+                Collections.singletonList(this.type),
+                (long) bots.length * hands, bots.length, batchSeed,
+                new SimulationConfig(BrokePolicy.STOP), rules);
+        LockstepEngine engine = new LockstepEngine(job);
+        int[] starting = new int[bots.length];
+
+        for (int lane = 0; lane < bots.length; lane++) {
+            starting[lane] = this.balances[bots[lane]];
+        }
+
+        engine.setStartingBalances(0, starting);
+
+        // Writes each bot's balance back after every hand it plays
+        engine.setLaneListener((e, lane, round) -> {
+            int bot = bots[lane];
+
+            this.balances[bot] = e.getBalance(0, lane);
+            this.bets[bot] = e.getBet(0, lane);
+            this.hands[bot]++;
+        });
+
+        engine.run();
+
+        for (int bot : bots) {
+            this.statuses[bot] = (byte) this.statusFor(this.balances[bot])
+                    .ordinal();
+        }
+
+        return bots.length;
+    }
+
+    /**
+     * Decides the bet of some bots at once, as their strategy would at the
+     * same running count
+     *
+     * @param bots   index of each bot to bet for
+     * @param counts running count seen by each bot
+     * @param length amount of bots to bet for
+     */
+    public void makeBets(int[] bots, int[] counts, int length) {
+        int[] botBalances = new int[length];
+        int[] botBets = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            botBalances[i] = this.balances[bots[i]];
+        }
+
+        this.strategy.makeBets(botBalances, counts, botBets, length);
+
+        for (int i = 0; i < length; i++) {
+            this.bets[bots[i]] = botBets[i];
+        }
+    }
+
+    /**
+     * Creates a player for an available bot to sit at a table with, marking
+     * the bot as seated until released
+     *
+     * @param bot index of the bot
+     * @return player whose balance and bet are the bot's
+     * @throws IllegalArgumentException if the bot is not available
+     */
+    public Player seat(int bot) {
+        if (this.statuses[bot] != Status.AVAILABLE.ordinal()) {
+            throw new IllegalArgumentException("Bot " + bot + " is "
+                    + this.getStatus(bot) + ", not available");
+        }
+
+        this.statuses[bot] = (byte) Status.SEATED.ordinal();
+
+        if (this.strategy instanceof CountingPlayer) {
+            return new CountingSeat(this, bot);
+        }
+
+        return new Seat(this, bot);
+    }
+
+    /**
+     * Releases a seated bot once it has left its table, the player created
+     * for it no longer being used
+     *
+     * @param bot index of the bot
+     * @throws IllegalArgumentException if the bot is not seated
+     */
+    public void release(int bot) {
+        if (this.statuses[bot] != Status.SEATED.ordinal()) {
+            throw new IllegalArgumentException("Bot " + bot + " is not "
+                    + "seated");
+        }
+
+        this.statuses[bot] = (byte) this.statusFor(this.balances[bot])
+                .ordinal();
+    }
+
+    /**
+     * Retrieves the amount of bots
+     *
+     * @return size of the population
+     */
+    public int size() {
+        return this.balances.length;
+    }
+
+    /**
+     * Retrieves the balance of a bot
+     *
+     * @param bot index of the bot
+     * @return the bot's balance
+     */
+    public int getBalance(int bot) {
+        return this.balances[bot];
+    }
+
+    /**
+     * Retrieves the most recent bet of a bot
+     *
+     * @param bot index of the bot
+     * @return the bot's last bet
+     */
+    public int getBet(int bot) {
+        return this.bets[bot];
+    }
+
+    /**
+     * Retrieves the amount of hands a bot has played
+     *
+     * @param bot index of the bot
+     * @return hands played
+     */
+    public int getHands(int bot) {
+        return this.hands[bot];
+    }
+
+    /**
+     * Retrieves what a bot is doing
+     *
+     * @param bot index of the bot
+     * @return the bot's status
+     */
+    public Status getStatus(int bot) {
+        return Status.values()[this.statuses[bot]];
+    }
+
+    /**
+     * Counts the bots with a status
+     *
+     * @param status status to count
+     * @return amount of bots with the status
+     */
+    public int count(Status status) {
+        int count = 0;
+
+        for (byte s : this.statuses) {
+            if (s == status.ordinal()) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Calculates the average balance of every bot
+     *
+     * @return mean balance, 0 if there are no bots
+     */
+    public double getMeanBalance() {
+        long total = 0;
+
+        for (int balance : this.balances) {
+            total += balance;
+        }
+
+        return this.size() == 0 ? 0 : (double) total / this.size();
+    }
+
+    /**
+     * A player sitting at a table for one bot, deciding with the population's
+     * strategy and keeping its balance and bet in the population's arrays.
+     * Only its hand and the dealer's card are its own.
+     */
+    static class Seat extends BasicPlayer {
+
+        /**
+         * Seat's unique ID for Serialisation
+         */
+        private static final long serialVersionUID = 149;
+
+        /**
+         * Population the bot belongs to
+         */
+        protected final BotPopulation population;
+
+        /**
+         * Index of the bot
+         */
+        protected final int bot;
+
+        /**
+         * Value of the dealer's card this round, ACE being 11
+         */
+        private int upcard;
+
+        /**
+         * Constructs a player for a bot
+         *
+         * @param population population the bot belongs to
+         * @param bot        index of the bot
+         */
+        Seat(BotPopulation population, int bot) {
+            super();
+
+            this.population = population;
+            this.bot = bot;
+        }
+
+        /**
+         * Retrieves the running count the bot decides at
+         *
+         * @return running count, 0 if the bot does not count
+         */
+        protected int getCount() {
+            return 0;
+        }
+
+        /**
+         * Retrieves the cards the bot has seen since the shuffle
+         *
+         * @return cards seen, 0 if the bot does not count
+         */
+        protected int getCardsSeen() {
+            return 0;
+        }
+
+        /**
+         * Makes the bot's bet with the population's strategy, counting a hand
+         * played if it can bet
+         *
+         * @return the bot's bet, 0 if can't make bet
+         */
+        @Override
+        public int makeBet() {
+            int[] bet = new int[1];
+
+            this.population.strategy.makeBets(
+                    new int[]{this.population.balances[this.bot]},
+                    new int[]{this.getCount()}, bet, 1);
+            this.population.bets[this.bot] = bet[0];
+
+            if (bet[0] > 0) {
+                this.population.hands[this.bot]++;
+            }
+
+            return bet[0];
+        }
+
+        /**
+         * Retrieves the bot's bet for this current hand
+         *
+         * @return the bot's current bet
+         */
+        @Override
+        public int getBet() {
+            return this.population.bets[this.bot];
+        }
+
+        /**
+         * Retrieves the bot's balance
+         *
+         * @return the bot's balance
+         */
+        @Override
+        public int getBalance() {
+            return this.population.balances[this.bot];
+        }
+
+        /**
+         * Sets the bot's balance back to a value it had earlier in a game
+         *
+         * @param balance cash balance
+         */
+        @Override
+        void setBalance(int balance) {
+            this.population.balances[this.bot] = balance;
+        }
+
+        /**
+         * Determines whether the bot takes a card with the population's
+         * strategy
+         *
+         * @return true if the bot wants another card, else false
+         */
+        @Override
+        public boolean hit() {
+            boolean[] decision = new boolean[1];
+
+            this.population.strategy.hits(
+                    new int[]{HandState.of(this.playerHand)},
+                    new int[]{this.upcard}, new int[]{this.getCount()},
+                    new int[]{this.getCardsSeen()}, decision, 1);
+
+            return decision[0];
+        }
+
+        /**
+         * Settles the bot's bet
+         *
+         * @param p winnings, negative for a loss
+         * @return true if the bot has funds for another game
+         */
+        @Override
+        public boolean settleBet(int p) {
+            this.population.balances[this.bot] += p;
+
+            return this.population.balances[this.bot] >= DEFAULT_BET;
+        }
+
+        /**
+         * Shows the bot the dealer's card
+         *
+         * @param c dealer's first card
+         */
+        @Override
+        public void viewDealerCard(Card c) {
+            this.upcard = c.getRank().getVALUE();
+        }
+    }
+
+    /**
+     * A seat for a bot whose strategy counts cards, following the running
+     * count the dealer keeps
+     */
+    static class CountingSeat extends Seat implements CountingPlayer {
+
+        /**
+         * CountingSeat's unique ID for Serialisation
+         */
+        private static final long serialVersionUID = 150;
+
+        /**
+         * The running count the bot follows, kept by the dealer
+         */
+        private RunningCount runningCount;
+
+        /**
+         * Constructs a counting player for a bot
+         *
+         * @param population population the bot belongs to
+         * @param bot        index of the bot
+         */
+        CountingSeat(BotPopulation population, int bot) {
+            super(population, bot);
+        }
+
+        /**
+         * Retrieves the running count the bot decides at
+         *
+         * @return running count kept by the dealer, 0 before being dealt in
+         */
+        @Override
+        protected int getCount() {
+            return this.runningCount == null ? 0
+                    : this.runningCount.getCount();
+        }
+
+        /**
+         * Retrieves the cards the bot has seen since the shuffle
+         *
+         * @return cards seen by the running count, 0 before being dealt in
+         */
+        @Override
+        protected int getCardsSeen() {
+            return this.runningCount == null ? 0
+                    : this.runningCount.getCardsSeen();
+        }
+
+        /**
+         * Retrieves the counting system of the population's strategy
+         *
+         * @return counting system
+         */
+        @Override
+        public CountingSystem getCountingSystem() {
+            return ((CountingPlayer) this.population.strategy)
+                    .getCountingSystem();
+        }
+
+        /**
+         * Follows the running count the dealer keeps
+         *
+         * @param count running count kept by the dealer
+         */
+        @Override
+        public void followCount(RunningCount count) {
+            this.runningCount = count;
+        }
+    }
+
+    /**
+     * Measures the heap a population takes against players, plays a session
+     * for every bot, then sits a few bots at a real table
+     *
+     * @param args player type, bots, hands per session and bankroll, all
+     *             optional
+     */
+    public static void main(String[] args) {
+        final long NANOS_PER_MILLI = 1000000;
+        final int SAMPLE_PLAYERS = 100000;
+        final int SEATED_BOTS = 3;
+        final int TABLE_ROUNDS = 100;
+
+        String type = args.length > 0 ? args[0] : "basic";
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+        int hands = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int bankroll = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+
+        long before = usedHeap();
+        List<Player> players = new ArrayList<>();
+
+        for (int i = 0; i < SAMPLE_PLAYERS; i++) {
+            players.add(PlayerRegistry.create(type));
+        }
+
+        double perPlayer = (double) (usedHeap() - before) / SAMPLE_PLAYERS;
+        players.clear();
+
+        before = usedHeap();
+        BotPopulation population = new BotPopulation(type, size, bankroll);
+        double perBot = (double) (usedHeap() - before) / size;
+
+        System.out.printf("%s players take %.0f bytes each, bots %.1f bytes "
+                + "each, %dMB for %d bots rather than %dMB%n", type,
+                perPlayer, perBot, (long) (perBot * size) >> 20, size,
+                (long) (perPlayer * size) >> 20);
+
+        try (MonteCarloRunner runner = new MonteCarloRunner()) {
+            long start = System.nanoTime();
+            population.playSessions(hands, new TableRules(), 2018, runner);
+            long time = (System.nanoTime() - start) / NANOS_PER_MILLI;
+
+            System.out.printf("Played %d hands each in %dms: %d ruined, mean "
+                    + "balance %.2f%n", hands, time,
+                    population.count(Status.RUINED),
+                    population.getMeanBalance());
+        } catch (InterruptedException | ExecutionException ex) {
+            System.out.println("Unable to finish the sessions: "
+                    + ex.getMessage());
+            return;
+        }
+
+        // Sits the first available bots at a real table, then releases them
+        BlackjackTable table = new BlackjackTable(new TableRules(),
+                new SplitRandom(2018));
+        List<Integer> seated = new ArrayList<>();
+        List<Player> seats = new ArrayList<>();
+
+        for (int bot = 0; seated.size() < SEATED_BOTS && bot < size; bot++) {
+            if (population.getStatus(bot) == Status.AVAILABLE) {
+                Player seat = population.seat(bot);
+
+                table.sit(seat);
+                seated.add(bot);
+                seats.add(seat);
+            }
+        }
+
+        table.simulate(TABLE_ROUNDS, new SimulationConfig(BrokePolicy.STOP));
+
+        for (int i = 0; i < seated.size(); i++) {
+            int bot = seated.get(i);
+
+            table.leave(seats.get(i));
+            population.release(bot);
+            System.out.printf("Bot %d: balance %d after %d hands, %s%n", bot,
+                    population.getBalance(bot), population.getHands(bot),
+                    population.getStatus(bot));
+        }
+    }
+
+    /**
+     * Measures the heap in use after collecting garbage
+     *
+     * @return bytes of heap in use
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+
+        System.gc();
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
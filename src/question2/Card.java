@@ -138,6 +138,30 @@ public class Card implements Serializable, Comparable<Card> {
         return this.suit;
     }
 
+    /**
+     * Retrieves the card's code, its position in a new deck from 0 to 51
+     * which is the suit's ordinal * 13 + the rank's ordinal
+     *
+     * @return Card code
+     */
+    public int getCode() {
+        return this.suit.ordinal() * Rank.values().length
+                + this.rank.ordinal();
+    }
+
+    /**
+     * Creates the card with a given code
+     *
+     * @param code card code from 0 to 51, as given by getCode()
+     * @return card with that code
+     */
+    public static Card fromCode(int code) {
+        Rank[] ranks = Rank.values();
+
+        return new Card(ranks[code % ranks.length],
+                Suit.values()[code / ranks.length]);
+    }
+
     /**
      * Returns the card value in a printable format, e.g. ACE OF SPADES, THREE
      * OF DIAMONDS, etc
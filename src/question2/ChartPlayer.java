@@ -0,0 +1,258 @@
+/** ***************************************************************************
+ *
+ * File        : ChartPlayer.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that models a blackjack player who plays from a
+ *               strategy chart and raises their bet along a ramp as the
+ *               running count rises.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.Arrays;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+public class ChartPlayer extends BotPlayer implements CountingPlayer {
+
+    /**
+     * ChartPlayer's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 133;
+
+    /**
+     * The chart this player decides to hit or stand from
+     */
+    private final StrategyChart chart;
+
+    /**
+     * Units bet at each running count, starting from a count of 0 or less, the
+     * last entry used for every count above
+     */
+    private final int[] betRamp;
+
+    /**
+     * The counting system the bet ramp is followed with
+     */
+    private final CountingSystem system;
+
+    /**
+     * The running count the player follows, kept by the dealer
+     */
+    private RunningCount runningCount;
+
+    /**
+     * Stores the dealer's card for the player to remember
+     */
+    private Card dealersCard;
+
+    /**
+     * Constructs a chart player who stands on 17 and always bets one unit,
+     * playing like a basic player
+     */
+    public ChartPlayer() {
+        this(StrategyChart.threshold(17), new int[]{1},
+                CountingSystem.HI_LO);
+    }
+
+    /**
+     * Constructs a chart player with a chart, bet ramp and counting system
+     *
+     * @param chart   chart to decide from
+     * @param betRamp units to bet at each running count from 0 upwards
+     * @param system  counting system to follow
+     */
+    public ChartPlayer(StrategyChart chart, int[] betRamp,
+            CountingSystem system) {
+        super();
+
+        this.chart = chart;
+        this.betRamp = Arrays.copyOf(betRamp, betRamp.length);
+        this.system = system;
+    }
+
+    /**
+     * Constructs a chart player with a given starting balance
+     *
+     * @param chart   chart to decide from
+     * @param betRamp units to bet at each running count from 0 upwards
+     * @param system  counting system to follow
+     * @param balance starting balance
+     */
+    public ChartPlayer(StrategyChart chart, int[] betRamp,
+            CountingSystem system, int balance) {
+        this(chart, betRamp, system);
+
+        this.balance = balance;
+    }
+
+    /**
+     * Makes a bet from the bet ramp for the current count, never more than the
+     * player's balance, else return 0
+     *
+     * @return the player's bet, 0 if can't make bet
+     */
+    @Override
+    public int makeBet() {
+        this.bet = this.betFor(this.balance, this.getCardCount());
+
+        return this.bet;
+    }
+
+    /**
+     * Decides the bet made with a given balance and count
+     *
+     * @param balance   the player's balance
+     * @param cardCount the player's running count
+     * @return the bet, 0 if can't make bet
+     */
+    private int betFor(int balance, int cardCount) {
+        // Checks if player can make this bet
+        if (balance >= DEFAULT_BET) {
+            return Math.min(this.rampBet(cardCount), balance);
+        }
+
+        return 0;
+    }
+
+    /**
+     * Decides the bet of many seats at once from the bet ramp
+     *
+     * @param balances balance of each seat
+     * @param counts   running count seen by each seat
+     * @param bets     set to the bet of each seat
+     * @param length   amount of seats to decide for
+     */
+    @Override
+    public void makeBets(int[] balances, int[] counts, int[] bets,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            bets[i] = this.betFor(balances[i], counts[i]);
+        }
+    }
+
+    /**
+     * Calculates the bet the ramp gives for a running count
+     *
+     * @param count running count
+     * @return bet from the ramp
+     */
+    protected int rampBet(int count) {
+        int step = Math.min(Math.max(count, 0), this.betRamp.length - 1);
+
+        return this.betRamp[step] * DEFAULT_BET;
+    }
+
+    /**
+     * Determines whether the player wishes to take a card by looking their
+     * hand up in the chart against the dealer's card
+     *
+     * @return true if player wants another card, else false
+     */
+    @Override
+    public boolean hit() {
+        return this.hitsAgainst(HandState.of(this.playerHand),
+                this.dealersCard.getRank().getVALUE());
+    }
+
+    /**
+     * Looks a hand up in the chart against a dealer card
+     *
+     * @param state  HandState of the hand
+     * @param upcard value of the dealer's card
+     * @return true if player wants another card, else false
+     */
+    private boolean hitsAgainst(int state, int upcard) {
+        // Never hits a hand that is already bust or on 21
+        if (HandState.highestBelow(state, BLACKJACK) < 0) {
+            return false;
+        }
+
+        return this.chart.hit(state, upcard);
+    }
+
+    /**
+     * Decides whether to take a card for many hands at once from the chart
+     *
+     * @param states    HandState of each hand
+     * @param upcards   value of the dealer's card for each hand
+     * @param counts    running count seen by each hand's player, not used
+     * @param cardsSeen cards seen since a shuffle, not used
+     * @param decisions set to true for each hand that should take a card
+     * @param length    amount of hands to decide for
+     */
+    @Override
+    public void hits(int[] states, int[] upcards, int[] counts,
+            int[] cardsSeen, boolean[] decisions, int length) {
+        for (int i = 0; i < length; i++) {
+            decisions[i] = this.hitsAgainst(states[i], upcards[i]);
+        }
+    }
+
+    /**
+     * Retrieves the player's current card count, 0 if not yet at a table
+     *
+     * @return the running count
+     */
+    public int getCardCount() {
+        if (this.runningCount == null) {
+            return 0;
+        }
+
+        return this.runningCount.getCount();
+    }
+
+    /**
+     * Retrieves the chart the player decides from
+     *
+     * @return strategy chart
+     */
+    public StrategyChart getChart() {
+        return this.chart;
+    }
+
+    /**
+     * Retrieves a copy of the player's bet ramp
+     *
+     * @return units bet at each running count
+     */
+    public int[] getBetRamp() {
+        return Arrays.copyOf(this.betRamp, this.betRamp.length);
+    }
+
+    /**
+     * Retrieves the counting system the player's bet ramp follows
+     *
+     * @return the player's counting system
+     */
+    @Override
+    public CountingSystem getCountingSystem() {
+        return this.system;
+    }
+
+    /**
+     * Follows the running count the dealer keeps
+     *
+     * @param count running count kept by the dealer
+     */
+    @Override
+    public void followCount(RunningCount count) {
+        this.runningCount = count;
+    }
+
+    /**
+     * Shows the player the dealer's card
+     *
+     * @param c dealer's first card
+     */
+    @Override
+    public void viewDealerCard(Card c) {
+        this.dealersCard = c;
+    }
+}
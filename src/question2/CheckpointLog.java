@@ -0,0 +1,318 @@
+/** ***************************************************************************
+ *
+ * File        : CheckpointLog.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that keeps the progress of a simulation job's shards
+ *               in a compact binary file, written on a thread of its own.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The file starts with a header describing the job, followed by a record of
+ * each shard's progress in the order it was made. Records are only ever
+ * appended, so a JVM killed part way through writing one leaves every earlier
+ * record whole, and the partly written record is cut off when the log is next
+ * opened. Workers hand their progress to the log's own thread, which does all
+ * of the encoding and writing while they carry on playing. Once a record can
+ * not be written nothing more is, and the failure is thrown to the next
+ * worker to record progress and again when the log is closed, so a run never
+ * finishes believing it was checkpointed.
+ *
+ * @author Ali Jarjis
+ */
+public class CheckpointLog implements AutoCloseable {
+
+    /**
+     * First bytes of every checkpoint file, "BJCK"
+     */
+    private static final int MAGIC = 0x424a434b;
+
+    /**
+     * Version of the file format
+     */
+    private static final short VERSION = 4;
+
+    /**
+     * Record of a shard part way through
+     */
+    private static final byte IN_PROGRESS = 1;
+
+    /**
+     * Record of a finished shard
+     */
+    private static final byte FINISHED = 2;
+
+    /**
+     * Job whose progress is logged
+     */
+    private final SimulationJob job;
+
+    /**
+     * Latest progress of each shard found in the file when opened
+     */
+    private final Map<Integer, ShardProgress> saved;
+
+    /**
+     * Stream records are appended to, only used on the writer thread
+     */
+    private final DataOutputStream out;
+
+    /**
+     * Thread records are written on
+     */
+    private final ExecutorService writer;
+
+    /**
+     * First failure to write a record, null while every record has been
+     */
+    private final AtomicReference<IOException> failure;
+
+    /**
+     * Opens the checkpoint file of a job, reading any progress already in it
+     * and creating it if it does not exist
+     *
+     * @param file file to log to
+     * @param job  job whose progress is logged
+     * @throws IOException              if the file can not be read or written
+     * @throws IllegalArgumentException if the file is for a different job
+     */
+    public CheckpointLog(File file, SimulationJob job) throws IOException {
+        this.job = job;
+        this.saved = new HashMap<>();
+        this.failure = new AtomicReference<>();
+
+        boolean exists = file.exists() && file.length() > 0;
+
+        if (exists) {
+            long valid = this.load(Files.readAllBytes(file.toPath()));
+
+            // Cuts off a record left half written
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(valid);
+            }
+        }
+
+        this.out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file, true)));
+
+        if (!exists) {
+            this.writeHeader();
+            this.out.flush();
+        }
+
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "checkpoint-writer");
+            t.setDaemon(true);
+
+            return t;
+        });
+    }
+
+    /**
+     * Retrieves the latest progress of each shard found when the log was
+     * opened
+     *
+     * @return unmodifiable progress by shard index
+     */
+    public Map<Integer, ShardProgress> getSaved() {
+        return Collections.unmodifiableMap(this.saved);
+    }
+
+    /**
+     * Hands a shard's progress to the writer thread to append to the file
+     *
+     * @param progress progress to record, not changed after
+     * @throws UncheckedIOException if an earlier record could not be written
+     */
+    public void record(ShardProgress progress) {
+        IOException failed = this.failure.get();
+
+        if (failed != null) {
+            throw new UncheckedIOException("Unable to write a checkpoint",
+                    failed);
+        }
+
+        this.writer.execute(() -> {
+            // Writes nothing after a failed record, which may be cut short
+            if (this.failure.get() != null) {
+                return;
+            }
+
+            try {
+                this.writeRecord(progress);
+                this.out.flush();
+            } catch (IOException ex) {
+                this.failure.compareAndSet(null, ex);
+            }
+        });
+    }
+
+    /**
+     * Waits for every record handed over to be written, then closes the file
+     *
+     * @throws IOException if a record could not be written or the file can
+     *                     not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.writer.shutdown();
+
+        try {
+            this.writer.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            this.out.close();
+        }
+
+        IOException failed = this.failure.get();
+
+        if (failed != null) {
+            throw failed;
+        }
+    }
+
+    /**
+     * Writes the header describing the job
+     *
+     * @throws IOException if the header can not be written
+     */
+    private void writeHeader() throws IOException {
+        this.out.writeInt(MAGIC);
+        this.out.writeShort(VERSION);
+        this.out.writeUTF(this.describeJob());
+    }
+
+    /**
+     * Describes everything about the job that decides its results, so a file
+     * is only ever resumed by the job that wrote it
+     *
+     * @return description of the job
+     */
+    private String describeJob() {
+        return this.job.getSeatTypes() + ";" + this.job.getRounds() + ";"
+                + this.job.getShards() + ";" + this.job.getSeed() + ";"
+                + this.job.getConfig().getBrokePolicy() + ";"
+                + this.job.getConfig().isFreshShoes() + ";"
+                + this.job.getRules();
+    }
+
+    /**
+     * Appends a record of a shard's progress
+     *
+     * @param progress progress to record
+     * @throws IOException if the record can not be written
+     */
+    private void writeRecord(ShardProgress progress) throws IOException {
+        this.out.writeByte(progress.isFinished() ? FINISHED : IN_PROGRESS);
+        this.out.writeInt(progress.getShard());
+        this.out.writeLong(progress.getRoundsPlayed());
+        progress.getResult().writeTo(this.out);
+
+        if (!progress.isFinished()) {
+            progress.getTable().writeTo(this.out);
+        }
+    }
+
+    /**
+     * Reads the header and every whole record of an existing file
+     *
+     * @param bytes contents of the file
+     * @return length of the file up to the end of the last whole record
+     * @throws IOException              if the header can not be read
+     * @throws IllegalArgumentException if the file is for a different job
+     */
+    private long load(byte[] bytes) throws IOException {
+        ByteArrayInputStream buffer = new ByteArrayInputStream(bytes);
+        DataInputStream in = new DataInputStream(buffer);
+
+        if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+            throw new IllegalArgumentException("Not a checkpoint file");
+        }
+
+        if (!in.readUTF().equals(this.describeJob())) {
+            throw new IllegalArgumentException("Checkpoint file is for a "
+                    + "different job");
+        }
+
+        long valid = bytes.length - buffer.available();
+
+        try {
+            while (buffer.available() > 0) {
+                byte kind = in.readByte();
+                int shard = in.readInt();
+                long roundsPlayed = in.readLong();
+                SimulationResult result = this.job.emptyResult();
+                result.readFrom(in);
+
+                GameCheckpoint table = kind == IN_PROGRESS
+                        ? GameCheckpoint.readFrom(in) : null;
+
+                this.saved.put(shard, new ShardProgress(shard, roundsPlayed,
+                        result, table));
+                valid = bytes.length - buffer.available();
+            }
+        } catch (EOFException ex) {
+            // The last record was only partly written
+        }
+
+        return valid;
+    }
+
+    /**
+     * Runs a job with checkpoints, carrying on from the file if it exists.
+     * Stopping the JVM part way and running again gives the same result as
+     * running the job in one go.
+     *
+     * @param args checkpoint file, then optionally total rounds, shards and
+     *             rounds between checkpoints
+     */
+    public static void main(String[] args) {
+        File file = new File(args.length > 0 ? args[0] : "simulation.ckpt");
+        long rounds = args.length > 1 ? Long.parseLong(args[1]) : 10000000;
+        int shards = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        long every = args.length > 3 ? Long.parseLong(args[3]) : 20000;
+
+        SimulationJob job = new SimulationJob(Arrays.asList("basic",
+                "intermediate", "advanced"), rounds, shards, 2018,
+                new SimulationConfig());
+
+        try (MonteCarloRunner runner = new MonteCarloRunner()) {
+            SimulationResult result = runner.run(job, file, every);
+
+            System.out.println(result);
+            System.out.println("Matches an uninterrupted run: "
+                    + result.toString().equals(
+                            MonteCarloRunner.runSequential(job).toString()));
+        } catch (IOException | InterruptedException | ExecutionException ex) {
+            System.out.println("Unable to finish the simulation: "
+                    + ex.getMessage());
+        }
+    }
+}
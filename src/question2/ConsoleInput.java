@@ -0,0 +1,90 @@
+/** ***************************************************************************
+ *
+ * File        : ConsoleInput.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that reads the user's choices from the console
+ *               through the one scanner shared by the whole program.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.Scanner;
+
+/**
+ * Only one scanner should ever read System.in, as each scanner buffers input
+ * ahead of what it has returned, which is lost to any other scanner.
+ *
+ * @author Ali Jarjis
+ */
+public final class ConsoleInput implements PlayerInput {
+
+    /**
+     * The only console input
+     */
+    private static final ConsoleInput INSTANCE = new ConsoleInput();
+
+    /**
+     * Scanner reading the console
+     */
+    private final Scanner userScanner;
+
+    /**
+     * Constructs the console input
+     */
+    private ConsoleInput() {
+        this.userScanner = new Scanner(System.in);
+    }
+
+    /**
+     * Retrieves the console input
+     *
+     * @return the console input
+     */
+    public static ConsoleInput getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Checks if the user has typed another choice, waiting for one
+     *
+     * @return true if there is another choice
+     */
+    @Override
+    public boolean hasNext() {
+        return this.userScanner.hasNext();
+    }
+
+    /**
+     * Checks if the user's next choice is a number
+     *
+     * @return true if the next choice is a number
+     */
+    @Override
+    public boolean hasNextInt() {
+        return this.userScanner.hasNextInt();
+    }
+
+    /**
+     * Reads the user's next choice as a word
+     *
+     * @return next choice
+     */
+    @Override
+    public String next() {
+        return this.userScanner.next();
+    }
+
+    /**
+     * Reads the user's next choice as a number
+     *
+     * @return next choice
+     */
+    @Override
+    public int nextInt() {
+        return this.userScanner.nextInt();
+    }
+}
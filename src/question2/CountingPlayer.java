@@ -0,0 +1,35 @@
+/** ***************************************************************************
+ *
+ * File        : CountingPlayer.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : An interface for a player who counts cards using a running
+ *               count published by the dealer.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+interface CountingPlayer extends Player {
+
+    /**
+     * getCountingSystem: @return the counting system this player counts with
+     */
+    CountingSystem getCountingSystem();
+
+    /**
+     * followCount: This method is called by the dealer when the player is
+     * assigned, giving them the running count the dealer keeps for their
+     * system. The dealer updates it as each card is dealt and resets it when
+     * the deck is reshuffled, so the player does not need viewCards().
+     *
+     * @param count running count for the player's counting system
+     */
+    void followCount(RunningCount count);
+}
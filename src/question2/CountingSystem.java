@@ -0,0 +1,70 @@
+/** ***************************************************************************
+ *
+ * File        : CountingSystem.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : An enum of card counting systems, each storing the count
+ *               change made by every rank of card.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import question2.Card.Rank;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+public enum CountingSystem {
+
+    /**
+     * The count kept by the advanced player, TWO to FIVE count up and any card
+     * valued ten or more counts down
+     */
+    ADVANCED(1, 1, 1, 1, 0, 0, 0, 0, -1, -1, -1, -1, -1),
+    /**
+     * The Hi-Lo count, TWO to SIX count up and TEN to ACE count down
+     */
+    HI_LO(1, 1, 1, 1, 1, 0, 0, 0, -1, -1, -1, -1, -1),
+    /**
+     * The Knock-Out count, TWO to SEVEN count up and TEN to ACE count down
+     */
+    KNOCK_OUT(1, 1, 1, 1, 1, 1, 0, 0, -1, -1, -1, -1, -1);
+
+    /**
+     * Count change for each rank, indexed by the rank's ordinal
+     */
+    private final int[] deltas;
+
+    /**
+     * Creates a counting system from the count change of each rank
+     *
+     * @param deltas count change for each rank, in rank order
+     */
+    CountingSystem(int... deltas) {
+        this.deltas = deltas;
+    }
+
+    /**
+     * Retrieves the count change made by a card
+     *
+     * @param c card that has been seen
+     * @return change to the running count
+     */
+    public int delta(Card c) {
+        return this.deltas[c.getRank().ordinal()];
+    }
+
+    /**
+     * Retrieves the count change made by a rank
+     *
+     * @param r rank of card that has been seen
+     * @return change to the running count
+     */
+    public int delta(Rank r) {
+        return this.deltas[r.ordinal()];
+    }
+}
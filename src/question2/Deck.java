@@ -4,7 +4,8 @@
  *
  * Date        : 14-Dec-2017
  *
- * Description : A class that models a deck of 52 cards.
+ * Description : A class that models a deck of 52 cards, or several decks
+ *               shuffled together.
  *
  * Author      : Ali Jarjis
  *
@@ -17,6 +18,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.Random;
@@ -37,11 +39,26 @@ public class Deck implements Iterable<Card>, Serializable {
      */
     private LinkedList<Card> deckCards;
 
+    /**
+     * Amount of 52 card decks shuffled together
+     */
+    private int decks;
+
     /**
      * Constructs a deck of cards with all possible 52 cards
      */
     public Deck() {
+        this(1);
+    }
+
+    /**
+     * Constructs a deck of several 52 card decks together
+     *
+     * @param decks amount of decks
+     */
+    public Deck(int decks) {
         this.deckCards = new LinkedList<>();
+        this.decks = decks;
 
         newDeck();
     }
@@ -52,17 +69,31 @@ public class Deck implements Iterable<Card>, Serializable {
      * algorithm
      */
     public void shuffle() {
-        Random randNum = new Random();
+        shuffle(new Random());
+    }
+
+    /**
+     * Shuffles a deck of cards using a given random number generator, so that
+     * a seeded generator always produces the same order
+     *
+     * @param randNum random number generator to shuffle with
+     */
+    public void shuffle(Random randNum) {
+        // Swaps in an array, as each get and set walks the linked list
+        Card[] cards = deckCards.toArray(new Card[0]);
 
         //Loops through entire deck, swapping cards
-        for (int i = deckCards.size() - 1; i > 0; i--) {
+        for (int i = cards.length - 1; i > 0; i--) {
             int randomIndex = randNum.nextInt(i + 1);
 
             // Swaps the two cards
-            Card temp = deckCards.get(i);
-            deckCards.set(i, deckCards.get(randomIndex));
-            deckCards.set(randomIndex, temp);
+            Card temp = cards[i];
+            cards[i] = cards[randomIndex];
+            cards[randomIndex] = temp;
         }
+
+        deckCards.clear();
+        deckCards.addAll(Arrays.asList(cards));
     }
 
     /**
@@ -83,23 +114,65 @@ public class Deck implements Iterable<Card>, Serializable {
         return deckCards.size();
     }
 
+    /**
+     * Retrieves the code of every card in the deck, from the top down. Unlike
+     * serialising the deck, this keeps every card.
+     *
+     * @return card codes in deck order
+     */
+    byte[] getCodes() {
+        byte[] codes = new byte[deckCards.size()];
+        int i = 0;
+
+        for (Card c : deckCards) {
+            codes[i++] = (byte) c.getCode();
+        }
+
+        return codes;
+    }
+
+    /**
+     * Replaces the cards in the deck with the cards of some codes
+     *
+     * @param codes card codes in deck order, from the top down
+     */
+    void setCodes(byte[] codes) {
+        deckCards.clear();
+
+        for (byte code : codes) {
+            deckCards.add(Card.fromCode(code));
+        }
+    }
+
     /**
      * Reinitialises the deck of cards
      */
     public final void newDeck() {
         deckCards.clear();
 
-        //Loop through each suit
-        for (Suit s : Suit.values()) {
-            //Loop through each rank
-            for (Rank r : Rank.values()) {
-                Card newCard = new Card(r, s);
+        //Loop through each deck
+        for (int d = 0; d < decks; d++) {
+            //Loop through each suit
+            for (Suit s : Suit.values()) {
+                //Loop through each rank
+                for (Rank r : Rank.values()) {
+                    Card newCard = new Card(r, s);
 
-                deckCards.add(newCard);
+                    deckCards.add(newCard);
+                }
             }
         }
     }
 
+    /**
+     * Retrieves the amount of 52 card decks shuffled together
+     *
+     * @return decks
+     */
+    public int getDecks() {
+        return decks;
+    }
+
     /**
      * Iterator class for traversing every second card
      */
@@ -168,6 +241,11 @@ public class Deck implements Iterable<Card>, Serializable {
         stream.defaultReadObject();
 
         deckCards = (LinkedList<Card>) stream.readObject();
+
+        // Decks saved before several could be used together held one
+        if (decks == 0) {
+            decks = 1;
+        }
     }
 
     /**
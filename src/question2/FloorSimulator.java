@@ -0,0 +1,1189 @@
+/** ***************************************************************************
+ *
+ * File        : FloorSimulator.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that simulates a casino floor of many blackjack
+ *               tables over simulated time, with players arriving, moving
+ *               between tables and leaving, for capacity planning.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import question2.Card.Rank;
+
+/**
+ * A discrete event simulation. Every event has a time in simulated seconds
+ * and waits in a priority queue until it is the earliest, so hours of play
+ * take no longer than the rounds in them. Events at the same time happen in
+ * the order they were scheduled, so a floor with the same seed always plays
+ * out the same.
+ *
+ * Each table deals a round every so often while anyone is sat at it. Players
+ * arrive at random, sit at any table with a free seat, and after a while
+ * either move to another table or leave the floor. A player who runs out of
+ * money is removed before the next round, as at any other table.
+ *
+ * Rounds are by far the most common event, so a table is not a
+ * BlackjackTable but a shoe of card codes, a running count for each counting
+ * system on the floor and a random number stream, played as LockstepEngine
+ * plays a lane. Each player is a balance, a bet and a HandState, deciding
+ * through one shared BatchPlayer of their type, so a round allocates
+ * nothing. Every player type must therefore be a BatchPlayer which leaves
+ * the table, like BasicPlayer, once their balance is below the default bet.
+ *
+ * A hand costs about what it does in LockstepEngine, and the scheduler far
+ * less, so the events a second depend on how full the tables are: each
+ * round of a full table of seven is a single event of seven hands, and a
+ * floor of them runs at under a million events a second. The report gives
+ * the hands dealt a second as well, which is the rate to plan with.
+ *
+ * @author Ali Jarjis
+ */
+public class FloorSimulator {
+
+    /**
+     * Seconds in an hour of simulated time
+     */
+    private static final double SECONDS_PER_HOUR = 3600;
+
+    /**
+     * Stores the definition of what constitutes as blackjack
+     */
+    private static final int BLACKJACK = 21;
+
+    /**
+     * Limit to where the dealer will stick
+     */
+    private static final int DEALER_THRESHOLD = 17;
+
+    /**
+     * Value of the card with each code, ACE being eleven
+     */
+    private static final int[] VALUES = new int[TableRules.CARDS_PER_DECK];
+
+    // Works out the value of each card code
+    static {
+        Rank[] ranks = Rank.values();
+
+        for (int code = 0; code < VALUES.length; code++) {
+            VALUES[code] = ranks[code % ranks.length].getVALUE();
+        }
+    }
+
+    /**
+     * A player arrives at the floor
+     */
+    private static final int ARRIVE = 0;
+
+    /**
+     * A table deals a round
+     */
+    private static final int ROUND = 1;
+
+    /**
+     * A player gets up from their table
+     */
+    private static final int GET_UP = 2;
+
+    /**
+     * Strategy of each player type, shared by every player of the type
+     */
+    private final BatchPlayer[] strategies;
+
+    /**
+     * Balance a player of each type arrives with
+     */
+    private final int[] startingBalances;
+
+    /**
+     * Index into a table's counts of the system each type counts with, -1
+     * if none
+     */
+    private final int[] typeSystems;
+
+    /**
+     * Count change for each card code in each system counted on the floor
+     */
+    private final int[][] deltas;
+
+    /**
+     * Random number stream of the floor's own choices
+     */
+    private final SplitRandom random;
+
+    /**
+     * Tables on the floor
+     */
+    private final List<Table> tables;
+
+    /**
+     * Balance passed to a player's bet
+     */
+    private final int[] batchBalances;
+
+    /**
+     * Bet returned from a player's bet
+     */
+    private final int[] batchBets;
+
+    /**
+     * HandState passed to a player's decision
+     */
+    private final int[] batchStates;
+
+    /**
+     * Dealer's card passed to a player's decision
+     */
+    private final int[] batchUpcards;
+
+    /**
+     * Running count passed to a player's bet or decision
+     */
+    private final int[] batchCounts;
+
+    /**
+     * Cards seen since the shuffle passed to a player's decision
+     */
+    private final int[] batchCardsSeen;
+
+    /**
+     * Decision returned from a player's decision
+     */
+    private final boolean[] batchDecisions;
+
+    /**
+     * Players arriving an hour
+     */
+    private double arrivalsPerHour;
+
+    /**
+     * Mean hours a player stays at a table before getting up
+     */
+    private double meanStayHours;
+
+    /**
+     * Chance a player moves to another table when they get up, rather than
+     * leaving the floor
+     */
+    private double moveChance;
+
+    /**
+     * Whether the floor has been run, after which its tables have players
+     */
+    private boolean ran;
+
+    /**
+     * Constructs an empty floor
+     *
+     * @param playerTypes registered types new players are chosen from
+     * @param seed        seed of the floor's choices and every table's deck
+     * @throws IllegalArgumentException if no player types are given, or a
+     * type is not registered or is not a BatchPlayer
+     */
+    public FloorSimulator(List<String> playerTypes, long seed) {
+        if (playerTypes.isEmpty()) {
+            throw new IllegalArgumentException("At least one type of player "
+                    + "is needed");
+        }
+
+        int types = playerTypes.size();
+        this.strategies = new BatchPlayer[types];
+        this.startingBalances = new int[types];
+        this.typeSystems = new int[types];
+
+        // Works out each type's strategy and the counting systems needed
+        CountingSystem[] used = new CountingSystem[types];
+        int systemCount = 0;
+
+        for (int i = 0; i < types; i++) {
+            Player p = PlayerRegistry.create(playerTypes.get(i));
+
+            if (!(p instanceof BatchPlayer)) {
+                throw new IllegalArgumentException(playerTypes.get(i)
+                        + " players can not decide in batches");
+            }
+
+            this.strategies[i] = (BatchPlayer) p;
+            this.startingBalances[i] = p.getBalance();
+            this.typeSystems[i] = -1;
+
+            if (p instanceof CountingPlayer) {
+                CountingSystem system
+                        = ((CountingPlayer) p).getCountingSystem();
+                int index = Arrays.asList(used).subList(0, systemCount)
+                        .indexOf(system);
+
+                if (index < 0) {
+                    index = systemCount;
+                    used[systemCount++] = system;
+                }
+
+                this.typeSystems[i] = index;
+            }
+        }
+
+        Rank[] ranks = Rank.values();
+        this.deltas = new int[systemCount][TableRules.CARDS_PER_DECK];
+
+        for (int k = 0; k < systemCount; k++) {
+            for (int code = 0; code < TableRules.CARDS_PER_DECK; code++) {
+                this.deltas[k][code] = used[k].delta(ranks[code
+                        % ranks.length]);
+            }
+        }
+
+        this.random = new SplitRandom(seed);
+        this.tables = new ArrayList<>();
+        this.batchBalances = new int[1];
+        this.batchBets = new int[1];
+        this.batchStates = new int[1];
+        this.batchUpcards = new int[1];
+        this.batchCounts = new int[1];
+        this.batchCardsSeen = new int[1];
+        this.batchDecisions = new boolean[1];
+        this.arrivalsPerHour = 100;
+        this.meanStayHours = 1;
+        this.moveChance = 0.5;
+    }
+
+    /**
+     * Adds a table to the floor
+     *
+     * @param rules        rules the table is played by
+     * @param handsPerHour rounds the table deals an hour while anyone is sat
+     * @throws IllegalArgumentException if handsPerHour is not positive
+     */
+    public void addTable(TableRules rules, double handsPerHour) {
+        if (handsPerHour <= 0) {
+            throw new IllegalArgumentException("A table must deal a positive "
+                    + "amount of hands an hour");
+        }
+
+        this.tables.add(new Table(rules, handsPerHour, this.random.split()));
+    }
+
+    /**
+     * Sets how many players arrive an hour
+     *
+     * @param arrivalsPerHour players arriving an hour
+     * @throws IllegalArgumentException if arrivalsPerHour is not positive
+     */
+    public void setArrivalsPerHour(double arrivalsPerHour) {
+        if (arrivalsPerHour <= 0) {
+            throw new IllegalArgumentException("Arrivals must be positive");
+        }
+
+        this.arrivalsPerHour = arrivalsPerHour;
+    }
+
+    /**
+     * Sets the mean hours a player stays at a table before getting up
+     *
+     * @param meanStayHours mean hours at a table
+     * @throws IllegalArgumentException if meanStayHours is not positive
+     */
+    public void setMeanStayHours(double meanStayHours) {
+        if (meanStayHours <= 0) {
+            throw new IllegalArgumentException("Stays must be positive");
+        }
+
+        this.meanStayHours = meanStayHours;
+    }
+
+    /**
+     * Sets the chance a player moves to another table when they get up,
+     * rather than leaving the floor
+     *
+     * @param moveChance chance of moving, 0 to 1
+     * @throws IllegalArgumentException if moveChance is out of range
+     */
+    public void setMoveChance(double moveChance) {
+        if (moveChance < 0 || moveChance > 1) {
+            throw new IllegalArgumentException("Chance of moving must be "
+                    + "between 0 and 1");
+        }
+
+        this.moveChance = moveChance;
+    }
+
+    /**
+     * Runs the floor for a number of simulated hours, starting with every
+     * seat empty
+     *
+     * @param hours simulated hours to run for
+     * @return report of the hours run
+     * @throws IllegalStateException if the floor has no tables, or has
+     * already been run
+     */
+    public Report run(double hours) {
+        if (this.tables.isEmpty()) {
+            throw new IllegalStateException("The floor has no tables");
+        }
+
+        if (this.ran) {
+            throw new IllegalStateException("A floor can only be run once");
+        }
+
+        this.ran = true;
+
+        return new Run(hours).play();
+    }
+
+    /**
+     * Something that happens at a moment of simulated time
+     */
+    private static final class Event implements Comparable<Event> {
+
+        /**
+         * Simulated seconds the event happens at
+         */
+        private final double time;
+
+        /**
+         * Order the event was scheduled in, breaking ties in time
+         */
+        private final long order;
+
+        /**
+         * Kind of event, ARRIVE, ROUND or GET_UP
+         */
+        private final int kind;
+
+        /**
+         * Table the event happens at, -1 for none
+         */
+        private final int table;
+
+        /**
+         * Player the event happens to, null for none
+         */
+        private final Patron patron;
+
+        /**
+         * Visit of the patron the event belongs to
+         */
+        private final int visit;
+
+        /**
+         * Constructs an event
+         *
+         * @param time   simulated seconds the event happens at
+         * @param order  order the event was scheduled in
+         * @param kind   kind of event
+         * @param table  table the event happens at
+         * @param patron player the event happens to
+         */
+        Event(double time, long order, int kind, int table, Patron patron) {
+            this.time = time;
+            this.order = order;
+            this.kind = kind;
+            this.table = table;
+            this.patron = patron;
+            this.visit = patron == null ? 0 : patron.visit;
+        }
+
+        /**
+         * Orders events by time, then by when they were scheduled
+         *
+         * @param other event to compare to
+         * @return negative if this event happens first
+         */
+        @Override
+        public int compareTo(Event other) {
+            int byTime = Double.compare(this.time, other.time);
+
+            return byTime != 0 ? byTime : Long.compare(this.order,
+                    other.order);
+        }
+    }
+
+    /**
+     * A player on the floor
+     */
+    private static final class Patron {
+
+        /**
+         * Index of the player's type
+         */
+        private final int type;
+
+        /**
+         * The player's balance
+         */
+        private int balance;
+
+        /**
+         * The player's bet this round
+         */
+        private int bet;
+
+        /**
+         * HandState of the player's hand this round
+         */
+        private int hand;
+
+        /**
+         * Table the player is sat at, -1 for none
+         */
+        private int table;
+
+        /**
+         * Amount of times the player has sat down, so a get up scheduled for
+         * an earlier visit can be told apart
+         */
+        private int visit;
+
+        /**
+         * Constructs a patron who has not yet sat down
+         *
+         * @param type    index of the player's type
+         * @param balance balance the player arrives with
+         */
+        Patron(int type, int balance) {
+            this.type = type;
+            this.balance = balance;
+            this.table = -1;
+        }
+    }
+
+    /**
+     * A table on the floor, keeping its shoe and counts in primitives and
+     * playing a round as LockstepEngine plays one in a lane. The shoe is
+     * shuffled as it is dealt: each card is drawn at random from those left,
+     * which deals every order of the shoe as often as shuffling it first but
+     * only draws a random number for the cards that are dealt.
+     */
+    private final class Table {
+
+        /**
+         * Rules the table is played by
+         */
+        private final TableRules rules;
+
+        /**
+         * Rounds the table deals an hour while anyone is sat at it
+         */
+        private final double handsPerHour;
+
+        /**
+         * Random number stream the shoe is drawn from
+         */
+        private final SplitRandom random;
+
+        /**
+         * The shoe is reshuffled when fewer cards than this are left
+         */
+        private final int reshuffleLimit;
+
+        /**
+         * Card codes of the shoe
+         */
+        private final byte[] shoe;
+
+        /**
+         * Position of the next card to deal in the shoe
+         */
+        private int position;
+
+        /**
+         * Running count of each system counted on the floor
+         */
+        private final int[] counts;
+
+        /**
+         * Constructs a table with a full shoe
+         *
+         * @param rules        rules the table is played by
+         * @param handsPerHour rounds the table deals an hour
+         * @param random       random number stream to shuffle with
+         */
+        Table(TableRules rules, double handsPerHour, SplitRandom random) {
+            this.rules = new TableRules(rules);
+            this.handsPerHour = handsPerHour;
+            this.random = random;
+            this.reshuffleLimit = this.rules.getReshuffleLimit();
+            this.shoe = new byte[this.rules.getCards()];
+            this.counts = new int[FloorSimulator.this.deltas.length];
+
+            for (int i = 0; i < this.shoe.length; i++) {
+                this.shoe[i] = (byte) (i % TableRules.CARDS_PER_DECK);
+            }
+        }
+
+        /**
+         * Plays a round with the players sat at the table, as the dealer
+         * does, returning what the house won
+         *
+         * @param patrons players sat at the table
+         * @return the house's win, negative if the players won
+         * @throws IllegalStateException if a player bets outside the table's
+         * limits
+         */
+        long playRound(List<Patron> patrons) {
+            for (Patron p : patrons) {
+                FloorSimulator.this.batchBalances[0] = p.balance;
+                FloorSimulator.this.batchCounts[0] = this.countOf(p);
+                FloorSimulator.this.strategies[p.type].makeBets(
+                        FloorSimulator.this.batchBalances,
+                        FloorSimulator.this.batchCounts,
+                        FloorSimulator.this.batchBets, 1);
+                p.bet = FloorSimulator.this.batchBets[0];
+
+                if (p.bet < this.rules.getMinBet()
+                        || p.bet > this.rules.getMaxBet()) {
+                    throw new IllegalStateException("A bot made an illegal "
+                            + "bet of " + p.bet);
+                }
+            }
+
+            this.restockShoe();
+
+            for (Patron p : patrons) {
+                p.hand = HandState.addValue(HandState.addValue(
+                        HandState.EMPTY, this.deal()), this.deal());
+            }
+
+            int upcard = this.deal();
+
+            for (Patron p : patrons) {
+                this.play(p, upcard);
+            }
+
+            return this.settle(patrons, this.playDealer(upcard));
+        }
+
+        /**
+         * Plays a player's hand, asking their type's strategy until they
+         * stick or can take no more cards
+         *
+         * @param p      player to play
+         * @param upcard value of the dealer's card
+         */
+        private void play(Patron p, int upcard) {
+            BatchPlayer strategy = FloorSimulator.this.strategies[p.type];
+            boolean counting = FloorSimulator.this.typeSystems[p.type] >= 0;
+
+            this.restockShoe();
+
+            while (HandState.total(p.hand) < BLACKJACK) {
+                FloorSimulator.this.batchStates[0] = p.hand;
+                FloorSimulator.this.batchUpcards[0] = upcard;
+                FloorSimulator.this.batchCounts[0] = this.countOf(p);
+                FloorSimulator.this.batchCardsSeen[0] = counting
+                        ? this.position : 0;
+                strategy.hits(FloorSimulator.this.batchStates,
+                        FloorSimulator.this.batchUpcards,
+                        FloorSimulator.this.batchCounts,
+                        FloorSimulator.this.batchCardsSeen,
+                        FloorSimulator.this.batchDecisions, 1);
+
+                if (!FloorSimulator.this.batchDecisions[0]) {
+                    return;
+                }
+
+                p.hand = HandState.addValue(p.hand, this.deal());
+            }
+        }
+
+        /**
+         * Plays the dealer's hand. The dealer takes a card while the highest
+         * total under 21 is under 17, or is a soft 17 if the rules say so,
+         * and stops once no total is under 21.
+         *
+         * @param upcard value of the dealer's first card
+         * @return HandState of the dealer's hand
+         */
+        private int playDealer(int upcard) {
+            int state = HandState.addValue(HandState.EMPTY, upcard);
+            int val = HandState.highestBelow(state, BLACKJACK);
+
+            while (val >= 0 && (val < DEALER_THRESHOLD
+                    || (this.rules.isDealerHitsSoft17()
+                    && val == DEALER_THRESHOLD && HandState.isSoft(state)))) {
+                state = HandState.addValue(state, this.deal());
+                val = HandState.highestBelow(state, BLACKJACK);
+            }
+
+            return state;
+        }
+
+        /**
+         * Settles the bet of every player, as BlackjackDealer does
+         *
+         * @param patrons players sat at the table
+         * @param dealer  HandState of the dealer's hand
+         * @return the house's win, negative if the players won
+         */
+        private long settle(List<Patron> patrons, int dealer) {
+            int dealerScore = HandState.total(dealer);
+            boolean dealerBust = HandState.isBust(dealer);
+            long houseWin = 0;
+
+            for (Patron p : patrons) {
+                int playerScore = HandState.total(p.hand);
+                int stake;
+
+                if (HandState.isBust(p.hand) || dealerScore == BLACKJACK) {
+                    stake = -p.bet;
+                } else if (playerScore == BLACKJACK) {
+                    stake = this.rules.blackjackStake(p.bet);
+                } else if (playerScore > dealerScore || dealerBust) {
+                    stake = p.bet;
+                } else if (playerScore < dealerScore) {
+                    stake = -p.bet;
+                } else {
+                    stake = 0;
+                }
+
+                p.balance += stake;
+                houseWin -= stake;
+            }
+
+            return houseWin;
+        }
+
+        /**
+         * Retrieves the running count a player's type counts with
+         *
+         * @param p player counting
+         * @return running count, 0 if the player does not count
+         */
+        private int countOf(Patron p) {
+            int k = FloorSimulator.this.typeSystems[p.type];
+
+            return k < 0 ? 0 : this.counts[k];
+        }
+
+        /**
+         * Puts every card back in the shoe and resets the counts if fewer
+         * cards are left than the rules' penetration allows
+         */
+        private void restockShoe() {
+            if (this.shoe.length - this.position < this.reshuffleLimit) {
+                this.position = 0;
+                Arrays.fill(this.counts, 0);
+            }
+        }
+
+        /**
+         * Deals a card drawn at random from those left in the shoe, updating
+         * the counts
+         *
+         * @return value of the card dealt
+         * @throws NoSuchElementException if the shoe has run out
+         */
+        private int deal() {
+            final int BITS = 32;
+
+            int left = this.shoe.length - this.position;
+
+            if (left == 0) {
+                throw new NoSuchElementException("A table ran out of cards");
+            }
+
+            // Scales 32 random bits to the cards left without dividing
+            int pick = this.position + (int) (((this.random.nextLong()
+                    >>> BITS) * left) >>> BITS);
+            byte code = this.shoe[pick];
+
+            // Swaps the card drawn with the next, so the cards left stay
+            // after the position
+            this.shoe[pick] = this.shoe[this.position];
+            this.shoe[this.position++] = code;
+
+            int[][] deltas = FloorSimulator.this.deltas;
+
+            for (int k = 0; k < deltas.length; k++) {
+                this.counts[k] += deltas[k][code];
+            }
+
+            return VALUES[code];
+        }
+    }
+
+    /**
+     * One run of the floor, holding the queue of events and the tallies
+     */
+    private final class Run {
+
+        /**
+         * Events waiting to happen
+         */
+        private final PriorityQueue<Event> events;
+
+        /**
+         * Patrons sat at each table
+         */
+        private final List<List<Patron>> seated;
+
+        /**
+         * Simulated seconds the run ends at
+         */
+        private final double end;
+
+        /**
+         * Simulated seconds of the event happening
+         */
+        private double now;
+
+        /**
+         * Events scheduled so far
+         */
+        private long scheduled;
+
+        /**
+         * Whether each table has its next round scheduled
+         */
+        private final boolean[] dealing;
+
+        /**
+         * Simulated seconds since each table's player count last changed
+         */
+        private final double[] lastChange;
+
+        /**
+         * Report being built
+         */
+        private final Report report;
+
+        /**
+         * Constructs a run
+         *
+         * @param hours simulated hours to run for
+         */
+        Run(double hours) {
+            int count = FloorSimulator.this.tables.size();
+
+            this.events = new PriorityQueue<>();
+            this.seated = new ArrayList<>();
+            this.end = hours * SECONDS_PER_HOUR;
+            this.dealing = new boolean[count];
+            this.lastChange = new double[count];
+            this.report = new Report(hours, count);
+
+            for (int t = 0; t < count; t++) {
+                this.seated.add(new ArrayList<>());
+                this.report.seats[t] = FloorSimulator.this.tables.get(t).rules
+                        .getMaxPlayers();
+            }
+        }
+
+        /**
+         * Plays events until the end of the run
+         *
+         * @return report of the run
+         */
+        Report play() {
+            long start = System.nanoTime();
+
+            this.schedule(this.next(FloorSimulator.this.arrivalsPerHour),
+                    ARRIVE, -1, null);
+
+            while (!this.events.isEmpty()
+                    && this.events.peek().time <= this.end) {
+                Event e = this.events.poll();
+
+                this.now = e.time;
+                this.report.events++;
+
+                switch (e.kind) {
+                    case ARRIVE:
+                        this.arrive();
+                        break;
+                    case ROUND:
+                        this.deal(e.table);
+                        break;
+                    default:
+                        this.getUp(e);
+                }
+            }
+
+            // Counts the time each table spent with its last players
+            this.now = this.end;
+
+            for (int t = 0; t < this.seated.size(); t++) {
+                this.seatsChanging(t);
+            }
+
+            this.report.wallNanos = System.nanoTime() - start;
+
+            return this.report;
+        }
+
+        /**
+         * A new player arrives and sits down if there is a free seat
+         */
+        private void arrive() {
+            int type = FloorSimulator.this.random.nextInt(
+                    FloorSimulator.this.strategies.length);
+            Patron patron = new Patron(type,
+                    FloorSimulator.this.startingBalances[type]);
+
+            this.report.arrivals++;
+
+            if (!this.sitAnywhere(patron, -1)) {
+                this.report.turnedAway++;
+            }
+
+            this.schedule(this.next(FloorSimulator.this.arrivalsPerHour),
+                    ARRIVE, -1, null);
+        }
+
+        /**
+         * A table deals a round to the players still with money, then
+         * schedules its next round unless nobody is left
+         *
+         * @param t index of the table
+         */
+        private void deal(int t) {
+            Table table = FloorSimulator.this.tables.get(t);
+            List<Patron> patrons = this.seated.get(t);
+
+            // Removes the players who have no money before the round
+            for (Iterator<Patron> it = patrons.iterator(); it.hasNext();) {
+                Patron patron = it.next();
+
+                if (patron.balance < BasicPlayer.DEFAULT_BET) {
+                    this.seatsChanging(t);
+                    it.remove();
+                    patron.table = -1;
+                    this.report.broke++;
+                }
+            }
+
+            if (patrons.isEmpty()) {
+                this.dealing[t] = false;
+
+                return;
+            }
+
+            this.report.houseWin[t] += table.playRound(patrons);
+            this.report.rounds[t]++;
+            this.report.hands += patrons.size();
+            this.schedule(this.now + SECONDS_PER_HOUR / table.handsPerHour,
+                    ROUND, t, null);
+        }
+
+        /**
+         * A player gets up, then moves to another table or leaves the floor,
+         * unless they already left their table by going broke
+         *
+         * @param e the event
+         */
+        private void getUp(Event e) {
+            Patron patron = e.patron;
+
+            if (patron.table != e.table || patron.visit != e.visit) {
+                return;
+            }
+
+            int from = patron.table;
+
+            this.seatsChanging(from);
+            this.seated.get(from).remove(patron);
+            patron.table = -1;
+
+            if (FloorSimulator.this.random.nextDouble()
+                    < FloorSimulator.this.moveChance
+                    && this.sitAnywhere(patron, from)) {
+                this.report.moves++;
+            } else {
+                this.report.departures++;
+            }
+        }
+
+        /**
+         * Sits a player at a random table with a free seat
+         *
+         * @param patron player to sit
+         * @param not    index of a table not to sit at, -1 for none
+         * @return true if the player sat down, false if no seat was free
+         */
+        private boolean sitAnywhere(Patron patron, int not) {
+            int count = FloorSimulator.this.tables.size();
+            int first = FloorSimulator.this.random.nextInt(count);
+
+            // Tries each table in turn from a random one
+            for (int i = 0; i < count; i++) {
+                int t = (first + i) % count;
+
+                if (t == not || this.seated.get(t).size()
+                        >= this.report.seats[t]) {
+                    continue;
+                }
+
+                this.seatsChanging(t);
+                this.seated.get(t).add(patron);
+                patron.table = t;
+                patron.visit++;
+
+                this.schedule(this.next(1 / FloorSimulator.this.meanStayHours),
+                        GET_UP, t, patron);
+
+                if (!this.dealing[t]) {
+                    this.dealing[t] = true;
+                    this.schedule(this.now + SECONDS_PER_HOUR
+                            / FloorSimulator.this.tables.get(t).handsPerHour,
+                            ROUND, t, null);
+                }
+
+                return true;
+            }
+
+            return false;
+        }
+
+        /**
+         * Adds the seat time of a table up to now, before its player count
+         * changes
+         *
+         * @param t index of the table
+         */
+        private void seatsChanging(int t) {
+            this.report.seatSeconds[t] += this.seated.get(t).size()
+                    * (this.now - this.lastChange[t]);
+            this.lastChange[t] = this.now;
+        }
+
+        /**
+         * Picks the time of the next of a stream of random events
+         *
+         * @param perHour mean events an hour
+         * @return simulated seconds of the next event
+         */
+        private double next(double perHour) {
+            double u = FloorSimulator.this.random.nextDouble();
+
+            return this.now - Math.log(1 - u) * SECONDS_PER_HOUR / perHour;
+        }
+
+        /**
+         * Adds an event to the queue
+         *
+         * @param time   simulated seconds the event happens at
+         * @param kind   kind of event
+         * @param table  table the event happens at
+         * @param patron player the event happens to
+         */
+        private void schedule(double time, int kind, int table,
+                Patron patron) {
+            this.events.add(new Event(time, this.scheduled++, kind, table,
+                    patron));
+        }
+    }
+
+    /**
+     * Throughput, occupancy and the house's win at each table of a run
+     */
+    public static class Report {
+
+        /**
+         * Simulated hours run for
+         */
+        private final double hours;
+
+        /**
+         * Seats at each table
+         */
+        private final int[] seats;
+
+        /**
+         * Rounds dealt at each table
+         */
+        private final long[] rounds;
+
+        /**
+         * Seconds spent sat at each table, summed over its players
+         */
+        private final double[] seatSeconds;
+
+        /**
+         * The house's win at each table
+         */
+        private final long[] houseWin;
+
+        /**
+         * Events that happened
+         */
+        private long events;
+
+        /**
+         * Hands dealt at every table
+         */
+        private long hands;
+
+        /**
+         * Real nanoseconds the run took
+         */
+        private long wallNanos;
+
+        /**
+         * Players who arrived
+         */
+        private long arrivals;
+
+        /**
+         * Players who arrived to find no free seat
+         */
+        private long turnedAway;
+
+        /**
+         * Players removed for running out of money
+         */
+        private long broke;
+
+        /**
+         * Players who moved to another table
+         */
+        private long moves;
+
+        /**
+         * Players who got up and left the floor
+         */
+        private long departures;
+
+        /**
+         * Constructs an empty report
+         *
+         * @param hours  simulated hours run for
+         * @param tables amount of tables
+         */
+        Report(double hours, int tables) {
+            this.hours = hours;
+            this.seats = new int[tables];
+            this.rounds = new long[tables];
+            this.seatSeconds = new double[tables];
+            this.houseWin = new long[tables];
+        }
+
+        /**
+         * Retrieves the rounds dealt an hour at a table
+         *
+         * @param table index of the table
+         * @return rounds an hour
+         */
+        public double getRoundsPerHour(int table) {
+            return this.rounds[table] / this.hours;
+        }
+
+        /**
+         * Retrieves the fraction of a table's seats that were filled, on
+         * average over the run
+         *
+         * @param table index of the table
+         * @return occupancy, 0 to 1
+         */
+        public double getOccupancy(int table) {
+            return this.seatSeconds[table] / (this.seats[table] * this.hours
+                    * SECONDS_PER_HOUR);
+        }
+
+        /**
+         * Retrieves the house's win at a table
+         *
+         * @param table index of the table
+         * @return house win, negative if the players won
+         */
+        public long getHouseWin(int table) {
+            return this.houseWin[table];
+        }
+
+        /**
+         * Retrieves the events that happened each real second
+         *
+         * @return events a second
+         */
+        public double getEventsPerSecond() {
+            return perSecond(this.events);
+        }
+
+        /**
+         * Retrieves the hands dealt each real second
+         *
+         * @return hands a second
+         */
+        public double getHandsPerSecond() {
+            return perSecond(this.hands);
+        }
+
+        /**
+         * Works out how many of something happened each real second of the
+         * run
+         *
+         * @param amount amount that happened
+         * @return amount a second
+         */
+        private double perSecond(long amount) {
+            final double NANOS_PER_SECOND = 1e9;
+
+            return amount * NANOS_PER_SECOND / Math.max(this.wallNanos, 1);
+        }
+
+        /**
+         * Returns the report in a printable format
+         *
+         * @return String of the floor's tallies then each table's
+         */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format(
+                    "%.0f hours: %d arrived, %d turned away, %d went broke, "
+                    + "%d moved, %d left; %d events at %.0f a second, %d "
+                    + "hands at %.0f a second%n", this.hours, this.arrivals,
+                    this.turnedAway, this.broke, this.moves, this.departures,
+                    this.events, this.getEventsPerSecond(), this.hands,
+                    this.getHandsPerSecond()));
+            long total = 0;
+
+            for (int t = 0; t < this.rounds.length; t++) {
+                sb.append(String.format("Table %3d: %6.1f rounds/hour, "
+                        + "%5.1f%% occupied, house win £%d%n", t + 1,
+                        this.getRoundsPerHour(t), this.getOccupancy(t) * 100,
+                        this.houseWin[t]));
+                total += this.houseWin[t];
+            }
+
+            return sb.append("House win £").append(total).toString();
+        }
+    }
+
+    /**
+     * Runs a floor of tables for a month of simulated time
+     *
+     * @param args amount of tables, hours and arrivals an hour, all optional
+     */
+    public static void main(String[] args) {
+        final double HANDS_PER_HOUR = 60;
+        final int HOURS_PER_DAY = 24;
+        final int DAYS = 30;
+
+        int tables = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        double hours = args.length > 1 ? Double.parseDouble(args[1])
+                : HOURS_PER_DAY * DAYS;
+        double arrivals = args.length > 2 ? Double.parseDouble(args[2]) : 200;
+
+        FloorSimulator floor = new FloorSimulator(Arrays.asList("basic",
+                "intermediate", "advanced"), 2018);
+        // A full table can not run out of cards part way through a round
+        TableRules rules = new TableRules();
+        rules.setDecks(6);
+        rules.setMaxPlayers(7);
+
+        for (int t = 0; t < tables; t++) {
+            floor.addTable(rules, HANDS_PER_HOUR);
+        }
+
+        floor.setArrivalsPerHour(arrivals);
+        System.out.println(floor.run(hours));
+    }
+}
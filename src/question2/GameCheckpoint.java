@@ -0,0 +1,370 @@
+/** ***************************************************************************
+ *
+ * File        : GameCheckpoint.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that stores everything needed to carry on a seeded
+ *               game from the start of a round.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Between rounds every hand is empty, so a game is fully described by the
+ * dealer's random number stream, the order of the deck, the running counts,
+ * which seats are still at the table with what balances, what each player who
+ * follows the table has learnt of it, and how far through the decision log
+ * the game has read.
+ *
+ * @author Ali Jarjis
+ */
+public class GameCheckpoint implements Serializable {
+
+    /**
+     * GameCheckpoint's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 141;
+
+    /**
+     * Amount of rounds played before the checkpoint
+     */
+    private final int round;
+
+    /**
+     * Amount of choices read from the decision log before the checkpoint
+     */
+    private final long choicesRead;
+
+    /**
+     * State of the dealer's random number stream
+     */
+    private final long randomState;
+
+    /**
+     * Gamma of the dealer's random number stream
+     */
+    private final long randomGamma;
+
+    /**
+     * Codes of the cards in the deck, from the top down
+     */
+    private final byte[] deck;
+
+    /**
+     * Counting system of each running count
+     */
+    private final CountingSystem[] systems;
+
+    /**
+     * Value of each running count
+     */
+    private final int[] counts;
+
+    /**
+     * Cards each running count has seen since the last reshuffle
+     */
+    private final int[] cardsSeen;
+
+    /**
+     * Whether each seat in the register is still at the table
+     */
+    private final boolean[] seated;
+
+    /**
+     * Balance of each seat's player
+     */
+    private final int[] balances;
+
+    /**
+     * State of each seat's player if they follow the table, otherwise null
+     */
+    private final long[][] followerStates;
+
+    /**
+     * Constructs a checkpoint
+     *
+     * @param round       rounds played before the checkpoint
+     * @param choicesRead choices read from the decision log
+     * @param random      the dealer's random number stream
+     * @param deck        codes of the cards in the deck
+     * @param systems     counting system of each running count
+     * @param counts      value of each running count
+     * @param cardsSeen   cards each running count has seen
+     * @param seated      whether each seat is still at the table
+     * @param balances    balance of each seat's player
+     * @param followerStates state of each seat's player if they follow the
+     * table, otherwise null
+     */
+    GameCheckpoint(int round, long choicesRead, SplitRandom random,
+            byte[] deck, CountingSystem[] systems, int[] counts,
+            int[] cardsSeen, boolean[] seated, int[] balances,
+            long[][] followerStates) {
+        this.round = round;
+        this.choicesRead = choicesRead;
+        this.randomState = random.getState();
+        this.randomGamma = random.getGamma();
+        this.deck = deck;
+        this.systems = systems;
+        this.counts = counts;
+        this.cardsSeen = cardsSeen;
+        this.seated = seated;
+        this.balances = balances;
+        this.followerStates = followerStates;
+    }
+
+    /**
+     * Retrieves the amount of rounds played before the checkpoint
+     *
+     * @return rounds played
+     */
+    public int getRound() {
+        return this.round;
+    }
+
+    /**
+     * Retrieves the amount of choices read from the decision log
+     *
+     * @return choices read
+     */
+    public long getChoicesRead() {
+        return this.choicesRead;
+    }
+
+    /**
+     * Creates the dealer's random number stream as it was at the checkpoint
+     *
+     * @return copy of the stream
+     */
+    SplitRandom getRandom() {
+        return new SplitRandom(this.randomState, this.randomGamma);
+    }
+
+    /**
+     * Retrieves the codes of the cards in the deck
+     *
+     * @return card codes, from the top down
+     */
+    byte[] getDeck() {
+        return this.deck.clone();
+    }
+
+    /**
+     * Retrieves the counting system of each running count
+     *
+     * @return counting systems
+     */
+    CountingSystem[] getSystems() {
+        return this.systems.clone();
+    }
+
+    /**
+     * Retrieves the value of each running count
+     *
+     * @return counts
+     */
+    int[] getCounts() {
+        return this.counts.clone();
+    }
+
+    /**
+     * Retrieves the cards each running count has seen
+     *
+     * @return cards seen
+     */
+    int[] getCardsSeen() {
+        return this.cardsSeen.clone();
+    }
+
+    /**
+     * Retrieves whether each seat is still at the table
+     *
+     * @return seated flags, in register order
+     */
+    boolean[] getSeated() {
+        return this.seated.clone();
+    }
+
+    /**
+     * Retrieves the balance of each seat's player
+     *
+     * @return balances, in register order
+     */
+    int[] getBalances() {
+        return this.balances.clone();
+    }
+
+    /**
+     * Retrieves the state of a seat's player, if they follow the table
+     *
+     * @param seat seat in register order
+     * @return copy of the player's state, null if they do not follow the
+     * table or the checkpoint was saved before followers were recorded
+     */
+    long[] getFollowerState(int seat) {
+        if (this.followerStates == null
+                || this.followerStates[seat] == null) {
+            return null;
+        }
+
+        return this.followerStates[seat].clone();
+    }
+
+    /**
+     * Writes the checkpoint in a compact binary form
+     *
+     * @param out where the checkpoint is written
+     * @throws IOException if the checkpoint can not be written
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(this.round);
+        out.writeLong(this.choicesRead);
+        out.writeLong(this.randomState);
+        out.writeLong(this.randomGamma);
+        out.writeInt(this.deck.length);
+        out.write(this.deck);
+        out.writeByte(this.systems.length);
+
+        for (int i = 0; i < this.systems.length; i++) {
+            out.writeByte(this.systems[i].ordinal());
+            out.writeInt(this.counts[i]);
+            out.writeInt(this.cardsSeen[i]);
+        }
+
+        out.writeShort(this.seated.length);
+
+        for (int i = 0; i < this.seated.length; i++) {
+            out.writeBoolean(this.seated[i]);
+            out.writeInt(this.balances[i]);
+
+            // A length of -1 marks a seat whose player does not follow
+            long[] state = this.getFollowerState(i);
+            out.writeShort(state == null ? -1 : state.length);
+
+            for (int j = 0; state != null && j < state.length; j++) {
+                out.writeLong(state[j]);
+            }
+        }
+    }
+
+    /**
+     * Reads a checkpoint written by writeTo()
+     *
+     * @param in where the checkpoint is read from
+     * @return checkpoint read
+     * @throws IOException if the checkpoint can not be read
+     */
+    static GameCheckpoint readFrom(DataInput in) throws IOException {
+        int round = in.readInt();
+        long choicesRead = in.readLong();
+        SplitRandom random = new SplitRandom(in.readLong(), in.readLong());
+        byte[] deck = new byte[in.readInt()];
+        in.readFully(deck);
+
+        CountingSystem[] systems = new CountingSystem[in.readByte()];
+        int[] counts = new int[systems.length];
+        int[] cardsSeen = new int[systems.length];
+
+        for (int i = 0; i < systems.length; i++) {
+            systems[i] = CountingSystem.values()[in.readByte()];
+            counts[i] = in.readInt();
+            cardsSeen[i] = in.readInt();
+        }
+
+        boolean[] seated = new boolean[in.readShort()];
+        int[] balances = new int[seated.length];
+        long[][] followerStates = new long[seated.length][];
+
+        for (int i = 0; i < seated.length; i++) {
+            seated[i] = in.readBoolean();
+            balances[i] = in.readInt();
+
+            int length = in.readShort();
+
+            if (length >= 0) {
+                followerStates[i] = new long[length];
+
+                for (int j = 0; j < length; j++) {
+                    followerStates[i][j] = in.readLong();
+                }
+            }
+        }
+
+        return new GameCheckpoint(round, choicesRead, random, deck, systems,
+                counts, cardsSeen, seated, balances, followerStates);
+    }
+
+    /**
+     * Checks whether another checkpoint describes the same game state
+     *
+     * @param o object to compare
+     * @return true if every part of the state is equal
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof GameCheckpoint)) {
+            return false;
+        }
+
+        GameCheckpoint other = (GameCheckpoint) o;
+
+        return this.round == other.round
+                && this.choicesRead == other.choicesRead
+                && this.randomState == other.randomState
+                && this.randomGamma == other.randomGamma
+                && Arrays.equals(this.deck, other.deck)
+                && Arrays.equals(this.systems, other.systems)
+                && Arrays.equals(this.counts, other.counts)
+                && Arrays.equals(this.cardsSeen, other.cardsSeen)
+                && Arrays.equals(this.seated, other.seated)
+                && Arrays.equals(this.balances, other.balances)
+                && this.followersEqual(other);
+    }
+
+    /**
+     * Checks whether every seat's player is in the same state in another
+     * checkpoint
+     *
+     * @param other checkpoint to compare
+     * @return true if each seat's follower state is equal
+     */
+    private boolean followersEqual(GameCheckpoint other) {
+        for (int i = 0; i < this.seated.length; i++) {
+            if (!Arrays.equals(this.getFollowerState(i),
+                    other.getFollowerState(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Calculates a hash code from the round and random number stream
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        return 31 * this.round + Long.hashCode(this.randomState);
+    }
+
+    /**
+     * Returns the checkpoint in a printable format
+     *
+     * @return String of the round and balances
+     */
+    @Override
+    public String toString() {
+        return "Round " + this.round + ", " + this.deck.length
+                + " cards left, balances " + Arrays.toString(this.balances);
+    }
+}
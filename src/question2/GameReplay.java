@@ -0,0 +1,374 @@
+/** ***************************************************************************
+ *
+ * File        : GameReplay.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that replays any round of a seeded game from its
+ *               decision log, jumping to the round from the nearest
+ *               checkpoint.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A game is played at a table whose dealer shuffles with a SplitRandom
+ * seeded from the game's seed, with one registered player in each seat, and
+ * every choice read during the game is recorded in a decision log. Playing
+ * the same seats with the same seed and the log's choices deals the same
+ * cards and makes the same decisions, so any round can be replayed exactly.
+ * Checkpoints taken every so many rounds let a replay start near the round
+ * instead of from the beginning.
+ *
+ * @author Ali Jarjis
+ */
+public class GameReplay {
+
+    /**
+     * Output that throws away everything printed to it
+     */
+    private static final PrintStream DISCARD = new PrintStream(
+            new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    });
+
+    /**
+     * Registered type of each seat
+     */
+    private final List<String> seatTypes;
+
+    /**
+     * Seed of the dealer's random number stream
+     */
+    private final long seed;
+
+    /**
+     * File holding the decision log, null if no choices were made
+     */
+    private final String logFile;
+
+    /**
+     * Checkpoints taken so far, in round order
+     */
+    private final List<GameCheckpoint> checkpoints;
+
+    /**
+     * Constructs a replay of a recorded game
+     *
+     * @param seatTypes registered type of each seat
+     * @param seed      seed of the dealer's random number stream
+     * @param logFile   file holding the decision log, null if the game has
+     *                  no human players
+     */
+    public GameReplay(List<String> seatTypes, long seed, String logFile) {
+        this.seatTypes = new ArrayList<>(seatTypes);
+        this.seed = seed;
+        this.logFile = logFile;
+        this.checkpoints = new ArrayList<>();
+    }
+
+    /**
+     * Plays a seeded game, recording every choice read to a decision log
+     *
+     * @param seatTypes registered type of each seat
+     * @param seed      seed of the dealer's random number stream
+     * @param rounds    amount of rounds to play
+     * @param input     where the choices are read from
+     * @param logFile   file to record the choices in
+     * @throws IOException if the log can not be written
+     */
+    public static void record(List<String> seatTypes, long seed, int rounds,
+            PlayerInput input, String logFile) throws IOException {
+        record(seatTypes, seed, rounds, input, logFile, System.out);
+    }
+
+    /**
+     * Plays a seeded game, printing it to an output and recording every
+     * choice read to a decision log
+     *
+     * @param seatTypes registered type of each seat
+     * @param seed      seed of the dealer's random number stream
+     * @param rounds    amount of rounds to play
+     * @param input     where the choices are read from
+     * @param logFile   file to record the choices in
+     * @param out       where the game is printed
+     * @throws IOException if the log can not be written
+     */
+    public static void record(List<String> seatTypes, long seed, int rounds,
+            PlayerInput input, String logFile, PrintStream out)
+            throws IOException {
+        try (RecordingInput recorder = new RecordingInput(input,
+                new FileWriter(logFile))) {
+            BlackjackTable.playRounds(0, rounds,
+                    newTable(seatTypes, seed), recorder, out);
+        }
+    }
+
+    /**
+     * Replays the game from the start without any console output, taking a
+     * checkpoint at the start of every interval rounds
+     *
+     * @param rounds   amount of rounds to replay
+     * @param interval rounds between checkpoints
+     * @return amount of checkpoints taken
+     * @throws IOException if the decision log can not be read
+     */
+    public int buildCheckpoints(int rounds, int interval) throws IOException {
+        this.checkpoints.clear();
+
+        BlackjackTable table = newTable(this.seatTypes, this.seed);
+
+        try (ScriptedInput input = this.openLog()) {
+            for (int played = 0; played < rounds; played += interval) {
+                this.checkpoints.add(table.checkpoint(played,
+                        input.getChoicesRead()));
+
+                if (!quietly(played, Math.min(interval, rounds - played),
+                        table, input)) {
+                    break;
+                }
+            }
+        }
+
+        return this.checkpoints.size();
+    }
+
+    /**
+     * Retrieves the checkpoints taken so far
+     *
+     * @return unmodifiable checkpoints, in round order
+     */
+    public List<GameCheckpoint> getCheckpoints() {
+        return Collections.unmodifiableList(this.checkpoints);
+    }
+
+    /**
+     * Saves the checkpoints to a file, so later replays need not build them
+     *
+     * @param filename file to save to
+     * @throws IOException if the file can not be written
+     */
+    public void saveCheckpoints(String filename) throws IOException {
+        BlackjackTable.writeToFile(new ArrayList<>(this.checkpoints),
+                filename);
+    }
+
+    /**
+     * Loads checkpoints saved from a replay of the same game
+     *
+     * @param filename file to load from
+     * @throws IOException            if the file can not be read
+     * @throws ClassNotFoundException if the file does not hold checkpoints
+     */
+    @SuppressWarnings("unchecked")
+    public void loadCheckpoints(String filename) throws IOException,
+            ClassNotFoundException {
+        this.checkpoints.clear();
+        this.checkpoints.addAll((List<GameCheckpoint>) BlackjackTable
+                .readFromFile(filename));
+    }
+
+    /**
+     * Finds the state of the game once a given amount of rounds have been
+     * played, starting from the nearest checkpoint before it
+     *
+     * @param played amount of rounds played
+     * @return checkpoint of the game at that point
+     * @throws IOException              if the decision log can not be read
+     * @throws IllegalArgumentException if the game ended before then
+     */
+    public GameCheckpoint seek(int played) throws IOException {
+        BlackjackTable table = newTable(this.seatTypes, this.seed);
+
+        try (ScriptedInput input = this.openLog()) {
+            this.advance(table, input, played);
+
+            return table.checkpoint(played, input.getChoicesRead());
+        }
+    }
+
+    /**
+     * Replays a round of the game with its usual console output, starting
+     * from the nearest checkpoint before it
+     *
+     * @param round number of the round, the first round being 1
+     * @throws IOException              if the decision log can not be read
+     * @throws IllegalArgumentException if the game ended before the round
+     */
+    public void replayRound(int round) throws IOException {
+        BlackjackTable table = newTable(this.seatTypes, this.seed);
+
+        try (ScriptedInput input = this.openLog()) {
+            this.advance(table, input, round - 1);
+            BlackjackTable.playRounds(round - 1, 1, table, input);
+        }
+    }
+
+    /**
+     * Brings a new table and its decision log to a given round, restoring the
+     * nearest checkpoint and quietly playing the rounds after it
+     *
+     * @param table  new table for the game
+     * @param input  the game's decision log, unread
+     * @param played amount of rounds to have been played
+     * @throws IllegalArgumentException if the game ended before then
+     */
+    private void advance(BlackjackTable table, ScriptedInput input,
+            int played) {
+        GameCheckpoint start = null;
+
+        for (GameCheckpoint c : this.checkpoints) {
+            if (c.getRound() <= played) {
+                start = c;
+            }
+        }
+
+        int from = 0;
+
+        if (start != null) {
+            table.restore(start);
+            from = start.getRound();
+
+            // Skips the choices made before the checkpoint
+            for (long i = 0; i < start.getChoicesRead(); i++) {
+                input.next();
+            }
+        }
+
+        if (!quietly(from, played - from, table, input)) {
+            throw new IllegalArgumentException("The game ended before round "
+                    + (played + 1));
+        }
+    }
+
+    /**
+     * Opens the decision log from its first choice
+     *
+     * @return input reading the log
+     * @throws IOException if the log can not be opened
+     */
+    private ScriptedInput openLog() throws IOException {
+        if (this.logFile == null) {
+            return new ScriptedInput(new StringReader(""));
+        }
+
+        return new ScriptedInput(this.logFile);
+    }
+
+    /**
+     * Creates a table for a seeded game
+     *
+     * @param seatTypes registered type of each seat
+     * @param seed      seed of the dealer's random number stream
+     * @return new table
+     */
+    private static BlackjackTable newTable(List<String> seatTypes,
+            long seed) {
+        BlackjackTable table = new BlackjackTable(new SplitRandom(seed));
+
+        for (String type : seatTypes) {
+            table.seatPlayers(type, 1);
+        }
+
+        return table;
+    }
+
+    /**
+     * Plays rounds with everything printed thrown away
+     *
+     * @param played rounds already played
+     * @param rounds amount of rounds to play
+     * @param table  table to play at
+     * @param input  where choices are read from
+     * @return true if every round was played, false if the game ended early
+     */
+    private static boolean quietly(int played, int rounds,
+            BlackjackTable table, PlayerInput input) {
+        return BlackjackTable.playRounds(played, rounds, table, input,
+                DISCARD);
+    }
+
+    /**
+     * Records a game with a human player making random choices, then checks
+     * that seeking from checkpoints gives the same state as replaying from
+     * the start, and replays a round
+     *
+     * @param args rounds to record, checkpoint interval and round to replay,
+     *             all optional
+     */
+    public static void main(String[] args) {
+        final long NANOS_PER_MILLI = 1000000;
+        final String LOG_FILE = "replayDecisions.txt";
+
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int interval = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int round = args.length > 2 ? Integer.parseInt(args[2]) : 12345;
+        List<String> seats = Arrays.asList("basic", "advanced", "human");
+
+        // Stands in for a person, betting £10 and hitting at random
+        Random person = new Random(1);
+        PlayerInput choices = new PlayerInput() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public boolean hasNextInt() {
+                return true;
+            }
+
+            @Override
+            public String next() {
+                return person.nextInt(3) == 0 ? "N" : "Y";
+            }
+
+            @Override
+            public int nextInt() {
+                return BasicPlayer.DEFAULT_BET;
+            }
+        };
+
+        try {
+            record(seats, 2018, rounds, choices, LOG_FILE, DISCARD);
+
+            GameReplay replay = new GameReplay(seats, 2018, LOG_FILE);
+            GameCheckpoint fromStart = replay.seek(round - 1);
+
+            replay.buildCheckpoints(rounds, interval);
+
+            long start = System.nanoTime();
+            GameCheckpoint fromCheckpoint = replay.seek(round - 1);
+            long time = (System.nanoTime() - start) / NANOS_PER_MILLI;
+
+            System.out.println(fromCheckpoint);
+            System.out.println("Seek from checkpoint took " + time
+                    + "ms, matches replay from start: "
+                    + fromCheckpoint.equals(fromStart));
+
+            replay.replayRound(round);
+        } catch (IOException ex) {
+            System.out.println("Unable to replay the game: "
+                    + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,654 @@
+/** ***************************************************************************
+ *
+ * File        : HandEnumerator.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that works out the exact expected return of a
+ *               strategy by enumerating every starting hand, dealer upcard
+ *               and card drawn after them, rather than simulating.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import question2.Card.Rank;
+import question2.Card.Suit;
+
+/**
+ * Every hand is dealt from a full shoe of the rules' decks, less any cards
+ * known to be gone, and each card drawn after is removed from the shoe, so
+ * the results are exact for the first round after a shuffle. The strategy is
+ * asked once for every hand state against every upcard at a neutral count,
+ * through its BatchPlayer, and the game is then played out on those
+ * decisions exactly as BlackjackTable plays it.
+ *
+ * Each upcard is enumerated as a task of its own. The dealer's distribution
+ * of final scores only depends on which cards have left the shoe, so each
+ * task remembers it for every set of player cards it has already seen.
+ *
+ * @author Ali Jarjis
+ */
+public class HandEnumerator {
+
+    /**
+     * Amount of distinct card values, TWO to ACE
+     */
+    static final int VALUES = 10;
+
+    /**
+     * Value of the lowest card
+     */
+    static final int LOWEST_VALUE = 2;
+
+    /**
+     * Hand total of a blackjack
+     */
+    private static final int BLACKJACK = 21;
+
+    /**
+     * Total the dealer stands on
+     */
+    private static final int DEALER_THRESHOLD = 17;
+
+    /**
+     * Amount of final dealer scores, 17 to 21 and bust
+     */
+    private static final int DEALER_SCORES = BLACKJACK - DEALER_THRESHOLD + 2;
+
+    /**
+     * Bits used for the amount of each value removed in a memo key
+     */
+    private static final int KEY_BITS = 5;
+
+    /**
+     * Registered type of the strategy
+     */
+    private final String type;
+
+    /**
+     * Rules the hands are played under
+     */
+    private final TableRules rules;
+
+    /**
+     * Cards of each value in the shoe before any hand is dealt
+     */
+    private final int[] shoe;
+
+    /**
+     * Whether the strategy takes a card, by upcard and hand state
+     */
+    private final boolean[][] hits;
+
+    /**
+     * Constructs an enumerator for a strategy
+     *
+     * @param type  registered type of the strategy
+     * @param rules rules the hands are played under
+     * @throws IllegalArgumentException if the type is not a BatchPlayer
+     */
+    public HandEnumerator(String type, TableRules rules) {
+        Player p = PlayerRegistry.create(type);
+
+        if (!(p instanceof BatchPlayer)) {
+            throw new IllegalArgumentException(type + " players can not "
+                    + "decide in batches");
+        }
+
+        this.type = type;
+        this.rules = new TableRules(rules);
+        this.shoe = new int[VALUES];
+
+        for (Rank r : Rank.values()) {
+            this.shoe[r.getVALUE() - LOWEST_VALUE] += rules.getDecks()
+                    * Suit.values().length;
+        }
+
+        // Asks for every state against every upcard at once, at the count
+        // of a freshly shuffled shoe
+        BatchPlayer strategy = (BatchPlayer) p;
+        int[] states = new int[HandState.STATES];
+        int[] upcards = new int[HandState.STATES];
+        int[] counts = new int[HandState.STATES];
+        int[] cardsSeen = new int[HandState.STATES];
+
+        for (int s = 0; s < HandState.STATES; s++) {
+            states[s] = s;
+        }
+
+        this.hits = new boolean[VALUES][HandState.STATES];
+
+        for (int u = 0; u < VALUES; u++) {
+            Arrays.fill(upcards, u + LOWEST_VALUE);
+            strategy.hits(states, upcards, counts, cardsSeen, this.hits[u],
+                    HandState.STATES);
+        }
+    }
+
+    /**
+     * Removes cards known to have left the shoe, such as those seen earlier
+     * in it, before any hand is dealt
+     *
+     * @param cards cards to remove
+     * @throws IllegalArgumentException if more of a value are removed than
+     *                                  the shoe holds
+     */
+    public void removeCards(List<Card> cards) {
+        for (Card c : cards) {
+            int v = c.getRank().getVALUE() - LOWEST_VALUE;
+
+            if (this.shoe[v] == 0) {
+                throw new IllegalArgumentException("No " + c.getRank()
+                        + " left in the shoe to remove");
+            }
+
+            this.shoe[v]--;
+        }
+    }
+
+    /**
+     * Enumerates every upcard across a runner's pool
+     *
+     * @param runner runner whose threads are used
+     * @return exact results
+     * @throws InterruptedException if interrupted while waiting for upcards
+     * @throws ExecutionException   if an upcard fails
+     */
+    public Result enumerate(MonteCarloRunner runner) throws
+            InterruptedException, ExecutionException {
+        List<Future<Result>> upcards = new ArrayList<>();
+
+        for (int u = 0; u < VALUES; u++) {
+            final int upcard = u;
+
+            upcards.add(runner.submit(() -> this.enumerateUpcard(upcard)));
+        }
+
+        Result result = new Result(this.type);
+
+        for (Future<Result> f : upcards) {
+            result.merge(f.get());
+        }
+
+        return result;
+    }
+
+    /**
+     * Enumerates every upcard one after another on the calling thread, giving
+     * the same result as enumerate()
+     *
+     * @return exact results
+     */
+    public Result enumerateSequential() {
+        Result result = new Result(this.type);
+
+        for (int u = 0; u < VALUES; u++) {
+            result.merge(this.enumerateUpcard(u));
+        }
+
+        return result;
+    }
+
+    /**
+     * Enumerates every starting hand against one upcard
+     *
+     * @param upcard index of the upcard's value
+     * @return results for that upcard only
+     */
+    Result enumerateUpcard(int upcard) {
+        return new UpcardTask(upcard).run();
+    }
+
+    /**
+     * The enumeration of one upcard, with a shoe and memo of its own
+     */
+    private final class UpcardTask {
+
+        /**
+         * Index of the upcard's value
+         */
+        private final int upcard;
+
+        /**
+         * Cards of each value left in the shoe
+         */
+        private final int[] counts;
+
+        /**
+         * Cards left in the shoe
+         */
+        private int remaining;
+
+        /**
+         * Amount of each value removed since the start of the task, packed
+         */
+        private long removed;
+
+        /**
+         * Dealer's distribution of final scores by cards removed
+         */
+        private final Map<Long, double[]> dealerMemo;
+
+        /**
+         * Results being built
+         */
+        private final Result result;
+
+        /**
+         * Constructs the task of an upcard
+         *
+         * @param upcard index of the upcard's value
+         */
+        UpcardTask(int upcard) {
+            this.upcard = upcard;
+            this.counts = HandEnumerator.this.shoe.clone();
+            this.remaining = Arrays.stream(this.counts).sum();
+            this.dealerMemo = new HashMap<>();
+            this.result = new Result(HandEnumerator.this.type);
+        }
+
+        /**
+         * Enumerates every pair of first cards against the upcard
+         *
+         * @return results for the upcard
+         */
+        Result run() {
+            for (int a = 0; a < VALUES; a++) {
+                for (int b = a; b < VALUES; b++) {
+                    // Chance of being dealt a, b and the upcard, in any order
+                    double chance = this.draw(a);
+                    chance *= this.draw(b);
+                    chance *= this.draw(this.upcard);
+
+                    if (a != b) {
+                        chance *= 2;
+                    }
+
+                    if (chance > 0) {
+                        int state = HandState.addValue(HandState.addValue(
+                                HandState.EMPTY, a + LOWEST_VALUE),
+                                b + LOWEST_VALUE);
+                        double[] outcomes = new double[Outcome.values()
+                                .length];
+                        double ev = this.play(state, 1, outcomes);
+
+                        this.result.add(a, b, this.upcard, chance, ev,
+                                outcomes);
+                    }
+
+                    this.replace(this.upcard);
+                    this.replace(b);
+                    this.replace(a);
+                }
+            }
+
+            return this.result;
+        }
+
+        /**
+         * Draws a card of a value from the shoe
+         *
+         * @param v index of the value
+         * @return chance of drawing it, 0 if none are left in which case
+         * nothing is removed but it must still be replaced
+         */
+        private double draw(int v) {
+            // Removes one even when none are left, replace() putting it back
+            double chance = (double) Math.max(this.counts[v], 0)
+                    / this.remaining;
+
+            this.counts[v]--;
+            this.remaining--;
+            this.removed += 1L << (v * KEY_BITS);
+
+            return chance;
+        }
+
+        /**
+         * Puts a drawn card back in the shoe
+         *
+         * @param v index of the value
+         */
+        private void replace(int v) {
+            this.counts[v]++;
+            this.remaining++;
+            this.removed -= 1L << (v * KEY_BITS);
+        }
+
+        /**
+         * Plays out a player's hand on the strategy's decisions
+         *
+         * @param state    state of the player's hand
+         * @param chance   chance of reaching this hand
+         * @param outcomes chance of each outcome, added to
+         * @return expected return per unit bet, weighted by chance
+         */
+        private double play(int state, double chance, double[] outcomes) {
+            if (HandState.isBust(state)) {
+                outcomes[Outcome.BUST.ordinal()] += chance;
+
+                return -chance;
+            }
+
+            if (HandState.total(state) < BLACKJACK
+                    && HandEnumerator.this.hits[this.upcard][state]) {
+                double ev = 0;
+
+                for (int v = 0; v < VALUES; v++) {
+                    if (this.counts[v] > 0) {
+                        double next = chance * this.draw(v);
+
+                        ev += this.play(HandState.addValue(state,
+                                v + LOWEST_VALUE), next, outcomes);
+                        this.replace(v);
+                    }
+                }
+
+                return ev;
+            }
+
+            return this.settle(state, chance, outcomes);
+        }
+
+        /**
+         * Settles a standing hand against every final dealer score
+         *
+         * @param state    state of the player's hand
+         * @param chance   chance of reaching this hand
+         * @param outcomes chance of each outcome, added to
+         * @return expected return per unit bet, weighted by chance
+         */
+        private double settle(int state, double chance, double[] outcomes) {
+            double[] dealer = this.dealerMemo.get(this.removed);
+
+            if (dealer == null) {
+                dealer = new double[DEALER_SCORES];
+                this.playDealer(HandState.addValue(HandState.EMPTY,
+                        this.upcard + LOWEST_VALUE), 1, dealer);
+                this.dealerMemo.put(this.removed, dealer);
+            }
+
+            TableRules rules = HandEnumerator.this.rules;
+            double blackjack = (double) rules.getBlackjackNumerator()
+                    / rules.getBlackjackDenominator();
+            int playerScore = HandState.total(state);
+            double ev = 0;
+
+            for (int d = 0; d < DEALER_SCORES; d++) {
+                double p = chance * dealer[d];
+                int dealerScore = DEALER_THRESHOLD + d;
+                boolean dealerBust = d == DEALER_SCORES - 1;
+                Outcome outcome;
+
+                if (!dealerBust && dealerScore == BLACKJACK) {
+                    outcome = Outcome.LOSS;
+                    ev -= p;
+                } else if (playerScore == BLACKJACK) {
+                    outcome = Outcome.BLACKJACK;
+                    ev += p * blackjack;
+                } else if (dealerBust || playerScore > dealerScore) {
+                    outcome = Outcome.WIN;
+                    ev += p;
+                } else if (playerScore < dealerScore) {
+                    outcome = Outcome.LOSS;
+                    ev -= p;
+                } else {
+                    outcome = Outcome.PUSH;
+                }
+
+                outcomes[outcome.ordinal()] += p;
+            }
+
+            return ev;
+        }
+
+        /**
+         * Plays out the dealer's hand, as BlackjackDealer does
+         *
+         * @param state  state of the dealer's hand
+         * @param chance chance of reaching this hand
+         * @param scores chance of each final score, added to
+         */
+        private void playDealer(int state, double chance, double[] scores) {
+            int val = HandState.highestBelow(state, BLACKJACK);
+
+            if (val >= 0 && (val < DEALER_THRESHOLD
+                    || (HandEnumerator.this.rules.isDealerHitsSoft17()
+                    && val == DEALER_THRESHOLD && HandState.isSoft(state)))) {
+                for (int v = 0; v < VALUES; v++) {
+                    if (this.counts[v] > 0) {
+                        double next = chance * this.draw(v);
+
+                        this.playDealer(HandState.addValue(state,
+                                v + LOWEST_VALUE), next, scores);
+                        this.replace(v);
+                    }
+                }
+            } else if (HandState.isBust(state)) {
+                scores[DEALER_SCORES - 1] += chance;
+            } else {
+                scores[HandState.total(state) - DEALER_THRESHOLD] += chance;
+            }
+        }
+    }
+
+    /**
+     * Exact results of a strategy, by starting hand and upcard
+     */
+    public static class Result {
+
+        /**
+         * Registered type of the strategy
+         */
+        private final String type;
+
+        /**
+         * Chance of each first two cards and upcard, by upcard, lower card
+         * and higher card
+         */
+        private final double[][][] chances;
+
+        /**
+         * Expected return per unit bet of each first two cards and upcard
+         */
+        private final double[][][] returns;
+
+        /**
+         * Chance of each outcome over every hand
+         */
+        private final double[] outcomes;
+
+        /**
+         * Constructs an empty result
+         *
+         * @param type registered type of the strategy
+         */
+        Result(String type) {
+            this.type = type;
+            this.chances = new double[VALUES][VALUES][VALUES];
+            this.returns = new double[VALUES][VALUES][VALUES];
+            this.outcomes = new double[Outcome.values().length];
+        }
+
+        /**
+         * Adds the result of one starting hand
+         *
+         * @param a        index of the lower first card's value
+         * @param b        index of the higher first card's value
+         * @param upcard   index of the upcard's value
+         * @param chance   chance of the starting hand
+         * @param ev       expected return of the starting hand
+         * @param outcomes chance of each outcome given the starting hand
+         */
+        void add(int a, int b, int upcard, double chance, double ev,
+                double[] outcomes) {
+            this.chances[upcard][a][b] = chance;
+            this.returns[upcard][a][b] = ev;
+
+            for (int i = 0; i < outcomes.length; i++) {
+                this.outcomes[i] += chance * outcomes[i];
+            }
+        }
+
+        /**
+         * Adds the starting hands of a result for other upcards
+         *
+         * @param other result to add
+         */
+        void merge(Result other) {
+            for (int u = 0; u < VALUES; u++) {
+                for (int a = 0; a < VALUES; a++) {
+                    for (int b = a; b < VALUES; b++) {
+                        this.chances[u][a][b] += other.chances[u][a][b];
+                        this.returns[u][a][b] += other.returns[u][a][b];
+                    }
+                }
+            }
+
+            for (int i = 0; i < this.outcomes.length; i++) {
+                this.outcomes[i] += other.outcomes[i];
+            }
+        }
+
+        /**
+         * Retrieves the expected return per unit bet of a starting hand
+         *
+         * @param first  value of one first card, ACE being 11
+         * @param second value of the other first card
+         * @param upcard value of the dealer's upcard
+         * @return expected return, 0 if the hand can not be dealt
+         */
+        public double getExpectedReturn(int first, int second, int upcard) {
+            int a = Math.min(first, second) - LOWEST_VALUE;
+            int b = Math.max(first, second) - LOWEST_VALUE;
+
+            return this.returns[upcard - LOWEST_VALUE][a][b];
+        }
+
+        /**
+         * Retrieves the expected return per unit bet against an upcard
+         *
+         * @param upcard value of the dealer's upcard, ACE being 11
+         * @return expected return given the upcard
+         */
+        public double getExpectedReturn(int upcard) {
+            int u = upcard - LOWEST_VALUE;
+            double chance = 0;
+            double ev = 0;
+
+            for (int a = 0; a < VALUES; a++) {
+                for (int b = a; b < VALUES; b++) {
+                    chance += this.chances[u][a][b];
+                    ev += this.chances[u][a][b] * this.returns[u][a][b];
+                }
+            }
+
+            return chance > 0 ? ev / chance : 0;
+        }
+
+        /**
+         * Retrieves the expected return per unit bet over every hand
+         *
+         * @return expected return
+         */
+        public double getExpectedReturn() {
+            double ev = 0;
+
+            for (int u = 0; u < VALUES; u++) {
+                for (int a = 0; a < VALUES; a++) {
+                    for (int b = a; b < VALUES; b++) {
+                        ev += this.chances[u][a][b] * this.returns[u][a][b];
+                    }
+                }
+            }
+
+            return ev;
+        }
+
+        /**
+         * Retrieves the chance of an outcome over every hand
+         *
+         * @param outcome outcome of a hand
+         * @return chance of the outcome
+         */
+        public double getChance(Outcome outcome) {
+            return this.outcomes[outcome.ordinal()];
+        }
+
+        /**
+         * Returns the result in a printable format
+         *
+         * @return String of the expected return, overall and by upcard
+         */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format(
+                    "%s: expected return %.4f%%", this.type,
+                    this.getExpectedReturn() * 100));
+
+            for (Outcome o : Outcome.values()) {
+                sb.append(String.format(", %s %.2f%%", o,
+                        this.getChance(o) * 100));
+            }
+
+            for (int u = LOWEST_VALUE; u < LOWEST_VALUE + VALUES; u++) {
+                sb.append(String.format("%n  upcard %2d: %8.4f%%", u,
+                        this.getExpectedReturn(u) * 100));
+            }
+
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Enumerates a strategy exactly and checks a simulation lands within
+     * three standard errors of it
+     *
+     * @param args registered type, optionally then rounds simulated
+     */
+    public static void main(String[] args) {
+        final long NANOS_PER_MILLI = 1000000;
+        final double TOLERANCE = 3;
+
+        String type = args.length > 0 ? args[0] : "basic";
+        long rounds = args.length > 1 ? Long.parseLong(args[1]) : 1000000;
+
+        // Reshuffles after every round so each is dealt from a full shoe
+        TableRules rules = new TableRules();
+        rules.setDecks(8);
+        rules.setPenetration(0.01);
+
+        try (MonteCarloRunner runner = new MonteCarloRunner()) {
+            HandEnumerator enumerator = new HandEnumerator(type, rules);
+            long start = System.nanoTime();
+            Result exact = enumerator.enumerate(runner);
+            long time = (System.nanoTime() - start) / NANOS_PER_MILLI;
+
+            System.out.println(exact);
+            System.out.println("Enumerated in " + time + "ms");
+
+            SimulationJob job = new SimulationJob(Arrays.asList(type),
+                    rounds, 64, 2018, new SimulationConfig(), rules);
+            RunningStats returns = new LockstepEngine(job).run().getSeat(0)
+                    .getReturns();
+            double error = returns.getStandardError();
+
+            System.out.printf("Simulated %.4f%% ± %.4f%%, within %.0f "
+                    + "standard errors: %b%n", returns.getMean() * 100,
+                    error * 100, TOLERANCE, Math.abs(returns.getMean()
+                    - exact.getExpectedReturn()) <= TOLERANCE * error);
+        } catch (InterruptedException | ExecutionException ex) {
+            System.out.println("Unable to finish the enumeration: "
+                    + ex.getMessage());
+        }
+    }
+}
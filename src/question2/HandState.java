@@ -0,0 +1,206 @@
+/** ***************************************************************************
+ *
+ * File        : HandState.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class of helper methods which describe a blackjack hand as
+ *               a single integer state.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import question2.Card.Rank;
+import java.util.ArrayList;
+
+/**
+ * Every rule of the game only depends on the lowest total of a hand, counting
+ * each ACE as one, and whether the hand holds an ACE, since only one ACE can
+ * ever be counted as eleven. A state stores these as (lowest total * 2) + 1 if
+ * the hand holds an ACE.
+ *
+ * @author Ali Jarjis
+ */
+public final class HandState {
+
+    /**
+     * The state of an empty hand
+     */
+    public static final int EMPTY = 0;
+
+    /**
+     * Amount of possible states, large enough for any hand the game can make
+     */
+    public static final int STATES = 64;
+
+    /**
+     * Stores the definition of what constitutes as blackjack
+     */
+    private static final int BLACKJACK = 21;
+
+    /**
+     * Difference between an ACE counted high and counted low
+     */
+    private static final int ACE_DIFFERENCE = 10;
+
+    /**
+     * Prevents construction of this helper class
+     */
+    private HandState() {
+    }
+
+    /**
+     * Creates a state from a hand's lowest total and whether it holds an ACE
+     *
+     * @param lowTotal lowest total of the hand
+     * @param hasAce   true if the hand holds an ACE
+     * @return state of the hand
+     */
+    public static int of(int lowTotal, boolean hasAce) {
+        return (lowTotal << 1) | (hasAce ? 1 : 0);
+    }
+
+    /**
+     * Creates the state of a hand
+     *
+     * @param h hand to describe
+     * @return state of the hand
+     */
+    public static int of(Hand h) {
+        ArrayList<Integer> handValues = h.getTotalValues();
+        int lowTotal = handValues.get(handValues.size() - 1);
+
+        return of(lowTotal, h.countRank(Rank.ACE) > 0);
+    }
+
+    /**
+     * Adds a card of a given rank to a state
+     *
+     * @param state state of the hand
+     * @param rank  rank of card added
+     * @return state of the hand with the card added
+     */
+    public static int add(int state, Rank rank) {
+        return addValue(state, rank.getVALUE());
+    }
+
+    /**
+     * Adds a card of a given value to a state, ACE being valued eleven
+     *
+     * @param state state of the hand
+     * @param value value of card added
+     * @return state of the hand with the card added
+     */
+    public static int addValue(int state, int value) {
+        final int ACE_VALUE = 11;
+
+        if (value == ACE_VALUE) {
+            return of(lowTotal(state) + 1, true);
+        }
+
+        return state + (value << 1);
+    }
+
+    /**
+     * Retrieves the lowest total of a hand, counting every ACE as one
+     *
+     * @param state state of the hand
+     * @return lowest total
+     */
+    public static int lowTotal(int state) {
+        return state >> 1;
+    }
+
+    /**
+     * Checks if a hand holds an ACE
+     *
+     * @param state state of the hand
+     * @return true if the hand holds an ACE
+     */
+    public static boolean hasAce(int state) {
+        return (state & 1) == 1;
+    }
+
+    /**
+     * Retrieves the highest hand total that is less than a limit, if one
+     * exists
+     *
+     * @param state state of the hand
+     * @param limit value every total must be less than
+     * @return highest total less than the limit, -1 if none is
+     */
+    public static int highestBelow(int state, int limit) {
+        int lowTotal = lowTotal(state);
+
+        if (hasAce(state) && lowTotal + ACE_DIFFERENCE < limit) {
+            return lowTotal + ACE_DIFFERENCE;
+        } else if (lowTotal < limit) {
+            return lowTotal;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Retrieves the hand total the way the dealer scores it, the highest total
+     * that is not over 21, if exists else the lowest possible value
+     *
+     * @param state state of the hand
+     * @return score of the hand
+     */
+    public static int total(int state) {
+        int best = highestBelow(state, BLACKJACK + 1);
+
+        if (best < 0) {
+            return lowTotal(state);
+        }
+
+        return best;
+    }
+
+    /**
+     * Checks if a hand is soft, holding an ACE which is counted as eleven
+     *
+     * @param state state of the hand
+     * @return true if the hand is soft
+     */
+    public static boolean isSoft(int state) {
+        return hasAce(state) && lowTotal(state) + ACE_DIFFERENCE <= BLACKJACK;
+    }
+
+    /**
+     * Checks if a hand has exceeded 21
+     *
+     * @param state state of the hand
+     * @return true if hand is a bust, else false
+     */
+    public static boolean isBust(int state) {
+        return lowTotal(state) > BLACKJACK;
+    }
+
+    /**
+     * Checks if a hand totals 21 (Blackjack)
+     *
+     * @param state state of the hand
+     * @return true if hand is a blackjack else false
+     */
+    public static boolean blackjack(int state) {
+        return total(state) == BLACKJACK;
+    }
+
+    /**
+     * Describes a state in a readable format, e.g. Hard 16 or Soft 18
+     *
+     * @param state state of the hand
+     * @return description of the hand
+     */
+    public static String toString(int state) {
+        if (isSoft(state)) {
+            return "Soft " + total(state);
+        }
+
+        return "Hard " + total(state);
+    }
+}
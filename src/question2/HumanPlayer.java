@@ -12,14 +12,21 @@
  ***************************************************************************** */
 package question2;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.PrintStream;
 import java.util.List;
-import java.util.Scanner;
 
 /**
  *
  * @author Ali Jarjis
  */
-public class HumanPlayer extends BasicPlayer {
+public class HumanPlayer extends BasicPlayer implements InteractivePlayer {
+
+    /**
+     * HumanPlayer's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 5468486763354353673L;
 
     /**
      * The minimum bet a human player can make
@@ -27,10 +34,50 @@ public class HumanPlayer extends BasicPlayer {
     private static final int MIN_BET = 1;
 
     /**
-     * Constructs a human player
+     * Where the player's choices are read from, not saved with the game
+     */
+    private transient PlayerInput input;
+
+    /**
+     * Where the player is shown the game, not saved with the game
+     */
+    private transient PrintStream out;
+
+    /**
+     * Constructs a human player who plays from the console
      */
     public HumanPlayer() {
+        this(ConsoleInput.getInstance());
+    }
+
+    /**
+     * Constructs a human player who makes their choices through an input
+     *
+     * @param input where the player's choices are read from
+     */
+    public HumanPlayer(PlayerInput input) {
         super();
+
+        this.input = input;
+        this.out = System.out;
+    }
+
+    /**
+     * Changes where the player's choices are read from
+     *
+     * @param input where the player's choices are read from
+     */
+    public void setInput(PlayerInput input) {
+        this.input = input;
+    }
+
+    /**
+     * Changes where the player is shown the game
+     *
+     * @param out where the game is printed
+     */
+    public void setOutput(PrintStream out) {
+        this.out = out;
     }
 
     /**
@@ -40,29 +87,27 @@ public class HumanPlayer extends BasicPlayer {
      */
     @Override
     public int makeBet() {
-        Scanner userScanner = new Scanner(System.in);
-        
         bet = 0;
         
-        System.out.println("Your Balance: £" + this.getBalance());
+        this.out.println("Your Balance: £" + this.getBalance());
         
         // Keeps asking the player for their bet if they have money 
         // and have yet to make a legal bet
         while (this.balance >= MIN_BET && bet <= 0) {
-            System.out.print("How much would you like to bet? £");
+            this.out.print("How much would you like to bet? £");
 
-            int userBet = userScanner.nextInt();
+            int userBet = this.input.nextInt();
             
             // Checks user has enough money for bet
             if (userBet <= this.balance) {
                 bet = userBet;
             } else {
-                System.out.println("You do not have enough money for that "
+                this.out.println("You do not have enough money for that "
                         + "bet! Your balance is £" + this.getBalance());
             }
         };
 
-        System.out.println("");
+        this.out.println("");
         
         return bet;
     }
@@ -75,22 +120,20 @@ public class HumanPlayer extends BasicPlayer {
      */
     @Override
     public boolean hit() {
-        Scanner userScanner = new Scanner(System.in);
-
         String userChoice = "N";
 
-        System.out.println("Your Hand: " + getHandTotal() + " Points");
-        System.out.println(this.playerHand.toString());
+        this.out.println("Your Hand: " + getHandTotal() + " Points");
+        this.out.println(this.playerHand.toString());
         
         // If bust or blackjack player will stick
         if (!isBust() && !blackjack()) {
-            System.out.print("Would you like to hit? (Y/N)");
+            this.out.print("Would you like to hit? (Y/N)");
 
-            userChoice = userScanner.next();
+            userChoice = this.input.next();
             userChoice = userChoice.toUpperCase();
         }
         
-        System.out.println("");
+        this.out.println("");
         
         return userChoice.equals("Y");
     }
@@ -108,10 +151,10 @@ public class HumanPlayer extends BasicPlayer {
         
         // Prints new balance if change made to balance
         if (p > 0) {
-            System.out.println("You won £" + p 
+            this.out.println("You won £" + p 
                     + "! Your New Balance: £" + this.balance);
         } else if (p < 0) {
-            System.out.println("You lost £" + (p * -1) 
+            this.out.println("You lost £" + (p * -1) 
                     + "! Your New Balance: £" + this.balance);
         }
 
@@ -125,7 +168,7 @@ public class HumanPlayer extends BasicPlayer {
      */
     @Override
     public void viewDealerCard(Card c) {
-        System.out.println("Dealer's Card: " + c.toString() + "\n");
+        this.out.println("Dealer's Card: " + c.toString() + "\n");
     }
 
     /**
@@ -135,13 +178,13 @@ public class HumanPlayer extends BasicPlayer {
      */
     @Override
     public void viewCards(List<Card> cards) {
-        System.out.println("Cards played in this round:");
+        this.out.println("Cards played in this round:");
 
         for (Card c : cards) {
-            System.out.println(c.toString());
+            this.out.println(c.toString());
         }
 
-        System.out.println("");
+        this.out.println("");
     }
 
     /**
@@ -149,6 +192,23 @@ public class HumanPlayer extends BasicPlayer {
      */
     @Override
     public void newDeck() {
-        System.out.println("Dealer has re-shuffled the deck!\n");
+        this.out.println("Dealer has re-shuffled the deck!\n");
+    }
+
+    /**
+     * De-serialises the player, who then plays from the console until given
+     * another input and output
+     *
+     * @param stream player to de-serialise
+     * @throws ClassNotFoundException   if class of serialised object could
+     *                                  not be found
+     * @throws IOException              if an I/O error occurs
+     */
+    private void readObject(ObjectInputStream stream)
+            throws ClassNotFoundException, IOException {
+        stream.defaultReadObject();
+
+        this.input = ConsoleInput.getInstance();
+        this.out = System.out;
     }
 }
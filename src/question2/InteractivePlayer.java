@@ -0,0 +1,23 @@
+/** ***************************************************************************
+ *
+ * File        : InteractivePlayer.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : An interface marking a player whose choices wait on a person,
+ *               at the console or over a connection.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+/**
+ * A table with an interactive player spends almost all of its time blocked
+ * waiting for a choice, so it is run on a thread of its own rather than
+ * taking one of the threads shared by tables of bots.
+ *
+ * @author Ali Jarjis
+ */
+interface InteractivePlayer extends Player {
+}
@@ -12,13 +12,16 @@ Author      : Ali Jarjis
 
 package question2;
 
-import java.util.ArrayList;
-
 /**
  *
  * @author Ali Jarjis
  */
-public class IntermediatePlayer extends BasicPlayer {
+public class IntermediatePlayer extends BotPlayer {
+
+    /**
+     * IntermediatePlayer's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 5038601639749879377L;
     
     /**
      * Stores the dealer's card for the intermediate player to remember
@@ -40,14 +43,23 @@ public class IntermediatePlayer extends BasicPlayer {
      */
     @Override
     public boolean hit() {
-        int cardThreshold = 17;
+        return hitsAgainst(HandState.of(this.playerHand),
+                this.dealersCard.getRank().getVALUE());
+    }
 
-        ArrayList<Integer> handValues = this.playerHand.getTotalValues();
-        int amountOfAces = this.playerHand.countRank(Card.Rank.ACE);
+    /**
+     * Decides whether an intermediate player takes a card on a hand
+     *
+     * @param state         HandState of the hand
+     * @param dealerCardVal value of the dealer's card
+     * @return true if player wants another card, else false
+     */
+    private static boolean hitsAgainst(int state, int dealerCardVal) {
+        int cardThreshold = 17;
         
         // Change tactics if ace in hand
-        if (amountOfAces > 0) {
-            int softTotal = handValues.get(handValues.size() - 1);
+        if (HandState.hasAce(state)) {
+            int softTotal = HandState.lowTotal(state);
             
             // Stick if soft total equals nine or ten
             if (softTotal == 9 || softTotal == 10) {
@@ -58,7 +70,6 @@ public class IntermediatePlayer extends BasicPlayer {
             }
         }
         
-        int dealerCardVal = this.dealersCard.getRank().getVALUE();
         final int DEALER_CARD_LIMIT = 7;
         
         // Lower threshold if dealer has low card
@@ -66,16 +77,30 @@ public class IntermediatePlayer extends BasicPlayer {
             cardThreshold = 12;
         }
 
-        // Finds best value to stick on
-        for (Integer val : handValues) {
-            // Jumps to next value if bust
-            if (val < BLACKJACK) {
-                // Hit if threshold not reached
-                return val < cardThreshold;
-            }
-        }
+        // Finds best value to stick on, which is not bust or 21
+        int val = HandState.highestBelow(state, BLACKJACK);
+
+        // Hit if threshold not reached, never if no value is less than 21
+        return val >= 0 && val < cardThreshold;
+    }
 
-        return false;      // Returns false if no card in hand is less than 21
+    /**
+     * Decides whether to take a card for many intermediate player hands at
+     * once
+     *
+     * @param states    HandState of each hand
+     * @param upcards   value of the dealer's card for each hand
+     * @param counts    running count seen by each hand's player, not used
+     * @param cardsSeen cards seen since a shuffle, not used
+     * @param decisions set to true for each hand that should take a card
+     * @param length    amount of hands to decide for
+     */
+    @Override
+    public void hits(int[] states, int[] upcards, int[] counts,
+            int[] cardsSeen, boolean[] decisions, int length) {
+        for (int i = 0; i < length; i++) {
+            decisions[i] = hitsAgainst(states[i], upcards[i]);
+        }
     }
     
     /**
@@ -0,0 +1,232 @@
+/** ***************************************************************************
+ *
+ * File        : LearnedPolicy.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that stores whether to hit for every hand state,
+ *               dealer card and true count bucket, as learned by self-play,
+ *               and reads and writes it as a compact lookup file.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Each dealer card and bucket's decisions fit in one long, a bit for each of
+ * the 64 hand states, so the whole policy is a few hundred bytes.
+ *
+ * @author Ali Jarjis
+ */
+public class LearnedPolicy implements Serializable {
+
+    /**
+     * LearnedPolicy's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 145;
+
+    /**
+     * Highest true count told apart, higher counts sharing its bucket
+     */
+    public static final int TRUE_COUNT_RANGE = 3;
+
+    /**
+     * Amount of true count buckets, -TRUE_COUNT_RANGE to TRUE_COUNT_RANGE
+     */
+    public static final int BUCKETS = 2 * TRUE_COUNT_RANGE + 1;
+
+    /**
+     * First bytes of a policy file, "BJQL"
+     */
+    private static final int MAGIC = 0x424a514c;
+
+    /**
+     * Version of the file format
+     */
+    private static final short VERSION = 1;
+
+    /**
+     * Hand state bits to hit on, by bucket then dealer card
+     */
+    private final long[] hits;
+
+    /**
+     * Constructs a policy hitting on every state marked
+     *
+     * @param hits hand state bits to hit on, by bucket then dealer card
+     */
+    LearnedPolicy(long[] hits) {
+        this.hits = Arrays.copyOf(hits, BUCKETS * StrategyChart.UPCARDS);
+    }
+
+    /**
+     * Constructs a policy which hits below a total in every bucket, the
+     * starting point before anything is learned
+     *
+     * @param threshold total to stand on
+     * @return the policy
+     */
+    public static LearnedPolicy threshold(int threshold) {
+        StrategyChart chart = StrategyChart.threshold(threshold);
+        long[] hits = new long[BUCKETS * StrategyChart.UPCARDS];
+
+        for (int b = 0; b < BUCKETS; b++) {
+            for (int u = 0; u < StrategyChart.UPCARDS; u++) {
+                for (int s = 0; s < HandState.STATES; s++) {
+                    if (chart.hit(s, u + StrategyChart.LOWEST_UPCARD)) {
+                        hits[b * StrategyChart.UPCARDS + u] |= 1L << s;
+                    }
+                }
+            }
+        }
+
+        return new LearnedPolicy(hits);
+    }
+
+    /**
+     * Works out the bucket of a true count, the running count per deck left
+     *
+     * @param runningCount running count
+     * @param cardsLeft    cards left in the shoe
+     * @return bucket, 0 to BUCKETS - 1
+     */
+    public static int bucketOf(int runningCount, int cardsLeft) {
+        int trueCount = Math.round((float) runningCount
+                * TableRules.CARDS_PER_DECK / Math.max(cardsLeft, 1));
+
+        return Math.min(Math.max(trueCount, -TRUE_COUNT_RANGE),
+                TRUE_COUNT_RANGE) + TRUE_COUNT_RANGE;
+    }
+
+    /**
+     * Checks whether to hit a hand
+     *
+     * @param state  HandState of the hand
+     * @param upcard value of the dealer's card, ACE being 11
+     * @param bucket true count bucket
+     * @return true to hit
+     */
+    public boolean hit(int state, int upcard, int bucket) {
+        long bits = this.hits[bucket * StrategyChart.UPCARDS + upcard
+                - StrategyChart.LOWEST_UPCARD];
+
+        return (bits >>> state & 1) == 1;
+    }
+
+    /**
+     * Counts the decisions that differ from another policy
+     *
+     * @param other policy to compare to
+     * @return amount of states, dealer cards and buckets decided differently
+     */
+    public int differences(LearnedPolicy other) {
+        int differences = 0;
+
+        for (int i = 0; i < this.hits.length; i++) {
+            differences += Long.bitCount(this.hits[i] ^ other.hits[i]);
+        }
+
+        return differences;
+    }
+
+    /**
+     * Writes the policy as a compact lookup
+     *
+     * @param out where to write to
+     * @throws IOException if the policy can not be written
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeByte(BUCKETS);
+
+        for (long bits : this.hits) {
+            out.writeLong(bits);
+        }
+    }
+
+    /**
+     * Reads a policy written by writeTo()
+     *
+     * @param in where to read from
+     * @return the policy
+     * @throws IOException              if the policy can not be read
+     * @throws IllegalArgumentException if it is not a policy of this version
+     */
+    public static LearnedPolicy readFrom(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC || in.readShort() != VERSION
+                || in.readByte() != BUCKETS) {
+            throw new IllegalArgumentException("Not a learned policy");
+        }
+
+        long[] hits = new long[BUCKETS * StrategyChart.UPCARDS];
+
+        for (int i = 0; i < hits.length; i++) {
+            hits[i] = in.readLong();
+        }
+
+        return new LearnedPolicy(hits);
+    }
+
+    /**
+     * Saves the policy to a file
+     *
+     * @param filename name of file to write to
+     * @throws IOException if the file can not be written
+     */
+    public void save(String filename) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(filename)))) {
+            this.writeTo(out);
+        }
+    }
+
+    /**
+     * Loads a policy from a file
+     *
+     * @param filename name of file to read from
+     * @return the policy
+     * @throws IOException if the file can not be read
+     */
+    public static LearnedPolicy load(String filename) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(filename)))) {
+            return readFrom(in);
+        }
+    }
+
+    /**
+     * Returns the policy at a true count of 0 in a printable format, a row
+     * for each hand and a column for each dealer card
+     *
+     * @return String of the chart
+     */
+    @Override
+    public String toString() {
+        StrategyChart chart = new StrategyChart();
+
+        for (int s : StrategyChart.decisionStates()) {
+            for (int u = 0; u < StrategyChart.UPCARDS; u++) {
+                int upcard = u + StrategyChart.LOWEST_UPCARD;
+
+                chart.setHit(s, upcard, this.hit(s, upcard,
+                        TRUE_COUNT_RANGE));
+            }
+        }
+
+        return chart.toString();
+    }
+}
@@ -0,0 +1,272 @@
+/** ***************************************************************************
+ *
+ * File        : LearningPlayer.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class which extends a basic player, deciding to hit from a
+ *               policy learned by self-play against the hand, the dealer's
+ *               card and the true count.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.Random;
+
+/**
+ * While learning, the player sometimes takes the other action to the policy,
+ * remembers every decision made in a hand, and once the hand is settled
+ * records its return against each of them in a QTable.
+ *
+ * @author Ali Jarjis
+ */
+public class LearningPlayer extends BotPlayer implements CountingPlayer {
+
+    /**
+     * LearningPlayer's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 146;
+
+    /**
+     * Total the policy stands on before anything is learned
+     */
+    static final int UNTRAINED_THRESHOLD = 17;
+
+    /**
+     * Most decisions one hand can take, one for each card up to 21
+     */
+    private static final int MAX_DECISIONS = BLACKJACK;
+
+    /**
+     * Policy the player decides from
+     */
+    private final LearnedPolicy policy;
+
+    /**
+     * Amount of decks in the shoe, to turn the running count into a true
+     * count
+     */
+    private final int decks;
+
+    /**
+     * The running count the player follows, kept by the dealer
+     */
+    private RunningCount runningCount;
+
+    /**
+     * Stores the dealer's card for the player to remember
+     */
+    private Card dealersCard;
+
+    /**
+     * Table the returns of decisions are recorded in, null if not learning
+     */
+    private transient QTable learning;
+
+    /**
+     * Chance of taking the other action to the policy while learning
+     */
+    private transient double exploration;
+
+    /**
+     * Random number generator deciding when to explore
+     */
+    private transient Random explorer;
+
+    /**
+     * Index in the QTable of each decision made in the current hand
+     */
+    private transient int[] decisions;
+
+    /**
+     * Amount of decisions made in the current hand
+     */
+    private transient int decisionCount;
+
+    /**
+     * Whether a bet has been made and not yet settled
+     */
+    private transient boolean betOpen;
+
+    /**
+     * Constructs a player who has learned nothing, standing on 17 from a
+     * single deck like a basic player
+     */
+    public LearningPlayer() {
+        this(LearnedPolicy.threshold(UNTRAINED_THRESHOLD), 1);
+    }
+
+    /**
+     * Constructs a player deciding from a learned policy
+     *
+     * @param policy policy to decide from
+     * @param decks  amount of decks in the shoe
+     */
+    public LearningPlayer(LearnedPolicy policy, int decks) {
+        super();
+
+        this.policy = policy;
+        this.decks = decks;
+    }
+
+    /**
+     * Has the player explore and record the return of each decision it makes
+     *
+     * @param table       table to record returns in, used by only one thread
+     * @param exploration chance of taking the other action to the policy
+     * @param explorer    random number generator deciding when to explore
+     */
+    void learnInto(QTable table, double exploration, Random explorer) {
+        this.learning = table;
+        this.exploration = exploration;
+        this.explorer = explorer;
+        this.decisions = new int[MAX_DECISIONS];
+    }
+
+    /**
+     * Makes a bet like a basic player, starting a new hand of decisions
+     *
+     * @return the player's bet, 0 if can't make bet
+     */
+    @Override
+    public int makeBet() {
+        this.decisionCount = 0;
+        this.betOpen = this.learning != null;
+
+        return super.makeBet();
+    }
+
+    /**
+     * Determines whether the player wishes to take a card from the policy,
+     * sometimes exploring the other action while learning
+     *
+     * @return true if player wants another card, else false
+     */
+    @Override
+    public boolean hit() {
+        int state = HandState.of(this.playerHand);
+        int upcard = this.dealersCard.getRank().getVALUE();
+
+        // Never hits a hand that is already bust or on 21
+        if (HandState.highestBelow(state, BLACKJACK) < 0) {
+            return false;
+        }
+
+        int bucket = this.getBucket();
+        boolean hit = this.policy.hit(state, upcard, bucket);
+
+        if (this.learning != null) {
+            if (this.explorer.nextDouble() < this.exploration) {
+                hit = !hit;
+            }
+
+            this.decisions[this.decisionCount++] = QTable.index(state, upcard,
+                    bucket, hit ? QTable.HIT : QTable.STAND);
+        }
+
+        return hit;
+    }
+
+    /**
+     * Decides whether to take a card for many hands at once from the policy,
+     * turning each running count into a true count by the cards left, as
+     * hit() does
+     *
+     * @param states    HandState of each hand
+     * @param upcards   value of the dealer's card for each hand
+     * @param counts    running count seen by each hand's player
+     * @param cardsSeen cards seen by each hand's player since a shuffle
+     * @param decisions set to true for each hand that should take a card
+     * @param length    amount of hands to decide for
+     */
+    @Override
+    public void hits(int[] states, int[] upcards, int[] counts,
+            int[] cardsSeen, boolean[] decisions, int length) {
+        int cards = this.decks * TableRules.CARDS_PER_DECK;
+
+        for (int i = 0; i < length; i++) {
+            decisions[i] = HandState.highestBelow(states[i], BLACKJACK) >= 0
+                    && this.policy.hit(states[i], upcards[i],
+                            LearnedPolicy.bucketOf(counts[i],
+                                    cards - cardsSeen[i]));
+        }
+    }
+
+    /**
+     * Settles the player's bet, recording its return against every decision
+     * of the hand while learning
+     *
+     * @param p winnings, negative for a loss
+     * @return true if the player has funds left
+     */
+    @Override
+    public boolean settleBet(int p) {
+        if (this.betOpen) {
+            double perUnit = (double) p / this.bet;
+
+            for (int i = 0; i < this.decisionCount; i++) {
+                this.learning.record(this.decisions[i], perUnit);
+            }
+
+            this.betOpen = false;
+        }
+
+        return super.settleBet(p);
+    }
+
+    /**
+     * Works out the bucket of the current true count
+     *
+     * @return true count bucket, the middle one if not at a table
+     */
+    private int getBucket() {
+        if (this.runningCount == null) {
+            return LearnedPolicy.TRUE_COUNT_RANGE;
+        }
+
+        return LearnedPolicy.bucketOf(this.runningCount.getCount(),
+                this.decks * TableRules.CARDS_PER_DECK
+                - this.runningCount.getCardsSeen());
+    }
+
+    /**
+     * Retrieves the policy the player decides from
+     *
+     * @return learned policy
+     */
+    public LearnedPolicy getPolicy() {
+        return this.policy;
+    }
+
+    /**
+     * Retrieves the counting system the true count is worked out from
+     *
+     * @return Hi-Lo
+     */
+    @Override
+    public CountingSystem getCountingSystem() {
+        return CountingSystem.HI_LO;
+    }
+
+    /**
+     * Follows the running count the dealer keeps
+     *
+     * @param count running count kept by the dealer
+     */
+    @Override
+    public void followCount(RunningCount count) {
+        this.runningCount = count;
+    }
+
+    /**
+     * Shows the player the dealer's card
+     *
+     * @param c dealer's first card
+     */
+    @Override
+    public void viewDealerCard(Card c) {
+        this.dealersCard = c;
+    }
+}
@@ -0,0 +1,815 @@
+/** ***************************************************************************
+ *
+ * File        : LockstepEngine.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A simulation engine which plays every shard of a job at
+ *               once, one step at a time, keeping decks, hands, balances and
+ *               bets in arrays of primitives rather than objects.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import question2.Card.Rank;
+import question2.SimulationConfig.BrokePolicy;
+
+/**
+ * Each shard of the job is a lane: a table with its own deck and random
+ * number stream. Every step of the game (bets, first cards, each seat's
+ * hand, the dealer's hand, settlement) is played for all lanes before the
+ * next step, and each seat's decisions are made for all lanes in one call to
+ * its BatchPlayer. Every lane follows the exact order of shuffles, deals and
+ * rules of BlackjackTable.simulate(), so the merged result is identical to
+ * MonteCarloRunner.runSequential() for the same job.
+ *
+ * Seats must be BatchPlayers which leave the table, like BasicPlayer, once
+ * their balance is below the default bet.
+ *
+ * @author Ali Jarjis
+ */
+public class LockstepEngine {
+
+    /**
+     * Stores the definition of what constitutes as blackjack
+     */
+    private static final int BLACKJACK = 21;
+
+    /**
+     * Limit to where the dealer will stick
+     */
+    private static final int DEALER_THRESHOLD = 17;
+
+    /**
+     * Value of the card with each code, ACE being eleven
+     */
+    private static final int[] VALUES = new int[TableRules.CARDS_PER_DECK];
+
+    // Works out the value of each card code
+    static {
+        Rank[] ranks = Rank.values();
+
+        for (int code = 0; code < VALUES.length; code++) {
+            VALUES[code] = ranks[code % ranks.length].getVALUE();
+        }
+    }
+
+    /**
+     * The job being played
+     */
+    private final SimulationJob job;
+
+    /**
+     * Rules every lane's table is played by
+     */
+    private final TableRules rules;
+
+    /**
+     * Amount of cards in each lane's full deck
+     */
+    private final int deckSize;
+
+    /**
+     * Each lane's deck is reshuffled when fewer cards than this are left
+     */
+    private final int reshuffleLimit;
+
+    /**
+     * Amount of lanes, one for each shard of the job
+     */
+    private final int lanes;
+
+    /**
+     * Amount of seats at each lane's table
+     */
+    private final int seats;
+
+    /**
+     * Strategy of each seat
+     */
+    private final BatchPlayer[] strategies;
+
+    /**
+     * Balance a player starts with in each seat
+     */
+    private final int[] startingBalances;
+
+    /**
+     * Balance a player starts with in each seat of each lane, by seat then
+     * lane, null for a seat whose lanes all start with its starting balance
+     */
+    private final int[][] laneStartingBalances;
+
+    /**
+     * Index into counts of the system each seat counts with, -1 if none
+     */
+    private final int[] seatSystems;
+
+    /**
+     * Counting systems followed by any seat
+     */
+    private final CountingSystem[] systems;
+
+    /**
+     * Random number stream of each lane
+     */
+    private final SplitRandom[] streams;
+
+    /**
+     * Card codes of each lane's deck, deckSize for each lane
+     */
+    private final byte[] decks;
+
+    /**
+     * Position of the next card to deal in each lane's deck
+     */
+    private final int[] deckPositions;
+
+    /**
+     * Running count of each system in each lane, by system then lane
+     */
+    private final int[][] counts;
+
+    /**
+     * Count change for each card code in each system
+     */
+    private final int[][] deltas;
+
+    /**
+     * Balance of each seat, by seat then lane
+     */
+    private final int[][] balances;
+
+    /**
+     * Bet of each seat, by seat then lane
+     */
+    private final int[][] bets;
+
+    /**
+     * HandState of each seat, by seat then lane
+     */
+    private final int[][] hands;
+
+    /**
+     * Whether each seat is still at the table, by seat then lane
+     */
+    private final boolean[][] seated;
+
+    /**
+     * HandState of each lane's dealer
+     */
+    private final int[] dealerHands;
+
+    /**
+     * Value of each lane's dealer's first card
+     */
+    private final int[] upcards;
+
+    /**
+     * Rounds each lane has left to play
+     */
+    private final long[] roundsLeft;
+
+    /**
+     * Results of each lane
+     */
+    private final SimulationResult[] results;
+
+    /**
+     * Indexes of the lanes taking part in a step
+     */
+    private final int[] laneIndexes;
+
+    /**
+     * Balances passed to a batch of bets
+     */
+    private final int[] batchBalances;
+
+    /**
+     * Bets returned from a batch of bets
+     */
+    private final int[] batchBets;
+
+    /**
+     * Hand states passed to a batch decision
+     */
+    private final int[] batchStates;
+
+    /**
+     * Dealer cards passed to a batch decision
+     */
+    private final int[] batchUpcards;
+
+    /**
+     * Running counts passed to a batch decision
+     */
+    private final int[] batchCounts;
+
+    /**
+     * Cards seen since the shuffle passed to a batch decision
+     */
+    private final int[] batchCardsSeen;
+
+    /**
+     * Decisions returned from a batch decision
+     */
+    private final boolean[] batchDecisions;
+
+    /**
+     * Told about each lane's round once it has been settled, null if nobody
+     * is listening
+     */
+    private LaneListener listener;
+
+    /**
+     * Something told about each lane's round once it has been settled
+     */
+    interface LaneListener {
+
+        /**
+         * Called once a lane's round has been settled
+         *
+         * @param engine engine playing the lane, to read balances from
+         * @param lane   lane whose round was settled
+         * @param round  amount of rounds the lane has played, including this
+         *               one
+         */
+        void roundSettled(LockstepEngine engine, int lane, long round);
+    }
+
+    /**
+     * Constructs an engine for a job, each of the job's shards becoming a lane
+     *
+     * @param job job to play
+     * @throws IllegalArgumentException if a seat's type is not a BatchPlayer
+     */
+    public LockstepEngine(SimulationJob job) {
+        this.job = job;
+        this.lanes = job.getShards();
+        this.rules = job.getRules();
+        this.deckSize = this.rules.getCards();
+        this.reshuffleLimit = this.rules.getReshuffleLimit();
+
+        List<String> seatTypes = job.getSeatTypes();
+        this.seats = seatTypes.size();
+        this.strategies = new BatchPlayer[this.seats];
+        this.startingBalances = new int[this.seats];
+        this.laneStartingBalances = new int[this.seats][];
+        this.seatSystems = new int[this.seats];
+
+        // Works out each seat's strategy and the counting systems needed
+        CountingSystem[] used = new CountingSystem[this.seats];
+        int systemCount = 0;
+
+        for (int s = 0; s < this.seats; s++) {
+            Player p = PlayerRegistry.create(seatTypes.get(s));
+
+            if (!(p instanceof BatchPlayer)) {
+                throw new IllegalArgumentException(seatTypes.get(s)
+                        + " players can not decide in batches");
+            }
+
+            this.strategies[s] = (BatchPlayer) p;
+            this.startingBalances[s] = p.getBalance();
+            this.seatSystems[s] = -1;
+
+            if (p instanceof CountingPlayer) {
+                CountingSystem system
+                        = ((CountingPlayer) p).getCountingSystem();
+                int index = Arrays.asList(used).subList(0, systemCount)
+                        .indexOf(system);
+
+                if (index < 0) {
+                    index = systemCount;
+                    used[systemCount++] = system;
+                }
+
+                this.seatSystems[s] = index;
+            }
+        }
+
+        this.systems = Arrays.copyOf(used, systemCount);
+        this.deltas = new int[systemCount][TableRules.CARDS_PER_DECK];
+
+        for (int k = 0; k < systemCount; k++) {
+            Rank[] ranks = Rank.values();
+
+            for (int code = 0; code < TableRules.CARDS_PER_DECK; code++) {
+                this.deltas[k][code]
+                        = this.systems[k].delta(ranks[code % ranks.length]);
+            }
+        }
+
+        this.streams = job.shardStreams();
+        this.decks = new byte[this.lanes * this.deckSize];
+        this.deckPositions = new int[this.lanes];
+        this.counts = new int[systemCount][this.lanes];
+        this.balances = new int[this.seats][this.lanes];
+        this.bets = new int[this.seats][this.lanes];
+        this.hands = new int[this.seats][this.lanes];
+        this.seated = new boolean[this.seats][this.lanes];
+        this.dealerHands = new int[this.lanes];
+        this.upcards = new int[this.lanes];
+        this.roundsLeft = new long[this.lanes];
+        this.results = new SimulationResult[this.lanes];
+        this.laneIndexes = new int[this.lanes];
+        this.batchBalances = new int[this.lanes];
+        this.batchBets = new int[this.lanes];
+        this.batchStates = new int[this.lanes];
+        this.batchUpcards = new int[this.lanes];
+        this.batchCounts = new int[this.lanes];
+        this.batchCardsSeen = new int[this.lanes];
+        this.batchDecisions = new boolean[this.lanes];
+    }
+
+    /**
+     * Sets the balance the players in a seat start with, and are reinstated
+     * with, instead of their registered default
+     *
+     * @param seat    seat of the players
+     * @param balance starting balance
+     */
+    void setStartingBalance(int seat, int balance) {
+        this.startingBalances[seat] = balance;
+        this.laneStartingBalances[seat] = null;
+    }
+
+    /**
+     * Sets the balance the player in a seat starts with, and is reinstated
+     * with, in each lane
+     *
+     * @param seat     seat of the players
+     * @param balances starting balance in each lane
+     * @throws IllegalArgumentException if not one balance for each lane
+     */
+    void setStartingBalances(int seat, int[] balances) {
+        if (balances.length != this.lanes) {
+            throw new IllegalArgumentException("There must be a starting "
+                    + "balance for each of the " + this.lanes + " lanes");
+        }
+
+        this.laneStartingBalances[seat] = balances.clone();
+    }
+
+    /**
+     * Retrieves the balance the player in a seat starts with in a lane
+     *
+     * @param seat seat of the player
+     * @param lane lane of the table
+     * @return starting balance
+     */
+    private int startingBalance(int seat, int lane) {
+        int[] laneBalances = this.laneStartingBalances[seat];
+
+        return laneBalances == null ? this.startingBalances[seat]
+                : laneBalances[lane];
+    }
+
+    /**
+     * Sets what is told about each lane's round once it has been settled
+     *
+     * @param listener listener to tell, null to stop telling anything
+     */
+    void setLaneListener(LaneListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Retrieves the balance of a seat's player in a lane
+     *
+     * @param seat seat of the player
+     * @param lane lane of the table
+     * @return the player's balance
+     */
+    int getBalance(int seat, int lane) {
+        return this.balances[seat][lane];
+    }
+
+    /**
+     * Retrieves the most recent bet of a seat's player in a lane
+     *
+     * @param seat seat of the player
+     * @param lane lane of the table
+     * @return the player's last bet
+     */
+    int getBet(int seat, int lane) {
+        return this.bets[seat][lane];
+    }
+
+    /**
+     * Plays every lane until it has played its shard's rounds or stopped
+     *
+     * @return merged results of every lane, in lane order
+     */
+    public SimulationResult run() {
+        for (int lane = 0; lane < this.lanes; lane++) {
+            this.newDeck(lane);
+            this.roundsLeft[lane] = this.job.shardRounds(lane);
+            this.results[lane] = this.job.emptyResult();
+
+            for (int s = 0; s < this.seats; s++) {
+                this.balances[s][lane] = this.startingBalance(s, lane);
+                this.seated[s][lane] = true;
+            }
+        }
+
+        int playing = this.seatPlayers();
+
+        while (playing > 0) {
+            this.takeBets(playing);
+            this.dealFirstCards(playing);
+
+            for (int s = 0; s < this.seats; s++) {
+                this.play(s, playing);
+            }
+
+            this.playDealer(playing);
+            this.settleBets(playing);
+
+            playing = this.seatPlayers();
+        }
+
+        SimulationResult result = this.job.emptyResult();
+
+        for (SimulationResult laneResult : this.results) {
+            result.merge(laneResult);
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes players who have no money, follows the broke policy in lanes
+     * where every player has gone, and lists the lanes with a round to play
+     *
+     * @return amount of lanes playing the next round, listed in laneIndexes
+     */
+    private int seatPlayers() {
+        int playing = 0;
+
+        for (int lane = 0; lane < this.lanes; lane++) {
+            if (this.roundsLeft[lane] == 0) {
+                continue;
+            }
+
+            boolean anySeated = false;
+
+            for (int s = 0; s < this.seats; s++) {
+                this.seated[s][lane] = this.seated[s][lane]
+                        && this.balances[s][lane] >= BasicPlayer.DEFAULT_BET;
+                anySeated |= this.seated[s][lane];
+            }
+
+            if (!anySeated) {
+                if (this.job.getConfig().getBrokePolicy()
+                        == BrokePolicy.STOP) {
+                    this.results[lane].stopped();
+                    this.roundsLeft[lane] = 0;
+                    continue;
+                }
+
+                for (int s = 0; s < this.seats; s++) {
+                    this.balances[s][lane] = this.startingBalance(s, lane);
+                    this.seated[s][lane] = true;
+                }
+                this.results[lane].reinstated();
+            }
+
+            this.laneIndexes[playing++] = lane;
+        }
+
+        return playing;
+    }
+
+    /**
+     * Takes the bets of every seated player
+     *
+     * @param playing amount of lanes playing
+     */
+    private void takeBets(int playing) {
+        for (int s = 0; s < this.seats; s++) {
+            int k = this.seatSystems[s];
+
+            for (int i = 0; i < playing; i++) {
+                int lane = this.laneIndexes[i];
+
+                this.batchBalances[i] = this.balances[s][lane];
+                this.batchCounts[i] = k < 0 ? 0 : this.counts[k][lane];
+            }
+
+            this.strategies[s].makeBets(this.batchBalances, this.batchCounts,
+                    this.batchBets, playing);
+
+            for (int i = 0; i < playing; i++) {
+                int lane = this.laneIndexes[i];
+                int bet = this.batchBets[i];
+
+                if (this.seated[s][lane] && (bet < this.rules.getMinBet()
+                        || bet > this.rules.getMaxBet())) {
+                    throw new IllegalStateException("Seat " + s + " made an "
+                            + "illegal bet of " + bet);
+                }
+
+                this.bets[s][lane] = bet;
+            }
+        }
+    }
+
+    /**
+     * Deals two cards to each seated player, and one to the dealer, from a
+     * freshly shuffled deck in every lane if the config asks for fresh shoes
+     *
+     * @param playing amount of lanes playing
+     */
+    private void dealFirstCards(int playing) {
+        boolean fresh = this.job.getConfig().isFreshShoes();
+
+        for (int i = 0; i < playing; i++) {
+            int lane = this.laneIndexes[i];
+
+            if (fresh) {
+                this.reshuffle(lane);
+            } else {
+                this.restockDeck(lane);
+            }
+        }
+
+        for (int s = 0; s < this.seats; s++) {
+            for (int i = 0; i < playing; i++) {
+                int lane = this.laneIndexes[i];
+
+                if (this.seated[s][lane]) {
+                    int state = HandState.addValue(HandState.EMPTY,
+                            this.deal(lane));
+
+                    this.hands[s][lane] = HandState.addValue(state,
+                            this.deal(lane));
+                }
+            }
+        }
+
+        for (int i = 0; i < playing; i++) {
+            int lane = this.laneIndexes[i];
+            int upcard = this.deal(lane);
+
+            this.upcards[lane] = upcard;
+            this.dealerHands[lane] = HandState.addValue(HandState.EMPTY,
+                    upcard);
+        }
+    }
+
+    /**
+     * Plays the hand of a seat in every lane, asking the seat's strategy for
+     * all lanes still taking cards at once
+     *
+     * @param s       seat to play
+     * @param playing amount of lanes playing
+     */
+    private void play(int s, int playing) {
+        int drawing = 0;
+        int k = this.seatSystems[s];
+        int[] drawingLanes = new int[playing];
+
+        for (int i = 0; i < playing; i++) {
+            int lane = this.laneIndexes[i];
+
+            if (this.seated[s][lane]) {
+                this.restockDeck(lane);
+                drawingLanes[drawing++] = lane;
+            }
+        }
+
+        // Asks every lane still drawing, until all have stuck or gone bust
+        while (drawing > 0) {
+            for (int i = 0; i < drawing; i++) {
+                int lane = drawingLanes[i];
+
+                this.batchStates[i] = this.hands[s][lane];
+                this.batchUpcards[i] = this.upcards[lane];
+                this.batchCounts[i] = k < 0 ? 0 : this.counts[k][lane];
+                this.batchCardsSeen[i] = k < 0 ? 0 : this.deckPositions[lane];
+            }
+
+            this.strategies[s].hits(this.batchStates, this.batchUpcards,
+                    this.batchCounts, this.batchCardsSeen, this.batchDecisions,
+                    drawing);
+
+            int stillDrawing = 0;
+
+            for (int i = 0; i < drawing; i++) {
+                int lane = drawingLanes[i];
+                int state = this.hands[s][lane];
+
+                if (this.batchDecisions[i]
+                        && HandState.total(state) < BLACKJACK) {
+                    this.hands[s][lane] = HandState.addValue(state,
+                            this.deal(lane));
+                    drawingLanes[stillDrawing++] = lane;
+                }
+            }
+
+            drawing = stillDrawing;
+        }
+    }
+
+    /**
+     * Plays the dealer's hand in every lane. The dealer takes a card while the
+     * highest total under 21 is under 17, or is a soft 17 if the rules say so,
+     * and stops once no total is under 21.
+     *
+     * @param playing amount of lanes playing
+     */
+    private void playDealer(int playing) {
+        for (int i = 0; i < playing; i++) {
+            int lane = this.laneIndexes[i];
+            int state = this.dealerHands[lane];
+            int val = HandState.highestBelow(state, BLACKJACK);
+
+            while (val >= 0 && (val < DEALER_THRESHOLD
+                    || (this.rules.isDealerHitsSoft17()
+                    && val == DEALER_THRESHOLD && HandState.isSoft(state)))) {
+                state = HandState.addValue(state, this.deal(lane));
+                val = HandState.highestBelow(state, BLACKJACK);
+            }
+
+            this.dealerHands[lane] = state;
+        }
+    }
+
+    /**
+     * Settles the bets of every seated player, as BlackjackDealer does
+     *
+     * @param playing amount of lanes playing
+     */
+    private void settleBets(int playing) {
+        for (int i = 0; i < playing; i++) {
+            int lane = this.laneIndexes[i];
+            int dealer = this.dealerHands[lane];
+            int dealerScore = HandState.total(dealer);
+            boolean dealerBlackjack = dealerScore == BLACKJACK;
+            boolean dealerBust = HandState.isBust(dealer);
+
+            for (int s = 0; s < this.seats; s++) {
+                if (!this.seated[s][lane]) {
+                    continue;
+                }
+
+                int bet = this.bets[s][lane];
+                int state = this.hands[s][lane];
+                int playerScore = HandState.total(state);
+                Outcome outcome;
+                int stake;
+
+                if (HandState.isBust(state)) {
+                    outcome = Outcome.BUST;
+                    stake = -bet;
+                } else if (dealerBlackjack) {
+                    outcome = Outcome.LOSS;
+                    stake = -bet;
+                } else if (playerScore == BLACKJACK) {
+                    outcome = Outcome.BLACKJACK;
+                    stake = this.rules.blackjackStake(bet);
+                } else if (playerScore > dealerScore || dealerBust) {
+                    outcome = Outcome.WIN;
+                    stake = bet;
+                } else if (playerScore < dealerScore) {
+                    outcome = Outcome.LOSS;
+                    stake = -bet;
+                } else {
+                    outcome = Outcome.PUSH;
+                    stake = 0;
+                }
+
+                this.balances[s][lane] += stake;
+                this.results[lane].getSeat(s).record(bet, outcome, stake);
+            }
+
+            this.results[lane].roundPlayed();
+            this.roundsLeft[lane]--;
+
+            if (this.listener != null) {
+                this.listener.roundSettled(this, lane,
+                        this.results[lane].getRounds());
+            }
+        }
+    }
+
+    /**
+     * Reshuffles a lane's deck if fewer cards are left than the rules'
+     * penetration allows
+     *
+     * @param lane lane of the deck
+     */
+    private void restockDeck(int lane) {
+        if (this.deckSize - this.deckPositions[lane] < this.reshuffleLimit) {
+            this.reshuffle(lane);
+        }
+    }
+
+    /**
+     * Shuffles a new deck for a lane however many cards are left, resetting
+     * the lane's counts
+     *
+     * @param lane lane of the deck
+     */
+    private void reshuffle(int lane) {
+        this.newDeck(lane);
+
+        for (int[] systemCounts : this.counts) {
+            systemCounts[lane] = 0;
+        }
+    }
+
+    /**
+     * Puts a lane's deck back in new deck order and shuffles it with the
+     * lane's stream, exactly as Deck.shuffle(Random) does
+     *
+     * @param lane lane of the deck
+     */
+    private void newDeck(int lane) {
+        int base = lane * this.deckSize;
+        SplitRandom random = this.streams[lane];
+
+        for (int i = 0; i < this.deckSize; i++) {
+            this.decks[base + i] = (byte) (i % TableRules.CARDS_PER_DECK);
+        }
+
+        for (int i = this.deckSize - 1; i > 0; i--) {
+            int randomIndex = random.nextInt(i + 1);
+
+            // Swaps the two cards
+            byte temp = this.decks[base + i];
+            this.decks[base + i] = this.decks[base + randomIndex];
+            this.decks[base + randomIndex] = temp;
+        }
+
+        this.deckPositions[lane] = 0;
+    }
+
+    /**
+     * Deals the top card of a lane's deck, updating the lane's counts
+     *
+     * @param lane lane of the deck
+     * @return value of the card dealt
+     */
+    private int deal(int lane) {
+        int position = this.deckPositions[lane];
+
+        if (position == this.deckSize) {
+            throw new NoSuchElementException("Lane " + lane + " ran out of "
+                    + "cards");
+        }
+
+        int code = this.decks[lane * this.deckSize + position];
+        this.deckPositions[lane] = position + 1;
+
+        for (int k = 0; k < this.deltas.length; k++) {
+            this.counts[k][lane] += this.deltas[k][code];
+        }
+
+        return VALUES[code];
+    }
+
+    /**
+     * Plays a job with the object engine and the lockstep engine, checking
+     * that the results are identical, then times a larger job
+     *
+     * @param args total rounds and amount of lanes to time, both optional
+     */
+    public static void main(String[] args) {
+        final long NANOS_PER_MILLI = 1000000;
+
+        long rounds = args.length > 0 ? Long.parseLong(args[0]) : 10000000;
+        int lanes = args.length > 1 ? Integer.parseInt(args[1]) : 4096;
+        List<String> seatTypes = Arrays.asList("basic", "intermediate",
+                "advanced", "chart");
+
+        SimulationJob check = new SimulationJob(seatTypes, 200000, 64, 2018,
+                new SimulationConfig());
+        SimulationResult objects = MonteCarloRunner.runSequential(check);
+        SimulationResult lockstep = new LockstepEngine(check).run();
+
+        System.out.println(lockstep);
+        System.out.println("Matches object engine: "
+                + objects.toString().equals(lockstep.toString()));
+
+        SimulationJob job = new SimulationJob(seatTypes, rounds, lanes, 2018,
+                new SimulationConfig());
+
+        long start = System.nanoTime();
+        SimulationResult result = new LockstepEngine(job).run();
+        long time = (System.nanoTime() - start) / NANOS_PER_MILLI;
+
+        long hands = 0;
+        for (PlayerStats s : result.getSeats()) {
+            hands += s.getHands();
+        }
+
+        System.out.println(hands + " hands in " + time + "ms");
+    }
+}
@@ -0,0 +1,773 @@
+/** ***************************************************************************
+ *
+ * File        : MctsPlayer.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class which extends a basic player, deciding to hit by a
+ *               Monte Carlo tree search of the cards it knows are left in the
+ *               shoe, within a budget of iterations or time.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import question2.Card.Rank;
+import question2.Card.Suit;
+
+/**
+ * The player keeps its own count of every card value left in the shoe from
+ * the cards it has been shown since the last reshuffle, then searches from
+ * its hand. Each iteration picks hit or stand by UCB1 in every hand state it
+ * reaches, draws the cards that follow at random from what is left, and
+ * plays the dealer out the same way, scoring the hand as the table would.
+ *
+ * Every node comes from a pool allocated once, so a search allocates nothing.
+ * The tree below the card the player is dealt is kept for their next
+ * decision in the hand, and the pool is reset when the next hand starts.
+ *
+ * A player seated at a table takes the table's rules and a seed for their
+ * seat from it, so the shoe they model is the one dealt and no two seats
+ * search with the same stream.
+ *
+ * @author Ali Jarjis
+ */
+public class MctsPlayer extends BotPlayer implements TableFollower {
+
+    /**
+     * MctsPlayer's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 147;
+
+    /**
+     * Amount of distinct card values, TWO to ACE
+     */
+    private static final int VALUES = 10;
+
+    /**
+     * Value of the lowest card
+     */
+    private static final int LOWEST_VALUE = 2;
+
+    /**
+     * Total the dealer stands on
+     */
+    private static final int DEALER_THRESHOLD = 17;
+
+    /**
+     * Total the default policy stands on below the tree
+     */
+    private static final int ROLLOUT_THRESHOLD = 17;
+
+    /**
+     * Exploration constant of UCB1
+     */
+    private static final double EXPLORATION = 1.4;
+
+    /**
+     * Iterations between looks at the clock
+     */
+    private static final int CLOCK_INTERVAL = 32;
+
+    /**
+     * Nodes in the pool
+     */
+    private static final int POOL_SIZE = 1 << 15;
+
+    /**
+     * Most cards one iteration can draw, the player's and the dealer's
+     */
+    private static final int MAX_DRAWS = 2 * BLACKJACK;
+
+    /**
+     * Amount of actions, stand then hit
+     */
+    private static final int ACTIONS = 2;
+
+    /**
+     * Action of hitting
+     */
+    private static final int HIT = 1;
+
+    /**
+     * Rules of the table, for the shoe, dealer and payout
+     */
+    private TableRules rules;
+
+    /**
+     * Most iterations searched a decision
+     */
+    private final int iterations;
+
+    /**
+     * Most nanoseconds searched a decision, 0 for no limit
+     */
+    private final long nanos;
+
+    /**
+     * Random number generator of the search
+     */
+    private SplitRandom random;
+
+    /**
+     * Cards of each value the player believes are left in the shoe
+     */
+    private final int[] shoe;
+
+    /**
+     * Cards of each value counted this round from the player's hand and the
+     * dealer's card, not to count again when shown the round's cards
+     */
+    private final int[] countedThisRound;
+
+    /**
+     * Whether the dealer's card has been counted this round
+     */
+    private boolean upcardCounted;
+
+    /**
+     * Whether the deck was reshuffled after this round's first cards
+     */
+    private boolean reshuffledMidRound;
+
+    /**
+     * Stores the dealer's card for the player to remember
+     */
+    private Card dealersCard;
+
+    /**
+     * HandState of each node
+     */
+    private transient int[] nodeStates;
+
+    /**
+     * Node reached by hitting each node and drawing each value, -1 for none
+     */
+    private transient int[] children;
+
+    /**
+     * Times each action of each node was tried
+     */
+    private transient int[] visits;
+
+    /**
+     * Sum of the returns of each action of each node
+     */
+    private transient double[] returns;
+
+    /**
+     * Nodes taken from the pool
+     */
+    private transient int nodeCount;
+
+    /**
+     * Node of the player's current hand, -1 if not yet searched
+     */
+    private transient int root;
+
+    /**
+     * Action index of each decision on the current iteration's path
+     */
+    private transient int[] path;
+
+    /**
+     * Card values drawn on the current iteration, to put back afterwards
+     */
+    private transient int[] drawn;
+
+    /**
+     * Amount of cards drawn on the current iteration
+     */
+    private transient int drawCount;
+
+    /**
+     * Microseconds each decision at the table took to search
+     */
+    private transient RunningStats latency;
+
+    /**
+     * Constructs a player searching 2000 iterations a decision at the
+     * default table, until they are seated at a table
+     */
+    public MctsPlayer() {
+        this(new TableRules(), 2000, 0, 2018);
+    }
+
+    /**
+     * Constructs a player with a budget for each decision
+     *
+     * @param rules      rules of the table the player sits at
+     * @param iterations most iterations searched a decision
+     * @param nanos      most nanoseconds searched a decision, 0 for no limit
+     * @param seed       seed of the search
+     * @throws IllegalArgumentException if iterations is not positive
+     */
+    public MctsPlayer(TableRules rules, int iterations, long nanos,
+            long seed) {
+        super();
+
+        if (iterations < 1) {
+            throw new IllegalArgumentException("A search needs at least one "
+                    + "iteration");
+        }
+
+        this.rules = new TableRules(rules);
+        this.iterations = iterations;
+        this.nanos = nanos;
+        this.random = new SplitRandom(seed);
+        this.shoe = new int[VALUES];
+        this.countedThisRound = new int[VALUES];
+        this.fillShoe(this.shoe);
+    }
+
+    /**
+     * Takes the rules and seed of the table the player is seated at,
+     * starting their count again from a full shoe
+     *
+     * @param rules rules the table is played by
+     * @param seed  seed of the search
+     */
+    @Override
+    public void followTable(TableRules rules, long seed) {
+        this.rules = new TableRules(rules);
+        this.random = new SplitRandom(seed);
+        this.fillShoe(this.shoe);
+    }
+
+    /**
+     * Saves the search's random number stream and the cards the player
+     * believes are left in the shoe, the only state kept between rounds
+     *
+     * @return the stream's state and gamma followed by the shoe
+     */
+    @Override
+    public long[] saveState() {
+        long[] state = new long[2 + VALUES];
+
+        state[0] = this.random.getState();
+        state[1] = this.random.getGamma();
+
+        for (int v = 0; v < VALUES; v++) {
+            state[2 + v] = this.shoe[v];
+        }
+
+        return state;
+    }
+
+    /**
+     * Puts back the search's random number stream and the shoe
+     *
+     * @param state state returned by saveState()
+     * @throws IllegalArgumentException if the state is the wrong length
+     */
+    @Override
+    public void restoreState(long[] state) {
+        if (state.length != 2 + VALUES) {
+            throw new IllegalArgumentException("Expected a state of "
+                    + (2 + VALUES) + " values, not " + state.length);
+        }
+
+        this.random = new SplitRandom(state[0], state[1]);
+
+        for (int v = 0; v < VALUES; v++) {
+            this.shoe[v] = (int) state[2 + v];
+        }
+    }
+
+    /**
+     * Fills counts with a full shoe of the rules' decks
+     *
+     * @param counts cards of each value
+     */
+    private void fillShoe(int[] counts) {
+        Arrays.fill(counts, 0);
+
+        for (Rank r : Rank.values()) {
+            counts[r.getVALUE() - LOWEST_VALUE] += this.rules.getDecks()
+                    * Suit.values().length;
+        }
+    }
+
+    /**
+     * Allocates the pool the first time it is needed, including after the
+     * player is loaded from a saved game
+     */
+    private void allocatePool() {
+        if (this.nodeStates == null) {
+            this.nodeStates = new int[POOL_SIZE];
+            this.children = new int[POOL_SIZE * VALUES];
+            this.visits = new int[POOL_SIZE * ACTIONS];
+            this.returns = new double[POOL_SIZE * ACTIONS];
+            this.path = new int[MAX_DRAWS];
+            this.drawn = new int[MAX_DRAWS];
+            this.root = -1;
+            this.latency = new RunningStats();
+        }
+    }
+
+    /**
+     * Makes a bet like a basic player, starting a new round and a new tree
+     *
+     * @return the player's bet, 0 if can't make bet
+     */
+    @Override
+    public int makeBet() {
+        this.allocatePool();
+        this.nodeCount = 0;
+        this.root = -1;
+        Arrays.fill(this.countedThisRound, 0);
+        this.upcardCounted = false;
+        this.reshuffledMidRound = false;
+
+        return super.makeBet();
+    }
+
+    /**
+     * Takes a card, counting it out of the shoe and moving the tree's root
+     * down to the hand it makes
+     *
+     * @param c card dealt
+     */
+    @Override
+    public void takeCard(Card c) {
+        super.takeCard(c);
+
+        int v = c.getRank().getVALUE() - LOWEST_VALUE;
+
+        this.shoe[v]--;
+        this.countedThisRound[v]++;
+
+        if (this.root >= 0) {
+            this.root = this.children[this.root * VALUES + v];
+        }
+    }
+
+    /**
+     * Shows the player the dealer's card, counting it out of the shoe once
+     *
+     * @param c dealer's first card
+     */
+    @Override
+    public void viewDealerCard(Card c) {
+        this.dealersCard = c;
+
+        if (!this.upcardCounted) {
+            int v = c.getRank().getVALUE() - LOWEST_VALUE;
+
+            this.shoe[v]--;
+            this.countedThisRound[v]++;
+            this.upcardCounted = true;
+        }
+    }
+
+    /**
+     * Counts every card played this round out of the shoe, other than those
+     * already counted. The cards of a round reshuffled part way through are
+     * not counted, as some came from the old deck.
+     *
+     * @param cards cards played this round
+     */
+    @Override
+    public void viewCards(List<Card> cards) {
+        if (!this.reshuffledMidRound) {
+            for (Card c : cards) {
+                int v = c.getRank().getVALUE() - LOWEST_VALUE;
+
+                if (this.countedThisRound[v] > 0) {
+                    this.countedThisRound[v]--;
+                } else {
+                    this.shoe[v]--;
+                }
+            }
+        }
+
+        Arrays.fill(this.countedThisRound, 0);
+    }
+
+    /**
+     * Refills the shoe the player believes is left
+     */
+    @Override
+    public void newDeck() {
+        this.fillShoe(this.shoe);
+        this.reshuffledMidRound = this.playerHand.iterator().hasNext();
+    }
+
+    /**
+     * Determines whether the player wishes to take a card by searching the
+     * shoe from their hand
+     *
+     * @return true if player wants another card, else false
+     */
+    @Override
+    public boolean hit() {
+        int state = HandState.of(this.playerHand);
+
+        // Never hits a hand that is already bust or on 21
+        if (HandState.highestBelow(state, BLACKJACK) < 0) {
+            return false;
+        }
+
+        final double NANOS_PER_MICRO = 1000;
+
+        long start = System.nanoTime();
+
+        this.allocatePool();
+
+        if (this.root < 0 || this.nodeStates[this.root] != state) {
+            this.nodeCount = 0;
+            this.root = this.newNode(state);
+        }
+
+        boolean hit = this.search(this.root,
+                this.dealersCard.getRank().getVALUE());
+
+        this.latency.add((System.nanoTime() - start) / NANOS_PER_MICRO);
+
+        return hit;
+    }
+
+    /**
+     * Decides for many hands at once by searching each from a full shoe less
+     * its dealer card, as the cards of a hand are not known from its state
+     *
+     * @param states    HandState of each hand
+     * @param upcards   value of the dealer's card for each hand
+     * @param counts    running count seen by each hand's player, not used
+     * @param cardsSeen cards seen since a shuffle, not used
+     * @param decisions set to true for each hand that should take a card
+     * @param length    amount of hands to decide for
+     */
+    @Override
+    public void hits(int[] states, int[] upcards, int[] counts,
+            int[] cardsSeen, boolean[] decisions, int length) {
+        int[] seen = Arrays.copyOf(this.shoe, VALUES);
+
+        this.allocatePool();
+
+        for (int i = 0; i < length; i++) {
+            decisions[i] = false;
+
+            if (HandState.highestBelow(states[i], BLACKJACK) >= 0) {
+                this.fillShoe(this.shoe);
+                this.shoe[upcards[i] - LOWEST_VALUE]--;
+                this.nodeCount = 0;
+                decisions[i] = this.search(this.newNode(states[i]),
+                        upcards[i]);
+            }
+        }
+
+        System.arraycopy(seen, 0, this.shoe, 0, VALUES);
+        this.nodeCount = 0;
+        this.root = -1;
+    }
+
+    /**
+     * Searches from a node within the budget
+     *
+     * @param node   node of the hand
+     * @param upcard value of the dealer's card
+     * @return true if hitting scored better than standing
+     */
+    private boolean search(int node, int upcard) {
+        long deadline = System.nanoTime() + this.nanos;
+
+        for (int i = 0; i < this.iterations; i++) {
+            if (this.nanos > 0 && i % CLOCK_INTERVAL == 0
+                    && System.nanoTime() > deadline) {
+                break;
+            }
+
+            this.iterate(node, upcard);
+        }
+
+        double stand = this.mean(node * ACTIONS);
+        double hit = this.mean(node * ACTIONS + HIT);
+
+        return hit > stand;
+    }
+
+    /**
+     * Plays one iteration from a node, down the tree then out to the end of
+     * the round, and adds its return to every decision on the way
+     *
+     * @param node   node to start from
+     * @param upcard value of the dealer's card
+     */
+    private void iterate(int node, int upcard) {
+        int depth = 0;
+        double reward;
+
+        this.drawCount = 0;
+
+        while (true) {
+            int state = this.nodeStates[node];
+            int action = this.select(node);
+
+            this.path[depth++] = node * ACTIONS + action;
+
+            if (action != HIT) {
+                reward = this.playOut(state, upcard);
+                break;
+            }
+
+            int v = this.draw();
+            state = HandState.addValue(state, v + LOWEST_VALUE);
+
+            if (HandState.highestBelow(state, BLACKJACK) < 0) {
+                reward = this.playOut(state, upcard);
+                break;
+            }
+
+            int child = this.children[node * VALUES + v];
+
+            if (child < 0) {
+                // Grows the tree by one node, then plays on by default
+                if (this.nodeCount < POOL_SIZE) {
+                    this.children[node * VALUES + v] = this.newNode(state);
+                }
+
+                reward = this.rollOut(state, upcard);
+                break;
+            }
+
+            node = child;
+        }
+
+        for (int i = 0; i < depth; i++) {
+            this.visits[this.path[i]]++;
+            this.returns[this.path[i]] += reward;
+        }
+
+        // Puts every card drawn back in the shoe
+        for (int i = 0; i < this.drawCount; i++) {
+            this.shoe[this.drawn[i]]++;
+        }
+    }
+
+    /**
+     * Picks an action of a node by UCB1, trying each action once first
+     *
+     * @param node node to pick for
+     * @return action to take
+     */
+    private int select(int node) {
+        int base = node * ACTIONS;
+        int total = 0;
+
+        for (int a = 0; a < ACTIONS; a++) {
+            if (this.visits[base + a] == 0) {
+                return a;
+            }
+
+            total += this.visits[base + a];
+        }
+
+        double log = Math.log(total);
+        int best = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+
+        for (int a = 0; a < ACTIONS; a++) {
+            double score = this.mean(base + a) + EXPLORATION
+                    * Math.sqrt(log / this.visits[base + a]);
+
+            if (score > bestScore) {
+                bestScore = score;
+                best = a;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Calculates the mean return of an action
+     *
+     * @param index index of the action
+     * @return mean return, -infinity if never tried
+     */
+    private double mean(int index) {
+        if (this.visits[index] == 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        return this.returns[index] / this.visits[index];
+    }
+
+    /**
+     * Plays a hand below the tree by the default policy, then the dealer
+     *
+     * @param state  HandState of the hand
+     * @param upcard value of the dealer's card
+     * @return return per unit bet
+     */
+    private double rollOut(int state, int upcard) {
+        while (HandState.highestBelow(state, BLACKJACK) >= 0
+                && HandState.total(state) < ROLLOUT_THRESHOLD) {
+            state = HandState.addValue(state, this.draw() + LOWEST_VALUE);
+        }
+
+        return this.playOut(state, upcard);
+    }
+
+    /**
+     * Plays the dealer's hand out from the shoe and settles a standing hand
+     * as BlackjackDealer does
+     *
+     * @param state  HandState of the player's hand
+     * @param upcard value of the dealer's card
+     * @return return per unit bet
+     */
+    private double playOut(int state, int upcard) {
+        if (HandState.isBust(state)) {
+            return -1;
+        }
+
+        int dealer = HandState.addValue(HandState.EMPTY, upcard);
+        int val = HandState.highestBelow(dealer, BLACKJACK);
+
+        while (val >= 0 && (val < DEALER_THRESHOLD
+                || (this.rules.isDealerHitsSoft17()
+                && val == DEALER_THRESHOLD && HandState.isSoft(dealer)))) {
+            dealer = HandState.addValue(dealer, this.draw() + LOWEST_VALUE);
+            val = HandState.highestBelow(dealer, BLACKJACK);
+        }
+
+        int playerScore = HandState.total(state);
+        int dealerScore = HandState.total(dealer);
+
+        if (!HandState.isBust(dealer) && dealerScore == BLACKJACK) {
+            return -1;
+        } else if (playerScore == BLACKJACK) {
+            return (double) this.rules.getBlackjackNumerator()
+                    / this.rules.getBlackjackDenominator();
+        } else if (HandState.isBust(dealer) || playerScore > dealerScore) {
+            return 1;
+        } else if (playerScore < dealerScore) {
+            return -1;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Draws a card at random from the shoe, refilling it if the player's
+     * count has run out
+     *
+     * @return index of the value drawn
+     */
+    private int draw() {
+        int left = 0;
+
+        for (int count : this.shoe) {
+            left += Math.max(count, 0);
+        }
+
+        if (left == 0) {
+            this.fillShoe(this.shoe);
+            left = this.rules.getCards();
+        }
+
+        int pick = this.random.nextInt(left);
+        int v = 0;
+
+        while (pick >= Math.max(this.shoe[v], 0)) {
+            pick -= Math.max(this.shoe[v], 0);
+            v++;
+        }
+
+        this.shoe[v]--;
+
+        if (this.drawCount < MAX_DRAWS) {
+            this.drawn[this.drawCount++] = v;
+        }
+
+        return v;
+    }
+
+    /**
+     * Retrieves how long each decision at the table took to search
+     *
+     * @return microseconds of each decision, empty if none made
+     */
+    RunningStats getLatency() {
+        this.allocatePool();
+
+        return new RunningStats(this.latency);
+    }
+
+    /**
+     * Takes a node from the pool, starting over if the pool is used up
+     *
+     * @param state HandState of the node
+     * @return index of the node
+     */
+    private int newNode(int state) {
+        if (this.nodeCount == POOL_SIZE) {
+            this.nodeCount = 0;
+        }
+
+        int node = this.nodeCount++;
+
+        this.nodeStates[node] = state;
+        Arrays.fill(this.children, node * VALUES, (node + 1) * VALUES, -1);
+        Arrays.fill(this.visits, node * ACTIONS, (node + 1) * ACTIONS, 0);
+        Arrays.fill(this.returns, node * ACTIONS, (node + 1) * ACTIONS, 0);
+
+        return node;
+    }
+
+    /**
+     * Times the player's decisions at a table, then compares it against the
+     * intermediate player's fixed rules on the same single deck shoes, each
+     * dealt three quarters deep
+     *
+     * @param args iterations a decision, microseconds a decision, blocks and
+     *             rounds per block, all optional
+     */
+    public static void main(String[] args) {
+        final long NANOS_PER_MICRO = 1000;
+        final int TIMED_ROUNDS = 5000;
+        final int BANKROLL = Integer.MAX_VALUE / 2;
+
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        long micros = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+        int blocks = args.length > 2 ? Integer.parseInt(args[2]) : 40;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 5000;
+
+        TableRules rules = new TableRules();
+        long nanos = micros * NANOS_PER_MICRO;
+
+        MctsPlayer timed = new MctsPlayer(rules, iterations, nanos, 2018);
+        BlackjackTable table = new BlackjackTable(rules, new SplitRandom(2018));
+
+        timed.setBalance(BANKROLL);
+        table.sit(timed);
+        table.simulate(TIMED_ROUNDS, new SimulationConfig());
+
+        RunningStats latency = timed.getLatency();
+        System.out.printf("%d decisions took %.1fus on average, standard "
+                + "deviation %.1fus, budget %dus%n", latency.getCount(),
+                latency.getMean(), latency.getStdDev(), micros);
+
+        PlayerRegistry.register("mcts",
+                () -> new MctsPlayer(rules, iterations, nanos, 2018));
+
+        StrategyComparison comparison = new StrategyComparison(
+                Arrays.asList("intermediate", "mcts"), blocks, rounds, 2018,
+                false);
+
+        try (MonteCarloRunner runner = new MonteCarloRunner()) {
+            for (StrategyComparison.Difference d : comparison.run(runner)) {
+                System.out.println(d);
+            }
+        } catch (InterruptedException | ExecutionException ex) {
+            System.out.println("Unable to finish the comparison: "
+                    + ex.getMessage());
+        }
+    }
+}
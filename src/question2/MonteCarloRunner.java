@@ -0,0 +1,409 @@
+/** ***************************************************************************
+ *
+ * File        : MonteCarloRunner.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that runs the shards of a simulation job across a
+ *               pool of threads and merges their results.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Each shard is played at its own table, dealer and deck with its own random
+ * number stream, so the threads share nothing while they play. Results are
+ * merged in shard order, so the merged result is the same whatever the
+ * amount of threads.
+ *
+ * @author Ali Jarjis
+ */
+public class MonteCarloRunner implements AutoCloseable {
+
+    /**
+     * Most rounds runUntil() plays on a thread between checks of the target
+     */
+    static final int CHECK_ROUNDS = 10000;
+
+    /**
+     * Threads the shards are run on, kept between jobs
+     */
+    private final ExecutorService pool;
+
+    /**
+     * Amount of threads in the pool
+     */
+    private final int threads;
+
+    /**
+     * Constructs a runner with a thread for every core
+     */
+    public MonteCarloRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a runner with a given amount of threads
+     *
+     * @param threads amount of threads to run shards on
+     */
+    public MonteCarloRunner(int threads) {
+        this.threads = threads;
+        this.pool = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Retrieves the amount of threads shards are run on
+     *
+     * @return amount of threads
+     */
+    public int getThreads() {
+        return this.threads;
+    }
+
+    /**
+     * Runs every shard of a job across the pool
+     *
+     * @param job job to run
+     * @return merged results of every shard
+     * @throws InterruptedException if interrupted while waiting for shards
+     * @throws ExecutionException   if a shard fails
+     */
+    public SimulationResult run(SimulationJob job) throws InterruptedException,
+            ExecutionException {
+        SplitRandom[] streams = job.shardStreams();
+        List<Future<SimulationResult>> shards = new ArrayList<>();
+
+        for (int i = 0; i < job.getShards(); i++) {
+            final int shard = i;
+
+            shards.add(this.pool.submit(
+                    () -> job.runShard(shard, streams[shard])));
+        }
+
+        // Merges in shard order so the result never depends on timing
+        SimulationResult result = job.emptyResult();
+
+        for (Future<SimulationResult> f : shards) {
+            result.merge(f.get());
+        }
+
+        return result;
+    }
+
+    /**
+     * Runs every shard of a job across the pool, logging each shard's
+     * progress to a checkpoint file so a run that is stopped can be carried
+     * on. Shards the file shows as finished are not played again, and shards
+     * part way through carry on from their last checkpoint, so the result is
+     * the same however many times the run is stopped.
+     *
+     * @param job              job to run
+     * @param checkpoint       file progress is logged to and carried on from
+     * @param checkpointRounds rounds each shard plays between checkpoints
+     * @return merged results of every shard
+     * @throws IOException              if the checkpoint file can not be
+     *                                  read or written
+     * @throws IllegalArgumentException if the checkpoint file is for a
+     *                                  different job
+     * @throws InterruptedException     if interrupted while waiting for shards
+     * @throws ExecutionException       if a shard fails
+     */
+    public SimulationResult run(SimulationJob job, File checkpoint,
+            long checkpointRounds) throws IOException, InterruptedException,
+            ExecutionException {
+        SplitRandom[] streams = job.shardStreams();
+        List<Future<SimulationResult>> shards = new ArrayList<>();
+
+        try (CheckpointLog log = new CheckpointLog(checkpoint, job)) {
+            Map<Integer, ShardProgress> saved = log.getSaved();
+
+            for (int i = 0; i < job.getShards(); i++) {
+                final int shard = i;
+                final ShardProgress from = saved.get(i);
+
+                if (from != null && from.isFinished()) {
+                    shards.add(CompletableFuture.completedFuture(
+                            from.getResult()));
+                    continue;
+                }
+
+                shards.add(this.pool.submit(() -> {
+                    SimulationResult r = job.runShard(shard, streams[shard],
+                            from, checkpointRounds, log::record);
+
+                    log.record(new ShardProgress(shard,
+                            job.shardRounds(shard), r, null));
+
+                    return r;
+                }));
+            }
+
+            // Merges in shard order so the result never depends on timing
+            SimulationResult result = job.emptyResult();
+
+            for (Future<SimulationResult> f : shards) {
+                result.merge(f.get());
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Runs the shards of a job in order until every seat's return is measured
+     * as precisely as a target asks, checking every CHECK_ROUNDS rounds of
+     * each shard
+     *
+     * @param job    job whose shards are played
+     * @param target precision every seat's return must reach
+     * @return merged results of every round played, in shard order
+     * @throws InterruptedException if interrupted while waiting for shards
+     * @throws ExecutionException   if a shard fails
+     */
+    public SimulationResult runUntil(SimulationJob job,
+            PrecisionTarget target) throws InterruptedException,
+            ExecutionException {
+        return this.runUntil(job, target, CHECK_ROUNDS);
+    }
+
+    /**
+     * Runs the shards of a job in order until every seat's return is measured
+     * as precisely as a target asks, or every shard has been played. The
+     * job's rounds are then a limit rather than an amount to play.
+     *
+     * Each thread takes the next shard when it finishes one, and plays it in
+     * runs of checkRounds. After each run it publishes a copy of its own
+     * running stats in a slot no other thread writes, and merges every slot
+     * to check the target without taking a lock. The first thread to see the
+     * target met tells the others to stop, and each stops at the end of its
+     * current run, so no more than checkRounds rounds a thread are played
+     * past the target however large the shards are.
+     *
+     * @param job         job whose shards are played
+     * @param target      precision every seat's return must reach
+     * @param checkRounds most rounds a thread plays between checks
+     * @return merged results of every round played, in shard order
+     * @throws InterruptedException if interrupted while waiting for shards
+     * @throws ExecutionException   if a shard fails
+     * @throws IllegalArgumentException if checkRounds is not positive
+     */
+    public SimulationResult runUntil(SimulationJob job,
+            PrecisionTarget target, int checkRounds)
+            throws InterruptedException, ExecutionException {
+        if (checkRounds <= 0) {
+            throw new IllegalArgumentException("Rounds between checks must "
+                    + "be positive");
+        }
+
+        final int seats = job.getSeatTypes().size();
+
+        SplitRandom[] streams = job.shardStreams();
+        SimulationResult[] played = new SimulationResult[job.getShards()];
+        AtomicInteger nextShard = new AtomicInteger();
+        AtomicBoolean converged = new AtomicBoolean();
+        AtomicReferenceArray<RunningStats[]> published
+                = new AtomicReferenceArray<>(this.threads);
+        List<Future<?>> workers = new ArrayList<>();
+
+        for (int i = 0; i < this.threads; i++) {
+            final int slot = i;
+
+            workers.add(this.pool.submit(() -> {
+                RunningStats[] own = emptyStats(seats);
+                int shard;
+
+                while (!converged.get()
+                        && (shard = nextShard.getAndIncrement())
+                        < played.length) {
+                    played[shard] = job.runShard(shard, streams[shard],
+                            checkRounds, run -> {
+                        for (int s = 0; s < seats; s++) {
+                            own[s].merge(run.getSeat(s).getReturns());
+                        }
+
+                        published.set(slot, copyStats(own));
+
+                        // Merges every thread's latest copy to check
+                        RunningStats[] all = emptyStats(seats);
+
+                        for (int w = 0; w < published.length(); w++) {
+                            RunningStats[] other = published.get(w);
+
+                            for (int s = 0; other != null && s < seats;
+                                    s++) {
+                                all[s].merge(other[s]);
+                            }
+                        }
+
+                        if (target.isMet(all)) {
+                            converged.set(true);
+                        }
+
+                        return !converged.get();
+                    });
+                }
+            }));
+        }
+
+        // Waiting on every worker also makes their shard results visible
+        for (Future<?> f : workers) {
+            f.get();
+        }
+
+        SimulationResult result = job.emptyResult();
+
+        for (SimulationResult shardResult : played) {
+            if (shardResult != null) {
+                result.merge(shardResult);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Creates empty running stats for each seat
+     *
+     * @param seats amount of seats
+     * @return empty stats
+     */
+    private static RunningStats[] emptyStats(int seats) {
+        RunningStats[] stats = new RunningStats[seats];
+
+        for (int s = 0; s < seats; s++) {
+            stats[s] = new RunningStats();
+        }
+
+        return stats;
+    }
+
+    /**
+     * Copies running stats, so a copy can be read while the original changes
+     *
+     * @param stats stats to copy
+     * @return copy of each seat's stats
+     */
+    private static RunningStats[] copyStats(RunningStats[] stats) {
+        RunningStats[] copy = new RunningStats[stats.length];
+
+        for (int s = 0; s < stats.length; s++) {
+            copy[s] = new RunningStats(stats[s]);
+        }
+
+        return copy;
+    }
+
+    /**
+     * Runs a task on the runner's pool, so other kinds of work can share the
+     * same threads as jobs
+     *
+     * @param <T>  type of the task's result
+     * @param task task to run
+     * @return the task's future result
+     */
+    <T> Future<T> submit(Callable<T> task) {
+        return this.pool.submit(task);
+    }
+
+    /**
+     * Runs every shard of a job one after another on the calling thread,
+     * giving the same result as run()
+     *
+     * @param job job to run
+     * @return merged results of every shard
+     */
+    public static SimulationResult runSequential(SimulationJob job) {
+        SplitRandom[] streams = job.shardStreams();
+        SimulationResult result = job.emptyResult();
+
+        for (int i = 0; i < job.getShards(); i++) {
+            result.merge(job.runShard(i, streams[i]));
+        }
+
+        return result;
+    }
+
+    /**
+     * Shuts down the pool once any running shards have finished
+     */
+    @Override
+    public void close() {
+        this.pool.shutdown();
+    }
+
+    /**
+     * Runs a job across every core and again on one thread, printing both
+     * results and their times
+     *
+     * @param args total rounds and amount of shards, both optional, then
+     *             optionally a half width on the house edge to stop at once
+     *             reached with 95% confidence
+     */
+    public static void main(String[] args) {
+        final long NANOS_PER_MILLI = 1000000;
+
+        long rounds = args.length > 0 ? Long.parseLong(args[0]) : 1000000;
+        int shards = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+
+        SimulationJob job = new SimulationJob(Arrays.asList("basic",
+                "intermediate", "advanced"), rounds, shards, 2018,
+                new SimulationConfig());
+
+        try (MonteCarloRunner runner = new MonteCarloRunner()) {
+            if (args.length > 2) {
+                PrecisionTarget target = new PrecisionTarget(
+                        Double.parseDouble(args[2]), 0.95);
+                long start = System.nanoTime();
+                SimulationResult result = runner.runUntil(job, target);
+                long time = (System.nanoTime() - start) / NANOS_PER_MILLI;
+
+                System.out.println(result);
+                for (PlayerStats s : result.getSeats()) {
+                    System.out.printf("%s house edge %.4f%% ± %.4f%%%n",
+                            s.getType(), -s.getReturns().getMean() * 100,
+                            target.halfWidthOf(s.getReturns()) * 100);
+                }
+                System.out.println("Stopped at " + target + " after "
+                        + time + "ms");
+                return;
+            }
+
+            long start = System.nanoTime();
+            SimulationResult parallel = runner.run(job);
+            long parallelTime = (System.nanoTime() - start) / NANOS_PER_MILLI;
+
+            start = System.nanoTime();
+            SimulationResult sequential = runSequential(job);
+            long sequentialTime = (System.nanoTime() - start)
+                    / NANOS_PER_MILLI;
+
+            System.out.println(parallel);
+            System.out.println(runner.getThreads() + " threads: "
+                    + parallelTime + "ms, 1 thread: " + sequentialTime
+                    + "ms, results match: "
+                    + parallel.toString().equals(sequential.toString()));
+        } catch (InterruptedException | ExecutionException ex) {
+            System.out.println("Unable to finish the simulation: "
+                    + ex.getMessage());
+        }
+    }
+}
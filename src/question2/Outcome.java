@@ -0,0 +1,39 @@
+/** ***************************************************************************
+ *
+ * File        : Outcome.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : An enum of the ways the dealer can settle a player's hand.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+public enum Outcome {
+    /**
+     * The player went over 21 and lost their bet
+     */
+    BUST,
+    /**
+     * The player lost their bet to a higher dealer score or a dealer blackjack
+     */
+    LOSS,
+    /**
+     * The player tied with the dealer and kept their bet
+     */
+    PUSH,
+    /**
+     * The player beat the dealer's score or the dealer went bust
+     */
+    WIN,
+    /**
+     * The player's hand totalled 21 and was paid double
+     */
+    BLACKJACK
+}
@@ -0,0 +1,332 @@
+/** ***************************************************************************
+ *
+ * File        : OutcomeCollector.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that counts the outcomes of bets settled on many
+ *               threads at once, without the threads waiting on each other.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Each thread counts outcomes, by the value of the dealer's card, in a
+ * recorder of its own which only it writes, so counting takes no lock and
+ * no compare-and-set. Winnings and bets are summed in LongAdders, which
+ * spread updates from different threads over separate cells. Nothing is
+ * combined until a snapshot is taken, which can be done at any time while
+ * the threads are still settling bets.
+ *
+ * @author Ali Jarjis
+ */
+public class OutcomeCollector implements SettlementListener {
+
+    /**
+     * Value of the lowest dealer's card
+     */
+    static final int LOWEST_UPCARD = 2;
+
+    /**
+     * Amount of dealer card values, TWO to ACE with every ten grouped
+     */
+    static final int UPCARDS = 10;
+
+    /**
+     * Amount of outcomes
+     */
+    private static final int OUTCOMES = Outcome.values().length;
+
+    /**
+     * Every thread's recorder, added to when a thread first records
+     */
+    private final List<AtomicLongArray> recorders;
+
+    /**
+     * Each thread's own recorder
+     */
+    private final ThreadLocal<AtomicLongArray> recorder;
+
+    /**
+     * Total winnings, negative if the players lost money
+     */
+    private final LongAdder net;
+
+    /**
+     * Total of every bet made
+     */
+    private final LongAdder wagered;
+
+    /**
+     * Constructs an empty collector
+     */
+    public OutcomeCollector() {
+        this.recorders = new CopyOnWriteArrayList<>();
+        this.net = new LongAdder();
+        this.wagered = new LongAdder();
+        this.recorder = ThreadLocal.withInitial(() -> {
+            AtomicLongArray counts = new AtomicLongArray(UPCARDS * OUTCOMES);
+
+            this.recorders.add(counts);
+
+            return counts;
+        });
+    }
+
+    /**
+     * Counts a settled bet in the calling thread's recorder
+     *
+     * @param p           player whose bet was settled
+     * @param bet         the player's bet
+     * @param outcome     how the hand was settled
+     * @param stake       the player's winnings, negative if they lost
+     * @param dealersCard the dealer's first card
+     */
+    @Override
+    public void settled(Player p, int bet, Outcome outcome, int stake,
+            Card dealersCard) {
+        this.record(dealersCard.getRank().getVALUE(), outcome, bet, stake);
+    }
+
+    /**
+     * Counts a settled bet in the calling thread's recorder
+     *
+     * @param upcard  value of the dealer's first card
+     * @param outcome how the hand was settled
+     * @param bet     the player's bet
+     * @param stake   the player's winnings, negative if they lost
+     */
+    public void record(int upcard, Outcome outcome, int bet, int stake) {
+        AtomicLongArray counts = this.recorder.get();
+        int i = (upcard - LOWEST_UPCARD) * OUTCOMES + outcome.ordinal();
+
+        // Only this thread writes its recorder, so an ordered write is enough
+        counts.lazySet(i, counts.get(i) + 1);
+
+        this.net.add(stake);
+        this.wagered.add(bet);
+    }
+
+    /**
+     * Combines every thread's counts as they are now
+     *
+     * @return snapshot of the counts
+     */
+    public Snapshot snapshot() {
+        long[][] counts = new long[UPCARDS][OUTCOMES];
+
+        for (AtomicLongArray r : this.recorders) {
+            for (int u = 0; u < UPCARDS; u++) {
+                for (int o = 0; o < OUTCOMES; o++) {
+                    counts[u][o] += r.get(u * OUTCOMES + o);
+                }
+            }
+        }
+
+        return new Snapshot(counts, this.net.sum(), this.wagered.sum());
+    }
+
+    /**
+     * The counts of a collector at one moment. Counts read while threads are
+     * still settling are each up to date, but may not all be from the same
+     * instant.
+     */
+    public static class Snapshot {
+
+        /**
+         * Count of each outcome, by dealer card then outcome
+         */
+        private final long[][] counts;
+
+        /**
+         * Total winnings
+         */
+        private final long net;
+
+        /**
+         * Total of every bet made
+         */
+        private final long wagered;
+
+        /**
+         * Constructs a snapshot
+         *
+         * @param counts  count of each outcome by dealer card then outcome
+         * @param net     total winnings
+         * @param wagered total of every bet made
+         */
+        Snapshot(long[][] counts, long net, long wagered) {
+            this.counts = counts;
+            this.net = net;
+            this.wagered = wagered;
+        }
+
+        /**
+         * Retrieves the count of an outcome against a dealer's card
+         *
+         * @param upcard  value of the dealer's card, 2 to 11
+         * @param outcome outcome to count
+         * @return bets settled with that outcome
+         */
+        public long getCount(int upcard, Outcome outcome) {
+            return this.counts[upcard - LOWEST_UPCARD][outcome.ordinal()];
+        }
+
+        /**
+         * Retrieves the count of an outcome against any dealer's card
+         *
+         * @param outcome outcome to count
+         * @return bets settled with that outcome
+         */
+        public long getCount(Outcome outcome) {
+            long total = 0;
+
+            for (long[] upcard : this.counts) {
+                total += upcard[outcome.ordinal()];
+            }
+
+            return total;
+        }
+
+        /**
+         * Retrieves the amount of bets settled
+         *
+         * @return bets settled
+         */
+        public long getHands() {
+            long total = 0;
+
+            for (Outcome o : Outcome.values()) {
+                total += getCount(o);
+            }
+
+            return total;
+        }
+
+        /**
+         * Retrieves the total winnings
+         *
+         * @return net winnings, negative if the players lost money
+         */
+        public long getNet() {
+            return this.net;
+        }
+
+        /**
+         * Retrieves the total of every bet made
+         *
+         * @return amount wagered
+         */
+        public long getWagered() {
+            return this.wagered;
+        }
+
+        /**
+         * Returns the snapshot in a printable format, with a line of outcome
+         * rates for each dealer's card
+         *
+         * @return String of the counts
+         */
+        @Override
+        public String toString() {
+            StringBuilder s = new StringBuilder(String.format("%d hands, net "
+                    + "£%d on £%d wagered%n", getHands(), this.net,
+                    this.wagered));
+
+            s.append("Dealer");
+            for (Outcome o : Outcome.values()) {
+                s.append(String.format(" %9s", o));
+            }
+            s.append(System.lineSeparator());
+
+            for (int u = 0; u < UPCARDS; u++) {
+                long hands = 0;
+
+                for (long c : this.counts[u]) {
+                    hands += c;
+                }
+
+                s.append(String.format("%6d", u + LOWEST_UPCARD));
+                for (long c : this.counts[u]) {
+                    s.append(String.format(" %8.2f%%",
+                            hands == 0 ? 0 : 100.0 * c / hands));
+                }
+                s.append(System.lineSeparator());
+            }
+
+            return s.toString();
+        }
+    }
+
+    /**
+     * Runs a job across every core while printing the collector's counts as
+     * they grow, then the final breakdown
+     *
+     * @param args total rounds and amount of shards, both optional
+     */
+    public static void main(String[] args) {
+        final int PROGRESS_MILLIS = 500;
+
+        long rounds = args.length > 0 ? Long.parseLong(args[0]) : 2000000;
+        int shards = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+
+        OutcomeCollector collector = new OutcomeCollector();
+        SimulationConfig config = new SimulationConfig();
+        config.setSettlementListener(collector);
+
+        SimulationJob job = new SimulationJob(Arrays.asList("basic",
+                "intermediate", "advanced"), rounds, shards, 2018, config);
+
+        // Reads the counts while the runner's threads are still adding to them
+        Thread progress = new Thread(() -> {
+            try {
+                while (true) {
+                    Thread.sleep(PROGRESS_MILLIS);
+                    System.out.println(collector.snapshot().getHands()
+                            + " hands so far");
+                }
+            } catch (InterruptedException ex) {
+                // The simulation has finished
+            }
+        });
+
+        try (MonteCarloRunner runner = new MonteCarloRunner()) {
+            progress.start();
+            SimulationResult result = runner.run(job);
+            progress.interrupt();
+
+            System.out.print(collector.snapshot());
+            System.out.println("Matches the seats' stats: "
+                    + (collector.snapshot().getNet() == totalNet(result)));
+        } catch (InterruptedException | ExecutionException ex) {
+            progress.interrupt();
+            System.out.println("Unable to finish the simulation: "
+                    + ex.getMessage());
+        }
+    }
+
+    /**
+     * Totals the winnings of every seat in a result
+     *
+     * @param result result to total
+     * @return net winnings of every seat
+     */
+    private static long totalNet(SimulationResult result) {
+        long net = 0;
+
+        for (PlayerStats s : result.getSeats()) {
+            net += s.getNet();
+        }
+
+        return net;
+    }
+}
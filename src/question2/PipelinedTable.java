@@ -0,0 +1,252 @@
+/** ***************************************************************************
+ *
+ * File        : PipelinedTable.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that plays a headless table in stages, preparing the
+ *               next shuffled deck and recording each round's statistics on
+ *               threads of their own while the table plays on.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The table's own thread only takes bets, deals, plays and settles. A shoe
+ * stage shuffles the next deck with the dealer's random number generator as
+ * soon as the last was taken, so a reshuffle only swaps in a deck that is
+ * already shuffled. A stats stage records each round's settled bets, and
+ * tells any settlement listener, while the next round is played. Every deck
+ * is shuffled in the same order from the same stream, and nothing the stats
+ * stage does feeds back into the game, so the game and its results are the
+ * same as at an unstaged table.
+ *
+ * Bets are still taken on the table's thread after the last round settles,
+ * as every player's bet depends on their balance and the running count
+ * after it. Once the stats stage is STATS_BACKLOG rounds behind, the table
+ * waits for room rather than recording a round itself, so statistics and
+ * settlement listeners are only ever touched by the stats stage, in the
+ * order the rounds were played.
+ *
+ * @author Ali Jarjis
+ */
+public class PipelinedTable implements AutoCloseable {
+
+    /**
+     * Rounds the stats stage may fall behind before the table waits for it
+     */
+    private static final int STATS_BACKLOG = 1024;
+
+    /**
+     * Table being played
+     */
+    private final BlackjackTable table;
+
+    /**
+     * Thread the next deck is shuffled on
+     */
+    private final ExecutorService shoeStage;
+
+    /**
+     * Thread each round's statistics are recorded on
+     */
+    private final ExecutorService statsStage;
+
+    /**
+     * Next deck, being shuffled by the shoe stage
+     */
+    private Future<Deck> nextShoe;
+
+    /**
+     * Constructs a staged table, which must not be played unstaged until
+     * closed
+     *
+     * @param table table to play, whose dealer shuffles with a seeded random
+     *              number generator
+     * @throws IllegalArgumentException if the dealer is not seeded, as an
+     * unseeded shuffle can not be told apart from one done early
+     */
+    public PipelinedTable(BlackjackTable table) {
+        BlackjackDealer dealer = table.getDealer();
+
+        if (dealer.getRandom() == null) {
+            throw new IllegalArgumentException("Only a table with a seeded "
+                    + "dealer can be staged");
+        }
+
+        this.table = table;
+        this.shoeStage = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1), r -> stageThread(r, "shoe"));
+        this.statsStage = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(STATS_BACKLOG),
+                r -> stageThread(r, "stats"), PipelinedTable::waitForRoom);
+
+        this.prepareShoe();
+        dealer.setShoeSupplier(this::takeShoe);
+    }
+
+    /**
+     * Creates the daemon thread of a stage
+     *
+     * @param r    the stage's work
+     * @param name name of the stage
+     * @return thread of the stage
+     */
+    private static Thread stageThread(Runnable r, String name) {
+        Thread t = new Thread(r, name + "-stage");
+        t.setDaemon(true);
+
+        return t;
+    }
+
+    /**
+     * Waits for room in a full stage's queue and adds a round's work to it,
+     * keeping the work on the stage's thread and in order
+     *
+     * @param r        work refused by the full stage
+     * @param executor the stage
+     * @throws RejectedExecutionException if the stage has been shut down or
+     *                                    the table is interrupted waiting
+     */
+    private static void waitForRoom(Runnable r, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Stage has been shut down");
+        }
+
+        try {
+            executor.getQueue().put(r);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+
+            throw new RejectedExecutionException("Interrupted waiting for "
+                    + "the stage", ex);
+        }
+    }
+
+    /**
+     * Has the shoe stage start shuffling the next deck
+     */
+    private void prepareShoe() {
+        BlackjackDealer dealer = this.table.getDealer();
+        int decks = this.table.getRules().getDecks();
+
+        this.nextShoe = this.shoeStage.submit(() -> {
+            Deck deck = new Deck(decks);
+            deck.shuffle(dealer.getRandom());
+
+            return deck;
+        });
+    }
+
+    /**
+     * Takes the deck the shoe stage has shuffled, waiting for it if needed,
+     * and has it start on the one after
+     *
+     * @return shuffled deck
+     */
+    private Deck takeShoe() {
+        try {
+            Deck deck = this.nextShoe.get();
+
+            this.prepareShoe();
+
+            return deck;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException("Interrupted waiting for a deck",
+                    ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Unable to shuffle a deck",
+                    ex.getCause());
+        }
+    }
+
+    /**
+     * Simulates rounds of blackjack in stages, with the same results as the
+     * table's simulate()
+     *
+     * @param rounds amount of rounds to play
+     * @param config how the simulation behaves, any settlement listener being
+     *               told on the stats stage
+     * @return results of the simulation
+     */
+    public SimulationResult simulate(int rounds, SimulationConfig config) {
+        return this.table.simulate(rounds, config, this.statsStage);
+    }
+
+    /**
+     * Stops both stages and has the dealer shuffle its own decks again. The
+     * deck being prepared is dropped, so the dealer's random number generator
+     * is one shuffle ahead of a table that was never staged.
+     */
+    @Override
+    public void close() {
+        this.table.getDealer().setShoeSupplier(null);
+        this.shoeStage.shutdownNow();
+        this.statsStage.shutdown();
+    }
+
+    /**
+     * Plays the same seeded table unstaged and staged, checking the results
+     * match and printing the time each round took
+     *
+     * @param args total rounds and decks in the shoe, both optional
+     */
+    public static void main(String[] args) {
+        final double NANOS_PER_MICRO = 1000;
+
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int decks = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+
+        TableRules rules = new TableRules();
+        rules.setDecks(decks);
+        SimulationConfig config = new SimulationConfig();
+        OutcomeCollector plainOutcomes = new OutcomeCollector();
+        OutcomeCollector stagedOutcomes = new OutcomeCollector();
+
+        BlackjackTable plain = new BlackjackTable(rules, new SplitRandom(2018));
+        BlackjackTable staged = new BlackjackTable(rules, new SplitRandom(2018));
+
+        for (String type : Arrays.asList("basic", "intermediate", "advanced")) {
+            plain.seatPlayers(type, 2);
+            staged.seatPlayers(type, 2);
+        }
+
+        config.setSettlementListener(plainOutcomes);
+        long start = System.nanoTime();
+        SimulationResult plainResult = plain.simulate(rounds, config);
+        long plainTime = System.nanoTime() - start;
+
+        config.setSettlementListener(stagedOutcomes);
+        start = System.nanoTime();
+        SimulationResult stagedResult;
+
+        try (PipelinedTable pipeline = new PipelinedTable(staged)) {
+            stagedResult = pipeline.simulate(rounds, config);
+        }
+
+        long stagedTime = System.nanoTime() - start;
+
+        System.out.println(stagedResult);
+        System.out.printf("Unstaged %.2fus a round, staged %.2fus a round on "
+                + "%d cores, results match: %b%n",
+                plainTime / NANOS_PER_MICRO / rounds,
+                stagedTime / NANOS_PER_MICRO / rounds,
+                Runtime.getRuntime().availableProcessors(),
+                plainResult.toString().equals(stagedResult.toString())
+                && plainOutcomes.snapshot().toString().equals(
+                        stagedOutcomes.snapshot().toString()));
+    }
+}
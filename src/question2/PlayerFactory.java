@@ -0,0 +1,26 @@
+/** ***************************************************************************
+ *
+ * File        : PlayerFactory.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : An interface for something which creates new players of one
+ *               type, holding any configuration they are created with.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+@FunctionalInterface
+interface PlayerFactory {
+
+    /**
+     * create: @return a new player, starting with their default values
+     */
+    Player create();
+}
@@ -0,0 +1,47 @@
+/** ***************************************************************************
+ *
+ * File        : PlayerInput.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : An interface for the source of a user's choices, shared by
+ *               every menu and human player in a session.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+public interface PlayerInput {
+
+    /**
+     * hasNext: @return true if there is another choice to read, waiting for
+     * one if necessary
+     */
+    boolean hasNext();
+
+    /**
+     * hasNextInt: @return true if the next choice can be read as a number
+     */
+    boolean hasNextInt();
+
+    /**
+     * next: @return the next choice as a word
+     *
+     * @throws java.util.NoSuchElementException if there are no more choices
+     */
+    String next();
+
+    /**
+     * nextInt: @return the next choice as a number
+     *
+     * @throws java.util.InputMismatchException if the next choice is not a
+     * number
+     * @throws java.util.NoSuchElementException if there are no more choices
+     */
+    int nextInt();
+}
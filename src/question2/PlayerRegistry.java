@@ -0,0 +1,153 @@
+/** ***************************************************************************
+ *
+ * File        : PlayerRegistry.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A registry of named player factories, which tables create
+ *               and recreate their players from.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+public final class PlayerRegistry {
+
+    /**
+     * Factories for each type of player, by name
+     */
+    private static final Map<String, PlayerFactory> FACTORIES
+            = new ConcurrentHashMap<>();
+
+    /**
+     * The name each class of player is registered under by default
+     */
+    private static final Map<Class<?>, String> NAMES
+            = new ConcurrentHashMap<>();
+
+    // Registers the players the game comes with
+    static {
+        register("basic", BotPlayer.class, BotPlayer::new);
+        // Basic players saved before bots had a class of their own
+        register("basic", BasicPlayer.class, BotPlayer::new);
+        register("intermediate", IntermediatePlayer.class,
+                IntermediatePlayer::new);
+        register("advanced", AdvancedPlayer.class, AdvancedPlayer::new);
+        register("human", HumanPlayer.class, HumanPlayer::new);
+        register("chart", ChartPlayer.class, ChartPlayer::new);
+        register("learning", LearningPlayer.class, LearningPlayer::new);
+        register("mcts", MctsPlayer.class, MctsPlayer::new);
+        register("sidebet", SideBetPlayer.class, SideBetPlayer::new);
+    }
+
+    /**
+     * Prevents construction of this registry
+     */
+    private PlayerRegistry() {
+    }
+
+    /**
+     * Registers a factory under a name, replacing any factory already
+     * registered under it. Factories that hold configuration, such as a
+     * strategy chart, should be registered under a name of their own.
+     *
+     * @param name    name of the type of player
+     * @param factory factory creating the players
+     */
+    static void register(String name, PlayerFactory factory) {
+        FACTORIES.put(name, factory);
+    }
+
+    /**
+     * Registers a factory under a name, also making it the name players of the
+     * given class are recreated from
+     *
+     * @param name    name of the type of player
+     * @param type    class of player the factory creates
+     * @param factory factory creating the players
+     */
+    static void register(String name, Class<? extends Player> type,
+            PlayerFactory factory) {
+        register(name, factory);
+        NAMES.put(type, name);
+    }
+
+    /**
+     * Checks if a name has a factory registered
+     *
+     * @param name name of the type of player
+     * @return true if players of that name can be created
+     */
+    public static boolean isRegistered(String name) {
+        return FACTORIES.containsKey(name);
+    }
+
+    /**
+     * Creates a new player of a registered type
+     *
+     * @param name name of the type of player
+     * @return new player
+     * @throws IllegalArgumentException if no factory has the name
+     */
+    static Player create(String name) {
+        return factory(name).create();
+    }
+
+    /**
+     * Creates many new players of a registered type
+     *
+     * @param name  name of the type of player
+     * @param count amount of players to create
+     * @return list of new players
+     * @throws IllegalArgumentException if no factory has the name
+     */
+    static List<Player> create(String name, int count) {
+        PlayerFactory factory = factory(name);
+        List<Player> players = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            players.add(factory.create());
+        }
+
+        return players;
+    }
+
+    /**
+     * Retrieves the name a player's class is registered under by default
+     *
+     * @param p player to name
+     * @return name of the player's type, null if their class is not
+     * registered
+     */
+    static String nameOf(Player p) {
+        return NAMES.get(p.getClass());
+    }
+
+    /**
+     * Retrieves the factory registered under a name
+     *
+     * @param name name of the type of player
+     * @return the factory
+     * @throws IllegalArgumentException if no factory has the name
+     */
+    private static PlayerFactory factory(String name) {
+        PlayerFactory factory = FACTORIES.get(name);
+
+        if (factory == null) {
+            throw new IllegalArgumentException("No player type is registered "
+                    + "as " + name);
+        }
+
+        return factory;
+    }
+}
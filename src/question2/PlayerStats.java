@@ -0,0 +1,353 @@
+/** ***************************************************************************
+ *
+ * File        : PlayerStats.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that stores the results of every hand played from
+ *               one seat of a simulated table.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Each hand's winnings and bet are kept in RunningStats, with the co-moment
+ * of the two updated the same way, so the spread of the winnings and of the
+ * edge are added with Welford's method and merged with Chan's formula rather
+ * than taken from sums of squares, which lose their precision over millions
+ * of hands.
+ *
+ * @author Ali Jarjis
+ */
+public class PlayerStats implements Serializable {
+
+    /**
+     * PlayerStats's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 134;
+
+    /**
+     * Registered type of the players in this seat
+     */
+    private final String type;
+
+    /**
+     * Amount of hands settled
+     */
+    private long hands;
+
+    /**
+     * Amount of hands settled with each outcome, indexed by ordinal
+     */
+    private final long[] outcomes;
+
+    /**
+     * Total winnings, negative if the seat lost money
+     */
+    private long net;
+
+    /**
+     * Total of every bet made
+     */
+    private long wagered;
+
+    /**
+     * Running stats of each hand's winnings
+     */
+    private final RunningStats winnings;
+
+    /**
+     * Running stats of each hand's bet
+     */
+    private final RunningStats bets;
+
+    /**
+     * Sum of each hand's winnings less their mean times its bet less theirs,
+     * for the variance of the edge
+     */
+    private double coMoment;
+
+    /**
+     * Running stats of each hand's winnings divided by its bet
+     */
+    private final RunningStats returns;
+
+    /**
+     * Constructs empty stats for a seat
+     *
+     * @param type registered type of the players in the seat
+     */
+    public PlayerStats(String type) {
+        this.type = type;
+        this.outcomes = new long[Outcome.values().length];
+        this.winnings = new RunningStats();
+        this.bets = new RunningStats();
+        this.returns = new RunningStats();
+    }
+
+    /**
+     * Records a settled hand
+     *
+     * @param bet     the player's bet
+     * @param outcome how the hand was settled
+     * @param stake   the player's winnings, negative if they lost
+     */
+    public void record(int bet, Outcome outcome, int stake) {
+        this.hands++;
+        this.outcomes[outcome.ordinal()]++;
+        this.net += stake;
+        this.wagered += bet;
+
+        // Takes the winnings' distance from their mean before it moves
+        double delta = stake - this.winnings.getMean();
+
+        this.winnings.add(stake);
+        this.bets.add(bet);
+        this.coMoment += delta * (bet - this.bets.getMean());
+
+        if (bet > 0) {
+            this.returns.add((double) stake / bet);
+        }
+    }
+
+    /**
+     * Adds every hand recorded by other stats for the same seat
+     *
+     * @param other stats to add
+     */
+    public void merge(PlayerStats other) {
+        long total = this.hands + other.hands;
+
+        // Combines the co-moments before the means are merged
+        if (total > 0) {
+            this.coMoment += other.coMoment + (other.winnings.getMean()
+                    - this.winnings.getMean()) * (other.bets.getMean()
+                    - this.bets.getMean()) * this.hands * other.hands / total;
+        }
+
+        this.hands = total;
+        this.net += other.net;
+        this.wagered += other.wagered;
+        this.winnings.merge(other.winnings);
+        this.bets.merge(other.bets);
+        this.returns.merge(other.returns);
+
+        for (int i = 0; i < this.outcomes.length; i++) {
+            this.outcomes[i] += other.outcomes[i];
+        }
+    }
+
+    /**
+     * Retrieves the registered type of the players in this seat
+     *
+     * @return player type, null if not registered
+     */
+    public String getType() {
+        return this.type;
+    }
+
+    /**
+     * Retrieves the amount of hands settled
+     *
+     * @return hands settled
+     */
+    public long getHands() {
+        return this.hands;
+    }
+
+    /**
+     * Retrieves the amount of hands settled with an outcome
+     *
+     * @param outcome outcome to count
+     * @return hands with that outcome
+     */
+    public long getCount(Outcome outcome) {
+        return this.outcomes[outcome.ordinal()];
+    }
+
+    /**
+     * Retrieves the amount of hands won, including blackjacks
+     *
+     * @return hands won
+     */
+    public long getWins() {
+        return getCount(Outcome.WIN) + getCount(Outcome.BLACKJACK);
+    }
+
+    /**
+     * Retrieves the amount of hands lost, including busts
+     *
+     * @return hands lost
+     */
+    public long getLosses() {
+        return getCount(Outcome.LOSS) + getCount(Outcome.BUST);
+    }
+
+    /**
+     * Retrieves the amount of hands tied with the dealer
+     *
+     * @return hands pushed
+     */
+    public long getPushes() {
+        return getCount(Outcome.PUSH);
+    }
+
+    /**
+     * Retrieves the amount of blackjacks
+     *
+     * @return hands totalling 21
+     */
+    public long getBlackjacks() {
+        return getCount(Outcome.BLACKJACK);
+    }
+
+    /**
+     * Retrieves the total winnings
+     *
+     * @return net winnings, negative if the seat lost money
+     */
+    public long getNet() {
+        return this.net;
+    }
+
+    /**
+     * Retrieves the total of every bet made
+     *
+     * @return amount wagered
+     */
+    public long getWagered() {
+        return this.wagered;
+    }
+
+    /**
+     * Retrieves the mean winnings per hand
+     *
+     * @return mean winnings, 0 if no hands were played
+     */
+    public double getMean() {
+        if (this.hands == 0) {
+            return 0;
+        }
+
+        return (double) this.net / this.hands;
+    }
+
+    /**
+     * Retrieves the sample standard deviation of the winnings per hand
+     *
+     * @return standard deviation, 0 if fewer than two hands were played
+     */
+    public double getStdDev() {
+        return this.winnings.getStdDev();
+    }
+
+    /**
+     * Retrieves the player's edge, the total winnings over the total wagered,
+     * which weights each hand by its bet
+     *
+     * @return edge per unit wagered, 0 if nothing was wagered
+     */
+    public double getEdge() {
+        if (this.wagered == 0) {
+            return 0;
+        }
+
+        return (double) this.net / this.wagered;
+    }
+
+    /**
+     * Estimates the standard error of the edge as a ratio of two means, from
+     * the variance of each hand's winnings less the edge times its bet
+     *
+     * @return standard error of the edge, 0 if fewer than two hands were
+     * played or nothing was wagered
+     */
+    public double getEdgeStandardError() {
+        if (this.hands < 2 || this.wagered == 0) {
+            return 0;
+        }
+
+        // The residuals' mean is 0, so their squares are the winnings' and
+        // bets' deviations around their own means
+        double edge = getEdge();
+        double meanBet = this.bets.getMean();
+        double residuals = this.winnings.getSquaredDeviations()
+                - 2 * edge * this.coMoment
+                + edge * edge * this.bets.getSquaredDeviations();
+
+        return Math.sqrt(Math.max(residuals, 0) / (this.hands - 1)
+                / this.hands) / meanBet;
+    }
+
+    /**
+     * Retrieves the running stats of each hand's winnings divided by its bet.
+     * Their mean is the player's return per unit bet, and the house edge is
+     * its negative.
+     *
+     * @return running stats of the seat's returns
+     */
+    public RunningStats getReturns() {
+        return this.returns;
+    }
+
+    /**
+     * Writes the stats in a compact binary form, without the seat's type
+     *
+     * @param out where the stats are written
+     * @throws IOException if the stats can not be written
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(this.hands);
+
+        for (long count : this.outcomes) {
+            out.writeLong(count);
+        }
+
+        out.writeLong(this.net);
+        out.writeLong(this.wagered);
+        this.winnings.writeTo(out);
+        this.bets.writeTo(out);
+        out.writeDouble(this.coMoment);
+        this.returns.writeTo(out);
+    }
+
+    /**
+     * Replaces the stats with stats written by writeTo()
+     *
+     * @param in where the stats are read from
+     * @throws IOException if the stats can not be read
+     */
+    void readFrom(DataInput in) throws IOException {
+        this.hands = in.readLong();
+
+        for (int i = 0; i < this.outcomes.length; i++) {
+            this.outcomes[i] = in.readLong();
+        }
+
+        this.net = in.readLong();
+        this.wagered = in.readLong();
+        this.winnings.readFrom(in);
+        this.bets.readFrom(in);
+        this.coMoment = in.readDouble();
+        this.returns.readFrom(in);
+    }
+
+    /**
+     * Returns the stats in a printable format
+     *
+     * @return String of the seat's results
+     */
+    @Override
+    public String toString() {
+        return String.format("%s: net £%d over %d hands (%d won, %d lost, "
+                + "%d pushed, %d blackjacks)", this.type, this.net, this.hands,
+                getWins(), getLosses(), getPushes(), getBlackjacks());
+    }
+}
@@ -0,0 +1,153 @@
+/** ***************************************************************************
+ *
+ * File        : PrecisionTarget.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that describes how precisely a simulation must
+ *               measure each seat's return before it can stop.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.Serializable;
+
+/**
+ * A seat's return is its winnings divided by its bet on each hand, so the
+ * house edge is minus its mean. The target is met once the confidence
+ * interval of every seat's mean return is no wider than the half width on
+ * either side.
+ *
+ * @author Ali Jarjis
+ */
+public class PrecisionTarget implements Serializable {
+
+    /**
+     * PrecisionTarget's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 140;
+
+    /**
+     * Fewest hands a seat must play before its interval is trusted
+     */
+    private static final long MIN_HANDS = 10000;
+
+    /**
+     * Largest half width of the interval allowed, as a fraction of the bet
+     */
+    private final double halfWidth;
+
+    /**
+     * Probability the interval should cover the true return
+     */
+    private final double confidence;
+
+    /**
+     * Standard normal quantile of the interval's upper end
+     */
+    private final double z;
+
+    /**
+     * Constructs a target
+     *
+     * @param halfWidth  largest half width allowed as a fraction of the bet,
+     *                   0.0005 being ±0.05% on the house edge
+     * @param confidence probability the interval should cover the true
+     *                   return, between 0 and 1
+     * @throws IllegalArgumentException if either value is out of range
+     */
+    public PrecisionTarget(double halfWidth, double confidence) {
+        if (halfWidth <= 0 || confidence <= 0 || confidence >= 1) {
+            throw new IllegalArgumentException("Invalid precision target");
+        }
+
+        this.halfWidth = halfWidth;
+        this.confidence = confidence;
+        this.z = normalQuantile(1 - (1 - confidence) / 2);
+    }
+
+    /**
+     * Retrieves the largest half width allowed
+     *
+     * @return half width as a fraction of the bet
+     */
+    public double getHalfWidth() {
+        return this.halfWidth;
+    }
+
+    /**
+     * Retrieves the confidence of the interval
+     *
+     * @return confidence between 0 and 1
+     */
+    public double getConfidence() {
+        return this.confidence;
+    }
+
+    /**
+     * Calculates the half width of the interval around some stats' mean
+     *
+     * @param stats stats of a seat's returns
+     * @return half width of the confidence interval
+     */
+    public double halfWidthOf(RunningStats stats) {
+        return halfWidthOf(stats.getStandardError());
+    }
+
+    /**
+     * Calculates the half width of the interval around an estimate
+     *
+     * @param standardError standard error of the estimate
+     * @return half width of the confidence interval
+     */
+    public double halfWidthOf(double standardError) {
+        return this.z * standardError;
+    }
+
+    /**
+     * Checks whether every seat's returns are measured precisely enough
+     *
+     * @param seats stats of each seat's returns
+     * @return true if every seat's interval is narrow enough
+     */
+    public boolean isMet(RunningStats[] seats) {
+        for (RunningStats stats : seats) {
+            if (stats.getCount() < MIN_HANDS
+                    || halfWidthOf(stats) > this.halfWidth) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Approximates the standard normal quantile of a probability, using the
+     * rational approximation 26.2.23 from Abramowitz and Stegun
+     *
+     * @param p probability between 0 and 1
+     * @return quantile, accurate to within 0.00045
+     */
+    private static double normalQuantile(double p) {
+        double q = p < 0.5 ? p : 1 - p;
+        double t = Math.sqrt(-2 * Math.log(q));
+        double x = t - (2.515517 + 0.802853 * t + 0.010328 * t * t)
+                / (1 + 1.432788 * t + 0.189269 * t * t
+                + 0.001308 * t * t * t);
+
+        return p < 0.5 ? -x : x;
+    }
+
+    /**
+     * Returns the target in a printable format
+     *
+     * @return String of the half width and confidence
+     */
+    @Override
+    public String toString() {
+        return String.format("±%.4f%% at %.0f%%", this.halfWidth * 100,
+                this.confidence * 100);
+    }
+}
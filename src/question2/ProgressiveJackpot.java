@@ -0,0 +1,337 @@
+/** ***************************************************************************
+ *
+ * File        : ProgressiveJackpot.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class for a progressive jackpot shared by any number of
+ *               tables on any number of threads, each contributing a share of
+ *               every bet and paying the pot to a hand dealt the ACE and JACK
+ *               of SPADES.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import question2.Card.Rank;
+import question2.Card.Suit;
+
+/**
+ * Contributions are added to a LongAdder, which spreads them over cells so
+ * tables on different threads never wait on each other, and the pot is read
+ * without a lock from the sum of the cells less what has been paid out. An
+ * award takes every whole unit contributed and not yet paid by a single
+ * compare and set of the amount paid, so two hands winning at once can never
+ * both be paid the same contributions: the second is paid only what was
+ * contributed after the first. The house funds a starting pot on top of
+ * every award.
+ *
+ * Amounts are kept in ten thousandths of a unit, so a contribution of a
+ * basis point of a bet of one is not lost.
+ *
+ * @author Ali Jarjis
+ */
+public class ProgressiveJackpot {
+
+    /**
+     * Ten thousandths in a unit
+     */
+    private static final long SCALE = 10000;
+
+    /**
+     * Amount the house puts in the pot each time it is won
+     */
+    private final int reseed;
+
+    /**
+     * Basis points of every bet contributed to the pot
+     */
+    private final int rate;
+
+    /**
+     * Every contribution, in ten thousandths
+     */
+    private final LongAdder contributions;
+
+    /**
+     * Contributions paid out by awards, in ten thousandths
+     */
+    private final AtomicLong netPaid;
+
+    /**
+     * Times the jackpot has been won
+     */
+    private final AtomicLong hits;
+
+    /**
+     * Constructs a jackpot
+     *
+     * @param reseed amount the house puts in the pot each time it is won
+     * @param rate   basis points of every bet contributed, 1 to 10000
+     * @throws IllegalArgumentException if the reseed is negative or the rate
+     *                                  out of range
+     */
+    public ProgressiveJackpot(int reseed, int rate) {
+        if (reseed < 0 || rate < 1 || rate > SCALE) {
+            throw new IllegalArgumentException("A jackpot needs a reseed of "
+                    + "at least 0 and a rate of 1 to " + SCALE
+                    + " basis points");
+        }
+
+        this.reseed = reseed;
+        this.rate = rate;
+        this.contributions = new LongAdder();
+        this.netPaid = new AtomicLong();
+        this.hits = new AtomicLong();
+    }
+
+    /**
+     * Contributes the jackpot's share of some bets to the pot
+     *
+     * @param bets total of the bets
+     */
+    public void contribute(long bets) {
+        if (bets > 0) {
+            this.contributions.add(bets * this.rate);
+        }
+    }
+
+    /**
+     * Checks if a hand was dealt the ACE and JACK of SPADES as its first two
+     * cards, in either order
+     *
+     * @param h hand to check
+     * @return true if the hand wins the jackpot
+     */
+    public static boolean qualifies(Hand h) {
+        Iterator<Card> cards = h.iterator();
+
+        if (!cards.hasNext()) {
+            return false;
+        }
+
+        Card first = cards.next();
+
+        if (!cards.hasNext()) {
+            return false;
+        }
+
+        Card second = cards.next();
+
+        return isSpade(first, Rank.ACE) && isSpade(second, Rank.JACK)
+                || isSpade(first, Rank.JACK) && isSpade(second, Rank.ACE);
+    }
+
+    /**
+     * Checks if a card is a SPADE of a rank
+     *
+     * @param c    card to check
+     * @param rank rank wanted
+     * @return true if the card is that SPADE
+     */
+    private static boolean isSpade(Card c, Rank rank) {
+        return c.getSuit() == Suit.SPADES && c.getRank() == rank;
+    }
+
+    /**
+     * Awards the pot to a winning hand, taking every whole unit contributed
+     * and not yet paid, and reseeding the pot
+     *
+     * @return amount won
+     */
+    public int award() {
+        long taken;
+
+        // Retries if another hand was paid since the pot was read
+        while (true) {
+            long paid = this.netPaid.get();
+            long available = this.contributions.sum() - paid;
+
+            taken = available - available % SCALE;
+
+            if (this.netPaid.compareAndSet(paid, paid + taken)) {
+                break;
+            }
+        }
+
+        this.hits.incrementAndGet();
+
+        return (int) Math.min(Integer.MAX_VALUE,
+                this.reseed + taken / SCALE);
+    }
+
+    /**
+     * Reads the current pot without waiting for any table
+     *
+     * @return amount a hand would win now
+     */
+    public double getPot() {
+        return this.reseed + (double) (this.contributions.sum()
+                - this.netPaid.get()) / SCALE;
+    }
+
+    /**
+     * Retrieves the total contributed by every table
+     *
+     * @return amount contributed
+     */
+    public double getContributed() {
+        return (double) this.contributions.sum() / SCALE;
+    }
+
+    /**
+     * Retrieves the total paid out, including what the house put in
+     *
+     * @return amount awarded
+     */
+    public double getAwarded() {
+        return (double) this.netPaid.get() / SCALE
+                + (double) this.hits.get() * this.reseed;
+    }
+
+    /**
+     * Retrieves the times the jackpot has been won
+     *
+     * @return amount of awards
+     */
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    /**
+     * Returns the jackpot in a printable format
+     *
+     * @return pot, contributions, awards and hits
+     */
+    @Override
+    public String toString() {
+        return String.format("Pot %.2f, contributed %.2f, awarded %.2f in %d "
+                + "hits", this.getPot(), this.getContributed(),
+                this.getAwarded(), this.getHits());
+    }
+
+    /**
+     * Works out what a settled hand won on its main bet alone
+     *
+     * @param rules   rules the hand was played by
+     * @param bet     the player's bet
+     * @param outcome how the hand was settled
+     * @return winnings of the main bet, negative if it lost
+     */
+    private static int mainStake(TableRules rules, int bet, Outcome outcome) {
+        switch (outcome) {
+            case BUST:
+            case LOSS:
+                return -bet;
+            case BLACKJACK:
+                return rules.blackjackStake(bet);
+            case WIN:
+                return bet;
+            case PUSH:
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Plays many tables sharing a jackpot across a pool of threads, checking
+     * that every unit is accounted for and every winning hand was paid
+     *
+     * @param args tables, rounds per table and threads, all optional
+     */
+    public static void main(String[] args) {
+        final long NANOS_PER_MILLI = 1000000;
+        final int SEATS = 6;
+        final int BANKROLL = Integer.MAX_VALUE / 2;
+
+        int tables = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+
+        ProgressiveJackpot jackpot = new ProgressiveJackpot(1000, 100);
+        TableRules rules = new TableRules();
+        rules.setDecks(6);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Long>> played = new ArrayList<>();
+        long start = System.nanoTime();
+
+        for (int t = 0; t < tables; t++) {
+            final long seed = t;
+
+            // Returns what the table's players won beyond their main bets,
+            // or -1 if their balances don't match the stakes reported
+            played.add(pool.submit(() -> {
+                BlackjackTable table = new BlackjackTable(rules,
+                        new SplitRandom(seed));
+                List<BasicPlayer> players = new ArrayList<>();
+
+                for (int s = 0; s < SEATS; s++) {
+                    BasicPlayer p = new BasicPlayer();
+
+                    p.setBalance(BANKROLL);
+                    players.add(p);
+                    table.sit(p);
+                }
+
+                long[] net = new long[2];
+                SimulationConfig config = new SimulationConfig();
+
+                config.setSettlementListener((p, bet, outcome, stake, card)
+                        -> {
+                    net[0] += stake;
+                    net[1] += stake - mainStake(rules, bet, outcome);
+                });
+                table.setJackpot(jackpot);
+                table.simulate(rounds, config);
+
+                long balances = 0;
+
+                for (BasicPlayer p : players) {
+                    balances += p.getBalance() - (long) BANKROLL;
+                }
+
+                return balances == net[0] ? net[1] : -1;
+            }));
+        }
+
+        long paidToPlayers = 0;
+        boolean balanced = true;
+
+        try {
+            for (Future<Long> f : played) {
+                long won = f.get();
+
+                balanced &= won >= 0;
+                paidToPlayers += won;
+            }
+        } catch (InterruptedException | ExecutionException ex) {
+            System.out.println("Unable to play every table: "
+                    + ex.getMessage());
+            return;
+        } finally {
+            pool.shutdown();
+        }
+
+        long time = (System.nanoTime() - start) / NANOS_PER_MILLI;
+
+        System.out.println(jackpot);
+        System.out.printf("%d tables on %d threads played %d rounds in %dms, "
+                + "players were paid %d, every unit accounted for: %b%n",
+                tables, threads, (long) tables * rounds, time, paidToPlayers,
+                balanced && paidToPlayers == Math.round(jackpot.getAwarded())
+                && Math.abs(jackpot.getContributed() - (jackpot.getPot()
+                - jackpot.reseed) - (jackpot.getAwarded()
+                - jackpot.getHits() * jackpot.reseed)) < 1e-6);
+    }
+}
@@ -0,0 +1,175 @@
+/** ***************************************************************************
+ *
+ * File        : QTable.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that estimates the value of hitting and standing in
+ *               every hand state, against every dealer card, in every true
+ *               count bucket, from the returns of hands played.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.Arrays;
+
+/**
+ * Each value is the mean return per unit bet of the hands that took the
+ * action there, kept as a sum and a count so that tables filled on different
+ * threads merge into exactly the table one thread would have filled. A table
+ * is only ever used by one thread at a time.
+ *
+ * @author Ali Jarjis
+ */
+public class QTable {
+
+    /**
+     * Action of standing
+     */
+    public static final int STAND = 0;
+
+    /**
+     * Action of hitting
+     */
+    public static final int HIT = 1;
+
+    /**
+     * Amount of actions
+     */
+    private static final int ACTIONS = 2;
+
+    /**
+     * Amount of values in a table
+     */
+    private static final int SIZE = LearnedPolicy.BUCKETS
+            * StrategyChart.UPCARDS * HandState.STATES * ACTIONS;
+
+    /**
+     * Sum of the returns of each action
+     */
+    private final double[] returns;
+
+    /**
+     * Amount of times each action was taken
+     */
+    private final long[] visits;
+
+    /**
+     * Constructs an empty table
+     */
+    public QTable() {
+        this.returns = new double[SIZE];
+        this.visits = new long[SIZE];
+    }
+
+    /**
+     * Constructs a copy of another table
+     *
+     * @param other table to copy
+     */
+    public QTable(QTable other) {
+        this.returns = Arrays.copyOf(other.returns, SIZE);
+        this.visits = Arrays.copyOf(other.visits, SIZE);
+    }
+
+    /**
+     * Calculates the position of an action
+     *
+     * @param state  HandState of the hand
+     * @param upcard value of the dealer's card, ACE being 11
+     * @param bucket true count bucket
+     * @param action STAND or HIT
+     * @return index into the table
+     */
+    static int index(int state, int upcard, int bucket, int action) {
+        return ((bucket * StrategyChart.UPCARDS + upcard
+                - StrategyChart.LOWEST_UPCARD) * HandState.STATES + state)
+                * ACTIONS + action;
+    }
+
+    /**
+     * Records the return of a hand that took an action
+     *
+     * @param index   index of the action
+     * @param perUnit the hand's return per unit bet
+     */
+    void record(int index, double perUnit) {
+        this.returns[index] += perUnit;
+        this.visits[index]++;
+    }
+
+    /**
+     * Adds the returns recorded in another table
+     *
+     * @param other table to add
+     */
+    public void merge(QTable other) {
+        for (int i = 0; i < SIZE; i++) {
+            this.returns[i] += other.returns[i];
+            this.visits[i] += other.visits[i];
+        }
+    }
+
+    /**
+     * Estimates the value of an action
+     *
+     * @param state  HandState of the hand
+     * @param upcard value of the dealer's card, ACE being 11
+     * @param bucket true count bucket
+     * @param action STAND or HIT
+     * @return mean return per unit bet, NaN if never taken
+     */
+    public double value(int state, int upcard, int bucket, int action) {
+        int i = index(state, upcard, bucket, action);
+
+        return this.visits[i] == 0 ? Double.NaN
+                : this.returns[i] / this.visits[i];
+    }
+
+    /**
+     * Retrieves the amount of times an action was taken
+     *
+     * @param state  HandState of the hand
+     * @param upcard value of the dealer's card, ACE being 11
+     * @param bucket true count bucket
+     * @param action STAND or HIT
+     * @return times taken
+     */
+    public long visits(int state, int upcard, int bucket, int action) {
+        return this.visits[index(state, upcard, bucket, action)];
+    }
+
+    /**
+     * Creates the greedy policy of the table, taking the action of higher
+     * value wherever both have been tried, and otherwise what a fallback
+     * policy does
+     *
+     * @param fallback policy followed where an action is untried
+     * @return the greedy policy
+     */
+    public LearnedPolicy greedy(LearnedPolicy fallback) {
+        long[] hits = new long[LearnedPolicy.BUCKETS * StrategyChart.UPCARDS];
+
+        for (int b = 0; b < LearnedPolicy.BUCKETS; b++) {
+            for (int u = 0; u < StrategyChart.UPCARDS; u++) {
+                int upcard = u + StrategyChart.LOWEST_UPCARD;
+
+                for (int s = 0; s < HandState.STATES; s++) {
+                    double stand = this.value(s, upcard, b, STAND);
+                    double hit = this.value(s, upcard, b, HIT);
+                    boolean takesCard = Double.isNaN(stand)
+                            || Double.isNaN(hit) ? fallback.hit(s, upcard, b)
+                            : hit > stand;
+
+                    if (takesCard) {
+                        hits[b * StrategyChart.UPCARDS + u] |= 1L << s;
+                    }
+                }
+            }
+        }
+
+        return new LearnedPolicy(hits);
+    }
+}
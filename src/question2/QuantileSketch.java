@@ -0,0 +1,321 @@
+/** ***************************************************************************
+ *
+ * File        : QuantileSketch.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that estimates the quantiles of a stream of values
+ *               in bounded memory, to within a relative accuracy.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Values are counted in buckets whose bounds grow geometrically, in the way
+ * of DDSketch, so any quantile is estimated to within the relative accuracy
+ * of the true value. Zero is counted exactly, and only values of zero or more
+ * are accepted. Sketches with the same accuracy merge by adding their
+ * buckets, so sketches filled on separate threads can be combined. If more
+ * than the maximum amount of buckets would be needed, the lowest buckets are
+ * collapsed together, losing accuracy only for the smallest values.
+ *
+ * @author Ali Jarjis
+ */
+public class QuantileSketch implements Serializable {
+
+    /**
+     * QuantileSketch's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 142;
+
+    /**
+     * Buckets kept by default
+     */
+    private static final int DEFAULT_MAX_BUCKETS = 2048;
+
+    /**
+     * Relative accuracy of every estimate
+     */
+    private final double accuracy;
+
+    /**
+     * Ratio of each bucket's upper bound to its lower bound
+     */
+    private final double gamma;
+
+    /**
+     * Natural log of gamma
+     */
+    private final double logGamma;
+
+    /**
+     * Most buckets kept at once
+     */
+    private final int maxBuckets;
+
+    /**
+     * Count of each bucket, from the bucket with the lowest index
+     */
+    private long[] buckets;
+
+    /**
+     * Index of the first bucket
+     */
+    private int offset;
+
+    /**
+     * Amount of values equal to zero
+     */
+    private long zeroCount;
+
+    /**
+     * Amount of values added
+     */
+    private long count;
+
+    /**
+     * Smallest value added
+     */
+    private double min;
+
+    /**
+     * Largest value added
+     */
+    private double max;
+
+    /**
+     * Constructs an empty sketch with a relative accuracy
+     *
+     * @param accuracy relative accuracy of every estimate, 0.01 being 1%
+     */
+    public QuantileSketch(double accuracy) {
+        this(accuracy, DEFAULT_MAX_BUCKETS);
+    }
+
+    /**
+     * Constructs an empty sketch with a relative accuracy and a bound on its
+     * memory
+     *
+     * @param accuracy   relative accuracy of every estimate, between 0 and 1
+     * @param maxBuckets most buckets kept at once
+     * @throws IllegalArgumentException if either value is out of range
+     */
+    public QuantileSketch(double accuracy, int maxBuckets) {
+        if (accuracy <= 0 || accuracy >= 1 || maxBuckets < 1) {
+            throw new IllegalArgumentException("Invalid sketch parameters");
+        }
+
+        this.accuracy = accuracy;
+        this.gamma = (1 + accuracy) / (1 - accuracy);
+        this.logGamma = Math.log(this.gamma);
+        this.maxBuckets = maxBuckets;
+        this.buckets = new long[0];
+        this.min = Double.POSITIVE_INFINITY;
+        this.max = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Adds a value
+     *
+     * @param value value to add, zero or more
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void add(double value) {
+        if (!(value >= 0)) {
+            throw new IllegalArgumentException("Sketches only accept values "
+                    + "of zero or more");
+        }
+
+        this.count++;
+        this.min = Math.min(this.min, value);
+        this.max = Math.max(this.max, value);
+
+        if (value == 0) {
+            this.zeroCount++;
+        } else {
+            this.addToBucket(this.indexOf(value), 1);
+        }
+    }
+
+    /**
+     * Adds every value added to another sketch
+     *
+     * @param other sketch to add
+     * @throws IllegalArgumentException if the sketches' accuracies differ
+     */
+    public void merge(QuantileSketch other) {
+        if (other.gamma != this.gamma) {
+            throw new IllegalArgumentException("Only sketches with the same "
+                    + "accuracy can be merged");
+        }
+
+        for (int i = 0; i < other.buckets.length; i++) {
+            if (other.buckets[i] > 0) {
+                this.addToBucket(other.offset + i, other.buckets[i]);
+            }
+        }
+
+        this.zeroCount += other.zeroCount;
+        this.count += other.count;
+        this.min = Math.min(this.min, other.min);
+        this.max = Math.max(this.max, other.max);
+    }
+
+    /**
+     * Estimates a quantile of the values added
+     *
+     * @param q quantile between 0 and 1, 0.5 being the median
+     * @return estimate within the relative accuracy, NaN if no values were
+     *         added
+     */
+    public double quantile(double q) {
+        if (this.count == 0) {
+            return Double.NaN;
+        }
+
+        // Rank of the value wanted, from 0
+        long rank = (long) (q * (this.count - 1));
+
+        if (rank < this.zeroCount) {
+            return 0;
+        }
+
+        long seen = this.zeroCount;
+
+        for (int i = 0; i < this.buckets.length; i++) {
+            seen += this.buckets[i];
+
+            if (seen > rank) {
+                double estimate = 2 * Math.pow(this.gamma, this.offset + i)
+                        / (this.gamma + 1);
+
+                return Math.max(this.min, Math.min(this.max, estimate));
+            }
+        }
+
+        return this.max;
+    }
+
+    /**
+     * Retrieves the amount of values added
+     *
+     * @return count
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Retrieves the relative accuracy of every estimate
+     *
+     * @return accuracy
+     */
+    public double getAccuracy() {
+        return this.accuracy;
+    }
+
+    /**
+     * Retrieves the smallest value added
+     *
+     * @return minimum, infinite if no values were added
+     */
+    public double getMin() {
+        return this.min;
+    }
+
+    /**
+     * Retrieves the largest value added
+     *
+     * @return maximum, negative infinity if no values were added
+     */
+    public double getMax() {
+        return this.max;
+    }
+
+    /**
+     * Works out the index of the bucket a value above zero belongs in
+     *
+     * @param value value above zero
+     * @return bucket index
+     */
+    private int indexOf(double value) {
+        return (int) Math.ceil(Math.log(value) / this.logGamma);
+    }
+
+    /**
+     * Adds to the count of a bucket, growing the buckets to reach it and
+     * collapsing the lowest buckets if there would be too many
+     *
+     * @param index index of the bucket
+     * @param n     amount to add
+     */
+    private void addToBucket(int index, long n) {
+        if (this.buckets.length == 0) {
+            this.buckets = new long[1];
+            this.offset = index;
+        }
+
+        if (index < this.offset) {
+            // Grows downwards as far as allowed, counting anything lower in
+            // the lowest bucket
+            int grow = Math.min(this.offset - index,
+                    this.maxBuckets - this.buckets.length);
+            long[] grown = new long[this.buckets.length + grow];
+
+            System.arraycopy(this.buckets, 0, grown, grow,
+                    this.buckets.length);
+            this.buckets = grown;
+            this.offset -= grow;
+            index = Math.max(index, this.offset);
+        } else if (index >= this.offset + this.buckets.length) {
+            int length = index - this.offset + 1;
+
+            if (length > this.maxBuckets) {
+                this.collapse(length - this.maxBuckets);
+            }
+
+            this.buckets = Arrays.copyOf(this.buckets,
+                    index - this.offset + 1);
+        }
+
+        this.buckets[index - this.offset] += n;
+    }
+
+    /**
+     * Collapses the lowest buckets into the bucket above them
+     *
+     * @param amount amount of buckets to remove
+     */
+    private void collapse(int amount) {
+        amount = Math.min(amount, this.buckets.length);
+
+        long collapsed = 0;
+        for (int i = 0; i < amount; i++) {
+            collapsed += this.buckets[i];
+        }
+
+        long[] kept = Arrays.copyOfRange(this.buckets, amount,
+                Math.max(this.buckets.length, amount + 1));
+        kept[0] += collapsed;
+
+        this.buckets = kept;
+        this.offset += amount;
+    }
+
+    /**
+     * Returns the sketch in a printable format
+     *
+     * @return String of the count and quartiles
+     */
+    @Override
+    public String toString() {
+        return String.format("%d values, min %.0f, quartiles %.0f / %.0f / "
+                + "%.0f, max %.0f", this.count, this.min, quantile(0.25),
+                quantile(0.5), quantile(0.75), this.max);
+    }
+}
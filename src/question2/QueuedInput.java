@@ -0,0 +1,183 @@
+/** ***************************************************************************
+ *
+ * File        : QueuedInput.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class which reads a player's choices as another thread,
+ *               such as one reading a connection, hands them over.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.Closeable;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Reading a choice blocks the table's thread until one is handed over. On a
+ * virtual thread that only parks the thread, so an idle session costs little
+ * more than its table.
+ *
+ * @author Ali Jarjis
+ */
+public class QueuedInput implements PlayerInput, Closeable {
+
+    /**
+     * Handed over in place of a choice once the input is closed
+     */
+    private static final String END = new String("");
+
+    /**
+     * Choices handed over but not yet read
+     */
+    private final BlockingQueue<String> choices;
+
+    /**
+     * The next choice if it has been looked at but not yet read
+     */
+    private String nextChoice;
+
+    /**
+     * Whether the table's thread is waiting for a choice
+     */
+    private volatile boolean waiting;
+
+    /**
+     * Constructs an empty input
+     */
+    public QueuedInput() {
+        this.choices = new LinkedBlockingQueue<>();
+    }
+
+    /**
+     * Hands over a choice for the table to read
+     *
+     * @param choice choice made
+     */
+    public void offer(String choice) {
+        this.choices.add(choice);
+    }
+
+    /**
+     * Checks if the table's thread is waiting for a choice
+     *
+     * @return true if waiting
+     */
+    public boolean isWaiting() {
+        return this.waiting;
+    }
+
+    /**
+     * Checks if there is another choice, waiting for one if necessary
+     *
+     * @return true if there is another choice, false once closed
+     */
+    @Override
+    public boolean hasNext() {
+        return this.peek() != END;
+    }
+
+    /**
+     * Checks if the next choice is a number, waiting for one if necessary
+     *
+     * @return true if the next choice is a number
+     */
+    @Override
+    public boolean hasNextInt() {
+        String choice = this.peek();
+
+        if (choice == END) {
+            return false;
+        }
+
+        try {
+            Integer.parseInt(choice);
+
+            return true;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads the next choice as a word, waiting for one if necessary
+     *
+     * @return next choice
+     */
+    @Override
+    public String next() {
+        String choice = this.peek();
+
+        if (choice == END) {
+            throw new NoSuchElementException("The input has been closed");
+        }
+
+        this.nextChoice = null;
+
+        return choice;
+    }
+
+    /**
+     * Reads the next choice as a number, waiting for one if necessary
+     *
+     * @return next choice
+     */
+    @Override
+    public int nextInt() {
+        String choice = this.peek();
+
+        if (choice == END) {
+            throw new NoSuchElementException("The input has been closed");
+        }
+
+        int value;
+
+        try {
+            value = Integer.parseInt(choice);
+        } catch (NumberFormatException ex) {
+            throw new InputMismatchException(choice);
+        }
+
+        this.nextChoice = null;
+
+        return value;
+    }
+
+    /**
+     * Closes the input, so the table reads no more choices once those
+     * already handed over are read
+     */
+    @Override
+    public void close() {
+        this.choices.add(END);
+    }
+
+    /**
+     * Looks at the next choice without reading it, waiting for one if
+     * necessary
+     *
+     * @return next choice, END once closed, which is never read so every
+     * later look sees it too
+     */
+    private String peek() {
+        if (this.nextChoice == null) {
+            this.waiting = true;
+
+            try {
+                this.nextChoice = this.choices.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                this.nextChoice = END;
+            } finally {
+                this.waiting = false;
+            }
+        }
+
+        return this.nextChoice;
+    }
+}
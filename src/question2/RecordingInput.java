@@ -0,0 +1,124 @@
+/** ***************************************************************************
+ *
+ * File        : RecordingInput.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : An input that passes on the choices of another input while
+ *               writing each one to a decision log.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Every choice read is written on a line of its own, so a ScriptedInput over
+ * the log gives the same choices in the same order.
+ *
+ * @author Ali Jarjis
+ */
+public class RecordingInput implements PlayerInput, Closeable {
+
+    /**
+     * Input the choices are read from
+     */
+    private final PlayerInput source;
+
+    /**
+     * Where each choice is written
+     */
+    private final Writer log;
+
+    /**
+     * Constructs an input which records the choices of another
+     *
+     * @param source input the choices are read from
+     * @param log    where each choice is written
+     */
+    public RecordingInput(PlayerInput source, Writer log) {
+        this.source = source;
+        this.log = log;
+    }
+
+    /**
+     * Checks if the source has another choice
+     *
+     * @return true if there is another choice
+     */
+    @Override
+    public boolean hasNext() {
+        return this.source.hasNext();
+    }
+
+    /**
+     * Checks if the source's next choice is a number
+     *
+     * @return true if the next choice is a number
+     */
+    @Override
+    public boolean hasNextInt() {
+        return this.source.hasNextInt();
+    }
+
+    /**
+     * Reads the source's next choice as a word, recording it
+     *
+     * @return next choice
+     * @throws UncheckedIOException if the log can not be written
+     */
+    @Override
+    public String next() {
+        return this.record(this.source.next());
+    }
+
+    /**
+     * Reads the source's next choice as a number, recording it
+     *
+     * @return next choice
+     * @throws UncheckedIOException if the log can not be written
+     */
+    @Override
+    public int nextInt() {
+        int choice = this.source.nextInt();
+
+        this.record(String.valueOf(choice));
+
+        return choice;
+    }
+
+    /**
+     * Writes a choice to the log, flushing it so a crashed game still has
+     * every choice made
+     *
+     * @param choice choice read
+     * @return the choice
+     * @throws UncheckedIOException if the log can not be written
+     */
+    private String record(String choice) {
+        try {
+            this.log.write(choice);
+            this.log.write(System.lineSeparator());
+            this.log.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return choice;
+    }
+
+    /**
+     * Closes the log
+     *
+     * @throws IOException if the log can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.log.close();
+    }
+}
@@ -0,0 +1,399 @@
+/** ***************************************************************************
+ *
+ * File        : RuleSweep.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that simulates every combination of a grid of table
+ *               rules and bet spreads, writing a CSV row for each as it
+ *               finishes.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Each cell of the grid is a set of rules and the bet spread of a counting
+ * chart player, played as a LockstepEngine job. Cells are run as tasks on a
+ * MonteCarloRunner's pool, so one set of threads, already warmed up by the
+ * first cells, plays the whole grid in a single JVM. A cell's spread is a
+ * player who bets one unit at a running count of 0 or less, rising a unit
+ * for each point of the count up to the spread. A cell's edge is its net
+ * over the amount wagered, so a spread's bigger bets at better counts weigh
+ * more, and its interval is that of a ratio of two means.
+ *
+ * @author Ali Jarjis
+ */
+public class RuleSweep {
+
+    /**
+     * Header of the CSV written
+     */
+    static final String CSV_HEADER = "cell,decks,penetration,dealer,"
+            + "blackjack_pays,min_bet,max_bet,spread,rounds,hands,net,wagered,"
+            + "player_edge,edge_95";
+
+    /**
+     * Confidence of the interval written for each edge
+     */
+    private static final double CONFIDENCE = 0.95;
+
+    /**
+     * Amounts of decks to sweep
+     */
+    private List<Integer> decks;
+
+    /**
+     * Penetrations to sweep
+     */
+    private List<Double> penetrations;
+
+    /**
+     * Dealer soft 17 rules to sweep, true for H17
+     */
+    private List<Boolean> dealerHitsSoft17;
+
+    /**
+     * Blackjack payouts to sweep, each a numerator and denominator
+     */
+    private final List<int[]> payouts;
+
+    /**
+     * Bet limits to sweep, each a minimum and maximum
+     */
+    private final List<int[]> betLimits;
+
+    /**
+     * Bet spreads to sweep, in units
+     */
+    private List<Integer> spreads;
+
+    /**
+     * Rounds played in each cell
+     */
+    private final long rounds;
+
+    /**
+     * Tables played at once in each cell
+     */
+    private final int lanes;
+
+    /**
+     * Seed of every cell, so cells differ only by their rules
+     */
+    private final long seed;
+
+    /**
+     * Constructs a sweep of one cell with the default rules and a flat bet
+     *
+     * @param rounds rounds played in each cell
+     * @param lanes  tables played at once in each cell
+     * @param seed   seed of every cell
+     */
+    public RuleSweep(long rounds, int lanes, long seed) {
+        TableRules defaults = new TableRules();
+
+        this.decks = Collections.singletonList(defaults.getDecks());
+        this.penetrations = Collections.singletonList(
+                defaults.getPenetration());
+        this.dealerHitsSoft17 = Collections.singletonList(
+                defaults.isDealerHitsSoft17());
+        this.payouts = new ArrayList<>();
+        this.payouts.add(new int[]{defaults.getBlackjackNumerator(),
+            defaults.getBlackjackDenominator()});
+        this.betLimits = new ArrayList<>();
+        this.betLimits.add(new int[]{defaults.getMinBet(),
+            defaults.getMaxBet()});
+        this.spreads = Collections.singletonList(1);
+        this.rounds = rounds;
+        this.lanes = lanes;
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the amounts of decks to sweep
+     *
+     * @param decks amounts of decks
+     */
+    public void setDecks(Integer... decks) {
+        this.decks = Arrays.asList(decks);
+    }
+
+    /**
+     * Sets the penetrations to sweep
+     *
+     * @param penetrations fractions of the cards dealt before reshuffling
+     */
+    public void setPenetrations(Double... penetrations) {
+        this.penetrations = Arrays.asList(penetrations);
+    }
+
+    /**
+     * Sets the dealer soft 17 rules to sweep
+     *
+     * @param dealerHitsSoft17 true for H17, false for S17
+     */
+    public void setDealerHitsSoft17(Boolean... dealerHitsSoft17) {
+        this.dealerHitsSoft17 = Arrays.asList(dealerHitsSoft17);
+    }
+
+    /**
+     * Replaces the blackjack payouts swept with one payout, more being added
+     * with addPayout()
+     *
+     * @param numerator   payout numerator
+     * @param denominator payout denominator
+     */
+    public void setPayout(int numerator, int denominator) {
+        this.payouts.clear();
+        this.addPayout(numerator, denominator);
+    }
+
+    /**
+     * Adds a blackjack payout to sweep
+     *
+     * @param numerator   payout numerator
+     * @param denominator payout denominator
+     */
+    public void addPayout(int numerator, int denominator) {
+        this.payouts.add(new int[]{numerator, denominator});
+    }
+
+    /**
+     * Replaces the bet limits swept with one pair, more being added with
+     * addBetLimits()
+     *
+     * @param minBet minimum bet
+     * @param maxBet maximum bet
+     */
+    public void setBetLimits(int minBet, int maxBet) {
+        this.betLimits.clear();
+        this.addBetLimits(minBet, maxBet);
+    }
+
+    /**
+     * Adds a pair of bet limits to sweep
+     *
+     * @param minBet minimum bet
+     * @param maxBet maximum bet
+     */
+    public void addBetLimits(int minBet, int maxBet) {
+        this.betLimits.add(new int[]{minBet, maxBet});
+    }
+
+    /**
+     * Sets the bet spreads to sweep
+     *
+     * @param spreads largest bet of each spread, in units
+     */
+    public void setSpreads(Integer... spreads) {
+        this.spreads = Arrays.asList(spreads);
+    }
+
+    /**
+     * Works out every cell of the grid which can be played, leaving out
+     * cells whose limits would refuse the player's bets
+     *
+     * @return cells, each a set of rules and a bet spread
+     */
+    List<Cell> cells() {
+        List<Cell> cells = new ArrayList<>();
+
+        for (int d : this.decks) {
+            for (double p : this.penetrations) {
+                for (boolean h17 : this.dealerHitsSoft17) {
+                    for (int[] payout : this.payouts) {
+                        for (int[] limits : this.betLimits) {
+                            for (int spread : this.spreads) {
+                                if (limits[0] > BasicPlayer.DEFAULT_BET
+                                        || spread * BasicPlayer.DEFAULT_BET
+                                        > limits[1]) {
+                                    continue;
+                                }
+
+                                TableRules rules = new TableRules();
+                                rules.setDecks(d);
+                                rules.setPenetration(p);
+                                rules.setDealerHitsSoft17(h17);
+                                rules.setBlackjackPayout(payout[0],
+                                        payout[1]);
+                                rules.setBets(limits[0], limits[1]);
+
+                                cells.add(new Cell(cells.size(), rules,
+                                        spread));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return cells;
+    }
+
+    /**
+     * Plays every cell across a runner's pool, writing the CSV header then a
+     * row for each cell as it finishes
+     *
+     * @param runner runner whose threads play the cells
+     * @param csv    where the rows are written, flushed after each
+     * @return amount of cells played
+     * @throws IOException          if the CSV can not be written
+     * @throws InterruptedException if interrupted while waiting for cells
+     * @throws ExecutionException   if a cell fails
+     */
+    public int run(MonteCarloRunner runner, Writer csv) throws IOException,
+            InterruptedException, ExecutionException {
+        List<Cell> cells = this.cells();
+        List<Future<?>> futures = new ArrayList<>();
+
+        csv.write(CSV_HEADER + System.lineSeparator());
+        csv.flush();
+
+        for (Cell cell : cells) {
+            futures.add(runner.submit(() -> {
+                String row = this.play(cell);
+
+                // Rows are written whole, in the order cells finish
+                synchronized (csv) {
+                    try {
+                        csv.write(row + System.lineSeparator());
+                        csv.flush();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                }
+
+                return null;
+            }));
+        }
+
+        for (Future<?> f : futures) {
+            f.get();
+        }
+
+        return cells.size();
+    }
+
+    /**
+     * Plays a cell, giving its CSV row
+     *
+     * @param cell cell to play
+     * @return CSV row of the cell's results
+     */
+    private String play(Cell cell) {
+        SimulationJob job = new SimulationJob(
+                Collections.singletonList(spreadPlayer(cell.spread)),
+                this.rounds, this.lanes, this.seed, new SimulationConfig(),
+                cell.rules);
+        PlayerStats stats = new LockstepEngine(job).run().getSeat(0);
+        TableRules r = cell.rules;
+
+        return String.format("%d,%d,%.3f,%s,%d:%d,%d,%d,%d,%d,%d,%d,%d,%.6f,"
+                + "%.6f", cell.index, r.getDecks(), r.getPenetration(),
+                r.isDealerHitsSoft17() ? "H17" : "S17",
+                r.getBlackjackNumerator(), r.getBlackjackDenominator(),
+                r.getMinBet(), r.getMaxBet(), cell.spread, this.rounds,
+                stats.getHands(), stats.getNet(), stats.getWagered(),
+                stats.getEdge(), new PrecisionTarget(1, CONFIDENCE)
+                .halfWidthOf(stats.getEdgeStandardError()));
+    }
+
+    /**
+     * Registers a counting chart player with a bet spread, if not already
+     *
+     * @param spread largest bet in units
+     * @return registered type of the player
+     */
+    static String spreadPlayer(int spread) {
+        final int STAND_ON = 17;
+        String type = "spread" + spread;
+
+        if (!PlayerRegistry.isRegistered(type)) {
+            int[] ramp = new int[spread + 1];
+
+            for (int i = 0; i < ramp.length; i++) {
+                ramp[i] = Math.max(i, 1);
+            }
+
+            PlayerRegistry.register(type, () -> new ChartPlayer(
+                    StrategyChart.threshold(STAND_ON), ramp,
+                    CountingSystem.HI_LO));
+        }
+
+        return type;
+    }
+
+    /**
+     * A set of rules and a bet spread to play
+     */
+    static class Cell {
+
+        /**
+         * Position of the cell in the grid
+         */
+        final int index;
+
+        /**
+         * Rules the cell is played by
+         */
+        final TableRules rules;
+
+        /**
+         * Largest bet of the player, in units
+         */
+        final int spread;
+
+        /**
+         * Constructs a cell
+         *
+         * @param index  position of the cell in the grid
+         * @param rules  rules the cell is played by
+         * @param spread largest bet of the player, in units
+         */
+        Cell(int index, TableRules rules, int spread) {
+            this.index = index;
+            this.rules = rules;
+            this.spread = spread;
+        }
+    }
+
+    /**
+     * Sweeps a grid of common rule variations, writing the CSV to the console
+     *
+     * @param args rounds per cell and tables played at once, both optional
+     */
+    public static void main(String[] args) {
+        long rounds = args.length > 0 ? Long.parseLong(args[0]) : 1000000;
+        int lanes = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+
+        RuleSweep sweep = new RuleSweep(rounds, lanes, 2018);
+        sweep.setDecks(1, 2, 6);
+        sweep.setPenetrations(0.5, 0.75);
+        sweep.setDealerHitsSoft17(false, true);
+        sweep.setPayout(2, 1);
+        sweep.addPayout(3, 2);
+        sweep.setSpreads(1, 4, 8);
+
+        Writer console = new OutputStreamWriter(System.out);
+
+        try (MonteCarloRunner runner = new MonteCarloRunner()) {
+            sweep.run(runner, console);
+        } catch (IOException | InterruptedException | ExecutionException ex) {
+            System.out.println("Unable to finish the sweep: "
+                    + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/** ***************************************************************************
+ *
+ * File        : RunningCount.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A running count kept by the dealer for a counting system,
+ *               shared by every player at the table counting with it.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.Serializable;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+public class RunningCount implements Serializable {
+
+    /**
+     * RunningCount's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 130;
+
+    /**
+     * The counting system this count is kept with
+     */
+    private final CountingSystem system;
+
+    /**
+     * The current running count
+     */
+    private int count;
+
+    /**
+     * Amount of cards seen since the deck was last shuffled
+     */
+    private int cardsSeen;
+
+    /**
+     * Constructs an empty running count for a counting system
+     *
+     * @param system counting system to count with
+     */
+    public RunningCount(CountingSystem system) {
+        this.system = system;
+        this.count = 0;
+        this.cardsSeen = 0;
+    }
+
+    /**
+     * Updates the count for a card that has just been dealt
+     *
+     * @param c card dealt
+     */
+    public void cardDealt(Card c) {
+        this.count += this.system.delta(c);
+        this.cardsSeen++;
+    }
+
+    /**
+     * Resets the count when the deck has been reshuffled
+     */
+    public void reset() {
+        this.count = 0;
+        this.cardsSeen = 0;
+    }
+
+    /**
+     * Sets the count back to a value it had earlier in a game
+     *
+     * @param count     running count
+     * @param cardsSeen cards seen since the last reshuffle
+     */
+    void restore(int count, int cardsSeen) {
+        this.count = count;
+        this.cardsSeen = cardsSeen;
+    }
+
+    /**
+     * Retrieves the counting system used
+     *
+     * @return counting system
+     */
+    public CountingSystem getSystem() {
+        return this.system;
+    }
+
+    /**
+     * Retrieves the current running count
+     *
+     * @return running count
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * Retrieves the amount of cards seen since the last shuffle
+     *
+     * @return cards seen
+     */
+    public int getCardsSeen() {
+        return this.cardsSeen;
+    }
+}
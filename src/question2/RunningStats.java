@@ -0,0 +1,194 @@
+/** ***************************************************************************
+ *
+ * File        : RunningStats.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that keeps the running mean and variance of a stream
+ *               of values without storing them.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Values are added with Welford's method, which stays accurate however many
+ * values are added, and two sets of stats are merged with Chan's formula, so
+ * stats kept on separate threads can be combined exactly.
+ *
+ * @author Ali Jarjis
+ */
+public class RunningStats implements Serializable {
+
+    /**
+     * RunningStats's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 139;
+
+    /**
+     * Amount of values added
+     */
+    private long count;
+
+    /**
+     * Mean of the values added
+     */
+    private double mean;
+
+    /**
+     * Sum of the squared differences of each value from the mean
+     */
+    private double m2;
+
+    /**
+     * Constructs empty stats
+     */
+    public RunningStats() {
+    }
+
+    /**
+     * Constructs a copy of other stats
+     *
+     * @param other stats to copy
+     */
+    public RunningStats(RunningStats other) {
+        this.count = other.count;
+        this.mean = other.mean;
+        this.m2 = other.m2;
+    }
+
+    /**
+     * Adds a value
+     *
+     * @param x value to add
+     */
+    public void add(double x) {
+        this.count++;
+
+        double delta = x - this.mean;
+        this.mean += delta / this.count;
+        this.m2 += delta * (x - this.mean);
+    }
+
+    /**
+     * Adds every value added to other stats
+     *
+     * @param other stats to add
+     */
+    public void merge(RunningStats other) {
+        if (other.count == 0) {
+            return;
+        }
+
+        long total = this.count + other.count;
+        double delta = other.mean - this.mean;
+
+        this.m2 += other.m2 + delta * delta * this.count * other.count / total;
+        this.mean += delta * other.count / total;
+        this.count = total;
+    }
+
+    /**
+     * Retrieves the amount of values added
+     *
+     * @return count
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Retrieves the mean of the values added
+     *
+     * @return mean, 0 if nothing was added
+     */
+    public double getMean() {
+        return this.mean;
+    }
+
+    /**
+     * Retrieves the sum of the squared differences of each value from the
+     * mean
+     *
+     * @return squared deviations, 0 if nothing was added
+     */
+    double getSquaredDeviations() {
+        return this.m2;
+    }
+
+    /**
+     * Retrieves the sample variance of the values added
+     *
+     * @return variance, 0 if fewer than two values were added
+     */
+    public double getVariance() {
+        if (this.count < 2) {
+            return 0;
+        }
+
+        return this.m2 / (this.count - 1);
+    }
+
+    /**
+     * Retrieves the sample standard deviation of the values added
+     *
+     * @return standard deviation
+     */
+    public double getStdDev() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Retrieves the standard error of the mean
+     *
+     * @return standard error, infinite if fewer than two values were added
+     */
+    public double getStandardError() {
+        if (this.count < 2) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        return Math.sqrt(getVariance() / this.count);
+    }
+
+    /**
+     * Writes the stats in a compact binary form
+     *
+     * @param out where the stats are written
+     * @throws IOException if the stats can not be written
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(this.count);
+        out.writeDouble(this.mean);
+        out.writeDouble(this.m2);
+    }
+
+    /**
+     * Replaces the stats with stats written by writeTo()
+     *
+     * @param in where the stats are read from
+     * @throws IOException if the stats can not be read
+     */
+    void readFrom(DataInput in) throws IOException {
+        this.count = in.readLong();
+        this.mean = in.readDouble();
+        this.m2 = in.readDouble();
+    }
+
+    /**
+     * Returns the stats in a printable format
+     *
+     * @return String of the mean and standard error
+     */
+    @Override
+    public String toString() {
+        return String.format("%.6f ± %.6f over %d", this.mean,
+                getStandardError(), this.count);
+    }
+}
@@ -0,0 +1,271 @@
+/** ***************************************************************************
+ *
+ * File        : ScriptedInput.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that reads a session's choices from a script, a file
+ *               or stream of choices separated by whitespace, so that games
+ *               can be played without a user.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits the script into choices itself rather than with a Scanner, which
+ * matches every choice against regular expressions.
+ *
+ * @author Ali Jarjis
+ */
+public class ScriptedInput implements PlayerInput, Closeable {
+
+    /**
+     * Amount of characters read from the script at once
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The script being read
+     */
+    private final Reader script;
+
+    /**
+     * Characters read from the script but not yet split into choices
+     */
+    private final char[] buffer;
+
+    /**
+     * Position of the next unused character in the buffer
+     */
+    private int position;
+
+    /**
+     * Amount of characters in the buffer
+     */
+    private int limit;
+
+    /**
+     * The next choice if it has been looked at but not yet read
+     */
+    private String nextChoice;
+
+    /**
+     * Amount of choices read so far
+     */
+    private long choicesRead;
+
+    /**
+     * Constructs a scripted input reading from a reader
+     *
+     * @param script reader of the script
+     */
+    public ScriptedInput(Reader script) {
+        this.script = script;
+        this.buffer = new char[BUFFER_SIZE];
+        this.position = 0;
+        this.limit = 0;
+        this.choicesRead = 0;
+    }
+
+    /**
+     * Constructs a scripted input reading from a stream of UTF-8 text
+     *
+     * @param script stream of the script
+     */
+    public ScriptedInput(InputStream script) {
+        this(new InputStreamReader(script, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Constructs a scripted input reading from a file
+     *
+     * @param filename name of file to read from
+     * @throws FileNotFoundException if the file does not exist
+     */
+    public ScriptedInput(String filename) throws FileNotFoundException {
+        this(new FileInputStream(filename));
+    }
+
+    /**
+     * Checks if there is another choice in the script
+     *
+     * @return true if there is another choice
+     */
+    @Override
+    public boolean hasNext() {
+        return this.peek() != null;
+    }
+
+    /**
+     * Checks if the next choice in the script is a number
+     *
+     * @return true if the next choice is a number
+     */
+    @Override
+    public boolean hasNextInt() {
+        String choice = this.peek();
+
+        if (choice == null) {
+            return false;
+        }
+
+        try {
+            Integer.parseInt(choice);
+
+            return true;
+        } catch (NumberFormatException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads the next choice in the script as a word
+     *
+     * @return next choice
+     */
+    @Override
+    public String next() {
+        String choice = this.peek();
+
+        if (choice == null) {
+            throw new NoSuchElementException("The script has ended");
+        }
+
+        this.nextChoice = null;
+        this.choicesRead++;
+
+        return choice;
+    }
+
+    /**
+     * Reads the next choice in the script as a number
+     *
+     * @return next choice
+     */
+    @Override
+    public int nextInt() {
+        String choice = this.peek();
+
+        if (choice == null) {
+            throw new NoSuchElementException("The script has ended");
+        }
+
+        int value;
+
+        try {
+            value = Integer.parseInt(choice);
+        } catch (NumberFormatException ex) {
+            throw new InputMismatchException(choice);
+        }
+
+        this.nextChoice = null;
+        this.choicesRead++;
+
+        return value;
+    }
+
+    /**
+     * Retrieves the amount of choices read so far
+     *
+     * @return choices read
+     */
+    public long getChoicesRead() {
+        return this.choicesRead;
+    }
+
+    /**
+     * Closes the script
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        this.script.close();
+    }
+
+    /**
+     * Looks at the next choice without reading it
+     *
+     * @return next choice, null if the script has ended
+     */
+    private String peek() {
+        if (this.nextChoice == null) {
+            this.nextChoice = this.readChoice();
+        }
+
+        return this.nextChoice;
+    }
+
+    /**
+     * Splits the next choice from the script, skipping whitespace
+     *
+     * @return next choice, null if the script has ended
+     */
+    private String readChoice() {
+        // Skips whitespace before the choice
+        while (true) {
+            if (this.position == this.limit && !this.fill()) {
+                return null;
+            }
+
+            if (!Character.isWhitespace(this.buffer[this.position])) {
+                break;
+            }
+
+            this.position++;
+        }
+
+        StringBuilder choice = new StringBuilder();
+
+        // Collects characters until whitespace or the end of the script
+        while (this.position < this.limit || this.fill()) {
+            char c = this.buffer[this.position];
+
+            if (Character.isWhitespace(c)) {
+                break;
+            }
+
+            choice.append(c);
+            this.position++;
+        }
+
+        return choice.toString();
+    }
+
+    /**
+     * Reads more of the script into the buffer
+     *
+     * @return true if more characters were read, false at the end of the
+     * script
+     */
+    private boolean fill() {
+        try {
+            int read = this.script.read(this.buffer, 0, this.buffer.length);
+
+            if (read <= 0) {
+                return false;
+            }
+
+            this.position = 0;
+            this.limit = read;
+
+            return true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
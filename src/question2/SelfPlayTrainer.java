@@ -0,0 +1,294 @@
+/** ***************************************************************************
+ *
+ * File        : SelfPlayTrainer.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that trains a LearningPlayer's policy by Monte Carlo
+ *               control, with many tables of learning players playing in
+ *               parallel and their QTables merged after every epoch.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Each epoch every table plays from the policy learned so far, exploring the
+ * other action now and then, and records the returns of its decisions in a
+ * QTable of its own, so no thread ever waits on another. The tables are then
+ * merged in order into the running QTable, whose greedy policy the next
+ * epoch plays. Tables are split from the seed rather than given to threads,
+ * so the policy learned only depends on the seed and never on the threads.
+ * Training stops once an epoch changes few enough decisions.
+ *
+ * @author Ali Jarjis
+ */
+public class SelfPlayTrainer {
+
+    /**
+     * Learning players at each table
+     */
+    private static final int SEATS = 4;
+
+    /**
+     * Balance each learning player starts with, enough never to go broke
+     */
+    private static final int BANKROLL = Integer.MAX_VALUE / 2;
+
+    /**
+     * Lowest chance of exploring, reached in the last epochs
+     */
+    private static final double MIN_EXPLORATION = 0.02;
+
+    /**
+     * Rules the tables are played by
+     */
+    private final TableRules rules;
+
+    /**
+     * Seed every table's stream is split from
+     */
+    private final long seed;
+
+    /**
+     * Tables played each epoch
+     */
+    private int tables;
+
+    /**
+     * Rounds each table plays an epoch
+     */
+    private int roundsPerTable;
+
+    /**
+     * Chance of exploring in the first epoch, halving every few epochs
+     */
+    private double exploration;
+
+    /**
+     * Decisions an epoch may change and still count as converged
+     */
+    private int tolerance;
+
+    /**
+     * Returns of every decision recorded so far
+     */
+    private final QTable table;
+
+    /**
+     * Decisions changed by each epoch
+     */
+    private final List<Integer> changes;
+
+    /**
+     * Constructs a trainer
+     *
+     * @param rules rules the tables are played by
+     * @param seed  seed every table's stream is split from
+     */
+    public SelfPlayTrainer(TableRules rules, long seed) {
+        this.rules = new TableRules(rules);
+        this.seed = seed;
+        this.tables = 16;
+        this.roundsPerTable = 20000;
+        this.exploration = 0.2;
+        this.tolerance = 5;
+        this.table = new QTable();
+        this.changes = new ArrayList<>();
+    }
+
+    /**
+     * Sets how many tables are played each epoch and the rounds each plays
+     *
+     * @param tables         tables played each epoch
+     * @param roundsPerTable rounds each table plays an epoch
+     * @throws IllegalArgumentException if either is not positive
+     */
+    public void setEpochSize(int tables, int roundsPerTable) {
+        if (tables < 1 || roundsPerTable < 1) {
+            throw new IllegalArgumentException("An epoch must play at least "
+                    + "one round at one table");
+        }
+
+        this.tables = tables;
+        this.roundsPerTable = roundsPerTable;
+    }
+
+    /**
+     * Sets the chance of exploring in the first epoch
+     *
+     * @param exploration chance of taking the other action, 0 to 1
+     * @throws IllegalArgumentException if out of range
+     */
+    public void setExploration(double exploration) {
+        if (exploration < 0 || exploration > 1) {
+            throw new IllegalArgumentException("Exploration must be between "
+                    + "0 and 1");
+        }
+
+        this.exploration = exploration;
+    }
+
+    /**
+     * Sets how many decisions an epoch may change and still count as
+     * converged
+     *
+     * @param tolerance decisions changed
+     */
+    public void setTolerance(int tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Trains for up to a number of epochs across a runner's pool, stopping
+     * early once converged
+     *
+     * @param runner    runner whose threads the tables are played on
+     * @param maxEpochs most epochs to train for
+     * @return the policy learned
+     * @throws InterruptedException if interrupted while waiting for tables
+     * @throws ExecutionException   if a table fails
+     */
+    public LearnedPolicy train(MonteCarloRunner runner, int maxEpochs)
+            throws InterruptedException, ExecutionException {
+        final int HALF_LIFE = 4;
+
+        LearnedPolicy untrained = LearnedPolicy.threshold(
+                LearningPlayer.UNTRAINED_THRESHOLD);
+        LearnedPolicy policy = this.table.greedy(untrained);
+        SplitRandom master = new SplitRandom(this.seed);
+
+        for (int epoch = 0; epoch < maxEpochs; epoch++) {
+            double explore = Math.max(MIN_EXPLORATION, this.exploration
+                    * Math.pow(0.5, (double) epoch / HALF_LIFE));
+            List<Future<QTable>> played = new ArrayList<>();
+            final LearnedPolicy current = policy;
+
+            for (int t = 0; t < this.tables; t++) {
+                SplitRandom stream = master.split();
+
+                played.add(runner.submit(
+                        () -> this.playTable(current, explore, stream)));
+            }
+
+            // Merges in table order so the policy never depends on timing
+            for (Future<QTable> f : played) {
+                this.table.merge(f.get());
+            }
+
+            LearnedPolicy next = this.table.greedy(untrained);
+            int changed = next.differences(policy);
+
+            this.changes.add(changed);
+            policy = next;
+
+            if (changed <= this.tolerance) {
+                break;
+            }
+        }
+
+        return policy;
+    }
+
+    /**
+     * Plays one table of learning players for an epoch
+     *
+     * @param policy      policy the players decide from
+     * @param exploration chance of taking the other action
+     * @param stream      the table's random number stream
+     * @return returns of every decision made at the table
+     */
+    private QTable playTable(LearnedPolicy policy, double exploration,
+            SplitRandom stream) {
+        QTable learned = new QTable();
+        BlackjackTable blackjackTable = new BlackjackTable(this.rules,
+                stream.split());
+        SplitRandom explorer = stream.split();
+
+        for (int s = 0; s < SEATS; s++) {
+            LearningPlayer p = new LearningPlayer(policy,
+                    this.rules.getDecks());
+
+            p.setBalance(BANKROLL);
+            p.learnInto(learned, exploration, explorer);
+            blackjackTable.sit(p);
+        }
+
+        blackjackTable.simulate(this.roundsPerTable, new SimulationConfig(
+                SimulationConfig.BrokePolicy.STOP));
+
+        return learned;
+    }
+
+    /**
+     * Retrieves the returns of every decision recorded so far
+     *
+     * @return copy of the QTable
+     */
+    public QTable getTable() {
+        return new QTable(this.table);
+    }
+
+    /**
+     * Retrieves the decisions changed by each epoch trained
+     *
+     * @return unmodifiable list of changes
+     */
+    public List<Integer> getChanges() {
+        return Collections.unmodifiableList(this.changes);
+    }
+
+    /**
+     * Trains a policy, saves it, then compares it exactly against the basic
+     * and intermediate players at a neutral count
+     *
+     * @param args most epochs, rounds per table an epoch, and file to save
+     *             to, all optional
+     */
+    public static void main(String[] args) {
+        final long NANOS_PER_MILLI = 1000000;
+
+        int epochs = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+        String filename = args.length > 2 ? args[2] : "learned.policy";
+
+        TableRules rules = new TableRules();
+        SelfPlayTrainer trainer = new SelfPlayTrainer(rules, 2018);
+        trainer.setEpochSize(16, rounds);
+
+        try (MonteCarloRunner runner = new MonteCarloRunner()) {
+            long start = System.nanoTime();
+            LearnedPolicy policy = trainer.train(runner, epochs);
+            long time = (System.nanoTime() - start) / NANOS_PER_MILLI;
+
+            System.out.println(policy);
+            System.out.println("Decisions changed each epoch: "
+                    + trainer.getChanges() + ", trained in " + time + "ms");
+
+            policy.save(filename);
+            LearnedPolicy loaded = LearnedPolicy.load(filename);
+            System.out.println("Saved to " + filename + ", reloads the same: "
+                    + (loaded.differences(policy) == 0));
+
+            PlayerRegistry.register("learned",
+                    () -> new LearningPlayer(loaded, rules.getDecks()));
+
+            for (String type : new String[]{"basic", "intermediate",
+                "learned"}) {
+                System.out.printf("%s: exact expected return %.4f%%%n", type,
+                        new HandEnumerator(type, rules).enumerate(runner)
+                                .getExpectedReturn() * 100);
+            }
+        } catch (InterruptedException | ExecutionException | IOException ex) {
+            System.out.println("Unable to train: " + ex.getMessage());
+        }
+    }
+}
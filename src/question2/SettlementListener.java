@@ -0,0 +1,35 @@
+/** ***************************************************************************
+ *
+ * File        : SettlementListener.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : An interface for something told about every bet the dealer
+ *               settles, such as a simulation collecting results.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+@FunctionalInterface
+interface SettlementListener {
+
+    /**
+     * settled: This method is called by the dealer after settling a player's
+     * bet
+     *
+     * @param p           player whose bet was settled
+     * @param bet         the player's bet
+     * @param outcome     how the hand was settled
+     * @param stake       the player's winnings, negative if they lost,
+     *                    including any jackpot won
+     * @param dealersCard the dealer's first card
+     */
+    void settled(Player p, int bet, Outcome outcome, int stake,
+            Card dealersCard);
+}
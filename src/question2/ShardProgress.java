@@ -0,0 +1,105 @@
+/** ***************************************************************************
+ *
+ * File        : ShardProgress.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that stores how far a shard of a simulation job has
+ *               got, so it can be carried on after the JVM is stopped.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+/**
+ * A finished shard only needs its result. A shard part way through also
+ * needs the state of its table, from which it carries on exactly as if it
+ * had never stopped.
+ *
+ * @author Ali Jarjis
+ */
+public class ShardProgress {
+
+    /**
+     * Index of the shard
+     */
+    private final int shard;
+
+    /**
+     * Amount of rounds the shard has played
+     */
+    private final long roundsPlayed;
+
+    /**
+     * Results of the rounds played
+     */
+    private final SimulationResult result;
+
+    /**
+     * State of the shard's table, null once the shard has finished
+     */
+    private final GameCheckpoint table;
+
+    /**
+     * Constructs the progress of a shard
+     *
+     * @param shard        index of the shard
+     * @param roundsPlayed amount of rounds the shard has played
+     * @param result       results of the rounds played, not changed after
+     * @param table        state of the shard's table, null if the shard has
+     *                     finished
+     */
+    ShardProgress(int shard, long roundsPlayed, SimulationResult result,
+            GameCheckpoint table) {
+        this.shard = shard;
+        this.roundsPlayed = roundsPlayed;
+        this.result = result;
+        this.table = table;
+    }
+
+    /**
+     * Retrieves the index of the shard
+     *
+     * @return shard
+     */
+    public int getShard() {
+        return this.shard;
+    }
+
+    /**
+     * Retrieves the amount of rounds the shard has played
+     *
+     * @return rounds played
+     */
+    public long getRoundsPlayed() {
+        return this.roundsPlayed;
+    }
+
+    /**
+     * Retrieves the results of the rounds played
+     *
+     * @return results so far
+     */
+    public SimulationResult getResult() {
+        return this.result;
+    }
+
+    /**
+     * Retrieves the state of the shard's table
+     *
+     * @return table state, null if the shard has finished
+     */
+    GameCheckpoint getTable() {
+        return this.table;
+    }
+
+    /**
+     * Checks whether the shard has finished
+     *
+     * @return true if the shard has played all its rounds or stopped
+     */
+    public boolean isFinished() {
+        return this.table == null;
+    }
+}
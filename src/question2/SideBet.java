@@ -0,0 +1,489 @@
+/** ***************************************************************************
+ *
+ * File        : SideBet.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : An enum of the side bets settled from a player's first two
+ *               cards and the dealer's card, each paid from a table looked up
+ *               by the cards' codes.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import question2.Card.Rank;
+import question2.Card.Suit;
+
+/**
+ * Every payout is worked out once for every combination of card codes, so
+ * settling a side bet is one array lookup. Payouts are to one, and -1 where
+ * the side bet loses.
+ *
+ * @author Ali Jarjis
+ */
+public enum SideBet {
+    /**
+     * The player's two cards are a pair: 25 to 1 of the same suit, 12 to 1
+     * of the same colour, 6 to 1 otherwise
+     */
+    PERFECT_PAIRS(false, SideBet::perfectPairs),
+    /**
+     * The player's two cards and the dealer's card make a poker hand: 100 to
+     * 1 for suited trips, 40 to 1 for a straight flush, 30 to 1 for three of
+     * a kind, 10 to 1 for a straight and 5 to 1 for a flush
+     */
+    TWENTY_ONE_PLUS_THREE(true, SideBet::twentyOnePlusThree),
+    /**
+     * The player's two cards total 20: 125 to 1 for two QUEENs of HEARTS, 19
+     * to 1 for the same rank and suit, 9 to 1 for the same suit and 4 to 1
+     * otherwise. The game deals the dealer no second card to check for
+     * blackjack, so the usual top award for a dealer blackjack is not paid.
+     */
+    LUCKY_LADIES(false, SideBet::luckyLadies);
+
+    /**
+     * Amount of distinct card codes
+     */
+    private static final int CODES = TableRules.CARDS_PER_DECK;
+
+    /**
+     * Whether the dealer's card is part of the side bet
+     */
+    private final boolean withUpcard;
+
+    /**
+     * Payout of every combination of card codes, indexed by index()
+     */
+    private final byte[] payouts;
+
+    /**
+     * Works out the payout of one combination of cards
+     */
+    @FunctionalInterface
+    private interface PayoutRule {
+
+        /**
+         * payout: @return the payout to one of the cards, -1 if the side bet
+         * loses
+         */
+        int payout(Card first, Card second, Card upcard);
+    }
+
+    /**
+     * Creates a side bet, working out its payout for every combination of
+     * card codes
+     *
+     * @param withUpcard whether the dealer's card is part of the side bet
+     * @param rule       payout of one combination of cards
+     */
+    SideBet(boolean withUpcard, PayoutRule rule) {
+        this.withUpcard = withUpcard;
+        this.payouts = new byte[withUpcard ? CODES * CODES * CODES
+                : CODES * CODES];
+
+        for (int first = 0; first < CODES; first++) {
+            for (int second = 0; second < CODES; second++) {
+                for (int up = 0; up < (withUpcard ? CODES : 1); up++) {
+                    this.payouts[this.index(first, second, up)]
+                            = (byte) rule.payout(Card.fromCode(first),
+                                    Card.fromCode(second), Card.fromCode(up));
+                }
+            }
+        }
+    }
+
+    /**
+     * Packs the codes of the cards a side bet depends on into an index
+     *
+     * @param first  code of the player's first card
+     * @param second code of the player's second card
+     * @param upcard code of the dealer's card
+     * @return index into the payouts
+     */
+    private int index(int first, int second, int upcard) {
+        int pair = first * CODES + second;
+
+        return this.withUpcard ? pair * CODES + upcard : pair;
+    }
+
+    /**
+     * Looks up the payout of a side bet
+     *
+     * @param first  code of the player's first card
+     * @param second code of the player's second card
+     * @param upcard code of the dealer's card
+     * @return payout to one, -1 if the side bet loses
+     */
+    public int payout(int first, int second, int upcard) {
+        return this.payouts[this.index(first, second, upcard)];
+    }
+
+    /**
+     * Works out the winnings of a side bet
+     *
+     * @param stake  amount staked on the side bet
+     * @param first  code of the player's first card
+     * @param second code of the player's second card
+     * @param upcard code of the dealer's card
+     * @return winnings, negative if the stake is lost
+     */
+    public int settle(int stake, int first, int second, int upcard) {
+        return stake * this.payouts[this.index(first, second, upcard)];
+    }
+
+    /**
+     * Works out the payout of Perfect Pairs
+     *
+     * @param first  the player's first card
+     * @param second the player's second card
+     * @param upcard the dealer's card, not used
+     * @return payout to one, -1 if lost
+     */
+    private static int perfectPairs(Card first, Card second, Card upcard) {
+        if (first.getRank() != second.getRank()) {
+            return -1;
+        } else if (first.getSuit() == second.getSuit()) {
+            return 25;
+        } else if (isRed(first) == isRed(second)) {
+            return 12;
+        }
+
+        return 6;
+    }
+
+    /**
+     * Works out the payout of 21+3
+     *
+     * @param first  the player's first card
+     * @param second the player's second card
+     * @param upcard the dealer's card
+     * @return payout to one, -1 if lost
+     */
+    private static int twentyOnePlusThree(Card first, Card second,
+            Card upcard) {
+        boolean flush = first.getSuit() == second.getSuit()
+                && second.getSuit() == upcard.getSuit();
+        boolean trips = first.getRank() == second.getRank()
+                && second.getRank() == upcard.getRank();
+        boolean straight = isStraight(first.getRank().ordinal(),
+                second.getRank().ordinal(), upcard.getRank().ordinal());
+
+        if (trips && flush) {
+            return 100;
+        } else if (straight && flush) {
+            return 40;
+        } else if (trips) {
+            return 30;
+        } else if (straight) {
+            return 10;
+        } else if (flush) {
+            return 5;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Works out the payout of Lucky Ladies
+     *
+     * @param first  the player's first card
+     * @param second the player's second card
+     * @param upcard the dealer's card, not used
+     * @return payout to one, -1 if lost
+     */
+    private static int luckyLadies(Card first, Card second, Card upcard) {
+        final int TWENTY = 20;
+
+        if (first.getRank().getVALUE() + second.getRank().getVALUE()
+                != TWENTY) {
+            return -1;
+        }
+
+        boolean suited = first.getSuit() == second.getSuit();
+        boolean matched = suited && first.getRank() == second.getRank();
+
+        if (matched && first.getRank() == Rank.QUEEN
+                && first.getSuit() == Suit.HEARTS) {
+            return 125;
+        } else if (matched) {
+            return 19;
+        } else if (suited) {
+            return 9;
+        }
+
+        return 4;
+    }
+
+    /**
+     * Checks if a card's suit is red
+     *
+     * @param c card to check
+     * @return true if HEARTS or DIAMONDS
+     */
+    private static boolean isRed(Card c) {
+        return c.getSuit() == Suit.HEARTS || c.getSuit() == Suit.DIAMONDS;
+    }
+
+    /**
+     * Checks if three ranks are consecutive, ACE being high or low
+     *
+     * @param a ordinal of the first rank
+     * @param b ordinal of the second rank
+     * @param c ordinal of the third rank
+     * @return true if the ranks make a straight
+     */
+    private static boolean isStraight(int a, int b, int c) {
+        int low = Math.min(a, Math.min(b, c));
+        int high = Math.max(a, Math.max(b, c));
+        boolean distinct = a != b && b != c && a != c;
+        int ace = Rank.ACE.ordinal();
+
+        // ACE, TWO and THREE
+        if (distinct && high == ace && low == Rank.TWO.ordinal()) {
+            return a + b + c - high - low == Rank.THREE.ordinal();
+        }
+
+        return distinct && high - low == 2;
+    }
+
+    /**
+     * Creates the composition of a full shoe
+     *
+     * @param decks amount of decks in the shoe
+     * @return amount of cards of each code
+     */
+    public static int[] fullShoe(int decks) {
+        int[] shoe = new int[CODES];
+
+        Arrays.fill(shoe, decks);
+
+        return shoe;
+    }
+
+    /**
+     * Works out the exact expected return of a side bet dealt from a shoe,
+     * splitting the sum by the player's first card across a runner's pool
+     *
+     * @param shoe   amount of cards of each code left in the shoe
+     * @param runner runner whose threads share the sum
+     * @return expected winnings per unit staked, the house edge being its
+     * negative
+     * @throws InterruptedException if interrupted while waiting for the sum
+     * @throws ExecutionException   if part of the sum fails
+     */
+    public double expectedReturn(int[] shoe, MonteCarloRunner runner)
+            throws InterruptedException, ExecutionException {
+        int[] counts = shoe.clone();
+        List<Future<Double>> parts = new ArrayList<>();
+
+        for (int first = 0; first < CODES; first++) {
+            final int code = first;
+
+            parts.add(runner.submit(() -> this.sumFrom(code, counts)));
+        }
+
+        double sum = 0;
+
+        for (Future<Double> part : parts) {
+            sum += part.get();
+        }
+
+        return sum / draws(counts, this.withUpcard ? 3 : 2);
+    }
+
+    /**
+     * Works out the exact expected return of a side bet dealt from a shoe on
+     * the calling thread, giving the same as expectedReturn()
+     *
+     * @param shoe amount of cards of each code left in the shoe
+     * @return expected winnings per unit staked
+     */
+    public double expectedReturnSequential(int[] shoe) {
+        double sum = 0;
+
+        for (int first = 0; first < CODES; first++) {
+            sum += this.sumFrom(first, shoe);
+        }
+
+        return sum / draws(shoe, this.withUpcard ? 3 : 2);
+    }
+
+    /**
+     * Sums the payout of every ordered draw starting with one card, each
+     * weighted by the ways it can be drawn without replacement
+     *
+     * @param first code of the player's first card
+     * @param shoe  amount of cards of each code in the shoe
+     * @return weighted sum of payouts
+     */
+    private double sumFrom(int first, int[] shoe) {
+        double sum = 0;
+        long ways1 = shoe[first];
+
+        if (ways1 == 0) {
+            return 0;
+        }
+
+        for (int second = 0; second < CODES; second++) {
+            long ways2 = ways1 * (shoe[second] - (second == first ? 1 : 0));
+
+            if (ways2 <= 0) {
+                continue;
+            }
+
+            if (!this.withUpcard) {
+                sum += ways2 * (double) this.payout(first, second, 0);
+                continue;
+            }
+
+            for (int up = 0; up < CODES; up++) {
+                long left = shoe[up] - (up == first ? 1 : 0)
+                        - (up == second ? 1 : 0);
+
+                if (left > 0) {
+                    sum += ways2 * left
+                            * (double) this.payout(first, second, up);
+                }
+            }
+        }
+
+        return sum;
+    }
+
+    /**
+     * Counts the ordered ways of drawing some cards from a shoe
+     *
+     * @param shoe  amount of cards of each code in the shoe
+     * @param cards amount of cards drawn
+     * @return ways of drawing them
+     */
+    private static double draws(int[] shoe, int cards) {
+        long total = 0;
+
+        for (int count : shoe) {
+            total += count;
+        }
+
+        double ways = 1;
+
+        for (int i = 0; i < cards; i++) {
+            ways *= total - i;
+        }
+
+        return ways;
+    }
+
+    /**
+     * Works out the exact house edge of every side bet for some shoes, then
+     * checks each against side bettors at a simulated table and times what
+     * settling them adds to a round
+     *
+     * @param args rounds to simulate, optional
+     */
+    public static void main(String[] args) {
+        final long NANOS_PER_MILLI = 1000000;
+        final double NANOS_PER_MICRO = 1000;
+        final int DECKS = 6;
+        final int BANKROLL = Integer.MAX_VALUE / 2;
+        final int[] SHOES = {1, 2, 6, 8};
+        final int PASSES = 10;
+
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        double[] exact = new double[values().length];
+
+        try (MonteCarloRunner runner = new MonteCarloRunner()) {
+            for (SideBet bet : values()) {
+                StringBuilder line = new StringBuilder(bet.toString());
+                long start = System.nanoTime();
+
+                for (int decks : SHOES) {
+                    double edge = -bet.expectedReturn(fullShoe(decks),
+                            runner);
+
+                    line.append(String.format(", %d decks %.4f%%", decks,
+                            edge * 100));
+
+                    if (decks == DECKS) {
+                        exact[bet.ordinal()] = -edge;
+                    }
+                }
+
+                System.out.println(line + ", house edges worked out in "
+                        + (System.nanoTime() - start) / NANOS_PER_MILLI
+                        + "ms, sequential agrees: "
+                        + (bet.expectedReturnSequential(fullShoe(DECKS))
+                        == exact[bet.ordinal()]));
+            }
+        } catch (InterruptedException | ExecutionException ex) {
+            System.out.println("Unable to work out the house edges: "
+                    + ex.getMessage());
+            return;
+        }
+
+        TableRules rules = new TableRules();
+        rules.setDecks(DECKS);
+
+        // Plays the same table without and then with side bets
+        BlackjackTable plain = new BlackjackTable(rules, new SplitRandom(2018));
+        BlackjackTable sided = new BlackjackTable(rules, new SplitRandom(2018));
+        SideBetPlayer[] bettors = new SideBetPlayer[values().length * 2];
+
+        for (int i = 0; i < bettors.length; i++) {
+            BasicPlayer p = new BasicPlayer();
+
+            bettors[i] = new SideBetPlayer(values()[i % values().length],
+                    BasicPlayer.DEFAULT_BET);
+            p.setBalance(BANKROLL);
+            bettors[i].setBalance(BANKROLL);
+            plain.sit(p);
+            sided.sit(bettors[i]);
+        }
+
+        SimulationResult plainResult = new SimulationResult(
+                plain.getSeatTypes());
+        SimulationResult sidedResult = new SimulationResult(
+                sided.getSeatTypes());
+        long plainTime = 0;
+        long sidedTime = 0;
+
+        // Takes turns so both tables are timed as the code warms up
+        for (int pass = 0; pass < PASSES; pass++) {
+            long start = System.nanoTime();
+            plainResult.merge(plain.simulate(rounds / PASSES,
+                    new SimulationConfig()));
+            plainTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            sidedResult.merge(sided.simulate(rounds / PASSES,
+                    new SimulationConfig()));
+            sidedTime += System.nanoTime() - start;
+        }
+
+        for (SideBet bet : values()) {
+            RunningStats observed = new RunningStats();
+
+            for (SideBetPlayer p : bettors) {
+                if (p.makeSideBet(bet) > 0) {
+                    observed.merge(p.getSideResults());
+                }
+            }
+
+            System.out.printf("%s: simulated return %.4f (SE %.4f), exact "
+                    + "%.4f%n", bet, observed.getMean(),
+                    observed.getStandardError(), exact[bet.ordinal()]);
+        }
+
+        System.out.printf("%.2fus a round without side bets, %.2fus with, "
+                + "main bets unchanged: %b%n",
+                plainTime / NANOS_PER_MICRO / rounds,
+                sidedTime / NANOS_PER_MICRO / rounds,
+                plainResult.toString().equals(sidedResult.toString()));
+    }
+}
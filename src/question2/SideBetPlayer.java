@@ -0,0 +1,109 @@
+/** ***************************************************************************
+ *
+ * File        : SideBetPlayer.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class which extends a basic player, also staking the same
+ *               amount on one side bet every round they can afford it.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+public class SideBetPlayer extends BotPlayer implements SideBettor {
+
+    /**
+     * SideBetPlayer's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 151;
+
+    /**
+     * Side bet the player stakes on
+     */
+    private final SideBet sideBet;
+
+    /**
+     * Amount the player stakes on the side bet
+     */
+    private final int stake;
+
+    /**
+     * Winnings per unit staked of each side bet settled, not saved with the
+     * game
+     */
+    private transient RunningStats sideResults;
+
+    /**
+     * Constructs a player staking the default bet on 21+3
+     */
+    public SideBetPlayer() {
+        this(SideBet.TWENTY_ONE_PLUS_THREE, DEFAULT_BET);
+    }
+
+    /**
+     * Constructs a player staking on a side bet
+     *
+     * @param sideBet side bet to stake on
+     * @param stake   amount to stake each round
+     * @throws IllegalArgumentException if the stake is not positive
+     */
+    public SideBetPlayer(SideBet sideBet, int stake) {
+        super();
+
+        if (stake < 1) {
+            throw new IllegalArgumentException("A side bet must stake at "
+                    + "least 1");
+        }
+
+        this.sideBet = sideBet;
+        this.stake = stake;
+    }
+
+    /**
+     * Stakes on the player's side bet if they can still afford it after
+     * their bet
+     *
+     * @param bet side bet to stake on
+     * @return amount staked, 0 for none
+     */
+    @Override
+    public int makeSideBet(SideBet bet) {
+        if (bet == this.sideBet && this.bet > 0
+                && this.balance - this.bet >= this.stake) {
+            return this.stake;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Adds the winnings of the side bet to the player's balance
+     *
+     * @param bet   side bet settled
+     * @param stake the player's winnings, negative if they lost
+     */
+    @Override
+    public void settleSideBet(SideBet bet, int stake) {
+        this.balance += stake;
+        this.getSideResults().add((double) stake / this.stake);
+    }
+
+    /**
+     * Retrieves the winnings per unit staked of each side bet settled
+     *
+     * @return live statistics of the side bet
+     */
+    RunningStats getSideResults() {
+        if (this.sideResults == null) {
+            this.sideResults = new RunningStats();
+        }
+
+        return this.sideResults;
+    }
+}
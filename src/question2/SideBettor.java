@@ -0,0 +1,41 @@
+/** ***************************************************************************
+ *
+ * File        : SideBettor.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : An interface for a player who may stake side bets on their
+ *               first two cards and the dealer's card.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+interface SideBettor extends Player {
+
+    /**
+     * makeSideBet: This method is called by the dealer for each side bet
+     * after the player has made their bet, and should return the amount
+     * staked on the side bet this round. A stake of 0, or one outside the
+     * table's bets, is no side bet.
+     *
+     * @param bet side bet to stake on
+     * @return amount staked
+     */
+    int makeSideBet(SideBet bet);
+
+    /**
+     * settleSideBet: This method is called by the dealer once the first
+     * cards are dealt, for each side bet staked on, and should add the
+     * winnings to the player's balance
+     *
+     * @param bet   side bet settled
+     * @param stake the player's winnings, negative if they lost
+     */
+    void settleSideBet(SideBet bet, int stake);
+}
@@ -0,0 +1,133 @@
+/** ***************************************************************************
+ *
+ * File        : SimulationConfig.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that stores how a headless simulation at a table
+ *               should behave.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.Serializable;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+public class SimulationConfig implements Serializable {
+
+    /**
+     * SimulationConfig's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 135;
+
+    /**
+     * What the simulation does once every player has run out of money
+     */
+    public enum BrokePolicy {
+        /**
+         * Recreates every player in the register and carries on
+         */
+        REINSTATE,
+        /**
+         * Stops the simulation early
+         */
+        STOP
+    };
+
+    /**
+     * What happens once every player has run out of money
+     */
+    private BrokePolicy brokePolicy;
+
+    /**
+     * Whether every round is dealt from a deck shuffled for that round
+     */
+    private boolean freshShoes;
+
+    /**
+     * Also told about every bet settled, null if nothing else is listening.
+     * Not sent with a job to other processes.
+     */
+    private transient SettlementListener settlementListener;
+
+    /**
+     * Constructs a config which reinstates players when they have all gone
+     */
+    public SimulationConfig() {
+        this.brokePolicy = BrokePolicy.REINSTATE;
+    }
+
+    /**
+     * Constructs a config with a given broke policy
+     *
+     * @param brokePolicy what happens once every player has run out of money
+     */
+    public SimulationConfig(BrokePolicy brokePolicy) {
+        this.brokePolicy = brokePolicy;
+    }
+
+    /**
+     * Retrieves what happens once every player has run out of money
+     *
+     * @return broke policy
+     */
+    public BrokePolicy getBrokePolicy() {
+        return this.brokePolicy;
+    }
+
+    /**
+     * Sets what happens once every player has run out of money
+     *
+     * @param brokePolicy broke policy
+     */
+    public void setBrokePolicy(BrokePolicy brokePolicy) {
+        this.brokePolicy = brokePolicy;
+    }
+
+    /**
+     * Checks if every round is dealt from a deck shuffled for that round,
+     * rather than dealing on through the deck
+     *
+     * @return true if each round has a fresh shoe
+     */
+    public boolean isFreshShoes() {
+        return this.freshShoes;
+    }
+
+    /**
+     * Sets whether every round is dealt from a deck shuffled for that round.
+     * The deck is shuffled once, before the first cards are dealt, and then
+     * only reshuffled part way through the round as the rules' penetration
+     * allows.
+     *
+     * @param freshShoes true to give each round a fresh shoe
+     */
+    public void setFreshShoes(boolean freshShoes) {
+        this.freshShoes = freshShoes;
+    }
+
+    /**
+     * Retrieves what else is told about every bet settled
+     *
+     * @return settlement listener, null if there is none
+     */
+    SettlementListener getSettlementListener() {
+        return this.settlementListener;
+    }
+
+    /**
+     * Sets what else is told about every bet settled. The listener is shared
+     * by every table simulating with this config, so may be told from many
+     * threads at once.
+     *
+     * @param listener settlement listener, null for none
+     */
+    void setSettlementListener(SettlementListener listener) {
+        this.settlementListener = listener;
+    }
+}
@@ -0,0 +1,390 @@
+/** ***************************************************************************
+ *
+ * File        : SimulationCoordinator.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that hands the shards of a simulation job to worker
+ *               processes over TCP and merges the results they send back.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Each worker is sent the job when it connects, then one shard index at a
+ * time, and sends back that shard's result. A worker which disconnects or
+ * takes too long on a shard is dropped and its shard is given to another
+ * worker. Shards only depend on the job, so the merged result is the same as
+ * MonteCarloRunner.runSequential() however the shards were shared out.
+ *
+ * The job and results are sent in the same binary form as checkpoints, never
+ * by Java serialisation, so a connection can only ever be read as numbers
+ * and seat types. The coordinator only listens on the loopback address
+ * unless given another to listen on. A shard which fails or loses its worker
+ * MAX_ATTEMPTS times fails the whole job, rather than being handed to every
+ * worker in turn.
+ *
+ * @author Ali Jarjis
+ */
+public class SimulationCoordinator implements AutoCloseable {
+
+    /**
+     * Shard index which tells a worker there is no more work
+     */
+    static final int NO_MORE_SHARDS = -1;
+
+    /**
+     * Number sent before the job, so a worker knows it is talking to a
+     * coordinator
+     */
+    static final int MAGIC = 0x424A5331;
+
+    /**
+     * Reply sent before a shard's result
+     */
+    static final int SHARD_DONE = 0;
+
+    /**
+     * Reply sent before the reason a shard could not be played
+     */
+    static final int SHARD_FAILED = 1;
+
+    /**
+     * Times a shard is tried before the job fails
+     */
+    static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * Longest to wait for each worker to be told to stop, if shards have no
+     * time limit
+     */
+    private static final int JOIN_MILLIS = 5000;
+
+    /**
+     * How long waits for work or workers last before checking for the end
+     */
+    private static final int POLL_MILLIS = 200;
+
+    /**
+     * Socket workers connect to
+     */
+    private final ServerSocket server;
+
+    /**
+     * Longest a worker may take on a shard before being dropped
+     */
+    private final int shardTimeout;
+
+    /**
+     * Amount of shards reassigned after their worker was dropped
+     */
+    private int reassigned;
+
+    /**
+     * Constructs a coordinator listening on a port of the loopback address,
+     * for workers on the same machine
+     *
+     * @param port         port to listen on, 0 for any free port
+     * @param shardTimeout longest in milliseconds a worker may take on a
+     *                     shard, 0 for no limit
+     * @throws IOException if the port can not be listened on
+     */
+    public SimulationCoordinator(int port, int shardTimeout)
+            throws IOException {
+        this(InetAddress.getLoopbackAddress(), port, shardTimeout);
+    }
+
+    /**
+     * Constructs a coordinator listening on a port of one address
+     *
+     * @param address      address to listen on
+     * @param port         port to listen on, 0 for any free port
+     * @param shardTimeout longest in milliseconds a worker may take on a
+     *                     shard, 0 for no limit
+     * @throws IOException if the port can not be listened on
+     */
+    public SimulationCoordinator(InetAddress address, int port,
+            int shardTimeout) throws IOException {
+        this.server = new ServerSocket(port, 0, address);
+        this.server.setSoTimeout(POLL_MILLIS);
+        this.shardTimeout = shardTimeout;
+    }
+
+    /**
+     * Retrieves the port workers connect to
+     *
+     * @return port
+     */
+    public int getPort() {
+        return this.server.getLocalPort();
+    }
+
+    /**
+     * Retrieves the amount of shards reassigned in the last job run, after
+     * their worker failed or was dropped
+     *
+     * @return shards reassigned
+     */
+    public synchronized int getReassigned() {
+        return this.reassigned;
+    }
+
+    /**
+     * Runs every shard of a job on the workers that connect, until every
+     * shard's result has come back or a shard has failed too often
+     *
+     * @param job job to run
+     * @return merged results of every shard, in shard order
+     * @throws InterruptedException if interrupted while waiting for results
+     * @throws ExecutionException   if a shard failed MAX_ATTEMPTS times
+     */
+    public SimulationResult run(SimulationJob job)
+            throws InterruptedException, ExecutionException {
+        BlockingQueue<Integer> pending = new LinkedBlockingQueue<>();
+        AtomicReferenceArray<SimulationResult> results
+                = new AtomicReferenceArray<>(job.getShards());
+        CountDownLatch remaining = new CountDownLatch(job.getShards());
+        AtomicIntegerArray attempts = new AtomicIntegerArray(
+                job.getShards());
+        AtomicReference<IOException> failure = new AtomicReference<>();
+        List<Thread> handlers = new ArrayList<>();
+
+        synchronized (this) {
+            this.reassigned = 0;
+        }
+
+        for (int i = 0; i < job.getShards(); i++) {
+            pending.add(i);
+        }
+
+        // Accepts workers until every result is in or the job has failed
+        while (remaining.getCount() > 0 && failure.get() == null) {
+            try {
+                Socket socket = this.server.accept();
+                Thread handler = new Thread(() -> this.serve(socket, job,
+                        pending, results, remaining, attempts, failure));
+
+                handler.setDaemon(true);
+                handler.start();
+                handlers.add(handler);
+            } catch (SocketTimeoutException ex) {
+                // Checks again whether every result is in
+            } catch (IOException ex) {
+                System.out.println("Unable to accept a worker: "
+                        + ex.getMessage());
+            }
+        }
+
+        // A worker stuck on a shard nobody needs is left behind
+        for (Thread handler : handlers) {
+            handler.join(this.shardTimeout > 0 ? this.shardTimeout
+                    : JOIN_MILLIS);
+        }
+
+        if (failure.get() != null) {
+            throw new ExecutionException(failure.get());
+        }
+
+        SimulationResult result = job.emptyResult();
+
+        for (int i = 0; i < results.length(); i++) {
+            result.merge(results.get(i));
+        }
+
+        return result;
+    }
+
+    /**
+     * Sends shards to one worker and collects their results until every
+     * result is in or the job has failed, putting a shard back if the worker
+     * fails it
+     *
+     * @param socket    connection to the worker
+     * @param job       job being run
+     * @param pending   shards waiting for a worker
+     * @param results   result of each shard, null until it comes back
+     * @param remaining amount of results still to come back
+     * @param attempts  times each shard has been tried and failed
+     * @param failure   why the job failed, null while it has not
+     */
+    private void serve(Socket socket, SimulationJob job,
+            BlockingQueue<Integer> pending,
+            AtomicReferenceArray<SimulationResult> results,
+            CountDownLatch remaining, AtomicIntegerArray attempts,
+            AtomicReference<IOException> failure) {
+        Integer shard = null;
+
+        try (Socket s = socket) {
+            s.setSoTimeout(this.shardTimeout);
+
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(s.getOutputStream()));
+            out.writeInt(MAGIC);
+            job.writeTo(out);
+            out.flush();
+
+            DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(s.getInputStream()));
+
+            while (remaining.getCount() > 0 && failure.get() == null) {
+                shard = pending.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (shard == null) {
+                    continue;
+                }
+
+                out.writeInt(shard);
+                out.flush();
+
+                if (in.readInt() == SHARD_FAILED) {
+                    this.retry(shard, in.readUTF(), pending, attempts,
+                            failure);
+                    shard = null;
+                    continue;
+                }
+
+                SimulationResult result = job.emptyResult();
+                result.readFrom(in);
+
+                // A reassigned shard may come back twice, only count it once
+                if (results.compareAndSet(shard, null, result)) {
+                    remaining.countDown();
+                }
+                shard = null;
+            }
+
+            out.writeInt(NO_MORE_SHARDS);
+            out.flush();
+        } catch (IOException ex) {
+            if (shard != null) {
+                this.retry(shard, "worker dropped: " + ex.getMessage(),
+                        pending, attempts, failure);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Puts a failed shard back for another worker, or fails the job if the
+     * shard has been tried MAX_ATTEMPTS times
+     *
+     * @param shard    index of the shard
+     * @param reason   why the shard failed
+     * @param pending  shards waiting for a worker
+     * @param attempts times each shard has been tried and failed
+     * @param failure  why the job failed, null while it has not
+     */
+    private void retry(int shard, String reason,
+            BlockingQueue<Integer> pending, AtomicIntegerArray attempts,
+            AtomicReference<IOException> failure) {
+        if (attempts.incrementAndGet(shard) >= MAX_ATTEMPTS) {
+            failure.compareAndSet(null, new IOException("Shard " + shard
+                    + " failed " + MAX_ATTEMPTS + " times, last: " + reason));
+            return;
+        }
+
+        pending.add(shard);
+
+        synchronized (this) {
+            this.reassigned++;
+        }
+    }
+
+    /**
+     * Stops listening for workers
+     *
+     * @throws IOException if the socket can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.server.close();
+    }
+
+    /**
+     * Starts a worker process on this machine which connects to a port
+     *
+     * @param port port the coordinator is listening on
+     * @return the worker's process
+     * @throws IOException if the process can not be started
+     */
+    public static Process startLocalWorker(int port) throws IOException {
+        String java = System.getProperty("java.home") + File.separator
+                + "bin" + File.separator + "java";
+
+        return new ProcessBuilder(java, "-cp",
+                System.getProperty("java.class.path"),
+                SimulationWorker.class.getName(), "localhost",
+                String.valueOf(port)).inheritIO().start();
+    }
+
+    /**
+     * Runs a job on local worker processes, checking the result against one
+     * run on this process
+     *
+     * @param args amount of workers, total rounds and amount of shards, all
+     *             optional
+     */
+    public static void main(String[] args) {
+        final long NANOS_PER_MILLI = 1000000;
+        final int SHARD_TIMEOUT = 60000;
+
+        int workers = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        long rounds = args.length > 1 ? Long.parseLong(args[1]) : 1000000;
+        int shards = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        SimulationJob job = new SimulationJob(Arrays.asList("basic",
+                "intermediate", "advanced"), rounds, shards, 2018,
+                new SimulationConfig());
+        List<Process> processes = new ArrayList<>();
+
+        try (SimulationCoordinator coordinator
+                = new SimulationCoordinator(0, SHARD_TIMEOUT)) {
+            for (int i = 0; i < workers; i++) {
+                processes.add(startLocalWorker(coordinator.getPort()));
+            }
+
+            long start = System.nanoTime();
+            SimulationResult result = coordinator.run(job);
+            long time = (System.nanoTime() - start) / NANOS_PER_MILLI;
+
+            System.out.println(result);
+            System.out.println(workers + " workers: " + time + "ms, "
+                    + coordinator.getReassigned() + " shards reassigned, "
+                    + "results match: " + result.toString().equals(
+                            MonteCarloRunner.runSequential(job).toString()));
+        } catch (IOException | InterruptedException
+                | ExecutionException ex) {
+            System.out.println("Unable to finish the simulation: "
+                    + ex.getMessage());
+        } finally {
+            for (Process p : processes) {
+                p.destroy();
+            }
+        }
+    }
+}
@@ -0,0 +1,393 @@
+/** ***************************************************************************
+ *
+ * File        : SimulationJob.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that describes a large simulation, split into shards
+ *               which each play at a table of their own with an independent
+ *               stream of random numbers.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import question2.SimulationConfig.BrokePolicy;
+
+/**
+ * The shards and their seeds only depend on the job, never on how many
+ * threads or machines run it, so every way of running a job gives the same
+ * result.
+ *
+ * @author Ali Jarjis
+ */
+public class SimulationJob implements Serializable {
+
+    /**
+     * SimulationJob's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 137;
+
+    /**
+     * Most shards a job read by readFrom() may have
+     */
+    private static final int MAX_READ_SHARDS = 1 << 20;
+
+    /**
+     * Most decks a job read by readFrom() may be played with
+     */
+    private static final int MAX_READ_DECKS = 64;
+
+    /**
+     * Registered type of each seat at every table
+     */
+    private final List<String> seatTypes;
+
+    /**
+     * Total amount of rounds to play across every shard
+     */
+    private final long rounds;
+
+    /**
+     * Amount of shards the rounds are split into
+     */
+    private final int shards;
+
+    /**
+     * Seed every shard's random number stream is split from
+     */
+    private final long seed;
+
+    /**
+     * How each shard's simulation behaves
+     */
+    private final SimulationConfig config;
+
+    /**
+     * Rules every shard's table is played by
+     */
+    private final TableRules rules;
+
+    /**
+     * Constructs a job played by the default rules
+     *
+     * @param seatTypes registered type of each seat at every table
+     * @param rounds    total amount of rounds to play
+     * @param shards    amount of shards to split the rounds into
+     * @param seed      seed every shard's stream is split from
+     * @param config    how each shard's simulation behaves
+     */
+    public SimulationJob(List<String> seatTypes, long rounds, int shards,
+            long seed, SimulationConfig config) {
+        this(seatTypes, rounds, shards, seed, config, new TableRules());
+    }
+
+    /**
+     * Constructs a job played by a set of rules
+     *
+     * @param seatTypes registered type of each seat at every table
+     * @param rounds    total amount of rounds to play
+     * @param shards    amount of shards to split the rounds into
+     * @param seed      seed every shard's stream is split from
+     * @param config    how each shard's simulation behaves
+     * @param rules     rules every shard's table is played by
+     */
+    public SimulationJob(List<String> seatTypes, long rounds, int shards,
+            long seed, SimulationConfig config, TableRules rules) {
+        this.seatTypes = new ArrayList<>(seatTypes);
+        this.rounds = rounds;
+        this.shards = shards;
+        this.seed = seed;
+        this.config = config;
+        this.rules = new TableRules(rules);
+    }
+
+    /**
+     * Retrieves the registered type of each seat
+     *
+     * @return unmodifiable list of seat types
+     */
+    public List<String> getSeatTypes() {
+        return Collections.unmodifiableList(this.seatTypes);
+    }
+
+    /**
+     * Retrieves the total amount of rounds to play
+     *
+     * @return rounds to play
+     */
+    public long getRounds() {
+        return this.rounds;
+    }
+
+    /**
+     * Retrieves the amount of shards
+     *
+     * @return shards
+     */
+    public int getShards() {
+        return this.shards;
+    }
+
+    /**
+     * Retrieves the seed every shard's stream is split from
+     *
+     * @return seed
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Retrieves how each shard's simulation behaves
+     *
+     * @return simulation config
+     */
+    public SimulationConfig getConfig() {
+        return this.config;
+    }
+
+    /**
+     * Retrieves the rules every shard's table is played by
+     *
+     * @return copy of the rules
+     */
+    public TableRules getRules() {
+        return new TableRules(this.rules);
+    }
+
+    /**
+     * Calculates the amount of rounds a shard plays, the rounds being split
+     * as evenly as possible
+     *
+     * @param shard index of the shard
+     * @return rounds the shard plays
+     */
+    public long shardRounds(int shard) {
+        long rounds = this.rounds / this.shards;
+
+        // The first shards play any rounds left over
+        if (shard < this.rounds % this.shards) {
+            rounds++;
+        }
+
+        return rounds;
+    }
+
+    /**
+     * Creates the random number stream of every shard, each split in turn
+     * from the job's seed
+     *
+     * @return stream of each shard
+     */
+    public SplitRandom[] shardStreams() {
+        SplitRandom master = new SplitRandom(this.seed);
+        SplitRandom[] streams = new SplitRandom[this.shards];
+
+        for (int i = 0; i < this.shards; i++) {
+            streams[i] = master.split();
+        }
+
+        return streams;
+    }
+
+    /**
+     * Writes the job in a compact binary form, without the config's
+     * settlement listener
+     *
+     * @param out where the job is written
+     * @throws IOException if the job can not be written
+     */
+    void writeTo(DataOutput out) throws IOException {
+        this.rules.writeTo(out);
+        out.writeShort(this.seatTypes.size());
+
+        for (String type : this.seatTypes) {
+            out.writeUTF(type);
+        }
+
+        out.writeLong(this.rounds);
+        out.writeInt(this.shards);
+        out.writeLong(this.seed);
+        out.writeByte(this.config.getBrokePolicy().ordinal());
+        out.writeBoolean(this.config.isFreshShoes());
+    }
+
+    /**
+     * Reads a job written by writeTo(), refusing one too large to play
+     *
+     * @param in where the job is read from
+     * @return job read
+     * @throws IOException if the job can not be read or is invalid
+     */
+    static SimulationJob readFrom(DataInput in) throws IOException {
+        TableRules rules = TableRules.readFrom(in);
+        int seats = in.readShort();
+
+        if (rules.getDecks() > MAX_READ_DECKS || seats < 0
+                || seats > rules.getMaxPlayers()) {
+            throw new IOException("Invalid job: " + rules.getDecks()
+                    + " decks, " + seats + " seats");
+        }
+
+        List<String> seatTypes = new ArrayList<>();
+
+        for (int i = 0; i < seats; i++) {
+            seatTypes.add(in.readUTF());
+        }
+
+        long rounds = in.readLong();
+        int shards = in.readInt();
+        long seed = in.readLong();
+        int policy = in.readByte();
+        boolean freshShoes = in.readBoolean();
+        BrokePolicy[] policies = BrokePolicy.values();
+
+        if (rounds < 0 || shards < 1 || shards > MAX_READ_SHARDS
+                || policy < 0 || policy >= policies.length) {
+            throw new IOException("Invalid job: " + rounds + " rounds, "
+                    + shards + " shards, broke policy " + policy);
+        }
+
+        SimulationConfig config = new SimulationConfig(policies[policy]);
+
+        config.setFreshShoes(freshShoes);
+
+        return new SimulationJob(seatTypes, rounds, shards, seed, config,
+                rules);
+    }
+
+    /**
+     * Creates an empty result for this job's seats
+     *
+     * @return empty result
+     */
+    public SimulationResult emptyResult() {
+        return new SimulationResult(this.seatTypes);
+    }
+
+    /**
+     * Plays one shard of the job at a table of its own
+     *
+     * @param shard  index of the shard
+     * @param stream the shard's random number stream
+     * @return results of the shard
+     */
+    public SimulationResult runShard(int shard, Random stream) {
+        return this.runShard(shard, stream, Integer.MAX_VALUE, run -> true);
+    }
+
+    /**
+     * Plays one shard of the job at a table of its own in runs of rounds,
+     * handing over the results of each run and stopping early once told to
+     *
+     * @param shard     index of the shard
+     * @param stream    the shard's random number stream
+     * @param runRounds most rounds in each run
+     * @param carryOn   given the results of each run, false to stop the shard
+     * @return results of the rounds played
+     * @throws IllegalArgumentException if runRounds is not positive
+     */
+    public SimulationResult runShard(int shard, Random stream, int runRounds,
+            Predicate<SimulationResult> carryOn) {
+        if (runRounds <= 0) {
+            throw new IllegalArgumentException("Rounds in a run must be "
+                    + "positive");
+        }
+
+        BlackjackTable table = new BlackjackTable(this.rules, stream);
+
+        for (String type : this.seatTypes) {
+            table.seatPlayers(type, 1);
+        }
+
+        SimulationResult result = this.emptyResult();
+        long remaining = this.shardRounds(shard);
+
+        while (remaining > 0 && !result.isStopped()) {
+            int rounds = (int) Math.min(remaining, runRounds);
+            SimulationResult run = table.simulate(rounds, this.config);
+
+            result.merge(run);
+            remaining -= rounds;
+
+            if (!carryOn.test(run)) {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Plays one shard of the job, carrying on from any earlier progress and
+     * reporting its own progress every so many rounds. The shard's results
+     * are the same however many times it is stopped and carried on.
+     *
+     * @param shard            index of the shard
+     * @param stream           the shard's random number stream, replaced by
+     *                         the saved one when carrying on
+     * @param from             progress to carry on from, null to start afresh
+     * @param checkpointRounds rounds played between reports of progress
+     * @param progress         given the shard's progress after each run of
+     *                         rounds, other than the last
+     * @return results of the shard
+     * @throws IllegalArgumentException if checkpointRounds is not positive
+     */
+    public SimulationResult runShard(int shard, SplitRandom stream,
+            ShardProgress from, long checkpointRounds,
+            Consumer<ShardProgress> progress) {
+        if (checkpointRounds <= 0) {
+            throw new IllegalArgumentException("Rounds between checkpoints "
+                    + "must be positive");
+        }
+
+        BlackjackTable table = new BlackjackTable(this.rules, stream);
+
+        for (String type : this.seatTypes) {
+            table.seatPlayers(type, 1);
+        }
+
+        SimulationResult result = this.emptyResult();
+        long played = 0;
+
+        if (from != null) {
+            result.merge(from.getResult());
+            played = from.getRoundsPlayed();
+            table.restore(from.getTable());
+        }
+
+        long remaining = this.shardRounds(shard) - played;
+
+        while (remaining > 0 && !result.isStopped()) {
+            int rounds = (int) Math.min(Math.min(remaining, checkpointRounds),
+                    Integer.MAX_VALUE);
+
+            result.merge(table.simulate(rounds, this.config));
+            remaining -= rounds;
+            played += rounds;
+
+            if (remaining > 0 && !result.isStopped()) {
+                // Hands over a copy, as this shard carries on adding to it
+                SimulationResult copy = this.emptyResult();
+                copy.merge(result);
+
+                progress.accept(new ShardProgress(shard, played, copy,
+                        table.checkpoint(0, 0)));
+            }
+        }
+
+        return result;
+    }
+}
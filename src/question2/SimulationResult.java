@@ -0,0 +1,209 @@
+/** ***************************************************************************
+ *
+ * File        : SimulationResult.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that stores the results of a headless simulation,
+ *               the stats of each seat and how the simulation ended.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+public class SimulationResult implements Serializable {
+
+    /**
+     * SimulationResult's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 136;
+
+    /**
+     * Stats of each seat, in the order of the table's register
+     */
+    private final List<PlayerStats> seats;
+
+    /**
+     * Amount of rounds played
+     */
+    private long rounds;
+
+    /**
+     * Amount of times every player ran out of money and was reinstated
+     */
+    private long reinstatements;
+
+    /**
+     * Amount of simulations stopped early because every player ran out of
+     * money
+     */
+    private long stops;
+
+    /**
+     * Constructs empty results for seats of the given types
+     *
+     * @param seatTypes registered type of each seat
+     */
+    public SimulationResult(List<String> seatTypes) {
+        this.seats = new ArrayList<>(seatTypes.size());
+
+        for (String type : seatTypes) {
+            this.seats.add(new PlayerStats(type));
+        }
+    }
+
+    /**
+     * Records that a round was played
+     */
+    void roundPlayed() {
+        this.rounds++;
+    }
+
+    /**
+     * Records that every player was reinstated
+     */
+    void reinstated() {
+        this.reinstatements++;
+    }
+
+    /**
+     * Records that the simulation stopped early
+     */
+    void stopped() {
+        this.stops++;
+    }
+
+    /**
+     * Adds the results of another simulation of a table with the same seats
+     *
+     * @param other results to add
+     * @throws IllegalArgumentException if the tables had different seats
+     */
+    public void merge(SimulationResult other) {
+        if (other.seats.size() != this.seats.size()) {
+            throw new IllegalArgumentException("Results are for tables with "
+                    + "different seats");
+        }
+
+        this.rounds += other.rounds;
+        this.reinstatements += other.reinstatements;
+        this.stops += other.stops;
+
+        for (int i = 0; i < this.seats.size(); i++) {
+            this.seats.get(i).merge(other.seats.get(i));
+        }
+    }
+
+    /**
+     * Retrieves the stats of a seat
+     *
+     * @param seat position of the seat in the table's register
+     * @return stats of the seat
+     */
+    public PlayerStats getSeat(int seat) {
+        return this.seats.get(seat);
+    }
+
+    /**
+     * Retrieves the stats of every seat
+     *
+     * @return unmodifiable list of seat stats
+     */
+    public List<PlayerStats> getSeats() {
+        return Collections.unmodifiableList(this.seats);
+    }
+
+    /**
+     * Retrieves the amount of rounds played
+     *
+     * @return rounds played
+     */
+    public long getRounds() {
+        return this.rounds;
+    }
+
+    /**
+     * Retrieves the amount of times every player was reinstated
+     *
+     * @return reinstatements
+     */
+    public long getReinstatements() {
+        return this.reinstatements;
+    }
+
+    /**
+     * Checks if any simulation stopped early because every player ran out of
+     * money
+     *
+     * @return true if stopped early
+     */
+    public boolean isStopped() {
+        return this.stops > 0;
+    }
+
+    /**
+     * Writes the results in a compact binary form, without the seats' types
+     *
+     * @param out where the results are written
+     * @throws IOException if the results can not be written
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(this.rounds);
+        out.writeLong(this.reinstatements);
+        out.writeLong(this.stops);
+
+        for (PlayerStats seat : this.seats) {
+            seat.writeTo(out);
+        }
+    }
+
+    /**
+     * Replaces the results with results for the same seats written by
+     * writeTo()
+     *
+     * @param in where the results are read from
+     * @throws IOException if the results can not be read
+     */
+    void readFrom(DataInput in) throws IOException {
+        this.rounds = in.readLong();
+        this.reinstatements = in.readLong();
+        this.stops = in.readLong();
+
+        for (PlayerStats seat : this.seats) {
+            seat.readFrom(in);
+        }
+    }
+
+    /**
+     * Returns the results in a printable format
+     *
+     * @return String with a line for the rounds played and for each seat
+     */
+    @Override
+    public String toString() {
+        StringBuilder results = new StringBuilder();
+
+        results.append(this.rounds).append(" rounds played, ")
+                .append(this.reinstatements).append(" reinstatements")
+                .append(this.isStopped() ? ", stopped early\n" : "\n");
+
+        for (PlayerStats s : this.seats) {
+            results.append(s.toString()).append("\n");
+        }
+
+        return results.toString();
+    }
+}
@@ -0,0 +1,168 @@
+/** ***************************************************************************
+ *
+ * File        : SimulationWorker.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that connects to a simulation coordinator and plays
+ *               the shards it is sent.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.Socket;
+
+/**
+ * A shard which throws, such as one seating a type never registered in this
+ * process, is reported back to the coordinator and the worker carries on.
+ *
+ * @author Ali Jarjis
+ */
+public class SimulationWorker {
+
+    /**
+     * Longest reason for a failed shard sent to the coordinator
+     */
+    private static final int MAX_REASON = 1000;
+
+    /**
+     * Times a worker tries to connect before giving up
+     */
+    private static final int CONNECT_ATTEMPTS = 50;
+
+    /**
+     * Time between attempts to connect in milliseconds
+     */
+    private static final int CONNECT_DELAY = 100;
+
+    /**
+     * Host of the coordinator
+     */
+    private final String host;
+
+    /**
+     * Port of the coordinator
+     */
+    private final int port;
+
+    /**
+     * Constructs a worker for a coordinator
+     *
+     * @param host host of the coordinator
+     * @param port port of the coordinator
+     */
+    public SimulationWorker(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Connects to the coordinator and plays the shards it sends until told
+     * there are no more
+     *
+     * @return amount of shards played
+     * @throws IOException          if the connection fails or the
+     *                              coordinator sends something invalid
+     * @throws InterruptedException if interrupted while waiting to connect
+     */
+    public int work() throws IOException, InterruptedException {
+        int played = 0;
+
+        try (Socket socket = this.connect()) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(socket.getInputStream()));
+
+            if (in.readInt() != SimulationCoordinator.MAGIC) {
+                throw new IOException("Not a simulation coordinator");
+            }
+
+            SimulationJob job = SimulationJob.readFrom(in);
+            SplitRandom[] streams = job.shardStreams();
+
+            int shard = in.readInt();
+
+            while (shard != SimulationCoordinator.NO_MORE_SHARDS) {
+                if (shard < 0 || shard >= streams.length) {
+                    throw new IOException("Invalid shard " + shard);
+                }
+
+                SimulationResult result;
+
+                try {
+                    result = job.runShard(shard, streams[shard]);
+                } catch (RuntimeException ex) {
+                    String reason = ex.toString();
+
+                    out.writeInt(SimulationCoordinator.SHARD_FAILED);
+                    out.writeUTF(reason.length() > MAX_REASON
+                            ? reason.substring(0, MAX_REASON) : reason);
+                    out.flush();
+
+                    shard = in.readInt();
+                    continue;
+                }
+
+                out.writeInt(SimulationCoordinator.SHARD_DONE);
+                result.writeTo(out);
+                out.flush();
+                played++;
+
+                shard = in.readInt();
+            }
+        }
+
+        return played;
+    }
+
+    /**
+     * Connects to the coordinator, retrying while it starts up
+     *
+     * @return connection to the coordinator
+     * @throws IOException          if every attempt fails
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private Socket connect() throws IOException, InterruptedException {
+        for (int attempt = 1;; attempt++) {
+            try {
+                return new Socket(this.host, this.port);
+            } catch (ConnectException ex) {
+                if (attempt == CONNECT_ATTEMPTS) {
+                    throw ex;
+                }
+
+                Thread.sleep(CONNECT_DELAY);
+            }
+        }
+    }
+
+    /**
+     * Works for a coordinator
+     *
+     * @param args host and port of the coordinator
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: SimulationWorker host port");
+            return;
+        }
+
+        SimulationWorker worker = new SimulationWorker(args[0],
+                Integer.parseInt(args[1]));
+
+        try {
+            System.out.println("Worker played " + worker.work() + " shards");
+        } catch (IOException | InterruptedException ex) {
+            System.out.println("Worker stopped: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/** ***************************************************************************
+ *
+ * File        : SplitRandom.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A seeded random number generator which can be split into
+ *               independent streams, so that every simulated table can shuffle
+ *               with its own reproducible stream.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.Random;
+
+/**
+ * Implements the SplitMix64 algorithm, which is also used by
+ * java.util.SplittableRandom, as a java.util.Random so it can be passed to
+ * anything expecting one.
+ *
+ * @author Ali Jarjis
+ */
+public class SplitRandom extends Random {
+
+    /**
+     * SplitRandom's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 131;
+
+    /**
+     * The default step between states, the odd integer closest to 2^64 divided
+     * by the golden ratio
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Current state of the generator
+     */
+    private long state;
+
+    /**
+     * Step added to the state for each value generated, always odd
+     */
+    private long gamma;
+
+    /**
+     * Constructs a generator from a seed
+     *
+     * @param seed initial state
+     */
+    public SplitRandom(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    /**
+     * Constructs a generator with a given state and step
+     *
+     * @param seed  initial state
+     * @param gamma step between states
+     */
+    public SplitRandom(long seed, long gamma) {
+        super(seed);
+
+        this.state = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Splits off a new generator whose values are independent of this one,
+     * advancing this generator
+     *
+     * @return new independent generator
+     */
+    public SplitRandom split() {
+        return new SplitRandom(mix64(nextSeed()), mixGamma(nextSeed()));
+    }
+
+    /**
+     * Resets the state of this generator, keeping its step
+     *
+     * @param seed new state
+     */
+    @Override
+    public synchronized void setSeed(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Retrieves the current state, which with the step fully describes the
+     * generator
+     *
+     * @return generator state
+     */
+    public long getState() {
+        return this.state;
+    }
+
+    /**
+     * Retrieves the step between states
+     *
+     * @return generator step
+     */
+    public long getGamma() {
+        return this.gamma;
+    }
+
+    /**
+     * Generates the next pseudo-random long
+     *
+     * @return random long
+     */
+    @Override
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    /**
+     * Generates the next pseudo-random bits, used by the other methods of
+     * Random
+     *
+     * @param bits amount of random bits
+     * @return random bits in the lowest bits of an int
+     */
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    /**
+     * Advances the state
+     *
+     * @return new state
+     */
+    private long nextSeed() {
+        this.state += this.gamma;
+
+        return this.state;
+    }
+
+    /**
+     * Mixes the bits of a state into a random value
+     *
+     * @param z value to mix
+     * @return mixed value
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Mixes the bits of a state into a step for a new generator, ensuring it
+     * is odd and has enough bit transitions to be a good step
+     *
+     * @param z value to mix
+     * @return new step
+     */
+    private static long mixGamma(long z) {
+        final int MIN_TRANSITIONS = 24;
+
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+
+        if (transitions < MIN_TRANSITIONS) {
+            return z ^ 0xaaaaaaaaaaaaaaaaL;
+        }
+
+        return z;
+    }
+}
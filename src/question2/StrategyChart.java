@@ -0,0 +1,180 @@
+/** ***************************************************************************
+ *
+ * File        : StrategyChart.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that models a hit/stand chart, storing whether to
+ *               take a card for every hand against every dealer card.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+public class StrategyChart implements Serializable {
+
+    /**
+     * StrategyChart's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 132;
+
+    /**
+     * Lowest value a dealer's card can have
+     */
+    public static final int LOWEST_UPCARD = 2;
+
+    /**
+     * Amount of different dealer card values, TWO to ACE
+     */
+    public static final int UPCARDS = 10;
+
+    /**
+     * Whether to hit, indexed by hand state then dealer card
+     */
+    private final boolean[] hits;
+
+    /**
+     * Constructs a chart which never hits
+     */
+    public StrategyChart() {
+        this.hits = new boolean[HandState.STATES * UPCARDS];
+    }
+
+    /**
+     * Constructs a copy of another chart
+     *
+     * @param chart chart to copy
+     */
+    public StrategyChart(StrategyChart chart) {
+        this.hits = Arrays.copyOf(chart.hits, chart.hits.length);
+    }
+
+    /**
+     * Creates a chart which hits until the hand total reaches a threshold,
+     * whatever the dealer's card, like a basic player
+     *
+     * @param threshold total to stick on
+     * @return the chart
+     */
+    public static StrategyChart threshold(int threshold) {
+        StrategyChart chart = new StrategyChart();
+
+        for (int state = 0; state < HandState.STATES; state++) {
+            for (int up = 0; up < UPCARDS; up++) {
+                int upcard = up + LOWEST_UPCARD;
+
+                chart.setHit(state, upcard,
+                        HandState.total(state) < threshold);
+            }
+        }
+
+        return chart;
+    }
+
+    /**
+     * Checks if the chart hits a hand against a dealer card
+     *
+     * @param state  state of the hand
+     * @param upcard value of the dealer's card, ACE being eleven
+     * @return true if a card should be taken
+     */
+    public boolean hit(int state, int upcard) {
+        return this.hits[index(state, upcard)];
+    }
+
+    /**
+     * Sets whether the chart hits a hand against a dealer card
+     *
+     * @param state  state of the hand
+     * @param upcard value of the dealer's card, ACE being eleven
+     * @param hit    true if a card should be taken
+     */
+    public final void setHit(int state, int upcard, boolean hit) {
+        this.hits[index(state, upcard)] = hit;
+    }
+
+    /**
+     * Lists the states a player can make a decision in, every hard total from
+     * 4 to 20 followed by every soft total from 12 to 20. Hard hands holding
+     * an ACE share the rows of the hard totals.
+     *
+     * @return array of hand states
+     */
+    public static int[] decisionStates() {
+        final int LOWEST_HARD = 4;
+        final int HIGHEST_TOTAL = 20;
+        final int LOWEST_SOFT_LOW = 2;
+        final int HIGHEST_SOFT_LOW = 10;
+
+        int[] states = new int[(HIGHEST_TOTAL - LOWEST_HARD + 1)
+                + (HIGHEST_SOFT_LOW - LOWEST_SOFT_LOW + 1)];
+        int i = 0;
+
+        for (int total = LOWEST_HARD; total <= HIGHEST_TOTAL; total++) {
+            states[i++] = HandState.of(total, false);
+        }
+
+        for (int low = LOWEST_SOFT_LOW; low <= HIGHEST_SOFT_LOW; low++) {
+            states[i++] = HandState.of(low, true);
+        }
+
+        return states;
+    }
+
+    /**
+     * Calculates the position of a decision in the chart. A hand holding an
+     * ACE which can only be counted as one, such as A+6+5, is decided by its
+     * hard total's row.
+     *
+     * @param state  state of the hand
+     * @param upcard value of the dealer's card
+     * @return index into the chart
+     */
+    private static int index(int state, int upcard) {
+        if (HandState.hasAce(state) && !HandState.isSoft(state)) {
+            state = HandState.of(HandState.lowTotal(state), false);
+        }
+
+        return state * UPCARDS + (upcard - LOWEST_UPCARD);
+    }
+
+    /**
+     * Returns the chart in a printable format, one row for each decision state
+     * with H for hit and S for stand under each dealer card
+     *
+     * @return String containing the chart
+     */
+    @Override
+    public String toString() {
+        StringBuilder chart = new StringBuilder("         ");
+
+        // Header row of dealer cards
+        for (int up = 0; up < UPCARDS; up++) {
+            int upcard = up + LOWEST_UPCARD;
+
+            chart.append(String.format("%3s", upcard == 11 ? "A" : upcard));
+        }
+        chart.append("\n");
+
+        for (int state : decisionStates()) {
+            chart.append(String.format("%-9s", HandState.toString(state)));
+
+            for (int up = 0; up < UPCARDS; up++) {
+                boolean hit = hit(state, up + LOWEST_UPCARD);
+
+                chart.append(hit ? "  H" : "  S");
+            }
+            chart.append("\n");
+        }
+
+        return chart.toString();
+    }
+}
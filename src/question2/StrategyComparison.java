@@ -0,0 +1,478 @@
+/** ***************************************************************************
+ *
+ * File        : StrategyComparison.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that compares player strategies using common random
+ *               numbers, every strategy playing the same sequence of shuffled
+ *               decks, and optionally their antithetic partners.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Rounds are played in blocks, each block at a fresh table with one seat.
+ * Block b of every strategy uses the same random number stream, and every
+ * shuffle draws the same amount of numbers, so each strategy is dealt the
+ * same decks in the same order and only their decisions differ. The
+ * difference in expected value is then measured block by block, which
+ * cancels most of the luck of the cards that independent runs would add.
+ *
+ * Strategies which take different amounts of cards soon fall out of step
+ * within a deck, after which the same round is dealt different cards. With
+ * fresh shoes, the default, every round is dealt from a deck shuffled for
+ * that round, so round r of every strategy starts from the same cards. This
+ * leaves a counting strategy nothing to count between rounds, so one whose
+ * edge comes from the count should be compared with fresh shoes off.
+ *
+ * @author Ali Jarjis
+ */
+public class StrategyComparison {
+
+    /**
+     * Registered types compared, the first being the baseline
+     */
+    private final List<String> strategies;
+
+    /**
+     * Amount of blocks played by each strategy
+     */
+    private final int blocks;
+
+    /**
+     * Amount of rounds in each block
+     */
+    private final int roundsPerBlock;
+
+    /**
+     * Seed every block's stream is split from
+     */
+    private final long seed;
+
+    /**
+     * Whether each block is also played with its antithetic decks
+     */
+    private final boolean antithetic;
+
+    /**
+     * Whether every round is dealt from a freshly shuffled deck
+     */
+    private final boolean freshShoes;
+
+    /**
+     * Constructs a comparison dealing every round from a fresh shoe
+     *
+     * @param strategies     registered types to compare, the first being the
+     *                       baseline the others are compared against
+     * @param blocks         amount of blocks each strategy plays
+     * @param roundsPerBlock amount of rounds in each block
+     * @param seed           seed every block's stream is split from
+     * @param antithetic     whether each block is also played with its
+     *                       antithetic decks
+     * @throws IllegalArgumentException if fewer than two strategies are given
+     *                                  or fewer than two blocks
+     */
+    public StrategyComparison(List<String> strategies, int blocks,
+            int roundsPerBlock, long seed, boolean antithetic) {
+        this(strategies, blocks, roundsPerBlock, seed, antithetic, true);
+    }
+
+    /**
+     * Constructs a comparison
+     *
+     * @param strategies     registered types to compare, the first being the
+     *                       baseline the others are compared against
+     * @param blocks         amount of blocks each strategy plays
+     * @param roundsPerBlock amount of rounds in each block
+     * @param seed           seed every block's stream is split from
+     * @param antithetic     whether each block is also played with its
+     *                       antithetic decks
+     * @param freshShoes     whether every round is dealt from a freshly
+     *                       shuffled deck, keeping the strategies in step
+     * @throws IllegalArgumentException if fewer than two strategies are given
+     *                                  or fewer than two blocks
+     */
+    public StrategyComparison(List<String> strategies, int blocks,
+            int roundsPerBlock, long seed, boolean antithetic,
+            boolean freshShoes) {
+        if (strategies.size() < 2 || blocks < 2) {
+            throw new IllegalArgumentException("A comparison needs at least "
+                    + "two strategies and two blocks");
+        }
+
+        this.strategies = new ArrayList<>(strategies);
+        this.blocks = blocks;
+        this.roundsPerBlock = roundsPerBlock;
+        this.seed = seed;
+        this.antithetic = antithetic;
+        this.freshShoes = freshShoes;
+    }
+
+    /**
+     * Plays every block of every strategy across a runner's pool, and
+     * compares each strategy against the baseline
+     *
+     * @param runner runner whose threads play the blocks
+     * @return difference of each strategy from the baseline, in order
+     * @throws InterruptedException if interrupted while waiting for blocks
+     * @throws ExecutionException   if a block fails
+     */
+    public List<Difference> run(MonteCarloRunner runner)
+            throws InterruptedException, ExecutionException {
+        List<List<Future<Double>>> futures = new ArrayList<>();
+
+        for (String type : this.strategies) {
+            List<Future<Double>> blockValues = new ArrayList<>();
+            SimulationJob job = this.jobFor(type);
+            SplitRandom[] streams = job.shardStreams();
+
+            for (int b = 0; b < this.blocks; b++) {
+                final int block = b;
+
+                blockValues.add(runner.submit(
+                        () -> this.playBlock(job, block, streams[block])));
+            }
+
+            futures.add(blockValues);
+        }
+
+        double[][] values = new double[this.strategies.size()][this.blocks];
+
+        for (int i = 0; i < values.length; i++) {
+            for (int b = 0; b < this.blocks; b++) {
+                values[i][b] = futures.get(i).get(b).get();
+            }
+        }
+
+        return this.compare(values);
+    }
+
+    /**
+     * Plays every block of every strategy on the calling thread, giving the
+     * same differences as run()
+     *
+     * @return difference of each strategy from the baseline, in order
+     */
+    public List<Difference> runSequential() {
+        double[][] values = new double[this.strategies.size()][this.blocks];
+
+        for (int i = 0; i < values.length; i++) {
+            SimulationJob job = this.jobFor(this.strategies.get(i));
+            SplitRandom[] streams = job.shardStreams();
+
+            for (int b = 0; b < this.blocks; b++) {
+                values[i][b] = this.playBlock(job, b, streams[b]);
+            }
+        }
+
+        return this.compare(values);
+    }
+
+    /**
+     * Creates the job a strategy's blocks are shards of. The job only differs
+     * between strategies by its seat, so every strategy's shards share their
+     * streams. For fresh shoes a new deck is shuffled once at the start of
+     * every round, before the first cards are dealt.
+     *
+     * @param type registered type of the strategy
+     * @return job of the strategy's blocks
+     */
+    private SimulationJob jobFor(String type) {
+        SimulationConfig config = new SimulationConfig();
+
+        config.setFreshShoes(this.freshShoes);
+
+        return new SimulationJob(Collections.singletonList(type),
+                (long) this.blocks * this.roundsPerBlock, this.blocks,
+                this.seed, config, new TableRules());
+    }
+
+    /**
+     * Plays rounds dealt from fresh shoes, counting the rounds in which any
+     * card was dealt twice
+     *
+     * @param rounds amount of rounds to play
+     * @param seed   seed of the table's stream
+     * @return rounds with a repeated card, 0 if every round was dealt
+     * correctly
+     */
+    static int roundsWithRepeatedCards(int rounds, long seed) {
+        int[] repeated = new int[1];
+        BlackjackTable table = new BlackjackTable(new TableRules(),
+                new SplitRandom(seed));
+        SimulationConfig config = new SimulationConfig();
+
+        // Sees every card played in the round once it is over
+        BotPlayer watcher = new BotPlayer() {
+            @Override
+            public void viewCards(List<Card> cards) {
+                boolean[] seen = new boolean[TableRules.CARDS_PER_DECK];
+
+                for (Card c : cards) {
+                    if (seen[c.getCode()]) {
+                        repeated[0]++;
+                        break;
+                    }
+
+                    seen[c.getCode()] = true;
+                }
+            }
+        };
+
+        watcher.setBalance(Integer.MAX_VALUE / 2);
+        table.sit(watcher);
+        config.setFreshShoes(true);
+        table.simulate(rounds, config);
+
+        return repeated[0];
+    }
+
+    /**
+     * Plays a block, and its antithetic partner if wanted, giving the
+     * expected value of a round
+     *
+     * @param job    job the block is a shard of
+     * @param block  index of the block
+     * @param stream the block's stream
+     * @return average net winnings of a round in the block
+     */
+    private double playBlock(SimulationJob job, int block, SplitRandom stream) {
+        // Copies the stream first, as playing the block uses it up
+        SplitRandom partner = new SplitRandom(stream.getState(),
+                stream.getGamma());
+        double value = job.runShard(block, stream).getSeat(0).getMean();
+
+        if (this.antithetic) {
+            double mirrored = job.runShard(block,
+                    new AntitheticRandom(partner)).getSeat(0).getMean();
+
+            value = (value + mirrored) / 2;
+        }
+
+        return value;
+    }
+
+    /**
+     * Compares the block values of each strategy against the baseline's
+     *
+     * @param values each strategy's value of each block
+     * @return difference of each strategy from the baseline, in order
+     */
+    private List<Difference> compare(double[][] values) {
+        List<Difference> differences = new ArrayList<>();
+        double[] baseline = values[0];
+
+        for (int i = 1; i < values.length; i++) {
+            double[] paired = new double[this.blocks];
+
+            for (int b = 0; b < this.blocks; b++) {
+                paired[b] = values[i][b] - baseline[b];
+            }
+
+            // Independent runs would add the variance of each strategy
+            double independentError = Math.sqrt(
+                    Math.pow(standardError(values[i]), 2)
+                    + Math.pow(standardError(baseline), 2));
+
+            differences.add(new Difference(this.strategies.get(i),
+                    this.strategies.get(0), mean(paired),
+                    standardError(paired), independentError));
+        }
+
+        return differences;
+    }
+
+    /**
+     * Calculates the mean of some values
+     *
+     * @param values values to average
+     * @return mean of the values
+     */
+    private static double mean(double[] values) {
+        double sum = 0;
+
+        for (double v : values) {
+            sum += v;
+        }
+
+        return sum / values.length;
+    }
+
+    /**
+     * Calculates the standard error of the mean of some values
+     *
+     * @param values values to measure, at least two
+     * @return sample standard deviation divided by the root of the count
+     */
+    private static double standardError(double[] values) {
+        double mean = mean(values);
+        double sumOfSquares = 0;
+
+        for (double v : values) {
+            sumOfSquares += (v - mean) * (v - mean);
+        }
+
+        return Math.sqrt(sumOfSquares / (values.length - 1) / values.length);
+    }
+
+    /**
+     * The difference in expected value of a round between a strategy and the
+     * baseline
+     */
+    public static class Difference {
+
+        /**
+         * Registered type of the strategy
+         */
+        private final String strategy;
+
+        /**
+         * Registered type of the baseline
+         */
+        private final String baseline;
+
+        /**
+         * Mean difference of a round's net winnings
+         */
+        private final double mean;
+
+        /**
+         * Standard error of the paired difference
+         */
+        private final double standardError;
+
+        /**
+         * Standard error the difference would have from independent runs
+         */
+        private final double independentError;
+
+        /**
+         * Constructs a difference
+         *
+         * @param strategy         registered type of the strategy
+         * @param baseline         registered type of the baseline
+         * @param mean             mean difference of a round's net winnings
+         * @param standardError    standard error of the paired difference
+         * @param independentError standard error from independent runs
+         */
+        Difference(String strategy, String baseline, double mean,
+                double standardError, double independentError) {
+            this.strategy = strategy;
+            this.baseline = baseline;
+            this.mean = mean;
+            this.standardError = standardError;
+            this.independentError = independentError;
+        }
+
+        /**
+         * Retrieves the registered type of the strategy
+         *
+         * @return strategy
+         */
+        public String getStrategy() {
+            return this.strategy;
+        }
+
+        /**
+         * Retrieves the registered type of the baseline
+         *
+         * @return baseline
+         */
+        public String getBaseline() {
+            return this.baseline;
+        }
+
+        /**
+         * Retrieves the mean difference of a round's net winnings
+         *
+         * @return strategy's expected value minus the baseline's
+         */
+        public double getMean() {
+            return this.mean;
+        }
+
+        /**
+         * Retrieves the standard error of the paired difference
+         *
+         * @return standard error
+         */
+        public double getStandardError() {
+            return this.standardError;
+        }
+
+        /**
+         * Retrieves the standard error the difference would have if each
+         * strategy had played independent decks
+         *
+         * @return independent standard error
+         */
+        public double getIndependentError() {
+            return this.independentError;
+        }
+
+        /**
+         * Calculates how many times more rounds independent runs would need
+         * to reach the same standard error
+         *
+         * @return ratio of the independent variance to the paired variance
+         */
+        public double getVarianceReduction() {
+            return Math.pow(this.independentError / this.standardError, 2);
+        }
+
+        /**
+         * Returns the difference in a printable format
+         *
+         * @return difference as a string
+         */
+        @Override
+        public String toString() {
+            return String.format("%s - %s: %+.4f per round (SE %.4f, "
+                    + "independent SE %.4f, %.1fx fewer rounds)",
+                    this.strategy, this.baseline, this.mean,
+                    this.standardError, this.independentError,
+                    this.getVarianceReduction());
+        }
+    }
+
+    /**
+     * Compares the intermediate and advanced players against the basic player
+     *
+     * @param args blocks, rounds per block, whether to play antithetic
+     *             decks and whether to deal fresh shoes, all optional
+     */
+    public static void main(String[] args) {
+        int blocks = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int roundsPerBlock = args.length > 1 ? Integer.parseInt(args[1])
+                : 1000;
+        boolean antithetic = args.length > 2 && Boolean.parseBoolean(args[2]);
+        boolean freshShoes = args.length <= 3 || Boolean.parseBoolean(args[3]);
+
+        List<String> strategies = new ArrayList<>();
+        Collections.addAll(strategies, "basic", "intermediate", "advanced");
+
+        StrategyComparison comparison = new StrategyComparison(strategies,
+                blocks, roundsPerBlock, 2018, antithetic, freshShoes);
+
+        System.out.println("Fresh shoe rounds with a repeated card: "
+                + roundsWithRepeatedCards(2000, 2018));
+
+        try (MonteCarloRunner runner = new MonteCarloRunner()) {
+            for (Difference d : comparison.run(runner)) {
+                System.out.println(d);
+            }
+        } catch (InterruptedException | ExecutionException ex) {
+            System.out.println("Unable to finish the comparison: "
+                    + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,542 @@
+/** ***************************************************************************
+ *
+ * File        : StrategyOptimiser.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A tool which evolves strategy charts and bet ramps for a
+ *               ChartPlayer with a genetic algorithm, evaluating each
+ *               generation in parallel on independent seeded tables.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import question2.SimulationConfig.BrokePolicy;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+public class StrategyOptimiser {
+
+    /**
+     * How a candidate's simulated results are scored
+     */
+    public enum Fitness {
+        /**
+         * Mean winnings per round
+         */
+        WIN_RATE,
+        /**
+         * Mean winnings per round divided by their standard deviation
+         */
+        RISK_ADJUSTED
+    };
+
+    /**
+     * Balance every simulated player starts with, large enough that they can
+     * not run out of money during an evaluation
+     */
+    private static final int BANKROLL = 100000000;
+
+    /**
+     * Amount of running counts the bet ramp has a step for
+     */
+    private static final int RAMP_LENGTH = 6;
+
+    /**
+     * The most units the bet ramp can bet
+     */
+    private static final int MAX_UNITS = 8;
+
+    /**
+     * Chance of each chart cell and ramp step mutating in a child
+     */
+    private static final double MUTATION_RATE = 0.02;
+
+    /**
+     * Amount of candidates competing for each parent
+     */
+    private static final int TOURNAMENT_SIZE = 3;
+
+    /**
+     * Amount of best candidates carried unchanged to the next generation
+     */
+    private static final int ELITES = 2;
+
+    /**
+     * Fewest independent tables each candidate is evaluated on
+     */
+    private static final int MIN_TABLES = 4;
+
+    /**
+     * Z score for a 95% confidence interval
+     */
+    private static final double Z_95 = 1.96;
+
+    /**
+     * Amount of candidates in each generation
+     */
+    private final int populationSize;
+
+    /**
+     * Amount of generations to evolve
+     */
+    private final int generations;
+
+    /**
+     * Rounds played at each table a candidate is evaluated on
+     */
+    private final int rounds;
+
+    /**
+     * Amount of independent tables each candidate is evaluated on
+     */
+    private final int tables;
+
+    /**
+     * How candidates are scored
+     */
+    private final Fitness fitness;
+
+    /**
+     * Counting system the bet ramps follow
+     */
+    private final CountingSystem system;
+
+    /**
+     * Random number generator every table's stream is split from
+     */
+    private final SplitRandom random;
+
+    /**
+     * Told about each generation once it has been evaluated, null if nobody
+     * is listening
+     */
+    private GenerationListener listener;
+
+    /**
+     * Something told about each generation once it has been evaluated
+     */
+    public interface GenerationListener {
+
+        /**
+         * Called once a generation has been evaluated
+         *
+         * @param generation number of the generation, the first being 1
+         * @param best       the generation's best candidate
+         */
+        void generationEvaluated(int generation, Candidate best);
+    }
+
+    /**
+     * Constructs an optimiser
+     *
+     * @param populationSize amount of candidates in each generation
+     * @param generations    amount of generations to evolve
+     * @param rounds         rounds played at each table per evaluation
+     * @param fitness        how candidates are scored
+     * @param seed           seed all randomness is derived from
+     */
+    public StrategyOptimiser(int populationSize, int generations, int rounds,
+            Fitness fitness, long seed) {
+        this.populationSize = Math.max(populationSize, ELITES + 1);
+        this.generations = generations;
+        this.rounds = rounds;
+        this.tables = Math.max(Runtime.getRuntime().availableProcessors(),
+                MIN_TABLES);
+        this.fitness = fitness;
+        this.system = CountingSystem.HI_LO;
+        this.random = new SplitRandom(seed);
+    }
+
+    /**
+     * Sets what is told about each generation once it has been evaluated
+     *
+     * @param listener listener to tell, null to stop telling anything
+     */
+    public void setGenerationListener(GenerationListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * A strategy chart and bet ramp with the results of its evaluation
+     */
+    public static class Candidate {
+
+        /**
+         * Chart the candidate plays from
+         */
+        private final StrategyChart chart;
+
+        /**
+         * Units bet at each running count
+         */
+        private final int[] betRamp;
+
+        /**
+         * Mean winnings per round
+         */
+        private double mean;
+
+        /**
+         * Standard deviation of winnings per round
+         */
+        private double stdDev;
+
+        /**
+         * Amount of rounds evaluated
+         */
+        private long rounds;
+
+        /**
+         * Score given by the optimiser's fitness
+         */
+        private double score;
+
+        /**
+         * Constructs an unevaluated candidate
+         *
+         * @param chart   chart to play from
+         * @param betRamp units bet at each running count
+         */
+        Candidate(StrategyChart chart, int[] betRamp) {
+            this.chart = chart;
+            this.betRamp = betRamp;
+        }
+
+        /**
+         * Retrieves the candidate's chart
+         *
+         * @return strategy chart
+         */
+        public StrategyChart getChart() {
+            return this.chart;
+        }
+
+        /**
+         * Retrieves a copy of the candidate's bet ramp
+         *
+         * @return units bet at each running count
+         */
+        public int[] getBetRamp() {
+            return Arrays.copyOf(this.betRamp, this.betRamp.length);
+        }
+
+        /**
+         * Retrieves the mean winnings per round
+         *
+         * @return mean winnings
+         */
+        public double getMean() {
+            return this.mean;
+        }
+
+        /**
+         * Retrieves the half width of the 95% confidence interval of the mean
+         *
+         * @return confidence interval half width
+         */
+        public double getConfidence() {
+            return Z_95 * this.stdDev / Math.sqrt(Math.max(this.rounds, 1));
+        }
+
+        /**
+         * Retrieves the score given by the optimiser's fitness
+         *
+         * @return fitness score
+         */
+        public double getScore() {
+            return this.score;
+        }
+
+        /**
+         * Returns the candidate in a printable format
+         *
+         * @return String containing the chart, ramp and results
+         */
+        @Override
+        public String toString() {
+            return this.chart.toString()
+                    + "Bet ramp (units from count 0): "
+                    + Arrays.toString(this.betRamp) + "\n"
+                    + String.format("Winnings per round: £%.4f ± %.4f "
+                            + "(95%%, %d rounds)", this.mean,
+                            this.getConfidence(), this.rounds);
+        }
+    }
+
+    /**
+     * Evolves the population for every generation, then confirms the best
+     * candidate's results on tables none of the candidates were scored on
+     *
+     * @return the best candidate found
+     * @throws InterruptedException if interrupted while evaluating
+     * @throws ExecutionException   if a simulated table fails
+     */
+    public Candidate optimise() throws InterruptedException,
+            ExecutionException {
+        ExecutorService pool = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors());
+
+        try {
+            List<Candidate> population = this.initialPopulation();
+
+            for (int g = 0; g < this.generations; g++) {
+                this.evaluate(population, pool);
+
+                if (this.listener != null) {
+                    this.listener.generationEvaluated(g + 1,
+                            population.get(0));
+                }
+
+                // The final generation is kept for confirmation
+                if (g < this.generations - 1) {
+                    population = this.breed(population);
+                }
+            }
+
+            // Scores the best candidate again on fresh tables
+            List<Candidate> best = new ArrayList<>();
+            best.add(population.get(0));
+            this.evaluate(best, pool);
+
+            return best.get(0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Creates the first generation, a chart that plays like a basic player and
+     * random charts for the rest
+     *
+     * @return first population
+     */
+    private List<Candidate> initialPopulation() {
+        final int BASIC_THRESHOLD = 17;
+
+        List<Candidate> population = new ArrayList<>();
+        int[] flatRamp = new int[RAMP_LENGTH];
+        Arrays.fill(flatRamp, 1);
+
+        population.add(new Candidate(
+                StrategyChart.threshold(BASIC_THRESHOLD), flatRamp));
+
+        while (population.size() < this.populationSize) {
+            StrategyChart chart = new StrategyChart();
+
+            for (int state : StrategyChart.decisionStates()) {
+                for (int up = 0; up < StrategyChart.UPCARDS; up++) {
+                    chart.setHit(state, up + StrategyChart.LOWEST_UPCARD,
+                            this.random.nextBoolean());
+                }
+            }
+
+            int[] ramp = new int[RAMP_LENGTH];
+            for (int i = 0; i < RAMP_LENGTH; i++) {
+                ramp[i] = 1 + this.random.nextInt(MAX_UNITS);
+            }
+            Arrays.sort(ramp);
+
+            population.add(new Candidate(chart, ramp));
+        }
+
+        return population;
+    }
+
+    /**
+     * Evaluates every candidate in parallel, each on the same set of
+     * independent tables, then sorts them best first
+     *
+     * @param population candidates to evaluate
+     * @param pool       threads to evaluate on
+     * @throws InterruptedException if interrupted while evaluating
+     * @throws ExecutionException   if a simulated table fails
+     */
+    private void evaluate(List<Candidate> population, ExecutorService pool)
+            throws InterruptedException, ExecutionException {
+        // Every candidate plays the same shuffles, so differences are skill
+        SplitRandom[] streams = new SplitRandom[this.tables];
+        for (int t = 0; t < this.tables; t++) {
+            streams[t] = this.random.split();
+        }
+
+        List<List<Future<PlayerStats>>> results = new ArrayList<>();
+
+        for (Candidate c : population) {
+            List<Future<PlayerStats>> candidateResults = new ArrayList<>();
+
+            for (SplitRandom stream : streams) {
+                final SplitRandom tableRandom = new SplitRandom(
+                        stream.getState(), stream.getGamma());
+
+                Callable<PlayerStats> task = () -> playRounds(c, tableRandom,
+                        this.rounds);
+                candidateResults.add(pool.submit(task));
+            }
+
+            results.add(candidateResults);
+        }
+
+        // Combines each candidate's tables into their results
+        for (int i = 0; i < population.size(); i++) {
+            Candidate c = population.get(i);
+            PlayerStats total = new PlayerStats(null);
+
+            for (Future<PlayerStats> f : results.get(i)) {
+                total.merge(f.get());
+            }
+
+            c.rounds = total.getHands();
+            c.mean = total.getMean();
+            c.stdDev = total.getStdDev();
+            c.score = this.fitness == Fitness.WIN_RATE ? c.mean
+                    : c.mean / Math.max(c.stdDev, Double.MIN_VALUE);
+        }
+
+        Collections.sort(population,
+                Comparator.comparingDouble(Candidate::getScore).reversed());
+    }
+
+    /**
+     * Plays rounds of blackjack for a candidate at a seeded table of its own
+     *
+     * @param c      candidate to play as
+     * @param random random number generator for the table's deck
+     * @param rounds amount of rounds to play
+     * @return stats of the candidate's hands
+     */
+    private PlayerStats playRounds(Candidate c, SplitRandom random,
+            int rounds) {
+        List<Player> seat = new ArrayList<>();
+        seat.add(new ChartPlayer(c.chart, c.betRamp, this.system, BANKROLL));
+
+        BlackjackTable table = new BlackjackTable(seat, random);
+        SimulationConfig config = new SimulationConfig(BrokePolicy.STOP);
+
+        return table.simulate(rounds, config).getSeat(0);
+    }
+
+    /**
+     * Breeds the next generation, keeping the best candidates and filling the
+     * rest with mutated children of tournament winners
+     *
+     * @param population current population, sorted best first
+     * @return next population
+     */
+    private List<Candidate> breed(List<Candidate> population) {
+        List<Candidate> next = new ArrayList<>(population.subList(0, ELITES));
+
+        while (next.size() < this.populationSize) {
+            Candidate mother = this.tournament(population);
+            Candidate father = this.tournament(population);
+
+            next.add(this.crossover(mother, father));
+        }
+
+        return next;
+    }
+
+    /**
+     * Picks the best of a few random candidates
+     *
+     * @param population population to pick from
+     * @return tournament winner
+     */
+    private Candidate tournament(List<Candidate> population) {
+        Candidate winner = null;
+
+        for (int i = 0; i < TOURNAMENT_SIZE; i++) {
+            Candidate c = population.get(
+                    this.random.nextInt(population.size()));
+
+            if (winner == null || c.score > winner.score) {
+                winner = c;
+            }
+        }
+
+        return winner;
+    }
+
+    /**
+     * Creates a mutated child taking each chart cell and ramp step from either
+     * parent
+     *
+     * @param mother first parent
+     * @param father second parent
+     * @return child candidate
+     */
+    private Candidate crossover(Candidate mother, Candidate father) {
+        StrategyChart chart = new StrategyChart(mother.chart);
+
+        for (int state : StrategyChart.decisionStates()) {
+            for (int up = 0; up < StrategyChart.UPCARDS; up++) {
+                int upcard = up + StrategyChart.LOWEST_UPCARD;
+                boolean hit = this.random.nextBoolean()
+                        ? mother.chart.hit(state, upcard)
+                        : father.chart.hit(state, upcard);
+
+                if (this.random.nextDouble() < MUTATION_RATE) {
+                    hit = !hit;
+                }
+
+                chart.setHit(state, upcard, hit);
+            }
+        }
+
+        int[] ramp = new int[RAMP_LENGTH];
+        for (int i = 0; i < RAMP_LENGTH; i++) {
+            ramp[i] = this.random.nextBoolean() ? mother.betRamp[i]
+                    : father.betRamp[i];
+
+            if (this.random.nextDouble() < MUTATION_RATE) {
+                ramp[i] += this.random.nextBoolean() ? 1 : -1;
+                ramp[i] = Math.min(Math.max(ramp[i], 1), MAX_UNITS);
+            }
+        }
+        Arrays.sort(ramp);   // Keeps bets rising with the count
+
+        return new Candidate(chart, ramp);
+    }
+
+    /**
+     * Runs the optimiser, printing each generation's best score, and prints
+     * the best chart found
+     *
+     * @param args population size, generations and rounds per table, all
+     *             optional
+     */
+    public static void main(String[] args) {
+        int populationSize = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+        int generations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5000;
+
+        StrategyOptimiser optimiser = new StrategyOptimiser(populationSize,
+                generations, rounds, Fitness.WIN_RATE, System.nanoTime());
+
+        optimiser.setGenerationListener((generation, best) -> System.out
+                .println(String.format("Generation %d: best score %.5f, "
+                        + "£%.4f per round", generation, best.getScore(),
+                        best.getMean())));
+
+        try {
+            System.out.println(optimiser.optimise());
+        } catch (InterruptedException | ExecutionException ex) {
+            System.out.println("Unable to finish optimising: "
+                    + ex.getMessage());
+        }
+    }
+}
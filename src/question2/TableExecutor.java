@@ -0,0 +1,252 @@
+/** ***************************************************************************
+ *
+ * File        : TableExecutor.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that runs many table sessions at once, giving each
+ *               table with a person at it a thread of its own and sharing a
+ *               few threads between tables of bots.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A session with an InteractivePlayer blocks on that player's input for most
+ * of its life. On Java 21 and later each such session runs on a virtual
+ * thread, which is parked while it waits and takes no carrier thread, so tens
+ * of thousands of idle sessions cost little more than their tables. On older
+ * Java each runs on a platform thread with a small stack instead. Tables of
+ * bots never wait, so they share a pool with a thread per core.
+ *
+ * @author Ali Jarjis
+ */
+public class TableExecutor implements AutoCloseable {
+
+    /**
+     * Stack size of a session's platform thread where virtual threads are not
+     * available, enough for a round's deepest calls
+     */
+    private static final long SESSION_STACK_SIZE = 256 * 1024;
+
+    /**
+     * Threads of sessions with people at them
+     */
+    private final ExecutorService interactive;
+
+    /**
+     * Threads shared by sessions of bots
+     */
+    private final ExecutorService bots;
+
+    /**
+     * Whether sessions with people at them run on virtual threads
+     */
+    private final boolean virtual;
+
+    /**
+     * Constructs an executor sharing a thread per core between bot tables
+     */
+    public TableExecutor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs an executor
+     *
+     * @param botThreads amount of threads shared by bot tables
+     * @throws IllegalArgumentException if botThreads is not positive
+     */
+    public TableExecutor(int botThreads) {
+        if (botThreads < 1) {
+            throw new IllegalArgumentException("At least one thread is "
+                    + "needed for bot tables");
+        }
+
+        ExecutorService perSession = virtualThreadPerTask();
+
+        this.virtual = perSession != null;
+
+        if (perSession == null) {
+            AtomicInteger sessions = new AtomicInteger();
+
+            perSession = Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(null, r, "session-"
+                        + sessions.incrementAndGet(), SESSION_STACK_SIZE);
+                t.setDaemon(true);
+
+                return t;
+            });
+        }
+
+        this.interactive = perSession;
+        this.bots = Executors.newFixedThreadPool(botThreads);
+    }
+
+    /**
+     * Creates an executor starting a virtual thread for each task, if the
+     * running Java has them. Looked up by reflection so this compiles for
+     * older Java.
+     *
+     * @return executor, null if virtual threads are not available
+     */
+    private static ExecutorService virtualThreadPerTask() {
+        try {
+            return (ExecutorService) Executors.class.getMethod(
+                    "newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException
+                | InvocationTargetException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks if sessions with people at them run on virtual threads
+     *
+     * @return true if on virtual threads, false if on platform threads
+     */
+    public boolean isVirtual() {
+        return this.virtual;
+    }
+
+    /**
+     * Starts a session playing rounds at a table, on a thread of its own if
+     * an InteractivePlayer is at the table, else on a shared thread
+     *
+     * @param table  table to play at
+     * @param rounds amount of rounds to play
+     * @param input  where the choices of the user and any human players are
+     *               read from
+     * @param out    where the session's rounds are printed
+     * @return whether every round was played, once the session ends
+     */
+    public Future<Boolean> submit(BlackjackTable table, int rounds,
+            PlayerInput input, PrintStream out) {
+        Callable<Boolean> session = () -> BlackjackTable.playRounds(0,
+                rounds, table, input, out);
+
+        if (table.hasInteractivePlayers()) {
+            return this.interactive.submit(session);
+        }
+
+        return this.bots.submit(session);
+    }
+
+    /**
+     * Stops taking sessions and waits for those started to end
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitSessions() throws InterruptedException {
+        this.interactive.shutdown();
+        this.bots.shutdown();
+        this.interactive.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        this.bots.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops taking sessions, interrupting any still waiting on a person
+     */
+    @Override
+    public void close() {
+        this.interactive.shutdownNow();
+        this.bots.shutdown();
+    }
+
+    /**
+     * Opens a lobby of sessions, each with a human waiting to bet, measures
+     * the memory they take while idle, then has every human play a round
+     *
+     * @param args amount of sessions, optional
+     */
+    public static void main(String[] args) {
+        final long BYTES_PER_MB = 1024 * 1024;
+        final long NANOS_PER_MILLI = 1000000;
+        final long POLL_MILLIS = 50;
+
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        Runtime runtime = Runtime.getRuntime();
+
+        // Tables print their rounds, which would bury the lobby's report
+        PrintStream discard = new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        });
+
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+
+        try (TableExecutor executor = new TableExecutor()) {
+            List<QueuedInput> inputs = new ArrayList<>();
+            List<Future<Boolean>> games = new ArrayList<>();
+            long start = System.nanoTime();
+
+            for (int i = 0; i < sessions; i++) {
+                QueuedInput input = new QueuedInput();
+                BlackjackTable table = new BlackjackTable(Arrays.asList(
+                        new HumanPlayer(input), new BasicPlayer()));
+
+                inputs.add(input);
+                games.add(executor.submit(table, 1, input, discard));
+            }
+
+            // Waits for every human to be asked for their bet
+            for (QueuedInput input : inputs) {
+                while (!input.isWaiting()) {
+                    Thread.sleep(POLL_MILLIS);
+                }
+            }
+
+            System.gc();
+            long idle = runtime.totalMemory() - runtime.freeMemory() - before;
+
+            System.out.printf("%d idle sessions on %s threads after %dms, "
+                    + "%dMB of heap%s%n", sessions, executor.isVirtual()
+                    ? "virtual" : "platform",
+                    (System.nanoTime() - start) / NANOS_PER_MILLI,
+                    idle / BYTES_PER_MB, executor.isVirtual() ? ""
+                    : String.format(" and up to %dMB of stacks", sessions
+                            * SESSION_STACK_SIZE / BYTES_PER_MB));
+
+            // Every human bets then sticks, whatever they are dealt
+            for (QueuedInput input : inputs) {
+                input.offer("10");
+                input.offer("N");
+                input.close();
+            }
+
+            int finished = 0;
+
+            for (Future<Boolean> game : games) {
+                finished += game.get() ? 1 : 0;
+            }
+
+            System.out.printf("%d of %d sessions played their round after "
+                    + "%dms%n", finished, sessions,
+                    (System.nanoTime() - start) / NANOS_PER_MILLI);
+        } catch (InterruptedException | ExecutionException ex) {
+            System.out.println("Unable to run the lobby: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/** ***************************************************************************
+ *
+ * File        : TableFollower.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : An interface for a player who models the table they sit at,
+ *               needing its rules and a seed of their own.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+/**
+ *
+ * @author Ali Jarjis
+ */
+interface TableFollower extends Player {
+
+    /**
+     * followTable: This method is called by the table each time the player
+     * is seated, giving them the rules the table is played by and a seed
+     * derived from the dealer's random number generator and their seat, so
+     * players at different seats and tables never share a stream.
+     *
+     * @param rules rules the table is played by
+     * @param seed  seed for any randomness of the player's own
+     */
+    void followTable(TableRules rules, long seed);
+
+    /**
+     * saveState: This method is called by the table when a checkpoint is
+     * taken between rounds, returning everything the player has learnt about
+     * the table since they were seated, so a restored game plays on as the
+     * original did.
+     *
+     * @return the player's state, to be given back to restoreState()
+     */
+    long[] saveState();
+
+    /**
+     * restoreState: This method is called by the table when a checkpoint is
+     * restored, putting the player back to a state returned by saveState().
+     *
+     * @param state the player's state at the checkpoint
+     * @throws IllegalArgumentException if the state is not one the player
+     * could have saved
+     */
+    void restoreState(long[] state);
+}
@@ -0,0 +1,344 @@
+/** ***************************************************************************
+ *
+ * File        : TableRules.java
+ *
+ * Date        : 19-Oct-2026
+ *
+ * Description : A class that stores the rules a blackjack table is played
+ *               by.
+ *
+ * Author      : Ali Jarjis
+ *
+ ***************************************************************************** */
+package question2;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * A new set of rules is the game as it has always been played here: one
+ * deck reshuffled once fewer than a quarter of its cards are left, a dealer
+ * who stands on soft 17, blackjack paying 2 to 1, bets from £1 to £500 and
+ * up to eight players.
+ *
+ * @author Ali Jarjis
+ */
+public class TableRules implements Serializable {
+
+    /**
+     * TableRules's unique ID for Serialisation
+     */
+    private static final long serialVersionUID = 144;
+
+    /**
+     * Amount of cards in one deck
+     */
+    static final int CARDS_PER_DECK = 52;
+
+    /**
+     * Amount of decks shuffled together
+     */
+    private int decks;
+
+    /**
+     * Fraction of the cards dealt before the deck is reshuffled
+     */
+    private double penetration;
+
+    /**
+     * Whether the dealer takes a card on soft 17
+     */
+    private boolean dealerHitsSoft17;
+
+    /**
+     * Numerator of what a blackjack pays per unit bet
+     */
+    private int blackjackNumerator;
+
+    /**
+     * Denominator of what a blackjack pays per unit bet
+     */
+    private int blackjackDenominator;
+
+    /**
+     * Minimum bet a player can make
+     */
+    private int minBet;
+
+    /**
+     * Maximum bet a player can make
+     */
+    private int maxBet;
+
+    /**
+     * Maximum amount of players allowed at the table
+     */
+    private int maxPlayers;
+
+    /**
+     * Constructs the rules the game has always been played by
+     */
+    public TableRules() {
+        this.decks = 1;
+        this.penetration = 0.75;
+        this.dealerHitsSoft17 = false;
+        this.blackjackNumerator = 2;
+        this.blackjackDenominator = 1;
+        this.minBet = 1;
+        this.maxBet = 500;
+        this.maxPlayers = 8;
+    }
+
+    /**
+     * Constructs a copy of other rules
+     *
+     * @param other rules to copy
+     */
+    public TableRules(TableRules other) {
+        this.decks = other.decks;
+        this.penetration = other.penetration;
+        this.dealerHitsSoft17 = other.dealerHitsSoft17;
+        this.blackjackNumerator = other.blackjackNumerator;
+        this.blackjackDenominator = other.blackjackDenominator;
+        this.minBet = other.minBet;
+        this.maxBet = other.maxBet;
+        this.maxPlayers = other.maxPlayers;
+    }
+
+    /**
+     * Retrieves the amount of decks shuffled together
+     *
+     * @return decks
+     */
+    public int getDecks() {
+        return this.decks;
+    }
+
+    /**
+     * Sets the amount of decks shuffled together
+     *
+     * @param decks decks, at least 1
+     * @throws IllegalArgumentException if decks is less than 1
+     */
+    public void setDecks(int decks) {
+        if (decks < 1) {
+            throw new IllegalArgumentException("A table needs a deck");
+        }
+
+        this.decks = decks;
+    }
+
+    /**
+     * Retrieves the fraction of the cards dealt before reshuffling
+     *
+     * @return penetration
+     */
+    public double getPenetration() {
+        return this.penetration;
+    }
+
+    /**
+     * Sets the fraction of the cards dealt before reshuffling
+     *
+     * @param penetration penetration, above 0 and below 1
+     * @throws IllegalArgumentException if penetration is out of range
+     */
+    public void setPenetration(double penetration) {
+        if (penetration <= 0 || penetration >= 1) {
+            throw new IllegalArgumentException("Penetration must be between "
+                    + "0 and 1");
+        }
+
+        this.penetration = penetration;
+    }
+
+    /**
+     * Retrieves whether the dealer takes a card on soft 17
+     *
+     * @return true for H17, false for S17
+     */
+    public boolean isDealerHitsSoft17() {
+        return this.dealerHitsSoft17;
+    }
+
+    /**
+     * Sets whether the dealer takes a card on soft 17
+     *
+     * @param dealerHitsSoft17 true for H17, false for S17
+     */
+    public void setDealerHitsSoft17(boolean dealerHitsSoft17) {
+        this.dealerHitsSoft17 = dealerHitsSoft17;
+    }
+
+    /**
+     * Retrieves the numerator of what a blackjack pays
+     *
+     * @return payout numerator
+     */
+    public int getBlackjackNumerator() {
+        return this.blackjackNumerator;
+    }
+
+    /**
+     * Retrieves the denominator of what a blackjack pays
+     *
+     * @return payout denominator
+     */
+    public int getBlackjackDenominator() {
+        return this.blackjackDenominator;
+    }
+
+    /**
+     * Sets what a blackjack pays, 3 and 2 meaning 3 to 2
+     *
+     * @param numerator   payout numerator
+     * @param denominator payout denominator, at least 1
+     * @throws IllegalArgumentException if the denominator is less than 1
+     */
+    public void setBlackjackPayout(int numerator, int denominator) {
+        if (denominator < 1) {
+            throw new IllegalArgumentException("Invalid blackjack payout");
+        }
+
+        this.blackjackNumerator = numerator;
+        this.blackjackDenominator = denominator;
+    }
+
+    /**
+     * Retrieves the minimum bet a player can make
+     *
+     * @return minimum bet
+     */
+    public int getMinBet() {
+        return this.minBet;
+    }
+
+    /**
+     * Retrieves the maximum bet a player can make
+     *
+     * @return maximum bet
+     */
+    public int getMaxBet() {
+        return this.maxBet;
+    }
+
+    /**
+     * Sets the bets a player can make
+     *
+     * @param minBet minimum bet
+     * @param maxBet maximum bet, at least the minimum
+     * @throws IllegalArgumentException if the maximum is below the minimum
+     */
+    public void setBets(int minBet, int maxBet) {
+        if (maxBet < minBet) {
+            throw new IllegalArgumentException("Maximum bet is below the "
+                    + "minimum");
+        }
+
+        this.minBet = minBet;
+        this.maxBet = maxBet;
+    }
+
+    /**
+     * Retrieves the maximum amount of players allowed at the table
+     *
+     * @return maximum players
+     */
+    public int getMaxPlayers() {
+        return this.maxPlayers;
+    }
+
+    /**
+     * Sets the maximum amount of players allowed at the table
+     *
+     * @param maxPlayers maximum players
+     */
+    public void setMaxPlayers(int maxPlayers) {
+        this.maxPlayers = maxPlayers;
+    }
+
+    /**
+     * Calculates the amount of cards in a full deck
+     *
+     * @return cards in every deck shuffled together
+     */
+    public int getCards() {
+        return this.decks * CARDS_PER_DECK;
+    }
+
+    /**
+     * Calculates the amount of cards below which the deck is reshuffled
+     *
+     * @return reshuffle limit
+     */
+    public int getReshuffleLimit() {
+        return (int) Math.round(getCards() * (1 - this.penetration));
+    }
+
+    /**
+     * Calculates the winnings of a blackjack
+     *
+     * @param bet the player's bet
+     * @return winnings, rounded down to a whole pound
+     */
+    public int blackjackStake(int bet) {
+        return bet * this.blackjackNumerator / this.blackjackDenominator;
+    }
+
+    /**
+     * Writes the rules in a compact binary form
+     *
+     * @param out where the rules are written
+     * @throws IOException if the rules can not be written
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(this.decks);
+        out.writeDouble(this.penetration);
+        out.writeBoolean(this.dealerHitsSoft17);
+        out.writeInt(this.blackjackNumerator);
+        out.writeInt(this.blackjackDenominator);
+        out.writeInt(this.minBet);
+        out.writeInt(this.maxBet);
+        out.writeInt(this.maxPlayers);
+    }
+
+    /**
+     * Reads rules written by writeTo(), checking them as the setters do
+     *
+     * @param in where the rules are read from
+     * @return rules read
+     * @throws IOException if the rules can not be read or are invalid
+     */
+    static TableRules readFrom(DataInput in) throws IOException {
+        TableRules rules = new TableRules();
+
+        try {
+            rules.setDecks(in.readInt());
+            rules.setPenetration(in.readDouble());
+            rules.setDealerHitsSoft17(in.readBoolean());
+            rules.setBlackjackPayout(in.readInt(), in.readInt());
+            rules.setBets(in.readInt(), in.readInt());
+            rules.setMaxPlayers(in.readInt());
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("Invalid rules: " + ex.getMessage(), ex);
+        }
+
+        return rules;
+    }
+
+    /**
+     * Returns the rules in a printable format
+     *
+     * @return String of the rules
+     */
+    @Override
+    public String toString() {
+        return String.format("%d deck(s), %.0f%% penetration, %s, blackjack "
+                + "pays %d:%d, bets £%d-£%d, %d players", this.decks,
+                this.penetration * 100, this.dealerHitsSoft17 ? "H17" : "S17",
+                this.blackjackNumerator, this.blackjackDenominator,
+                this.minBet, this.maxBet, this.maxPlayers);
+    }
+}